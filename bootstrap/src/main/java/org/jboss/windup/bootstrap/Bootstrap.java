@@ -25,7 +25,6 @@ import java.util.Set;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
-import org.apache.commons.io.FileUtils;
 import org.jboss.forge.furnace.Furnace;
 import org.jboss.forge.furnace.impl.addons.AddonRepositoryImpl;
 import org.jboss.forge.furnace.repositories.AddonRepository;
@@ -46,6 +45,7 @@ import org.jboss.windup.exec.configuration.WindupConfiguration;
 import org.jboss.windup.exec.configuration.options.InputPathOption;
 import org.jboss.windup.exec.configuration.options.OutputPathOption;
 import org.jboss.windup.exec.configuration.options.OverwriteOption;
+import org.jboss.windup.exec.configuration.options.SaveGraphSnapshotOption;
 import org.jboss.windup.graph.GraphContext;
 import org.jboss.windup.graph.GraphContextFactory;
 import org.jboss.windup.util.PathUtil;
@@ -524,7 +524,9 @@ public class Bootstrap
             overwrite = false;
         }
 
-        if (!overwrite && pathNotEmpty(windupConfiguration.getOutputDirectory().toFile()))
+        // the reports of the previous execution are expected to be replaced
+        boolean reportOnly = windupConfiguration.isReportOnly();
+        if (!overwrite && !reportOnly && pathNotEmpty(windupConfiguration.getOutputDirectory().toFile()))
         {
             String promptMsg = "Overwrite all contents of \"" + windupConfiguration.getOutputDirectory().toString()
                         + "\" (anything already in the directory will be deleted)?";
@@ -538,9 +540,27 @@ public class Bootstrap
 
         generateCompletionData(false);
 
-        FileUtils.deleteQuietly(windupConfiguration.getOutputDirectory().toFile());
         Path graphPath = windupConfiguration.getOutputDirectory().resolve("graph");
-        try (GraphContext graphContext = getGraphContextFactory().create(graphPath))
+        if (reportOnly && !getGraphContextFactory().hasSnapshot(graphPath))
+        {
+            System.err.println("ERROR: No graph snapshot found in " + graphPath + ", run Windup with --" + SaveGraphSnapshotOption.NAME
+                        + " first. Aborting!");
+            return;
+        }
+
+        try
+        {
+            windupConfiguration.deleteOutput();
+        }
+        catch (IOException e)
+        {
+            System.err.println("ERROR: Failed to delete the previous output due to: " + e.getMessage());
+            return;
+        }
+
+        try (GraphContext graphContext = reportOnly
+                    ? getGraphContextFactory().loadSnapshot(graphPath, windupConfiguration.getGraphStorageConfiguration())
+                    : getGraphContextFactory().create(graphPath, windupConfiguration.getGraphStorageConfiguration()))
         {
             WindupProgressMonitor progressMonitor = new ConsoleProgressMonitor();
             windupConfiguration
@@ -564,7 +584,14 @@ public class Bootstrap
         for (Map.Entry<String, ConfigurationOption> optionEntry : options.entrySet())
         {
             ConfigurationOption option = optionEntry.getValue();
-            ValidationResult result = option.validate(optionValues.get(option.getName()));
+            Object value = optionValues.get(option.getName());
+            if (Integer.class.isAssignableFrom(option.getType()) && value instanceof String)
+            {
+                System.err.println("ERROR: " + option.getName() + " must be a number, but was: " + value);
+                return false;
+            }
+
+            ValidationResult result = option.validate(value);
 
             switch (result.getLevel())
             {
@@ -612,6 +639,18 @@ public class Bootstrap
         {
             return input;
         }
+        else if (Integer.class.isAssignableFrom(type))
+        {
+            try
+            {
+                return Integer.valueOf(input);
+            }
+            catch (NumberFormatException e)
+            {
+                // keep the input, so that it is reported by validateOptionValues
+                return input;
+            }
+        }
         else
         {
             throw new RuntimeException("Internal Error! Unrecognized type " + type.getCanonicalName());
@@ -0,0 +1,37 @@
+package org.jboss.windup.config.parser.metadata;
+
+import org.jboss.windup.config.exception.ConfigurationException;
+import org.jboss.windup.config.parser.ElementHandler;
+import org.jboss.windup.config.parser.NamespaceElementHandler;
+import org.jboss.windup.config.parser.ParserContext;
+import org.jboss.windup.config.parser.WindupXMLRulesetParsingException;
+import org.jboss.windup.config.parser.xml.RuleProviderHandler;
+import org.w3c.dom.Element;
+
+/**
+ * Declares whether the rules of this ruleset may be executed concurrently with other rulesets of the same phase, when parallel execution is
+ * enabled. Rulesets that only read the graph and add hints, classifications or technology tags are safe.
+ *
+ * For example:
+ *
+ * <pre>
+ *     &lt;parallelSafe&gt;true&lt;/parallelSafe&gt;
+ * </pre>
+ */
+@NamespaceElementHandler(elementName = MetadataParallelSafeHandler.PARALLEL_SAFE_ELEMENT, namespace = RuleProviderHandler.WINDUP_RULE_NAMESPACE)
+public class MetadataParallelSafeHandler implements ElementHandler<Boolean>
+{
+    public static final String PARALLEL_SAFE_ELEMENT = "parallelSafe";
+
+    @Override
+    public Boolean processElement(ParserContext handlerManager, Element element) throws ConfigurationException
+    {
+        String value = element.getTextContent() == null ? "" : element.getTextContent().trim();
+        if (!value.equals("true") && !value.equals("false"))
+        {
+            throw new WindupXMLRulesetParsingException("The '" + PARALLEL_SAFE_ELEMENT + "' must contain either 'true' or 'false', but was: "
+                        + value);
+        }
+        return Boolean.valueOf(value);
+    }
+}
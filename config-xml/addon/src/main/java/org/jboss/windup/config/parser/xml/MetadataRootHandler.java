@@ -13,6 +13,7 @@ import org.jboss.windup.config.parser.ElementHandler;
 import org.jboss.windup.config.parser.NamespaceElementHandler;
 import org.jboss.windup.config.parser.ParserContext;
 import org.jboss.windup.config.parser.metadata.MetadataDescriptionHandler;
+import org.jboss.windup.config.parser.metadata.MetadataParallelSafeHandler;
 import org.w3c.dom.Element;
 
 @NamespaceElementHandler(elementName = "metadata", namespace = RuleProviderHandler.WINDUP_RULE_NAMESPACE)
@@ -61,6 +62,10 @@ public class MetadataRootHandler implements ElementHandler<RulesetMetadata>
             case "executeBefore":
                 metadataBuilder.addExecuteBeforeId((String) result);
                 break;
+
+            case MetadataParallelSafeHandler.PARALLEL_SAFE_ELEMENT:
+                metadataBuilder.setParallelSafe((Boolean) result);
+                break;
             }
         }
         return metadataBuilder;
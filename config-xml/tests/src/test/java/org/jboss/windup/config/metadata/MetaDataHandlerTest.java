@@ -87,6 +87,7 @@ public class MetaDataHandlerTest
         Assert.assertTrue(targetTechnologies.contains(new TechnologyReference("ejb", "(2,3]")));
         Assert.assertTrue(targetTechnologies.contains(new TechnologyReference("ejb", "(2,3]")));
         Assert.assertTrue(targetTechnologies.contains(new TechnologyReference("jsp")));
+        Assert.assertTrue(metadata.isParallelSafe());
 
         try (GraphContext graphContext = graphContextFactory.create())
         {
@@ -18,19 +18,29 @@ package org.jboss.windup.config;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.apache.commons.lang.StringUtils;
 import org.jboss.forge.furnace.spi.ListenerRegistration;
+import org.jboss.windup.config.condition.RuleTypeRequirements;
 import org.jboss.windup.config.metadata.RuleMetadataType;
+import org.jboss.windup.config.metadata.RuleProviderMetadata;
+import org.jboss.windup.config.metadata.RuleProviderRegistry;
 import org.jboss.windup.config.phase.RulePhase;
+import org.jboss.windup.config.query.QueryResultCache;
 import org.jboss.windup.graph.GraphContext;
+import org.jboss.windup.graph.GraphStatistics;
 import org.jboss.windup.graph.model.performance.RulePhaseExecutionStatisticsModel;
 import org.jboss.windup.graph.model.performance.RuleProviderExecutionStatisticsModel;
 import org.jboss.windup.graph.service.GraphService;
@@ -93,12 +103,47 @@ public class RuleSubset extends DefaultOperationBuilder implements CompositeOper
      */
     private final Map<Class<? extends RulePhase>, Object> timeTakenByPhase = new HashMap<>();
 
+    /**
+     * The phase of the rules that are currently executed, and the commits done within it. The size of the graph is recorded when the phase
+     * ends.
+     */
+    private Class<? extends RulePhase> currentPhase;
+    private int commitCountInPhase;
+    private long commitTimeInPhase;
+
     private final Configuration config;
 
     private List<RuleLifecycleListener> listeners = new ArrayList<>();
 
     private boolean alwaysHaltOnFailure = false;
 
+    private boolean recordGraphStatistics = false;
+
+    /**
+     * The number of threads used to execute independent {@link RuleProvider}s of the {@link #parallelPhases} concurrently. Rules are only
+     * executed sequentially if this is 1 or less.
+     */
+    private int parallelThreads = 1;
+    private Set<Class<? extends RulePhase>> parallelPhases = Collections.emptySet();
+
+    /**
+     * Used for the rules if the {@link EvaluationContext} does not have a {@link ParameterStore}.
+     */
+    private final ParameterStore defaultParameterStore = new DefaultParameterStore();
+
+    /**
+     * The {@link ParameterStore} that the parameters of all rules have been bound to by {@link #setParameterStore(ParameterStore)}, and the
+     * names of its parameters at that time. Binding walks all conditions and operations of all rules, so it is only repeated if the store or
+     * its parameters change.
+     */
+    private ParameterStore boundParameterStore;
+    private Set<String> boundParameterNames;
+
+    /**
+     * Used to skip rules that require types of vertices that the graph does not contain, without evaluating their conditions.
+     */
+    private final RuleTypeRequirements typeRequirements = new RuleTypeRequirements();
+
     private RuleSubset(Configuration config)
     {
         Assert.notNull(config, "Configuration must not be null.");
@@ -115,6 +160,27 @@ public class RuleSubset extends DefaultOperationBuilder implements CompositeOper
         this.alwaysHaltOnFailure = alwaysHaltOnFailure;
     }
 
+    /**
+     * Sets whether the size of the graph is recorded in the {@link RulePhaseExecutionStatisticsModel} at the end of each phase. This requires
+     * a full scan of the graph per phase, so it should only be enabled for the top level {@link RuleSubset}.
+     */
+    public void setRecordGraphStatistics(boolean recordGraphStatistics)
+    {
+        this.recordGraphStatistics = recordGraphStatistics;
+    }
+
+    /**
+     * Enables the concurrent execution of the rules of independent {@link RuleProvider}s within the given phases, using at most the given
+     * number of threads. Providers are only executed concurrently if they are {@link RuleProviderMetadata#isParallelSafe()} and do not depend
+     * on each other (see {@link RuleProviderRegistry#getDependencies(RuleProvider)}). This should only be enabled for the top level
+     * {@link RuleSubset}.
+     */
+    public void setParallelExecution(int threads, Set<Class<? extends RulePhase>> phases)
+    {
+        this.parallelThreads = threads;
+        this.parallelPhases = phases;
+    }
+
     /**
      * Logs the time taken by this rule, and attaches this to the total for the RuleProvider
      */
@@ -168,6 +234,58 @@ public class RuleSubset extends DefaultOperationBuilder implements CompositeOper
         }
     }
 
+    /**
+     * Starts tracking the given phase, recording the size of the graph at the end of the previous one if it differs.
+     */
+    private void enterPhase(GraphContext graphContext, Class<? extends RulePhase> phase)
+    {
+        if (phase == currentPhase)
+            return;
+
+        if (currentPhase != null)
+            logGraphStatisticsForPhase(graphContext, currentPhase);
+
+        currentPhase = phase;
+        commitCountInPhase = 0;
+        commitTimeInPhase = 0L;
+    }
+
+    /**
+     * Stores the commits done within this phase and the current size of the graph in the statistics of the given phase.
+     */
+    private void logGraphStatisticsForPhase(GraphContext graphContext, Class<? extends RulePhase> phase)
+    {
+        Object modelID = timeTakenByPhase.get(phase);
+        if (modelID == null)
+            return;
+
+        GraphStatistics statistics = GraphStatistics.capture(graphContext);
+        GraphService<RulePhaseExecutionStatisticsModel> service = new GraphService<>(graphContext,
+                    RulePhaseExecutionStatisticsModel.class);
+        RulePhaseExecutionStatisticsModel model = service.getById(modelID);
+        model.setCommitCount(commitCountInPhase);
+        model.setCommitTimeTaken((int) commitTimeInPhase);
+        model.setVertexCount(statistics.getVertexCount());
+        model.setEdgeCount(statistics.getEdgeCount());
+        model.setVertexCountsByType(toStringMap(statistics.getVertexCountsByType()));
+        model.setEdgeCountsByLabel(toStringMap(statistics.getEdgeCountsByLabel()));
+        model.setDiskSizesByDirectory(toStringMap(statistics.getDiskSizesByDirectory()));
+        graphContext.getGraph().getBaseGraph().commit();
+
+        log.info("Graph after phase " + phase.getSimpleName() + ": " + statistics.getVertexCount() + " vertices, "
+                    + statistics.getEdgeCount() + " edges, " + commitCountInPhase + " commits (" + commitTimeInPhase + "ms)");
+    }
+
+    private static Map<String, String> toStringMap(Map<String, Long> values)
+    {
+        Map<String, String> result = new HashMap<>();
+        for (Entry<String, Long> entry : values.entrySet())
+        {
+            result.put(entry.getKey(), String.valueOf(entry.getValue()));
+        }
+        return result;
+    }
+
     @Override
     public void perform(Rewrite rewrite, EvaluationContext context)
     {
@@ -186,87 +304,174 @@ public class RuleSubset extends DefaultOperationBuilder implements CompositeOper
             listener.beforeExecution(event);
         }
 
-        EvaluationContextImpl subContext = new EvaluationContextImpl();
-        for (int i = 0; i < rules.size(); i++)
+        RuleProviderRegistry registry = parallelThreads > 1 ? RuleProviderRegistry.instance(event) : null;
+        ExecutorService executor = registry == null ? null : Executors.newFixedThreadPool(parallelThreads);
+        QueryResultCache queryResultCache = QueryResultCache.open(event);
+        try
         {
-            Rule rule = rules.get(i);
-
-            Context ruleContext = rule instanceof Context ? (Context) rule : null;
-            long ruleTimeStarted = System.currentTimeMillis();
-            try
+            int serialUntil = 0;
+            for (int i = 0; i < rules.size(); i++)
             {
-                subContext = new EvaluationContextImpl();
+                Rule rule = rules.get(i);
+                AbstractRuleProvider ruleProvider = getRuleProvider(rule);
+                if (recordGraphStatistics && ruleProvider != null)
+                    enterPhase(event.getGraphContext(), ruleProvider.getMetadata().getPhase());
+                if (queryResultCache != null && ruleProvider != null)
+                    queryResultCache.enterPhase(ruleProvider.getMetadata().getPhase());
+
+                if (executor != null && i >= serialUntil)
+                {
+                    List<List<RuleExecution>> batch = getParallelBatch(registry, rules, i);
+                    if (batch.size() > 1)
+                    {
+                        if (!performInParallel(event, context, executor, batch))
+                            break;
 
-                ParameterStore parameterStore = (ParameterStore) context.get(ParameterStore.class);
-                if (parameterStore == null)
-                    parameterStore = new DefaultParameterStore();
-                subContext.put(ParameterStore.class, parameterStore);
-                setParameterStore(parameterStore);
+                        for (List<RuleExecution> providerRules : batch)
+                        {
+                            i += providerRules.size();
+                        }
+                        i--;
+                        continue;
+                    }
+                    serialUntil = batch.isEmpty() ? i + 1 : i + batch.get(0).size();
+                }
 
-                ParameterValueStore values = (ParameterValueStore) context.get(ParameterValueStore.class);
-                if (values == null)
-                    values = new DefaultParameterValueStore();
-                subContext.put(ParameterValueStore.class, values);
+                RuleExecution execution = new RuleExecution(rule, i);
+                performRule(event, context, execution, false);
+                if (!recordExecution(event, execution))
+                    break;
+            }
+        }
+        finally
+        {
+            if (executor != null)
+                executor.shutdownNow();
+            if (queryResultCache != null)
+                queryResultCache.close();
+        }
 
-                subContext.setState(RewriteState.EVALUATING);
-                subContext.put(Rule.class, rule);
+        if (recordGraphStatistics && currentPhase != null)
+            logGraphStatisticsForPhase(event.getGraphContext(), currentPhase);
 
-                Variables.instance(event).push();
-                try
+        for (RuleLifecycleListener listener : listeners)
+        {
+            listener.afterExecution(event);
+        }
+    }
+
+    /**
+     * Evaluates the given rule, and performs it if the condition matches. If the rule is performed concurrently with other rules, the
+     * {@link ParameterStore} must already have been set, and the rule gets its own copy of the {@link ParameterValueStore}.
+     */
+    private void performRule(GraphRewrite event, EvaluationContext context, RuleExecution execution, boolean concurrent)
+    {
+        Rule rule = execution.rule;
+        Context ruleContext = rule instanceof Context ? (Context) rule : null;
+        AbstractRuleProvider ruleProvider = getRuleProvider(rule);
+
+        long ruleTimeStarted = System.currentTimeMillis();
+        EvaluationContextImpl subContext = new EvaluationContextImpl();
+        try
+        {
+            ParameterStore parameterStore = getParameterStore(context);
+            subContext.put(ParameterStore.class, parameterStore);
+            if (!concurrent)
+                bindParameterStore(parameterStore);
+
+            ParameterValueStore values = (ParameterValueStore) context.get(ParameterValueStore.class);
+            if (values == null)
+                values = new DefaultParameterValueStore();
+            else if (concurrent && values instanceof DefaultParameterValueStore)
+                values = new DefaultParameterValueStore((DefaultParameterValueStore) values);
+            subContext.put(ParameterValueStore.class, values);
+
+            subContext.setState(RewriteState.EVALUATING);
+            subContext.put(Rule.class, rule);
+
+            Variables.instance(event).push();
+            try
+            {
+                synchronized (listeners)
                 {
                     for (RuleLifecycleListener listener : listeners)
                     {
                         listener.beforeRuleEvaluation(event, rule, subContext);
                     }
+                }
 
-                    if (rule.evaluate(event, subContext))
+                Class<?> missingType = typeRequirements.getMissingType(event.getGraphContext(), rule);
+                if (missingType != null)
+                {
+                    subContext.put(RuleTypeRequirements.MISSING_TYPE, missingType);
+                    log.fine("Rule [" + rule.getId() + "] skipped, as the graph contains no " + missingType.getSimpleName() + " vertices.");
+                }
+
+                if (missingType == null && rule.evaluate(event, subContext))
+                {
+                    synchronized (listeners)
                     {
                         for (RuleLifecycleListener listener : listeners)
                         {
                             listener.afterRuleConditionEvaluation(event, subContext, rule, true);
                         }
+                    }
 
-                        if (!handleBindings(event, subContext, values))
-                            continue;
+                    if (!handleBindings(event, subContext, values))
+                        return;
 
-                        subContext.setState(RewriteState.PERFORMING);
-                        final Object ruleProviderDesc = ((RuleBuilder) rule).get(RuleMetadataType.RULE_PROVIDER);
-                        log.info("Rule [" + ruleProviderDesc + "] matched and will be performed.");
+                    subContext.setState(RewriteState.PERFORMING);
+                    final Object ruleProviderDesc = ((RuleBuilder) rule).get(RuleMetadataType.RULE_PROVIDER);
+                    log.info("Rule [" + ruleProviderDesc + "] matched and will be performed.");
 
+                    synchronized (listeners)
+                    {
                         for (RuleLifecycleListener listener : listeners)
                         {
                             listener.beforeRuleOperationsPerformed(event, subContext, rule);
                         }
+                    }
 
-                        List<Operation> preOperations = subContext.getPreOperations();
-                        for (Operation preOperation : preOperations)
-                        {
-                            preOperation.perform(event, subContext);
-                        }
+                    List<Operation> preOperations = subContext.getPreOperations();
+                    for (Operation preOperation : preOperations)
+                    {
+                        preOperation.perform(event, subContext);
+                    }
 
-                        if (event.getFlow().isHandled())
-                            break;
+                    if (event.getFlow().isHandled())
+                    {
+                        execution.flowHandled = true;
+                        return;
+                    }
 
-                        rule.perform(event, subContext);
+                    rule.perform(event, subContext);
 
+                    synchronized (listeners)
+                    {
                         for (RuleLifecycleListener listener : listeners)
                         {
                             listener.afterRuleOperationsPerformed(event, subContext, rule);
                         }
+                    }
 
-                        if (event.getFlow().isHandled())
-                            break;
-
-                        List<Operation> postOperations = subContext.getPostOperations();
-                        for (Operation postOperation : postOperations)
-                        {
-                            postOperation.perform(event, subContext);
-                        }
+                    if (event.getFlow().isHandled())
+                    {
+                        execution.flowHandled = true;
+                        return;
+                    }
 
-                        if (event.getFlow().isHandled())
-                            break;
+                    List<Operation> postOperations = subContext.getPostOperations();
+                    for (Operation postOperation : postOperations)
+                    {
+                        postOperation.perform(event, subContext);
                     }
-                    else
+
+                    if (event.getFlow().isHandled())
+                        execution.flowHandled = true;
+                }
+                else
+                {
+                    synchronized (listeners)
                     {
                         for (RuleLifecycleListener listener : listeners)
                         {
@@ -274,59 +479,254 @@ public class RuleSubset extends DefaultOperationBuilder implements CompositeOper
                         }
                     }
                 }
-                finally
+            }
+            finally
+            {
+                boolean autocommit = true;
+                if (ruleContext != null && ruleContext.containsKey(RuleMetadataType.AUTO_COMMIT))
+                    autocommit = (Boolean) ruleContext.get(RuleMetadataType.AUTO_COMMIT);
+
+                if (autocommit)
                 {
-                    boolean autocommit = true;
-                    if (ruleContext != null && ruleContext.containsKey(RuleMetadataType.AUTO_COMMIT))
-                        autocommit = (Boolean) ruleContext.get(RuleMetadataType.AUTO_COMMIT);
+                    long commitStarted = System.currentTimeMillis();
+                    event.getGraphContext().getGraph().getBaseGraph().commit();
+                    execution.commitCount++;
+                    execution.commitTime += System.currentTimeMillis() - commitStarted;
+                }
 
-                    if (autocommit)
-                        event.getGraphContext().getGraph().getBaseGraph().commit();
+                Variables.instance(event).pop();
+                execution.timeTaken = (int) (System.currentTimeMillis() - ruleTimeStarted);
+            }
+        }
+        catch (RuntimeException ex)
+        {
+            synchronized (listeners)
+            {
+                for (RuleLifecycleListener listener : listeners)
+                {
+                    listener.afterRuleExecutionFailed(event, subContext, rule, ex);
+                }
+            }
+            String exMsg = "Error encountered while evaluating rule: " + rule;
+            String logMsg = exMsg + "\n" + StringUtils.defaultString(ex.getMessage(), "(Exception message is not set)");
+            log.log(Level.SEVERE, logMsg, ex);
+            if (ruleContext != null)
+            {
+                Object origin = ruleContext.get(RuleMetadataType.ORIGIN);
+                if (origin != null)
+                    exMsg += "\n  From: " + origin;
 
-                    Variables.instance(event).pop();
+                Object location = ruleContext.get(org.ocpsoft.rewrite.config.RuleMetadata.PROVIDER_LOCATION);
+                if (location != null)
+                    exMsg += "\n  Defined in: " + location;
+            }
 
-                    long ruleTimeCompleted = System.currentTimeMillis();
-                    if (ruleContext != null)
+            // Depending on RuleProvider's haltOnException, halt Windup on exception.
+            boolean halt = alwaysHaltOnFailure || ruleProvider.getMetadata().isHaltOnException();
+            Object halt_ = ruleContext.get(RuleMetadataType.HALT_ON_EXCEPTION);
+            halt |= (halt_ instanceof Boolean && ((Boolean) halt_).booleanValue());
+            if (halt)
+                execution.haltException = new WindupException(exMsg, ex);
+        }
+        finally
+        {
+            execution.performed = true;
+        }
+    }
+
+    /**
+     * Records the statistics of a performed rule. This must be called on the thread that runs the {@link RuleSubset}, in the order of the
+     * rules. Returns false if no further rules should be executed, and throws the exception of the rule if it should halt the execution.
+     */
+    private boolean recordExecution(GraphRewrite event, RuleExecution execution)
+    {
+        commitCountInPhase += execution.commitCount;
+        commitTimeInPhase += execution.commitTime;
+        if (execution.rule instanceof Context && execution.timeTaken >= 0)
+            logTimeTakenByRuleProvider(event.getGraphContext(), (Context) execution.rule, execution.index, execution.timeTaken);
+
+        if (execution.haltException != null)
+            throw execution.haltException;
+
+        return !execution.flowHandled;
+    }
+
+    /**
+     * Gets the rules of the {@link RuleProvider}s that can be executed concurrently, starting at the given index, grouped by provider. These
+     * are the following providers of the same phase that are {@link RuleProviderMetadata#isParallelSafe()}, up to the first one that depends
+     * on one of the others. Returns an empty list if the rule at the given index cannot be executed concurrently at all.
+     */
+    private List<List<RuleExecution>> getParallelBatch(RuleProviderRegistry registry, List<Rule> rules, int start)
+    {
+        List<List<RuleExecution>> result = new ArrayList<>();
+        Set<RuleProvider> batchProviders = Collections.newSetFromMap(new IdentityHashMap<RuleProvider, Boolean>());
+        AbstractRuleProvider firstProvider = getRuleProvider(rules.get(start));
+        if (firstProvider == null || !parallelPhases.contains(firstProvider.getMetadata().getPhase()))
+            return result;
+
+        List<RuleExecution> providerRules = null;
+        AbstractRuleProvider currentProvider = null;
+        for (int i = start; i < rules.size(); i++)
+        {
+            Rule rule = rules.get(i);
+            AbstractRuleProvider provider = getRuleProvider(rule);
+            if (provider != currentProvider)
+            {
+                if (!canJoinBatch(registry, firstProvider, provider, batchProviders))
+                    break;
+
+                batchProviders.add(provider);
+                currentProvider = provider;
+                providerRules = new ArrayList<>();
+                result.add(providerRules);
+            }
+            providerRules.add(new RuleExecution(rule, i));
+        }
+        return result;
+    }
+
+    private static boolean canJoinBatch(RuleProviderRegistry registry, AbstractRuleProvider firstProvider, AbstractRuleProvider provider,
+                Set<RuleProvider> batchProviders)
+    {
+        if (provider == null || batchProviders.contains(provider) || !provider.getMetadata().isParallelSafe())
+            return false;
+
+        if (provider.getMetadata().getPhase() != firstProvider.getMetadata().getPhase())
+            return false;
+
+        List<RuleProvider> dependencies = registry.getDependencies(provider);
+        if (dependencies == null)
+            return false;
+
+        for (RuleProvider dependency : dependencies)
+        {
+            if (batchProviders.contains(dependency))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Executes the rules of each of the given providers on a separate thread of the given executor. Each thread uses its own graph
+     * transaction and {@link Variables} stack, and the graph is marked as {@link GraphContext#isConcurrentlyModified()} until all of them are
+     * done. Once all of them are done, the results are recorded in the order of the rules, so that the
+     * statistics and failures are the same as if the rules had been executed sequentially. Returns false if no further rules should be
+     * executed.
+     */
+    private boolean performInParallel(final GraphRewrite event, final EvaluationContext context, ExecutorService executor,
+                List<List<RuleExecution>> batch)
+    {
+        log.info("Executing " + batch.size() + " rule providers concurrently, starting with: " + getRuleProvider(batch.get(0).get(0).rule));
+
+        // make the changes so far visible to the transactions of the worker threads
+        event.getGraphContext().getGraph().getBaseGraph().commit();
+
+        bindParameterStore(getParameterStore(context));
+
+        Variables variables = Variables.instance(event);
+        List<Future<?>> futures = new ArrayList<>(batch.size());
+        Throwable failure = null;
+        event.getGraphContext().setConcurrentlyModified(true);
+        try
+        {
+            for (final List<RuleExecution> providerRules : batch)
+            {
+                final Variables providerVariables = variables.fork();
+                futures.add(executor.submit(new Runnable()
+                {
+                    @Override
+                    public void run()
                     {
-                        int timeTaken = (int) (ruleTimeCompleted - ruleTimeStarted);
-                        logTimeTakenByRuleProvider(event.getGraphContext(), ruleContext, i, timeTaken);
+                        performProviderRules(event, context, providerRules, providerVariables);
                     }
-                }
+                }));
             }
-            catch (RuntimeException ex)
+
+            for (Future<?> future : futures)
             {
-                for (RuleLifecycleListener listener : listeners)
+                try
                 {
-                    listener.afterRuleExecutionFailed(event, subContext, rule, ex);
+                    future.get();
                 }
-                String exMsg = "Error encountered while evaluating rule: " + rule;
-                String logMsg = exMsg + "\n" + StringUtils.defaultString(ex.getMessage(), "(Exception message is not set)");
-                log.log(Level.SEVERE, logMsg, ex);
-                if (ruleContext != null)
+                catch (InterruptedException e)
                 {
-                    Object origin = ruleContext.get(RuleMetadataType.ORIGIN);
-                    if (origin != null)
-                        exMsg += "\n  From: " + origin;
-
-                    Object location = ruleContext.get(org.ocpsoft.rewrite.config.RuleMetadata.PROVIDER_LOCATION);
-                    if (location != null)
-                        exMsg += "\n  Defined in: " + location;
+                    Thread.currentThread().interrupt();
+                    throw new WindupException("Interrupted while waiting for the rules to complete", e);
+                }
+                catch (ExecutionException e)
+                {
+                    if (failure == null)
+                        failure = e.getCause();
                 }
+            }
+        }
+        finally
+        {
+            event.getGraphContext().setConcurrentlyModified(false);
+        }
+        if (failure != null)
+            throw new WindupException("Failed to execute the rules due to: " + failure.getMessage(), failure);
 
-                // Depending on RuleProvider's haltOnException, halt Windup on exception.
-                AbstractRuleProvider ruleProvider = (AbstractRuleProvider) ruleContext.get(RuleMetadataType.RULE_PROVIDER);
-                boolean halt = alwaysHaltOnFailure || ruleProvider.getMetadata().isHaltOnException();
-                Object halt_ = ruleContext.get(RuleMetadataType.HALT_ON_EXCEPTION);
-                halt |= (halt_ instanceof Boolean && ((Boolean) halt_).booleanValue());
-                if (halt)
-                    throw new WindupException(exMsg, ex);
+        boolean proceed = true;
+        for (List<RuleExecution> providerRules : batch)
+        {
+            for (RuleExecution execution : providerRules)
+            {
+                if (execution.performed)
+                    proceed &= recordExecution(event, execution);
             }
+        }
+        return proceed;
+    }
 
+    /**
+     * Performs the given rules of a single provider in order on the current thread, stopping at the first one that halts the execution.
+     */
+    private void performProviderRules(GraphRewrite event, EvaluationContext context, List<RuleExecution> providerRules, Variables variables)
+    {
+        Variables.bindToCurrentThread(variables);
+        try
+        {
+            for (RuleExecution execution : providerRules)
+            {
+                performRule(event, context, execution, true);
+                if (execution.haltException != null || execution.flowHandled)
+                    break;
+            }
+        }
+        finally
+        {
+            // changes of rules without autocommit would otherwise stay in the transaction of this thread
+            event.getGraphContext().getGraph().getBaseGraph().commit();
+            Variables.unbindFromCurrentThread();
         }
+    }
 
-        for (RuleLifecycleListener listener : listeners)
+    private static AbstractRuleProvider getRuleProvider(Rule rule)
+    {
+        if (!(rule instanceof Context))
+            return null;
+        return (AbstractRuleProvider) ((Context) rule).get(RuleMetadataType.RULE_PROVIDER);
+    }
+
+    /**
+     * The state of a single rule while it is executed, so that its statistics can be recorded by the thread that runs the {@link RuleSubset}.
+     */
+    private static class RuleExecution
+    {
+        private final Rule rule;
+        private final int index;
+        private boolean performed;
+        private boolean flowHandled;
+        private int timeTaken = -1;
+        private int commitCount;
+        private long commitTime;
+        private WindupException haltException;
+
+        private RuleExecution(Rule rule, int index)
         {
-            listener.afterExecution(event);
+            this.rule = rule;
+            this.index = index;
         }
     }
 
@@ -421,9 +821,35 @@ public class RuleSubset extends DefaultOperationBuilder implements CompositeOper
         return Collections.emptySet();
     }
 
+    private ParameterStore getParameterStore(EvaluationContext context)
+    {
+        ParameterStore parameterStore = (ParameterStore) context.get(ParameterStore.class);
+        return parameterStore == null ? defaultParameterStore : parameterStore;
+    }
+
+    /**
+     * Binds the parameters of all rules to the given {@link ParameterStore}, unless they are already bound to it.
+     */
+    private void bindParameterStore(ParameterStore parent)
+    {
+        if (parent != boundParameterStore || !getParameterNames(parent).equals(boundParameterNames))
+            setParameterStore(parent);
+    }
+
+    private static Set<String> getParameterNames(ParameterStore store)
+    {
+        Set<String> result = new HashSet<>();
+        for (Entry<String, Parameter<?>> entry : store)
+        {
+            result.add(entry.getKey());
+        }
+        return result;
+    }
+
     @Override
     public void setParameterStore(final ParameterStore parent)
     {
+        boundParameterStore = null;
         for (int i = 0; i < config.getRules().size(); i++)
         {
             Rule rule = config.getRules().get(i);
@@ -439,6 +865,8 @@ public class RuleSubset extends DefaultOperationBuilder implements CompositeOper
             Visitor<Operation> operationVisitor = new ParameterizedOperationVisitor(callback);
             new OperationVisit(rule).accept(operationVisitor);
         }
+        boundParameterStore = parent;
+        boundParameterNames = getParameterNames(parent);
     }
 
     /**
@@ -32,6 +32,11 @@ public class Variables
 {
     public static int SEARCH_ALL_LAYERS = Integer.MAX_VALUE;
 
+    /**
+     * The stacks of worker threads that execute rules concurrently with other threads (see {@link #bindToCurrentThread(Variables)}).
+     */
+    private static final ThreadLocal<Variables> THREAD_INSTANCE = new ThreadLocal<>();
+
     private final Deque<Map<String, Iterable<? extends WindupVertexFrame>>> deque = new LinkedList<>();
 
     private Variables()
@@ -43,6 +48,10 @@ public class Variables
      */
     public static Variables instance(GraphRewrite event)
     {
+        Variables threadInstance = THREAD_INSTANCE.get();
+        if (threadInstance != null)
+            return threadInstance;
+
         Variables instance = (Variables) event.getRewriteContext().get(Variables.class);
         if (instance == null)
         {
@@ -52,6 +61,36 @@ public class Variables
         return instance;
     }
 
+    /**
+     * Creates a new stack that contains the current layers of this stack. Layers that are pushed to either stack afterwards are only visible
+     * in that stack, so the new stack can be used by another thread (see {@link #bindToCurrentThread(Variables)}), as long as the existing
+     * layers are not modified while it is in use.
+     */
+    public Variables fork()
+    {
+        Variables result = new Variables();
+        result.deque.addAll(deque);
+        return result;
+    }
+
+    /**
+     * Makes {@link #instance(GraphRewrite)} return the given stack on the current thread, instead of the stack of the event. This allows
+     * worker threads to push and pop their own layers while executing rules concurrently. The binding must be removed with
+     * {@link #unbindFromCurrentThread()} when the thread is done.
+     */
+    public static void bindToCurrentThread(Variables instance)
+    {
+        THREAD_INSTANCE.set(instance);
+    }
+
+    /**
+     * Removes the stack bound to the current thread by {@link #bindToCurrentThread(Variables)}.
+     */
+    public static void unbindFromCurrentThread()
+    {
+        THREAD_INSTANCE.remove();
+    }
+
     /**
      * Add new {@link Variables} layer on top of the stack.
      */
@@ -0,0 +1,19 @@
+package org.jboss.windup.config.condition;
+
+import java.util.Set;
+
+import org.jboss.windup.graph.model.WindupVertexFrame;
+import org.ocpsoft.rewrite.config.Condition;
+
+/**
+ * Implemented by {@link Condition}s that can only evaluate to true if the graph contains vertices of each of the given types. This allows rules
+ * to be skipped without evaluating them, if one of the types does not exist (see {@link RuleTypeRequirements}).
+ */
+public interface RequiresTypes
+{
+    /**
+     * Gets the types that the graph must contain for this {@link Condition} to match. The types must have a
+     * {@link com.tinkerpop.frames.modules.typedgraph.TypeValue}.
+     */
+    Set<Class<? extends WindupVertexFrame>> getRequiredTypes();
+}
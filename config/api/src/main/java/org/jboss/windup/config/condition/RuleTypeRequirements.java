@@ -0,0 +1,103 @@
+package org.jboss.windup.config.condition;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.windup.graph.GraphContext;
+import org.jboss.windup.graph.model.WindupVertexFrame;
+import org.ocpsoft.rewrite.config.And;
+import org.ocpsoft.rewrite.config.Condition;
+import org.ocpsoft.rewrite.config.Or;
+import org.ocpsoft.rewrite.config.Rule;
+import org.ocpsoft.rewrite.config.RuleBuilder;
+import org.ocpsoft.rewrite.context.EvaluationContext;
+
+/**
+ * Determines which types of vertices the conditions of a {@link Rule} require (see {@link RequiresTypes}), so that rules targeting technologies
+ * that are not present in the analyzed application can be skipped without evaluating them.
+ *
+ * The requirements are derived from the structure of the conditions: all types required by any part of an {@link And}, and only the types
+ * required by every part of an {@link Or}. Anything else (including a {@link org.ocpsoft.rewrite.config.Not}) requires nothing. The
+ * requirements of each rule are only determined once.
+ */
+public class RuleTypeRequirements
+{
+    /**
+     * The {@link EvaluationContext} of a rule that has been skipped contains the type that was missing under this key.
+     */
+    public static final String MISSING_TYPE = RuleTypeRequirements.class.getName() + ".missingType";
+
+    private final Map<Rule, Set<Class<? extends WindupVertexFrame>>> requiredTypes = Collections
+                .synchronizedMap(new IdentityHashMap<Rule, Set<Class<? extends WindupVertexFrame>>>());
+
+    /**
+     * Gets the first type required by the given {@link Rule} that the graph does not contain any vertices of, or null if the rule needs to be
+     * evaluated.
+     */
+    public Class<? extends WindupVertexFrame> getMissingType(GraphContext context, Rule rule)
+    {
+        for (Class<? extends WindupVertexFrame> type : getRequiredTypes(rule))
+        {
+            if (!context.hasVertices(type))
+                return type;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the types that the graph must contain for the given {@link Rule} to match.
+     */
+    public Set<Class<? extends WindupVertexFrame>> getRequiredTypes(Rule rule)
+    {
+        Set<Class<? extends WindupVertexFrame>> result = requiredTypes.get(rule);
+        if (result == null)
+        {
+            result = new HashSet<>();
+            if (rule instanceof RuleBuilder)
+            {
+                for (Condition condition : ((RuleBuilder) rule).getConditions())
+                {
+                    result.addAll(getRequiredTypes(condition));
+                }
+            }
+            result = Collections.unmodifiableSet(result);
+            requiredTypes.put(rule, result);
+        }
+        return result;
+    }
+
+    private static Set<Class<? extends WindupVertexFrame>> getRequiredTypes(Condition condition)
+    {
+        if (condition instanceof RequiresTypes)
+        {
+            return ((RequiresTypes) condition).getRequiredTypes();
+        }
+        else if (condition instanceof And)
+        {
+            Set<Class<? extends WindupVertexFrame>> result = new HashSet<>();
+            for (Condition child : ((And) condition).getConditions())
+            {
+                result.addAll(getRequiredTypes(child));
+            }
+            return result;
+        }
+        else if (condition instanceof Or)
+        {
+            List<Condition> children = ((Or) condition).getConditions();
+            if (children.isEmpty())
+                return Collections.emptySet();
+
+            Set<Class<? extends WindupVertexFrame>> result = new HashSet<>(getRequiredTypes(children.get(0)));
+            for (int i = 1; i < children.size() && !result.isEmpty(); i++)
+            {
+                result.retainAll(getRequiredTypes(children.get(i)));
+            }
+            return result;
+        }
+        return Collections.emptySet();
+    }
+}
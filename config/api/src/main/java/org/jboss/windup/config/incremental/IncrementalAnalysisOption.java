@@ -0,0 +1,48 @@
+package org.jboss.windup.config.incremental;
+
+import org.jboss.windup.config.AbstractPathConfigurationOption;
+import org.jboss.windup.config.InputType;
+
+/**
+ * Specifies a directory in which to keep the results of analyzing individual files, so that they can be reused by later runs over the same files.
+ * See {@link IncrementalAnalysisStore}.
+ */
+public class IncrementalAnalysisOption extends AbstractPathConfigurationOption
+{
+    public static final String NAME = "incrementalAnalysisStore";
+
+    public IncrementalAnalysisOption()
+    {
+        super(false);
+    }
+
+    @Override
+    public String getName()
+    {
+        return NAME;
+    }
+
+    @Override
+    public String getLabel()
+    {
+        return "Incremental Analysis Store";
+    }
+
+    @Override
+    public String getDescription()
+    {
+        return "Directory used to store per-file analysis results, so that unchanged files are not analyzed again by later runs with the same rules";
+    }
+
+    @Override
+    public InputType getUIType()
+    {
+        return InputType.DIRECTORY;
+    }
+
+    @Override
+    public boolean isRequired()
+    {
+        return false;
+    }
+}
@@ -0,0 +1,382 @@
+package org.jboss.windup.config.incremental;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jboss.windup.config.GraphRewrite;
+import org.jboss.windup.config.RuleProvider;
+import org.jboss.windup.config.metadata.RuleProviderRegistry;
+import org.jboss.windup.graph.model.resource.FileModel;
+import org.jboss.windup.util.Logging;
+import org.jboss.windup.util.exception.WindupException;
+import org.ocpsoft.rewrite.config.Rule;
+
+/**
+ * Stores the results of analyzing individual files between runs, keyed by the SHA1 hash of the file contents. This allows a run over a mostly
+ * unchanged application to reuse the results for the files that have not changed.
+ *
+ * Stored results are only valid for the set of rules that produced them, so each store is placed in a directory named after a fingerprint of the
+ * loaded {@link RuleProvider}s and {@link Rule}s. Directories for other fingerprints are removed when the store is opened.
+ *
+ * The store is only enabled if {@link IncrementalAnalysisOption} is set. Otherwise, {@link #isEnabled()} returns false and all lookups miss.
+ */
+public class IncrementalAnalysisStore
+{
+    private static final Logger LOG = Logging.get(IncrementalAnalysisStore.class);
+
+    /**
+     * Classes from the JDK that stored values may contain, in addition to the types given to {@link #load(String, String, Class, Class...)}.
+     */
+    private static final Set<String> ALLOWED_JDK_CLASSES = new HashSet<>(Arrays.asList(
+                "boolean", "byte", "char", "short", "int", "long", "float", "double",
+                Boolean.class.getName(), Byte.class.getName(), Character.class.getName(), Short.class.getName(), Integer.class.getName(),
+                Long.class.getName(), Float.class.getName(), Double.class.getName(), Number.class.getName(), String.class.getName(),
+                Class.class.getName(), Enum.class.getName(), ArrayList.class.getName(), HashMap.class.getName(), LinkedHashMap.class.getName(),
+                HashSet.class.getName(), LinkedHashSet.class.getName(), "java.util.Collections$UnmodifiableCollection",
+                "java.util.Collections$UnmodifiableList", "java.util.Collections$UnmodifiableRandomAccessList"));
+
+    private static final IncrementalAnalysisStore DISABLED = new IncrementalAnalysisStore(null);
+
+    private final Path directory;
+
+    private IncrementalAnalysisStore(Path directory)
+    {
+        this.directory = directory;
+    }
+
+    /**
+     * Gets the {@link IncrementalAnalysisStore} for the current execution.
+     */
+    public static IncrementalAnalysisStore instance(GraphRewrite event)
+    {
+        IncrementalAnalysisStore instance = (IncrementalAnalysisStore) event.getRewriteContext().get(IncrementalAnalysisStore.class);
+        if (instance == null)
+        {
+            instance = open(event);
+            event.getRewriteContext().put(IncrementalAnalysisStore.class, instance);
+        }
+        return instance;
+    }
+
+    private static IncrementalAnalysisStore open(GraphRewrite event)
+    {
+        File cacheDirectory = (File) event.getGraphContext().getOptionMap().get(IncrementalAnalysisOption.NAME);
+        if (cacheDirectory == null)
+            return DISABLED;
+
+        String fingerprint = getRulesetFingerprint(RuleProviderRegistry.instance(event));
+        Path root = cacheDirectory.toPath().toAbsolutePath();
+        Path directory = root.resolve(fingerprint);
+        try
+        {
+            Files.createDirectories(directory);
+            removeOtherFingerprints(root, fingerprint);
+        }
+        catch (IOException e)
+        {
+            LOG.log(Level.WARNING, "Failed to open incremental analysis store at: " + directory + " due to: " + e.getMessage()
+                        + ", all files will be analyzed", e);
+            return DISABLED;
+        }
+
+        LOG.info("Using incremental analysis store: " + directory);
+        return new IncrementalAnalysisStore(directory);
+    }
+
+    /**
+     * Indicates whether results are being stored and reused.
+     */
+    public boolean isEnabled()
+    {
+        return directory != null;
+    }
+
+    /**
+     * Gets the SHA1 hash of the given file, calculating and storing it on the {@link FileModel} if it was not already known.
+     */
+    public String getHash(FileModel fileModel)
+    {
+        String hash = fileModel.getSHA1Hash();
+        if (hash == null)
+        {
+            try (InputStream is = Files.newInputStream(fileModel.asFile().toPath()))
+            {
+                hash = sha1(is);
+            }
+            catch (IOException e)
+            {
+                throw new WindupException("Failed to calculate hash for: " + fileModel.getFilePath() + " due to: " + e.getMessage(), e);
+            }
+            fileModel.setSHA1Hash(hash);
+        }
+        return hash;
+    }
+
+    /**
+     * Loads the value stored in the given namespace for the given hash, returning null if none is available. Classes in the stored value are
+     * resolved using the {@link ClassLoader} of the given type.
+     *
+     * The store is read from a user supplied directory, so only the given type, the given field types (including any enums) and common JDK
+     * value and collection types are deserialized. Values that contain any other class are treated as missing.
+     */
+    public <T extends Serializable> T load(String namespace, String hash, Class<T> type, Class<?>... fieldTypes)
+    {
+        if (!isEnabled())
+            return null;
+
+        Path path = getPath(namespace, hash);
+        if (!Files.isRegularFile(path))
+            return null;
+
+        Set<String> allowedClasses = new HashSet<>(ALLOWED_JDK_CLASSES);
+        allowedClasses.add(type.getName());
+        for (Class<?> fieldType : fieldTypes)
+        {
+            allowedClasses.add(fieldType.getName());
+        }
+
+        try (ObjectInputStream ois = new FilteringObjectInputStream(Files.newInputStream(path), type.getClassLoader(), allowedClasses))
+        {
+            return type.cast(ois.readObject());
+        }
+        catch (Exception e)
+        {
+            LOG.log(Level.WARNING, "Failed to load stored analysis from: " + path + " due to: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the value in the given namespace for the given hash.
+     */
+    public void store(String namespace, String hash, Serializable value)
+    {
+        if (!isEnabled())
+            return;
+
+        Path path = getPath(namespace, hash);
+        try
+        {
+            Files.createDirectories(path.getParent());
+            Path temp = Files.createTempFile(path.getParent(), hash, ".tmp");
+            try (OutputStream os = Files.newOutputStream(temp); ObjectOutputStream oos = new ObjectOutputStream(os))
+            {
+                oos.writeObject(value);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e)
+        {
+            LOG.log(Level.WARNING, "Failed to store analysis to: " + path + " due to: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gets the SHA1 hash of the given {@link String}. This is useful for combining several hashes into a single key.
+     */
+    public static String hash(String value)
+    {
+        return toHex(newDigest().digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Path getPath(String namespace, String hash)
+    {
+        return directory.resolve(namespace).resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    /**
+     * Calculates a fingerprint of the loaded rules. This includes the ID and origin of each {@link RuleProvider}, the contents of the origin (for
+     * file based rules) and the ID of each {@link Rule}.
+     */
+    static String getRulesetFingerprint(RuleProviderRegistry registry)
+    {
+        List<String> entries = new ArrayList<>();
+        if (registry != null)
+        {
+            for (RuleProvider provider : registry.getProviders())
+            {
+                StringBuilder entry = new StringBuilder();
+                String origin = provider.getMetadata().getOrigin();
+                // origins of Java based providers include the class loader, so leave out anything that looks like an identity hash
+                String stableOrigin = origin == null ? null : origin.replaceAll("@[0-9a-fA-F]+", "");
+                entry.append(provider.getMetadata().getID()).append('|').append(stableOrigin).append('|').append(getOriginHash(origin));
+                for (Rule rule : registry.getRules(provider))
+                {
+                    entry.append('|').append(rule.getId());
+                }
+                entries.add(entry.toString());
+            }
+        }
+        Collections.sort(entries);
+
+        MessageDigest digest = newDigest();
+        for (String entry : entries)
+        {
+            digest.update(entry.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        return toHex(digest.digest());
+    }
+
+    private static String getOriginHash(String origin)
+    {
+        if (origin == null)
+            return "";
+
+        try
+        {
+            File file = new File(origin);
+            if (file.isFile())
+            {
+                try (InputStream is = Files.newInputStream(file.toPath()))
+                {
+                    return sha1(is);
+                }
+            }
+            else if (origin.startsWith("file:") || origin.startsWith("jar:"))
+            {
+                try (InputStream is = new URL(origin).openStream())
+                {
+                    return sha1(is);
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            LOG.log(Level.FINE, "Failed to read rule origin: " + origin + " due to: " + e.getMessage(), e);
+        }
+        return "";
+    }
+
+    private static void removeOtherFingerprints(Path root, String fingerprint) throws IOException
+    {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(root))
+        {
+            for (Path child : stream)
+            {
+                String name = child.getFileName().toString();
+                if (Files.isDirectory(child) && !name.equals(fingerprint) && name.matches("[0-9a-f]{40}"))
+                {
+                    LOG.info("Removing incremental analysis results for a previous ruleset: " + child);
+                    delete(child);
+                }
+            }
+        }
+    }
+
+    private static void delete(Path directory) throws IOException
+    {
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>()
+        {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException
+            {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException
+            {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static String sha1(InputStream is) throws IOException
+    {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = is.read(buffer)) != -1)
+        {
+            digest.update(buffer, 0, read);
+        }
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest()
+    {
+        try
+        {
+            return MessageDigest.getInstance("SHA-1");
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new WindupException("SHA-1 is not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes)
+    {
+        StringBuilder result = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes)
+        {
+            result.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return result.toString();
+    }
+
+    /**
+     * Only resolves the allowed classes, so that nothing else is instantiated from the stored data. Classes are resolved with the given
+     * {@link ClassLoader}, as the default resolution can not see classes from other addons.
+     */
+    private static class FilteringObjectInputStream extends ObjectInputStream
+    {
+        private final ClassLoader classLoader;
+        private final Set<String> allowedClasses;
+
+        private FilteringObjectInputStream(InputStream in, ClassLoader classLoader, Set<String> allowedClasses) throws IOException
+        {
+            super(in);
+            this.classLoader = classLoader;
+            this.allowedClasses = allowedClasses;
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException
+        {
+            if (!allowedClasses.contains(desc.getName()))
+                throw new InvalidClassException(desc.getName(), "Class is not allowed in stored analysis");
+
+            try
+            {
+                return Class.forName(desc.getName(), false, classLoader);
+            }
+            catch (ClassNotFoundException e)
+            {
+                return super.resolveClass(desc);
+            }
+        }
+    }
+}
@@ -48,6 +48,7 @@ public class MetadataBuilder extends AbstractRulesetMetadata implements RuleProv
     private Set<TechnologyReference> targetTechnologies = new HashSet<>();
     private Set<AddonId> requiredAddons = new HashSet<>();
     private boolean haltOnException = false;
+    private boolean parallelSafe = false;
 
     private RulesetMetadata parent = new AbstractRulesetMetadata("NULL");
 
@@ -136,6 +137,7 @@ public class MetadataBuilder extends AbstractRulesetMetadata implements RuleProv
         }
 
         builder.haltOnException = metadata.haltOnException();
+        builder.parallelSafe = metadata.parallelSafe();
 
         return builder;
     }
@@ -485,6 +487,22 @@ public class MetadataBuilder extends AbstractRulesetMetadata implements RuleProv
         return haltOnException;
     }
 
+    /**
+     * Whether the rules of this provider may be executed concurrently with the rules of other providers in the same phase, when parallel
+     * execution is enabled. This is false by default, and is set by the <code>parallelSafe</code> element in the metadata of XML rulesets.
+     */
+    public MetadataBuilder setParallelSafe(boolean parallelSafe)
+    {
+        this.parallelSafe = parallelSafe;
+        return this;
+    }
+
+    @Override
+    public boolean isParallelSafe()
+    {
+        return parallelSafe;
+    }
+
     /**
      * Join N sets.
      */
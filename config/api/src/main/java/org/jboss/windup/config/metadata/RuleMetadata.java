@@ -84,4 +84,11 @@ public @interface RuleMetadata
      * The rule itself is responsible for handling exceptions and storing them into the graph.
      */
     boolean haltOnException() default false;
+
+    /**
+     * Whether the annotated rules may be executed concurrently with the rules of other providers in the same phase, when parallel execution
+     * is enabled. Providers need to opt in to this after making sure that they are safe to execute concurrently (see
+     * {@link RuleProviderMetadata#isParallelSafe()}).
+     */
+    boolean parallelSafe() default false;
 }
\ No newline at end of file
@@ -78,4 +78,16 @@ public interface RuleProviderMetadata extends RulesetMetadata
      * The rule itself is responsible for handling exceptions and storing them into the graph.
      */
     boolean isHaltOnException();
+
+    /**
+     * Whether the {@link Rule}s of this provider may be executed concurrently with the rules of other providers in the same phase, when
+     * parallel execution is enabled.
+     *
+     * Each provider is then executed in its own transaction, which does not see the uncommitted changes of the others. Only providers that
+     * do not keep state between their rules, that do not change the graph in a way that other providers in the same phase depend on without
+     * declaring it via {@link #getExecuteAfter()}, and that only look up, create and link shared vertices while holding the lock of
+     * {@link org.jboss.windup.graph.service.GraphService#getCreationLock(String, Object)} (committing these changes with
+     * {@link org.jboss.windup.graph.service.GraphService#commitIfConcurrent()}), should return true.
+     */
+    boolean isParallelSafe();
 }
@@ -19,6 +19,7 @@ public class RuleProviderRegistry
 {
     private final List<RuleProvider> providers = new ArrayList<>();
     private final IdentityHashMap<RuleProvider, List<Rule>> providersToRules = new IdentityHashMap<>();
+    private final IdentityHashMap<RuleProvider, List<RuleProvider>> providersToDependencies = new IdentityHashMap<>();
     private Configuration configuration;
 
     /**
@@ -68,6 +69,26 @@ public class RuleProviderRegistry
         return Collections.unmodifiableList(rules);
     }
 
+    /**
+     * Sets the {@link RuleProvider}s that the given {@link RuleProvider} directly depends upon, as determined when the providers were sorted.
+     */
+    public void setDependencies(RuleProvider provider, List<RuleProvider> dependencies)
+    {
+        providersToDependencies.put(provider, dependencies);
+    }
+
+    /**
+     * Gets the {@link RuleProvider}s that the given {@link RuleProvider} directly depends upon (via executeAfter/executeBefore, or its
+     * phase), or null if these are not known.
+     */
+    public List<RuleProvider> getDependencies(RuleProvider provider)
+    {
+        List<RuleProvider> dependencies = providersToDependencies.get(provider);
+        if (dependencies == null)
+            return null;
+        return Collections.unmodifiableList(dependencies);
+    }
+
     /**
      * Contains the {@link Configuration} containing all of the loaded {@Rule}s.
      */
@@ -6,11 +6,18 @@
  */
 package org.jboss.windup.config.operation;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import org.jboss.windup.config.GraphRewrite;
 import org.jboss.windup.config.Variables;
@@ -25,12 +32,16 @@ import org.jboss.windup.config.operation.iteration.IterationBuilderWhen;
 import org.jboss.windup.config.operation.iteration.IterationPayloadManager;
 import org.jboss.windup.config.operation.iteration.NamedFramesSelector;
 import org.jboss.windup.config.operation.iteration.NamedIterationPayloadManager;
+import org.jboss.windup.config.operation.iteration.ParallelIterationOperation;
 import org.jboss.windup.config.operation.iteration.TopLayerSingletonFramesSelector;
 import org.jboss.windup.config.operation.iteration.TypedFramesSelector;
 import org.jboss.windup.config.operation.iteration.TypedNamedFramesSelector;
 import org.jboss.windup.config.operation.iteration.TypedNamedIterationPayloadManager;
 import org.jboss.windup.config.selectors.FramesSelector;
 import org.jboss.windup.graph.model.WindupVertexFrame;
+import org.jboss.windup.graph.service.GraphService;
+import org.jboss.windup.util.Logging;
+import org.jboss.windup.util.exception.WindupException;
 import org.ocpsoft.common.util.Assert;
 import org.ocpsoft.rewrite.config.And;
 import org.ocpsoft.rewrite.config.CompositeOperation;
@@ -53,7 +64,20 @@ public class Iteration extends DefaultOperationBuilder
             IterationBuilderWhen, IterationBuilderPerform, IterationBuilderOtherwise,
             IterationBuilderComplete, CompositeOperation
 {
+    private static final Logger LOG = Logging.get(Iteration.class);
+
     private static final String VAR_INSTANCE_STRING = "_instance";
+
+    /**
+     * The payloads of a parallel iteration are split into this many chunks per worker, so that workers that get cheap payloads do not end up
+     * waiting for the others.
+     */
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    /**
+     * The number of frames of a parallel iteration that are prepared before they are performed.
+     */
+    private static final int FRAMES_PER_WINDOW = 1000;
     public static final String DEFAULT_VARIABLE_LIST_STRING = "default";
     public static final String DEFAULT_SINGLE_VARIABLE_STRING = singleVariableIterationName(DEFAULT_VARIABLE_LIST_STRING);
 
@@ -63,6 +87,7 @@ public class Iteration extends DefaultOperationBuilder
 
     private IterationPayloadManager payloadManager;
     private final FramesSelector selectionManager;
+    private int workers = 1;
 
     /**
      * Calculates the default name for the single variable in the selection with the given name.
@@ -148,6 +173,21 @@ public class Iteration extends DefaultOperationBuilder
         return this;
     }
 
+    @Override
+    public IterationBuilderVar parallel()
+    {
+        return workers(Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public IterationBuilderVar workers(int workers)
+    {
+        if (workers < 1)
+            throw new IllegalArgumentException("The number of workers must be positive, but was: " + workers);
+        this.workers = workers;
+        return this;
+    }
+
     public IterationBuilderWhen all(Condition... condition)
     {
         this.condition = And.all(condition);
@@ -209,6 +249,50 @@ public class Iteration extends DefaultOperationBuilder
         Variables variables = Variables.instance(event);
         Iterable<? extends WindupVertexFrame> frames = getSelectionManager().getFrames(event, context);
         event.getRewriteContext().put(DEFAULT_VARIABLE_LIST_STRING, frames); // set the current frames
+
+        List<ParallelIterationOperation<?, ?>> parallelOperations = new ArrayList<>();
+        if (workers > 1 && condition == null)
+            collectParallelOperations(operationPerform, parallelOperations);
+
+        if (parallelOperations.isEmpty())
+        {
+            performSequentially(event, context, variables, frames);
+            return;
+        }
+
+        /*
+         * Prepare and perform the frames in windows, so that the prepared results of all frames do not need to be kept in memory at once.
+         */
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try
+        {
+            List<WindupVertexFrame> window = new ArrayList<>(FRAMES_PER_WINDOW);
+            for (WindupVertexFrame frame : frames)
+            {
+                window.add(frame);
+                if (window.size() == FRAMES_PER_WINDOW)
+                {
+                    prepareInParallel(event, context, executor, window, parallelOperations);
+                    performSequentially(event, context, variables, window);
+                    window.clear();
+                }
+            }
+            prepareInParallel(event, context, executor, window, parallelOperations);
+            performSequentially(event, context, variables, window);
+        }
+        finally
+        {
+            executor.shutdownNow();
+            for (ParallelIterationOperation<?, ?> operation : parallelOperations)
+            {
+                operation.clearPrepared();
+            }
+        }
+    }
+
+    private void performSequentially(GraphRewrite event, EvaluationContext context, Variables variables,
+                Iterable<? extends WindupVertexFrame> frames)
+    {
         for (WindupVertexFrame frame : frames)
         {
             variables.push();
@@ -255,6 +339,120 @@ public class Iteration extends DefaultOperationBuilder
 
     }
 
+    /**
+     * Finds the {@link ParallelIterationOperation}s within the given operation.
+     */
+    private static void collectParallelOperations(Operation operation, List<ParallelIterationOperation<?, ?>> result)
+    {
+        if (operation instanceof ParallelIterationOperation)
+        {
+            result.add((ParallelIterationOperation<?, ?>) operation);
+        }
+        else if (operation instanceof CompositeOperation && !(operation instanceof Iteration))
+        {
+            for (Operation child : ((CompositeOperation) operation).getOperations())
+            {
+                collectParallelOperations(child, result);
+            }
+        }
+    }
+
+    /**
+     * Prepares all frames for the given operations on the worker threads. Each worker reads the frames in its own graph transaction, which is
+     * rolled back afterwards, and has its own {@link Variables} stack. Frames that fail to be prepared are simply prepared again (and fail
+     * again) when they are performed, so the failure is reported in the same place as in a sequential iteration.
+     */
+    private void prepareInParallel(final GraphRewrite event, final EvaluationContext context, ExecutorService executor,
+                List<WindupVertexFrame> frames, final List<ParallelIterationOperation<?, ?>> operations)
+    {
+        List<Object> vertexIDs = new ArrayList<>();
+        for (WindupVertexFrame frame : frames)
+        {
+            vertexIDs.add(frame.asVertex().getId());
+        }
+        if (vertexIDs.size() < 2)
+            return;
+
+        // make the frames visible to the transactions of the workers
+        event.getGraphContext().getGraph().getBaseGraph().commit();
+
+        long start = System.currentTimeMillis();
+        int chunkSize = (vertexIDs.size() + workers * CHUNKS_PER_WORKER - 1) / (workers * CHUNKS_PER_WORKER);
+        Variables variables = Variables.instance(event);
+        try
+        {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < vertexIDs.size(); i += chunkSize)
+            {
+                final List<Object> chunk = vertexIDs.subList(i, Math.min(i + chunkSize, vertexIDs.size()));
+                final Variables workerVariables = variables.fork();
+                futures.add(executor.submit(new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        prepareChunk(event, context, chunk, workerVariables, operations);
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures)
+            {
+                future.get();
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new WindupException("Interrupted while preparing the iteration: " + this, e);
+        }
+        catch (ExecutionException e)
+        {
+            throw new WindupException("Failed to prepare the iteration: " + this + " due to: " + e.getCause().getMessage(), e.getCause());
+        }
+        LOG.fine("Prepared " + vertexIDs.size() + " frames on " + workers + " workers in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    private void prepareChunk(GraphRewrite event, EvaluationContext context, List<Object> vertexIDs, Variables variables,
+                List<ParallelIterationOperation<?, ?>> operations)
+    {
+        Variables.bindToCurrentThread(variables);
+        try
+        {
+            GraphService<WindupVertexFrame> service = new GraphService<>(event.getGraphContext(), WindupVertexFrame.class);
+            for (Object vertexID : vertexIDs)
+            {
+                WindupVertexFrame frame = service.getById(vertexID);
+                if (frame == null)
+                    continue;
+
+                variables.push();
+                try
+                {
+                    getPayloadManager().setCurrentPayload(variables, frame);
+                    for (ParallelIterationOperation<?, ?> operation : operations)
+                    {
+                        operation.prepareCurrentPayload(event, context);
+                    }
+                }
+                catch (RuntimeException e)
+                {
+                    LOG.log(Level.FINE, "Failed to prepare " + frame + ", it will be prepared again when it is performed", e);
+                }
+                finally
+                {
+                    variables.pop();
+                }
+            }
+        }
+        finally
+        {
+            // the workers only read the graph
+            event.getGraphContext().getGraph().getBaseGraph().rollback();
+            Variables.unbindFromCurrentThread();
+        }
+    }
+
     @Override
     public List<Operation> getOperations()
     {
@@ -59,10 +59,18 @@ public abstract class AbstractIterationOperation<T extends WindupVertexFrame> ex
 
     @Override
     public void perform(GraphRewrite event, EvaluationContext context)
+    {
+        perform(event, context, getPayload(event, context));
+    }
+
+    /**
+     * Gets the payload of this operation from the current {@link Variables}.
+     */
+    protected T getPayload(GraphRewrite event, EvaluationContext context)
     {
         checkVariableName(event, context);
         WindupVertexFrame payload = resolveVariable(event, variableName);
-        perform(event, context, resolvePayload(event, context, payload));
+        return resolvePayload(event, context, payload);
     }
 
     @SuppressWarnings("unchecked")
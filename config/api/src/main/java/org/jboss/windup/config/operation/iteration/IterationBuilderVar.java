@@ -17,6 +17,18 @@ import org.ocpsoft.rewrite.config.Operation;
  */
 public interface IterationBuilderVar
 {
+    /**
+     * Prepares the payloads of this {@link Iteration} concurrently, using one worker thread per available processor (see
+     * {@link #workers(int)}).
+     */
+    IterationBuilderVar parallel();
+
+    /**
+     * Prepares the payloads of this {@link Iteration} concurrently on the given number of worker threads. Only the preparation of the
+     * performed {@link ParallelIterationOperation}s is executed by the workers, everything else is still performed for one payload after the
+     * other. Iterations with a {@link #when(Condition)} are always executed sequentially.
+     */
+    IterationBuilderVar workers(int workers);
 
     /**
      * A condition which decides for each frame whether {@link #perform(Operation)} or
@@ -0,0 +1,86 @@
+package org.jboss.windup.config.operation.iteration;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jboss.windup.config.GraphRewrite;
+import org.jboss.windup.config.Variables;
+import org.jboss.windup.config.operation.Iteration;
+import org.jboss.windup.graph.model.WindupVertexFrame;
+import org.ocpsoft.rewrite.context.EvaluationContext;
+
+/**
+ * An iteration operation that splits its work into an expensive part that only reads its payload, such as parsing the file that it
+ * represents, and a part that stores the results in the graph. The first part can be executed for several payloads concurrently by a parallel
+ * {@link Iteration} (see {@link IterationBuilderVar#workers(int)}).
+ *
+ * Implementations must follow this thread-safety contract:
+ * <ul>
+ * <li>{@link #prepare(GraphRewrite, EvaluationContext, WindupVertexFrame)} may be called from several worker threads at the same time, for
+ * different payloads. It must not modify the graph, the {@link EvaluationContext} or any fields of the operation. Each worker thread reads the
+ * graph in its own transaction and has its own {@link Variables} stack, so the payload must not be passed on to other threads.</li>
+ * <li>{@link #perform(GraphRewrite, EvaluationContext, WindupVertexFrame, Object)} is always called on the thread of the {@link Iteration}, in
+ * the order of the payloads, so it may change the graph like any other operation.</li>
+ * </ul>
+ *
+ * If the {@link Iteration} is not parallel, both methods are simply called one after the other for each payload.
+ *
+ * @param <T> The type of the payload
+ * @param <R> The type of the result of the preparation
+ */
+public abstract class ParallelIterationOperation<T extends WindupVertexFrame, R> extends AbstractIterationOperation<T>
+{
+    /**
+     * The results of the payloads that have been prepared by the worker threads, by the id of the payload vertex.
+     */
+    private final ConcurrentMap<Object, R> prepared = new ConcurrentHashMap<>();
+
+    public ParallelIterationOperation()
+    {
+    }
+
+    public ParallelIterationOperation(String variableName)
+    {
+        super(variableName);
+    }
+
+    /**
+     * Does the part of the work for the given payload that only reads it. This must follow the thread-safety contract described above, and
+     * must not return null.
+     */
+    public abstract R prepare(GraphRewrite event, EvaluationContext context, T payload);
+
+    /**
+     * Stores the result of {@link #prepare(GraphRewrite, EvaluationContext, WindupVertexFrame)} for the given payload.
+     */
+    public abstract void perform(GraphRewrite event, EvaluationContext context, T payload, R prepared);
+
+    @Override
+    public void perform(GraphRewrite event, EvaluationContext context, T payload)
+    {
+        R result = prepared.remove(payload.asVertex().getId());
+        if (result == null)
+            result = prepare(event, context, payload);
+        perform(event, context, payload, result);
+    }
+
+    /**
+     * Prepares the current payload of the {@link Variables} of the calling thread, and keeps the result until the payload is performed. This
+     * is called by a parallel {@link Iteration} from its worker threads.
+     */
+    public void prepareCurrentPayload(GraphRewrite event, EvaluationContext context)
+    {
+        T payload = getPayload(event, context);
+        R result = prepare(event, context, payload);
+        if (result != null)
+            prepared.put(payload.asVertex().getId(), result);
+    }
+
+    /**
+     * Discards the results of payloads that have been prepared, but not performed (for example, because the {@link Iteration} failed).
+     */
+    public void clearPrepared()
+    {
+        prepared.clear();
+    }
+}
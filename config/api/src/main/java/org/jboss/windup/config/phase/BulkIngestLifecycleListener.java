@@ -0,0 +1,83 @@
+package org.jboss.windup.config.phase;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.jboss.windup.config.AbstractRuleLifecycleListener;
+import org.jboss.windup.config.GraphRewrite;
+import org.jboss.windup.config.RuleLifecycleListener;
+import org.jboss.windup.config.RuleProvider;
+import org.jboss.windup.config.metadata.RuleMetadataType;
+import org.jboss.windup.graph.BulkIngest;
+import org.ocpsoft.rewrite.config.Rule;
+import org.ocpsoft.rewrite.context.Context;
+import org.ocpsoft.rewrite.context.EvaluationContext;
+
+/**
+ * Keeps the graph in {@link BulkIngest} mode while the rules of the phases that add most of the vertices to the graph ({@link DiscoveryPhase},
+ * {@link ArchiveExtractionPhase} and {@link ClassifyFileTypesPhase}) are executing. Changes are committed in batches after each rule.
+ */
+public class BulkIngestLifecycleListener extends AbstractRuleLifecycleListener implements RuleLifecycleListener
+{
+    /**
+     * The number of changes to make before committing.
+     */
+    public static final int COMMIT_SIZE = 5000;
+
+    private static final Set<Class<? extends RulePhase>> BULK_INGEST_PHASES = new HashSet<Class<? extends RulePhase>>(Arrays.asList(
+                DiscoveryPhase.class, ArchiveExtractionPhase.class, ClassifyFileTypesPhase.class));
+
+    private BulkIngest bulkIngest;
+
+    @Override
+    public void beforeExecution(GraphRewrite event)
+    {
+        finish();
+    }
+
+    @Override
+    public void beforeRuleEvaluation(GraphRewrite event, Rule rule, EvaluationContext context)
+    {
+        if (isBulkIngestRule(rule))
+        {
+            if (bulkIngest == null)
+                bulkIngest = event.getGraphContext().startBulkIngest(COMMIT_SIZE);
+        }
+        else
+        {
+            finish();
+        }
+    }
+
+    @Override
+    public void afterRuleOperationsPerformed(GraphRewrite event, EvaluationContext context, Rule rule)
+    {
+        if (bulkIngest != null)
+            bulkIngest.commitIfNeeded();
+    }
+
+    @Override
+    public void afterExecution(GraphRewrite event)
+    {
+        finish();
+    }
+
+    private void finish()
+    {
+        if (bulkIngest != null)
+        {
+            bulkIngest.close();
+            bulkIngest = null;
+        }
+    }
+
+    private static boolean isBulkIngestRule(Rule rule)
+    {
+        if (!(rule instanceof Context))
+            return false;
+
+        Object provider = ((Context) rule).get(RuleMetadataType.RULE_PROVIDER);
+        return provider instanceof RuleProvider && BULK_INGEST_PHASES.contains(((RuleProvider) provider).getMetadata().getPhase());
+    }
+}
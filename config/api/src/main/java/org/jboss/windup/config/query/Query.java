@@ -4,33 +4,40 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import org.jboss.forge.furnace.util.Predicate;
 import org.jboss.windup.config.GraphRewrite;
 import org.jboss.windup.config.Variables;
 import org.jboss.windup.config.condition.GraphCondition;
+import org.jboss.windup.config.condition.RequiresTypes;
 import org.jboss.windup.config.operation.Iteration;
 import org.jboss.windup.config.selectors.FramesSelector;
+import org.jboss.windup.graph.GraphContext;
 import org.jboss.windup.graph.GraphTypeManager;
 import org.jboss.windup.graph.frames.VertexFromFramedIterable;
 import org.jboss.windup.graph.model.WindupVertexFrame;
 import org.jboss.windup.util.ExecutionStatistics;
+import org.jboss.windup.util.Logging;
 import org.jboss.windup.util.Task;
 import org.ocpsoft.rewrite.config.ConditionBuilder;
 import org.ocpsoft.rewrite.context.EvaluationContext;
 
 import com.tinkerpop.blueprints.Vertex;
-import com.tinkerpop.frames.FramedGraphQuery;
-import com.tinkerpop.frames.structures.FramedVertexIterable;
+import com.tinkerpop.frames.modules.typedgraph.TypeValue;
 import com.tinkerpop.gremlin.java.GremlinPipeline;
-import com.tinkerpop.pipes.PipeFunction;
 
 public class Query extends GraphCondition implements QueryBuilderFind, QueryBuilderFrom, QueryBuilderWith,
-            QueryBuilderPiped
+            QueryBuilderPiped, RequiresTypes
 {
+    private static final Logger LOG = Logging.get(Query.class);
+
     private String outputVar = Iteration.DEFAULT_VARIABLE_LIST_STRING;
 
     private final List<QueryGremlinCriterion> pipelineCriteria = new ArrayList<>();
@@ -41,6 +48,10 @@ public class Query extends GraphCondition implements QueryBuilderFind, QueryBuil
 
     private Predicate<WindupVertexFrame> resultFilter;
 
+    private boolean streamed;
+
+    private boolean planLogged;
+
     private Query()
     {
     }
@@ -71,21 +82,7 @@ public class Query extends GraphCondition implements QueryBuilderFind, QueryBuil
     @Override
     public QueryBuilderFind excludingType(final Class<? extends WindupVertexFrame> type)
     {
-        pipelineCriteria.add(new QueryGremlinCriterion()
-        {
-            @Override
-            public void query(GraphRewrite event, GremlinPipeline<Vertex, Vertex> pipeline)
-            {
-                pipeline.filter(new PipeFunction<Vertex, Boolean>()
-                {
-                    @Override
-                    public Boolean compute(Vertex argument)
-                    {
-                        return !GraphTypeManager.hasType(type, argument);
-                    }
-                });
-            }
-        });
+        pipelineCriteria.add(new TypeFilterCriterion(type, false));
         return this;
     }
 
@@ -95,21 +92,7 @@ public class Query extends GraphCondition implements QueryBuilderFind, QueryBuil
     @Override
     public QueryBuilderFind includingType(final Class<? extends WindupVertexFrame> type)
     {
-        pipelineCriteria.add(new QueryGremlinCriterion()
-        {
-            @Override
-            public void query(GraphRewrite event, GremlinPipeline<Vertex, Vertex> pipeline)
-            {
-                pipeline.filter(new PipeFunction<Vertex, Boolean>()
-                {
-                    @Override
-                    public Boolean compute(Vertex argument)
-                    {
-                        return GraphTypeManager.hasType(type, argument);
-                    }
-                });
-            }
-        });
+        pipelineCriteria.add(new TypeFilterCriterion(type, true));
         return this;
     }
 
@@ -143,30 +126,100 @@ public class Query extends GraphCondition implements QueryBuilderFind, QueryBuil
             public Boolean execute()
             {
                 Query.this.setInitialFramesSelector(createInitialFramesSelector(Query.this));
-                Iterable<? extends WindupVertexFrame> resultIterable = framesSelector.getFrames(event, context);
 
-                Iterable<? extends WindupVertexFrame> result = resultIterable;
-                if (resultFilter != null)
+                QueryResultCache cache = QueryResultCache.instance(event);
+                String cacheKey = cache == null ? null : getCacheKey(event.getGraphContext());
+                if (cacheKey == null)
                 {
-                    List<WindupVertexFrame> filtered = new LinkedList<>();
-                    for (WindupVertexFrame frame : result)
-                    {
-                        if (resultFilter.accept(frame))
-                        {
-                            filtered.add(frame);
-                        }
-                    }
-                    result = filtered;
+                    QueryResults result = (QueryResults) framesSelector.getFrames(event, context);
+                    setResults(event, outputVar, result);
+                    return result.hasResults();
                 }
 
-                Variables variables = Variables.instance(event);
-                setResults(event, outputVar, result);
-
-                return result.iterator().hasNext();
+                QueryResults cached = cache.get(cacheKey);
+                if (cached == null)
+                {
+                    Map<Class<? extends WindupVertexFrame>, Long> counts = QueryResultCache.getModificationCounts(getSelectedTypes());
+                    cached = (QueryResults) framesSelector.getFrames(event, context);
+                    cache.put(cacheKey, counts, getComparedProperties(), cached);
+                }
+                setResults(event, outputVar, cached);
+                return cached.hasResults();
             }
         });
     }
 
+    /**
+     * Gets the key of the results of this query in the {@link QueryResultCache}, or null if they can not be cached. This is only the case if
+     * the results only depend on the types and properties of the vertices (see {@link #getSelectedTypes()} and
+     * {@link #getComparedProperties()}).
+     */
+    private String getCacheKey(GraphContext context)
+    {
+        if (searchType == null || searchType.getAnnotation(TypeValue.class) == null || resultFilter != null || streamed)
+            return null;
+        if (getInputVariablesName() != null && !getInputVariablesName().equals(""))
+            return null;
+
+        for (QueryGremlinCriterion criterion : pipelineCriteria)
+        {
+            if (criterion instanceof QueryPropertyCriterion)
+            {
+                if (!((QueryPropertyCriterion) criterion).dependsOnPropertyOnly(context))
+                    return null;
+            }
+            else if (!(criterion instanceof TypeFilterCriterion))
+            {
+                return null;
+            }
+        }
+        return getSelectionString();
+    }
+
+    /**
+     * A query that starts from all vertices of a type only has results if there are vertices of that type, and of every type that it is
+     * restricted to with {@link #includingType(Class)}.
+     */
+    @Override
+    public Set<Class<? extends WindupVertexFrame>> getRequiredTypes()
+    {
+        Set<Class<? extends WindupVertexFrame>> result = new HashSet<>();
+        if (searchType == null || (getInputVariablesName() != null && !getInputVariablesName().equals("")))
+            return result;
+
+        if (searchType.getAnnotation(TypeValue.class) != null)
+            result.add(searchType);
+        for (QueryGremlinCriterion criterion : pipelineCriteria)
+        {
+            if (criterion instanceof TypeFilterCriterion && ((TypeFilterCriterion) criterion).include)
+                result.add(((TypeFilterCriterion) criterion).type);
+        }
+        return result;
+    }
+
+    private Set<Class<? extends WindupVertexFrame>> getSelectedTypes()
+    {
+        Set<Class<? extends WindupVertexFrame>> result = new HashSet<>();
+        result.add(searchType);
+        for (QueryGremlinCriterion criterion : pipelineCriteria)
+        {
+            if (criterion instanceof TypeFilterCriterion)
+                result.add(((TypeFilterCriterion) criterion).type);
+        }
+        return result;
+    }
+
+    private Set<String> getComparedProperties()
+    {
+        Set<String> result = new HashSet<>();
+        for (QueryGremlinCriterion criterion : pipelineCriteria)
+        {
+            if (criterion instanceof QueryPropertyCriterion)
+                result.add(((QueryPropertyCriterion) criterion).getPropertyName());
+        }
+        return result;
+    }
+
     /*
      * Criteria
      */
@@ -190,55 +243,60 @@ public class Query extends GraphCondition implements QueryBuilderFind, QueryBuil
         return new FramesSelector()
         {
             @Override
-            public Iterable<WindupVertexFrame> getFrames(GraphRewrite event, EvaluationContext context)
+            public Iterable<WindupVertexFrame> getFrames(final GraphRewrite event, EvaluationContext context)
             {
-                GremlinPipeline<Vertex, Vertex> pipeline;
-                Iterable<Vertex> startingVertices = getStartingVertices(event);
-                pipeline = new GremlinPipeline<Vertex, Vertex>(startingVertices);
-                Set<WindupVertexFrame> frames = new HashSet<>();
-                for (QueryGremlinCriterion c : query.getPipelineCriteria())
+                final QueryPlan plan = QueryPlan.create(event.getGraphContext(), query.searchType, hasStartingVerticesVariable(),
+                            query.pipelineCriteria);
+                if (!query.planLogged && LOG.isLoggable(Level.FINE))
                 {
-                    c.query(event, pipeline);
+                    LOG.fine("Plan for " + query + ": " + plan);
+                    query.planLogged = true;
                 }
 
-                FramedVertexIterable<WindupVertexFrame> framedVertexIterable = new FramedVertexIterable<WindupVertexFrame>(
-                            event.getGraphContext().getFramed(), pipeline,
-                            WindupVertexFrame.class);
-                for (WindupVertexFrame frame : framedVertexIterable)
+                Iterable<Vertex> vertices = new Iterable<Vertex>()
+                {
+                    @Override
+                    public Iterator<Vertex> iterator()
+                    {
+                        GremlinPipeline<Vertex, Vertex> pipeline = new GremlinPipeline<Vertex, Vertex>(getStartingVertices(event, plan));
+                        for (QueryGremlinCriterion c : plan.getPipelineCriteria())
+                        {
+                            c.query(event, pipeline);
+                        }
+                        return pipeline;
+                    }
+                };
+
+                /*
+                 * Vertices from the graph or an index are already unique, and filters can't change that. Anything else (variables that have been
+                 * concatenated, or arbitrary gremlin steps) may contain duplicates.
+                 */
+                boolean distinct = hasStartingVerticesVariable();
+                for (QueryGremlinCriterion criterion : plan.getPipelineCriteria())
                 {
-                    frames.add(frame);
+                    if (!QueryPlan.isFilter(criterion))
+                    {
+                        distinct = true;
+                    }
                 }
-                return frames;
+
+                return new QueryResults(vertices, event.getGraphContext().getFramed(), query.resultFilter, distinct, query.streamed);
             }
 
-            private Iterable<Vertex> getStartingVertices(GraphRewrite event)
+            private boolean hasStartingVerticesVariable()
             {
-                boolean hasStartingVerticesVariable = query.getInputVariablesName() != null
-                            && !query.getInputVariablesName().equals("");
-                Iterable<Vertex> startingVertices;
-                if (hasStartingVerticesVariable)
+                return query.getInputVariablesName() != null && !query.getInputVariablesName().equals("");
+            }
+
+            private Iterable<Vertex> getStartingVertices(GraphRewrite event, QueryPlan plan)
+            {
+                if (hasStartingVerticesVariable())
                 {
-                    // save the type as a gremlin criterion
-                    if (query.searchType != null)
-                    {
-                        query.piped(new QueryTypeCriterion(query.searchType));
-                    }
                     Variables variables = (Variables) event.getRewriteContext().get(Variables.class);
                     Iterable<? extends WindupVertexFrame> frames = variables.findVariable(query.getInputVariablesName());
                     return new VertexFromFramedIterable(frames);
                 }
-                else
-                {
-                    FramedGraphQuery framesQueryType = event.getGraphContext().getFramed().query();
-                    if (query.searchType != null)
-                    {
-                        new QueryTypeCriterion(query.searchType).query(framesQueryType);
-                        startingVertices = framesQueryType.vertices();
-                        return startingVertices;
-                    }
-
-                }
-                return event.getGraphContext().getGraph().getVertices();
+                return plan.getIndexedVertices(event.getGraphContext());
             }
         };
     }
@@ -278,6 +336,13 @@ public class Query extends GraphCondition implements QueryBuilderFind, QueryBuil
         return pipelineCriteria;
     }
 
+    @Override
+    public QueryBuilderPiped streamed()
+    {
+        this.streamed = true;
+        return this;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <FRAMETYPE extends WindupVertexFrame> QueryBuilderAs filteredBy(Predicate<FRAMETYPE> predicate)
@@ -287,6 +352,14 @@ public class Query extends GraphCondition implements QueryBuilderFind, QueryBuil
     }
 
     public String toString()
+    {
+        return getSelectionString() + ".as(" + outputVar + ")";
+    }
+
+    /**
+     * Gets the canonical form of the vertices selected by this query, without the variable that they are stored in.
+     */
+    private String getSelectionString()
     {
         StringBuilder builder = new StringBuilder();
         builder.append("Query");
@@ -303,8 +376,37 @@ public class Query extends GraphCondition implements QueryBuilderFind, QueryBuil
                 builder.append(criterion);
             }
         }
-        builder.append(".as(" + outputVar + ")");
+        if (streamed)
+        {
+            builder.append(".streamed()");
+        }
         return builder.toString();
     }
 
+    /**
+     * Filters out vertices that do (or do not) have the given type.
+     */
+    static class TypeFilterCriterion implements QueryGremlinCriterion
+    {
+        private final Class<? extends WindupVertexFrame> type;
+        private final boolean include;
+
+        private TypeFilterCriterion(Class<? extends WindupVertexFrame> type, boolean include)
+        {
+            this.type = type;
+            this.include = include;
+        }
+
+        @Override
+        public void query(GraphRewrite event, GremlinPipeline<Vertex, Vertex> pipeline)
+        {
+            pipeline.filter(GraphTypeManager.typeFilter(type, include));
+        }
+
+        @Override
+        public String toString()
+        {
+            return (include ? ".includingType(" : ".excludingType(") + type.getSimpleName() + ")";
+        }
+    }
 }
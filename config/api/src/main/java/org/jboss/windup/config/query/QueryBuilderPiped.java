@@ -15,4 +15,10 @@ public interface QueryBuilderPiped extends ConditionBuilder, QueryBuilderAs
      * type of the resulting variable (named {@link #as(String)}).
      */
     public QueryBuilderPiped piped(QueryGremlinCriterion pipe);
+
+    /**
+     * Stream the results each time they are iterated, instead of reading them into memory the first time. This keeps memory use bounded for
+     * large result sets, but the graph must not be committed while the results are being iterated.
+     */
+    public QueryBuilderPiped streamed();
 }
@@ -35,6 +35,12 @@ public interface QueryBuilderWith extends ConditionBuilder, QueryBuilderAs
     QueryBuilderWith withProperty(String property, QueryPropertyComparisonType searchType,
                 Object searchValue);
 
+    /**
+     * Stream the results each time they are iterated, instead of reading them into memory the first time. This keeps memory use bounded for
+     * large result sets, but the graph must not be committed while the results are being iterated.
+     */
+    QueryBuilderPiped streamed();
+
     /**
      * Narrow the query with the given {@link Predicate}
      */
@@ -0,0 +1,129 @@
+package org.jboss.windup.config.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.windup.graph.GraphContext;
+import org.jboss.windup.graph.model.WindupVertexFrame;
+
+import com.tinkerpop.blueprints.Vertex;
+import com.tinkerpop.frames.FramedGraphQuery;
+
+/**
+ * Decides which criteria of a {@link Query} can be answered by the graph indexes, and which must be evaluated by filtering the pipeline in
+ * memory.
+ *
+ * Criteria are only moved into the index query if they are filters (so the order in which they are applied does not matter), if they appear
+ * before the first criterion that is not a filter, and if the property has an index that gives the same results as the in-memory filter. Queries
+ * that start from a variable always filter in memory.
+ */
+class QueryPlan
+{
+    private final List<QueryFramesCriterion> indexCriteria;
+    private final List<QueryGremlinCriterion> pipelineCriteria;
+    private final boolean fromVariable;
+
+    private QueryPlan(List<QueryFramesCriterion> indexCriteria, List<QueryGremlinCriterion> pipelineCriteria, boolean fromVariable)
+    {
+        this.indexCriteria = indexCriteria;
+        this.pipelineCriteria = pipelineCriteria;
+        this.fromVariable = fromVariable;
+    }
+
+    /**
+     * Plans a query for vertices of the given type (which may be null) that match the given criteria. If fromVariable is true, the query starts
+     * from the frames in a variable instead of the whole graph.
+     */
+    static QueryPlan create(GraphContext context, Class<? extends WindupVertexFrame> searchType, boolean fromVariable,
+                List<QueryGremlinCriterion> criteria)
+    {
+        List<QueryFramesCriterion> indexCriteria = new ArrayList<>();
+        List<QueryGremlinCriterion> pipelineCriteria = new ArrayList<>();
+
+        if (searchType != null)
+        {
+            if (fromVariable)
+                pipelineCriteria.add(new QueryTypeCriterion(searchType));
+            else
+                indexCriteria.add(new QueryTypeCriterion(searchType));
+        }
+
+        boolean filtersOnly = !fromVariable;
+        for (QueryGremlinCriterion criterion : criteria)
+        {
+            if (filtersOnly && criterion instanceof QueryTypeCriterion)
+            {
+                indexCriteria.add((QueryTypeCriterion) criterion);
+            }
+            else if (filtersOnly && criterion instanceof QueryPropertyCriterion
+                        && ((QueryPropertyCriterion) criterion).canUseIndex(context))
+            {
+                indexCriteria.add((QueryPropertyCriterion) criterion);
+            }
+            else
+            {
+                filtersOnly &= isFilter(criterion);
+                pipelineCriteria.add(criterion);
+            }
+        }
+        return new QueryPlan(Collections.unmodifiableList(indexCriteria), Collections.unmodifiableList(pipelineCriteria), fromVariable);
+    }
+
+    /**
+     * Indicates whether the given criterion only removes vertices from the pipeline, without replacing or duplicating them.
+     */
+    static boolean isFilter(QueryGremlinCriterion criterion)
+    {
+        return criterion instanceof QueryTypeCriterion || criterion instanceof QueryPropertyCriterion
+                    || criterion instanceof Query.TypeFilterCriterion;
+    }
+
+    /**
+     * Gets the criteria to evaluate with the graph indexes.
+     */
+    List<QueryFramesCriterion> getIndexCriteria()
+    {
+        return indexCriteria;
+    }
+
+    /**
+     * Gets the criteria to evaluate in the pipeline.
+     */
+    List<QueryGremlinCriterion> getPipelineCriteria()
+    {
+        return pipelineCriteria;
+    }
+
+    /**
+     * Gets the vertices matching the index criteria. This must only be used if the query does not start from a variable.
+     */
+    Iterable<Vertex> getIndexedVertices(GraphContext context)
+    {
+        if (indexCriteria.isEmpty())
+            return context.getGraph().getVertices();
+
+        FramedGraphQuery query = context.getFramed().query();
+        for (QueryFramesCriterion criterion : indexCriteria)
+        {
+            criterion.query(query);
+        }
+        return query.vertices();
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder();
+        if (fromVariable)
+            builder.append("variable");
+        else if (indexCriteria.isEmpty())
+            builder.append("all vertices");
+        else
+            builder.append("index").append(indexCriteria);
+
+        if (!pipelineCriteria.isEmpty())
+            builder.append(" -> pipeline").append(pipelineCriteria);
+        return builder.toString();
+    }
+}
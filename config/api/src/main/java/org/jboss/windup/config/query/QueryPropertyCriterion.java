@@ -1,13 +1,22 @@
 package org.jboss.windup.config.query;
 
+import java.util.Set;
+
 import org.jboss.windup.config.GraphRewrite;
+import org.jboss.windup.graph.FilePathIndex;
+import org.jboss.windup.graph.GraphContext;
+import org.jboss.windup.graph.IndexType;
+import org.jboss.windup.graph.model.resource.FileModel;
 
+import com.thinkaurelius.titan.core.attribute.Cmp;
 import com.thinkaurelius.titan.core.attribute.Text;
 import com.thinkaurelius.titan.graphdb.query.TitanPredicate;
 import com.tinkerpop.blueprints.Vertex;
+import com.tinkerpop.frames.FramedGraphQuery;
 import com.tinkerpop.gremlin.java.GremlinPipeline;
+import com.tinkerpop.pipes.PipeFunction;
 
-class QueryPropertyCriterion implements QueryGremlinCriterion
+class QueryPropertyCriterion implements QueryGremlinCriterion, QueryFramesCriterion
 {
 
     private String propertyName;
@@ -26,6 +35,12 @@ class QueryPropertyCriterion implements QueryGremlinCriterion
     @Override
     public void query(GraphRewrite event, GremlinPipeline<Vertex, Vertex> pipeline)
     {
+        if (isCompactFilePath(event.getGraphContext()))
+        {
+            queryFilePath(event.getGraphContext(), pipeline);
+            return;
+        }
+
         switch (searchType)
         {
         case EQUALS:
@@ -45,6 +60,91 @@ class QueryPropertyCriterion implements QueryGremlinCriterion
         }
     }
 
+    /**
+     * Files stored with the compact layout have no {@link FileModel#FILE_PATH} property, so their paths have to be rebuilt and compared in
+     * memory.
+     */
+    private boolean isCompactFilePath(GraphContext context)
+    {
+        return FileModel.FILE_PATH.equals(propertyName) && context.getStorageConfiguration().isCompactFilePaths();
+    }
+
+    private void queryFilePath(final GraphContext context, GremlinPipeline<Vertex, Vertex> pipeline)
+    {
+        final TitanPredicate predicate;
+        switch (searchType)
+        {
+        case EQUALS:
+            predicate = Cmp.EQUAL;
+            break;
+        case CONTAINS_TOKEN:
+            predicate = Text.CONTAINS;
+            break;
+        case CONTAINS_ANY_TOKEN:
+            predicate = new MultipleValueTitanPredicate();
+            break;
+        case REGEX:
+            predicate = Text.REGEX;
+            break;
+        default:
+            throw new IllegalArgumentException("Unrecognized query type: " + searchType);
+        }
+
+        pipeline.filter(new PipeFunction<Vertex, Boolean>()
+        {
+            @Override
+            public Boolean compute(Vertex vertex)
+            {
+                String path = FilePathIndex.getFilePath(context.getGraph(), vertex);
+                return path != null && predicate.evaluate(path, searchValue);
+            }
+        });
+    }
+
+    /**
+     * Gets the name of the property that this criterion compares.
+     */
+    String getPropertyName()
+    {
+        return propertyName;
+    }
+
+    /**
+     * Indicates whether the result of this criterion only depends on the value of its property (see {@link #getPropertyName()}). This is not
+     * the case for paths of files stored with the compact layout, which are rebuilt from their parent files.
+     */
+    boolean dependsOnPropertyOnly(GraphContext context)
+    {
+        return !isCompactFilePath(context);
+    }
+
+    /**
+     * Indicates whether this criterion can be answered by an index of the given {@link GraphContext}, with the same results as the pipeline
+     * filter. Only exact matches of {@link String} values against single valued properties qualify.
+     *
+     * Regular expressions are always filtered in memory, as the search index would interpret them in the Lucene dialect, which differs from
+     * the {@link java.util.regex.Pattern} syntax of the in-memory filter.
+     */
+    boolean canUseIndex(GraphContext context)
+    {
+        if (searchType != QueryPropertyComparisonType.EQUALS || !(searchValue instanceof String) || isCompactFilePath(context))
+            return false;
+
+        Set<IndexType> indexTypes = context.getIndexTypes(propertyName);
+        return !indexTypes.isEmpty() && !indexTypes.contains(IndexType.LIST);
+    }
+
+    /**
+     * Adds this criterion to an index query. This must only be called if {@link #canUseIndex(GraphContext)} returned true.
+     */
+    @Override
+    public void query(FramedGraphQuery q)
+    {
+        if (searchType != QueryPropertyComparisonType.EQUALS)
+            throw new IllegalStateException("Query type can not be used with an index: " + searchType);
+        q.has(this.propertyName, this.searchValue);
+    }
+
     private final class MultipleValueTitanPredicate implements TitanPredicate
     {
         @Override
@@ -0,0 +1,311 @@
+package org.jboss.windup.config.query;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import org.jboss.windup.config.GraphRewrite;
+import org.jboss.windup.config.phase.RulePhase;
+import org.jboss.windup.graph.GraphContext;
+import org.jboss.windup.graph.GraphTypeManager;
+import org.jboss.windup.graph.listeners.PropertyChangedListener;
+import org.jboss.windup.graph.model.WindupVertexFrame;
+import org.jboss.windup.util.Logging;
+
+import com.tinkerpop.blueprints.Vertex;
+import com.tinkerpop.frames.modules.typedgraph.TypeValue;
+
+/**
+ * Keeps the results of {@link Query}s that only select vertices by their type and properties, so that the many rules of a phase that start with
+ * the same selection (for example, <code>Query.fromType(XmlFileModel.class)</code>) only evaluate it once.
+ *
+ * Results are keyed by the canonical form of the query (see {@link Query#toString()}), and are only kept until the end of the current phase. An
+ * entry is discarded as soon as the graph changes in a way that may affect it:
+ * <ul>
+ * <li>one of the types that it selects or filters on is added to or removed from a vertex (see
+ * {@link GraphTypeManager#getTypeModificationCount(Class)}),</li>
+ * <li>a vertex with one of these types is removed, or</li>
+ * <li>one of the properties that it compares changes on any vertex.</li>
+ * </ul>
+ *
+ * The results are stored as the lazy {@link QueryResults} of the first evaluation, and are only reused once they have been iterated (and thereby
+ * read into memory). The number of frames that are kept is limited, both per query and in total, so that selections of large parts of the
+ * graph do not stay in memory for the whole phase.
+ *
+ * Changes that are rolled back are not undone in the cache, so results that include them may be returned until the entry is discarded.
+ *
+ * Only the thread that created the cache (the one executing the rules) reads and stores results, as other threads may have their own view of
+ * the graph in a separate transaction. Changes made by any thread still discard entries.
+ */
+public class QueryResultCache implements PropertyChangedListener
+{
+    private static final Logger LOG = Logging.get(QueryResultCache.class);
+
+    /**
+     * The maximum number of results that are kept. Queries with parameters (such as those within an iteration) can produce many distinct keys,
+     * so the least recently used results are discarded beyond this.
+     */
+    private static final int MAX_ENTRIES = 500;
+
+    /**
+     * The maximum number of frames in the results of a single query. Larger results are discarded, and the query is not cached again until the
+     * next phase.
+     */
+    private static final int MAX_RESULT_SIZE = 10000;
+
+    /**
+     * The maximum number of frames in all results. The least recently used results are discarded beyond this.
+     */
+    private static final int MAX_CACHED_FRAMES = 100000;
+
+    private final GraphContext graphContext;
+    private final Thread owner;
+    private final Set<String> observedProperties = new HashSet<>();
+    private final Set<String> uncachedKeys = new HashSet<>();
+    private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true)
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest)
+        {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private Class<? extends RulePhase> phase;
+    private long hits;
+    private long misses;
+
+    private QueryResultCache(GraphContext graphContext)
+    {
+        this.graphContext = graphContext;
+        this.owner = Thread.currentThread();
+        graphContext.addPropertyChangedListener(WindupVertexFrame.TYPE_PROP, null, this);
+    }
+
+    /**
+     * Creates a cache for the given execution, unless it already has one. Returns null if it already had one, or the new cache, which must be
+     * closed with {@link #close()} once the execution is finished.
+     */
+    public static QueryResultCache open(GraphRewrite event)
+    {
+        if (event.getRewriteContext().get(QueryResultCache.class) != null)
+            return null;
+
+        QueryResultCache cache = new QueryResultCache(event.getGraphContext());
+        event.getRewriteContext().put(QueryResultCache.class, cache);
+        return cache;
+    }
+
+    /**
+     * Gets the cache of the given execution, or null if there is none.
+     */
+    public static QueryResultCache instance(GraphRewrite event)
+    {
+        return (QueryResultCache) event.getRewriteContext().get(QueryResultCache.class);
+    }
+
+    /**
+     * Discards all results if the given phase differs from the phase of the previous rules.
+     */
+    public synchronized void enterPhase(Class<? extends RulePhase> phase)
+    {
+        if (phase == this.phase)
+            return;
+
+        if (this.phase != null && (hits > 0 || misses > 0))
+            LOG.fine("Query results in " + this.phase.getSimpleName() + ": " + hits + " reused, " + misses + " evaluated");
+
+        this.phase = phase;
+        this.entries.clear();
+        this.uncachedKeys.clear();
+        this.hits = 0;
+        this.misses = 0;
+    }
+
+    /**
+     * Gets the results of the query with the given key, or null if they are not known (or the calling thread does not own the cache).
+     *
+     * Results that have not been iterated yet are discarded instead of returned, as they would still read from the transaction in which they
+     * were evaluated, and evaluating the query again costs no more than that.
+     */
+    synchronized QueryResults get(String key)
+    {
+        if (Thread.currentThread() != owner)
+            return null;
+
+        trim();
+        Entry entry = entries.get(key);
+        if (entry != null && (!entry.isCurrent() || entry.results.getMaterializedSize() < 0))
+        {
+            entries.remove(key);
+            entry = null;
+        }
+
+        if (entry == null)
+        {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.results;
+    }
+
+    /**
+     * Gets the current modification counts of the given types. These must be taken before the query is evaluated, and passed to
+     * {@link #put(String, Map, Set, QueryResults)} with its results.
+     */
+    static Map<Class<? extends WindupVertexFrame>, Long> getModificationCounts(Set<Class<? extends WindupVertexFrame>> types)
+    {
+        Map<Class<? extends WindupVertexFrame>, Long> result = new HashMap<>();
+        for (Class<? extends WindupVertexFrame> type : types)
+        {
+            result.put(type, GraphTypeManager.getTypeModificationCount(type));
+        }
+        return result;
+    }
+
+    /**
+     * Stores the results of the query with the given key, which select vertices with the given types (along with their modification counts
+     * before the query was evaluated), and compare the given properties.
+     */
+    synchronized void put(String key, Map<Class<? extends WindupVertexFrame>, Long> typeModificationCounts, Set<String> properties,
+                QueryResults results)
+    {
+        if (Thread.currentThread() != owner || uncachedKeys.contains(key))
+            return;
+
+        for (String property : properties)
+        {
+            if (observedProperties.add(property))
+                graphContext.addPropertyChangedListener(property, null, this);
+        }
+
+        Set<String> typeValues = new HashSet<>();
+        for (Class<? extends WindupVertexFrame> type : typeModificationCounts.keySet())
+        {
+            typeValues.add(type.getAnnotation(TypeValue.class).value());
+        }
+        entries.put(key, new Entry(results, typeModificationCounts, typeValues, properties));
+        trim();
+    }
+
+    /**
+     * Discards the results that are larger than {@link #MAX_RESULT_SIZE}, and then the least recently used results until no more than
+     * {@link #MAX_CACHED_FRAMES} are kept. Results are only counted once they have been read into memory, so this is checked again on each access.
+     */
+    private void trim()
+    {
+        long total = 0;
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext())
+        {
+            Map.Entry<String, Entry> entry = iterator.next();
+            int size = entry.getValue().results.getMaterializedSize();
+            if (size > MAX_RESULT_SIZE)
+            {
+                uncachedKeys.add(entry.getKey());
+                iterator.remove();
+            }
+            else if (size > 0)
+            {
+                total += size;
+            }
+        }
+
+        iterator = entries.entrySet().iterator();
+        while (total > MAX_CACHED_FRAMES && iterator.hasNext())
+        {
+            int size = iterator.next().getValue().results.getMaterializedSize();
+            if (size > 0)
+            {
+                total -= size;
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Discards all results, and stops listening for changes to the graph.
+     */
+    public synchronized void close()
+    {
+        enterPhase(null);
+        graphContext.removePropertyChangedListener(this);
+        observedProperties.clear();
+    }
+
+    @Override
+    public synchronized void propertyChanged(Vertex vertex, String key, Object oldValue, Object newValue)
+    {
+        if (WindupVertexFrame.TYPE_PROP.equals(key))
+        {
+            // types are never changed through the event graph, so this is a vertex that has been removed
+            discardForTypes(oldValue);
+            return;
+        }
+
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext())
+        {
+            if (iterator.next().properties.contains(key))
+                iterator.remove();
+        }
+    }
+
+    private void discardForTypes(Object types)
+    {
+        Set<Object> removedTypes = new HashSet<>();
+        if (types instanceof Iterable)
+        {
+            for (Object type : (Iterable<?>) types)
+            {
+                removedTypes.add(type);
+            }
+        }
+        else if (types != null)
+        {
+            removedTypes.add(types);
+        }
+
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext())
+        {
+            if (!Collections.disjoint(iterator.next().typeValues, removedTypes))
+                iterator.remove();
+        }
+    }
+
+    private static class Entry
+    {
+        private final QueryResults results;
+        private final Map<Class<? extends WindupVertexFrame>, Long> typeModificationCounts;
+        private final Set<String> typeValues;
+        private final Set<String> properties;
+
+        private Entry(QueryResults results, Map<Class<? extends WindupVertexFrame>, Long> typeModificationCounts,
+                    Set<String> typeValues, Set<String> properties)
+        {
+            this.results = results;
+            this.typeModificationCounts = typeModificationCounts;
+            this.typeValues = typeValues;
+            this.properties = properties;
+        }
+
+        private boolean isCurrent()
+        {
+            for (Map.Entry<Class<? extends WindupVertexFrame>, Long> count : typeModificationCounts.entrySet())
+            {
+                if (GraphTypeManager.getTypeModificationCount(count.getKey()) != count.getValue())
+                    return false;
+            }
+            return true;
+        }
+    }
+}
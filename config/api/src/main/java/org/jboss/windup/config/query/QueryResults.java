@@ -0,0 +1,137 @@
+package org.jboss.windup.config.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.jboss.forge.furnace.util.Predicate;
+import org.jboss.windup.graph.model.WindupVertexFrame;
+
+import com.tinkerpop.blueprints.Vertex;
+import com.tinkerpop.frames.FramedGraph;
+
+/**
+ * The lazily evaluated results of a {@link Query}. Vertices are framed, filtered and de-duplicated as they are read from the underlying
+ * pipeline, so checking whether the {@link Query} matched anything only reads up to the first result.
+ *
+ * By default, the results are read into memory the first time that they are iterated, so that later iterations see the same frames even if the
+ * graph is modified or committed in the meantime. If the {@link Query} is {@link Query#streamed()}, each iteration instead streams the results
+ * from a fresh pipeline without keeping them. In that case, the graph must not be committed while the results are being iterated.
+ *
+ * Instances are not thread-safe.
+ */
+class QueryResults implements Iterable<WindupVertexFrame>
+{
+    private final Iterable<Vertex> vertices;
+    private final FramedGraph<?> framed;
+    private final Predicate<WindupVertexFrame> filter;
+    private final boolean distinct;
+    private final boolean streamed;
+
+    private ResultIterator pending;
+    private List<WindupVertexFrame> materialized;
+
+    /**
+     * Creates the results for the given vertices. Each call to {@link Iterable#iterator()} on the vertices must run the query again. If distinct
+     * is false, the vertices are assumed to already be free of duplicates.
+     */
+    QueryResults(Iterable<Vertex> vertices, FramedGraph<?> framed, Predicate<WindupVertexFrame> filter, boolean distinct, boolean streamed)
+    {
+        this.vertices = vertices;
+        this.framed = framed;
+        this.filter = filter;
+        this.distinct = distinct;
+        this.streamed = streamed;
+    }
+
+    /**
+     * Indicates whether there are any results. This only reads as far as the first result, which is kept for the next call to
+     * {@link #iterator()}.
+     */
+    boolean hasResults()
+    {
+        if (materialized != null)
+            return !materialized.isEmpty();
+
+        if (pending == null)
+            pending = new ResultIterator(vertices.iterator());
+        return pending.hasNext();
+    }
+
+    /**
+     * Gets the number of results if they have already been read into memory by {@link #iterator()}, or -1 otherwise.
+     */
+    int getMaterializedSize()
+    {
+        return materialized == null ? -1 : materialized.size();
+    }
+
+    @Override
+    public Iterator<WindupVertexFrame> iterator()
+    {
+        if (materialized != null)
+            return Collections.unmodifiableList(materialized).iterator();
+
+        ResultIterator results = pending != null ? pending : new ResultIterator(vertices.iterator());
+        pending = null;
+        if (streamed)
+            return results;
+
+        List<WindupVertexFrame> frames = new ArrayList<>();
+        while (results.hasNext())
+        {
+            frames.add(results.next());
+        }
+        materialized = frames;
+        return Collections.unmodifiableList(materialized).iterator();
+    }
+
+    private class ResultIterator implements Iterator<WindupVertexFrame>
+    {
+        private final Iterator<Vertex> source;
+        private final Set<Object> seenIds = distinct ? new HashSet<>() : null;
+        private WindupVertexFrame next;
+
+        private ResultIterator(Iterator<Vertex> source)
+        {
+            this.source = source;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            while (next == null && source.hasNext())
+            {
+                Vertex vertex = source.next();
+                if (seenIds != null && !seenIds.add(vertex.getId()))
+                    continue;
+
+                WindupVertexFrame frame = framed.frame(vertex, WindupVertexFrame.class);
+                if (filter == null || filter.accept(frame))
+                    next = frame;
+            }
+            return next != null;
+        }
+
+        @Override
+        public WindupVertexFrame next()
+        {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            WindupVertexFrame result = next;
+            next = null;
+            return result;
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -1,11 +1,9 @@
 package org.jboss.windup.config.query;
 
-import java.util.List;
-
 import org.jboss.windup.config.GraphRewrite;
+import org.jboss.windup.graph.GraphTypeManager;
 import org.jboss.windup.graph.model.WindupVertexFrame;
 
-import com.tinkerpop.blueprints.Predicate;
 import com.tinkerpop.blueprints.Vertex;
 import com.tinkerpop.frames.FramedGraphQuery;
 import com.tinkerpop.frames.modules.typedgraph.TypeValue;
@@ -47,7 +45,7 @@ class QueryTypeCriterion implements QueryFramesCriterion, QueryGremlinCriterion
     public static GremlinPipeline<Vertex, Vertex> addPipeFor(GremlinPipeline<Vertex, Vertex> pipeline,
                 Class<? extends WindupVertexFrame> clazz)
     {
-        pipeline.has(WindupVertexFrame.TYPE_PROP, getTypeValue(clazz));
+        pipeline.filter(GraphTypeManager.typeFilter(clazz, true));
         return pipeline;
     }
 
@@ -59,17 +57,6 @@ class QueryTypeCriterion implements QueryFramesCriterion, QueryGremlinCriterion
     @Override
     public void query(GraphRewrite event, GremlinPipeline<Vertex, Vertex> pipeline)
     {
-        pipeline.has(WindupVertexFrame.TYPE_PROP, new Predicate()
-        {
-
-            @Override
-            public boolean evaluate(Object first, Object second)
-            {
-                @SuppressWarnings("unchecked")
-                List<String> firstList = (List<String>) first;
-                return firstList.contains(second);
-            }
-
-        }, typeValue);
+        pipeline.filter(GraphTypeManager.typeFilter(searchedClass, true));
     }
 }
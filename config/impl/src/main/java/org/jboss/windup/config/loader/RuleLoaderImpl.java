@@ -3,6 +3,7 @@ package org.jboss.windup.config.loader;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -111,7 +112,7 @@ public class RuleLoaderImpl implements RuleLoader
         }
     }
 
-    private List<RuleProvider> getProviders(GraphContext context)
+    private List<RuleProvider> getProviders(GraphContext context, Map<RuleProvider, List<RuleProvider>> dependencies)
     {
         List<RuleProvider> unsortedProviders = new ArrayList<>();
         for (RuleProviderLoader loader : loaders)
@@ -123,7 +124,7 @@ public class RuleLoaderImpl implements RuleLoader
 
         printRulePhases(unsortedProviders);
 
-        List<RuleProvider> sortedProviders = RuleProviderSorter.sort(unsortedProviders);
+        List<RuleProvider> sortedProviders = RuleProviderSorter.sort(unsortedProviders, dependencies);
         ServiceLogger.logLoadedServices(LOG, RuleProvider.class, sortedProviders);
 
         return Collections.unmodifiableList(sortedProviders);
@@ -134,9 +135,14 @@ public class RuleLoaderImpl implements RuleLoader
 
         ConfigurationBuilder result = ConfigurationBuilder.begin();
 
-        List<RuleProvider> providers = getProviders(context);
+        Map<RuleProvider, List<RuleProvider>> dependencies = new IdentityHashMap<>();
+        List<RuleProvider> providers = getProviders(context, dependencies);
         RuleProviderRegistry registry = new RuleProviderRegistry();
         registry.setProviders(providers);
+        for (Map.Entry<RuleProvider, List<RuleProvider>> entry : dependencies.entrySet())
+        {
+            registry.setDependencies(entry.getKey(), entry.getValue());
+        }
         for (RuleProvider provider : providers)
         {
             if (ruleProviderFilter != null)
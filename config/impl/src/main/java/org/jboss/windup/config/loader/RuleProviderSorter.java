@@ -14,6 +14,7 @@ import org.jboss.windup.config.AbstractRuleProvider;
 import org.jboss.windup.config.RuleProvider;
 import org.jboss.windup.config.phase.RulePhase;
 import org.jboss.windup.util.exception.WindupMultiStringException;
+import org.jgrapht.Graphs;
 import org.jgrapht.alg.CycleDetector;
 import org.jgrapht.graph.DefaultDirectedWeightedGraph;
 import org.jgrapht.graph.DefaultEdge;
@@ -42,6 +43,11 @@ public class RuleProviderSorter
      */
     private final Map<String, RuleProvider> idToProviderMap = new HashMap<>();
 
+    /**
+     * Maps from each RuleProvider to the providers that it directly depends upon in the sorted graph (including its phase)
+     */
+    private final IdentityHashMap<RuleProvider, List<RuleProvider>> dependencies = new IdentityHashMap<>();
+
     private RuleProviderSorter(List<RuleProvider> providers)
     {
         this.providers = new ArrayList<>(providers);
@@ -58,6 +64,17 @@ public class RuleProviderSorter
         return sorter.getProviders();
     }
 
+    /**
+     * Sort the provided list of {@link RuleProvider}s and return the result. The providers that each provider directly depends upon (via
+     * executeAfter/executeBefore and its phase) are added to the given {@link Map}.
+     */
+    public static List<RuleProvider> sort(List<RuleProvider> providers, Map<RuleProvider, List<RuleProvider>> dependencies)
+    {
+        RuleProviderSorter sorter = new RuleProviderSorter(providers);
+        dependencies.putAll(sorter.dependencies);
+        return sorter.getProviders();
+    }
+
     /**
      * Gets the provider list
      */
@@ -102,6 +119,7 @@ public class RuleProviderSorter
         {
             RuleProvider provider = iterator.next();
             result.add(provider);
+            dependencies.put(provider, Graphs.predecessorListOf(graph, provider));
         }
 
         this.providers = Collections.unmodifiableList(result);
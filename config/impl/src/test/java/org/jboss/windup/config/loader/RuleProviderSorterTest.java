@@ -1,8 +1,10 @@
 package org.jboss.windup.config.loader;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 
 import org.jboss.windup.config.AbstractRuleProvider;
 import org.jboss.windup.config.RuleProvider;
@@ -324,6 +326,37 @@ public class RuleProviderSorterTest
         Assert.assertEquals(v7, sortedRuleProviders.get(7));
     }
 
+    @Test
+    public void testDependencies()
+    {
+        AbstractRuleProvider v1 = new WCPPhase1Class1();
+        AbstractRuleProvider v2 = new WCPPhase1Class2();
+        AbstractRuleProvider v3 = new WCPPhase1Class3();
+        AbstractRuleProvider v4 = new WCPPhase2Class1();
+
+        List<RuleProvider> ruleProviders = new ArrayList<>();
+        ruleProviders.add(v4);
+        ruleProviders.add(v3);
+        ruleProviders.add(v2);
+        ruleProviders.add(v1);
+        ruleProviders.addAll(getPhases());
+
+        Map<RuleProvider, List<RuleProvider>> dependencies = new IdentityHashMap<>();
+        RuleProviderSorter.sort(ruleProviders, dependencies);
+
+        Assert.assertFalse(dependencies.get(v1).contains(v2));
+        Assert.assertTrue(dependencies.get(v2).contains(v1));
+        Assert.assertTrue(dependencies.get(v3).contains(v2));
+
+        // only direct dependencies are included
+        Assert.assertFalse(dependencies.get(v3).contains(v1));
+
+        for (RuleProvider dependency : dependencies.get(v4))
+        {
+            Assert.assertTrue(dependency instanceof RulePhase);
+        }
+    }
+
     @Test
     public void testSortCycle()
     {
@@ -2,6 +2,7 @@ package org.jboss.windup.config;
 
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.inject.Inject;
 
@@ -12,11 +13,18 @@ import org.jboss.forge.arquillian.AddonDependency;
 import org.jboss.forge.arquillian.archive.AddonArchive;
 import org.jboss.forge.furnace.util.OperatingSystemUtils;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.windup.config.condition.RuleTypeRequirements;
 import org.jboss.windup.config.model.TestSomeModel;
 import org.jboss.windup.config.model.TestXmlMetaFacetModel;
+import org.jboss.windup.config.operation.GraphOperation;
 import org.jboss.windup.config.query.Query;
 import org.jboss.windup.config.query.QueryBuilderFind;
 import org.jboss.windup.config.query.QueryBuilderFrom;
+import org.jboss.windup.config.query.QueryBuilderPiped;
+import org.jboss.windup.config.query.QueryBuilderWith;
+import org.jboss.windup.config.query.QueryGremlinCriterion;
+import org.jboss.windup.config.query.QueryPropertyComparisonType;
+import org.jboss.windup.config.query.QueryResultCache;
 import org.jboss.windup.graph.GraphContext;
 import org.jboss.windup.graph.GraphContextFactory;
 import org.jboss.windup.graph.model.WindupConfigurationModel;
@@ -25,14 +33,23 @@ import org.jboss.windup.graph.service.FileService;
 import org.jboss.windup.graph.service.GraphService;
 import org.jboss.windup.rules.apps.java.model.JavaClassModel;
 import org.jboss.windup.rules.apps.java.model.JavaMethodModel;
+import org.jboss.windup.rules.apps.java.scan.ast.JavaTypeReferenceModel;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.ocpsoft.rewrite.config.And;
 import org.ocpsoft.rewrite.config.Configuration;
+import org.ocpsoft.rewrite.config.ConfigurationBuilder;
+import org.ocpsoft.rewrite.config.Not;
+import org.ocpsoft.rewrite.config.Or;
+import org.ocpsoft.rewrite.config.Rule;
+import org.ocpsoft.rewrite.context.EvaluationContext;
 import org.ocpsoft.rewrite.param.DefaultParameterValueStore;
 import org.ocpsoft.rewrite.param.ParameterValueStore;
 
 import com.google.common.collect.Iterables;
+import com.tinkerpop.blueprints.Vertex;
+import com.tinkerpop.gremlin.java.GremlinPipeline;
 
 @RunWith(Arquillian.class)
 public class QueryConditionTest
@@ -404,4 +421,168 @@ public class QueryConditionTest
             variables.pop();
         }
     }
+
+    @Test
+    public void testStreamedQueryRemovesDuplicates() throws Exception
+    {
+        try (final GraphContext context = factory.create())
+        {
+            GraphRewrite event = new GraphRewrite(context);
+            DefaultEvaluationContext evaluationContext = createEvalContext(event);
+
+            JavaClassModel classModel = context.getFramed().addVertex(null, JavaClassModel.class);
+            classModel.setQualifiedName("com.example.Class2HasToString");
+            for (String methodName : new String[] { "foo", "bar", "toString" })
+            {
+                JavaMethodModel methodModel = context.getFramed().addVertex(null, JavaMethodModel.class);
+                methodModel.setJavaClass(classModel);
+                methodModel.setMethodName(methodName);
+            }
+            context.getGraph().getBaseGraph().commit();
+
+            Variables variables = Variables.instance(event);
+            variables.push();
+            QueryBuilderPiped query = Query.fromType(JavaMethodModel.class).piped(new QueryGremlinCriterion()
+            {
+                @Override
+                public void query(GraphRewrite event, GremlinPipeline<Vertex, Vertex> pipeline)
+                {
+                    pipeline.in(JavaMethodModel.JAVA_METHOD);
+                }
+            }).streamed();
+            query.as("classes");
+            Assert.assertTrue(query.evaluate(event, evaluationContext));
+
+            Iterable<? extends WindupVertexFrame> classes = variables.findVariable("classes");
+            Assert.assertEquals(1, Iterables.size(classes));
+            // streamed results can be iterated more than once
+            Assert.assertEquals(1, Iterables.size(classes));
+            Assert.assertEquals(classModel.getQualifiedName(), ((JavaClassModel) classes.iterator().next()).getQualifiedName());
+
+            variables.pop();
+        }
+    }
+
+    @Test
+    public void testCachedResultsAreInvalidated() throws Exception
+    {
+        try (final GraphContext context = factory.create())
+        {
+            fillData(context);
+            GraphRewrite event = new GraphRewrite(context);
+            DefaultEvaluationContext evaluationContext = createEvalContext(event);
+            QueryResultCache cache = QueryResultCache.open(event);
+            try
+            {
+                Assert.assertEquals(4, countResults(event, evaluationContext, Query.fromType(TestSomeModel.class)));
+                Assert.assertEquals(4, countResults(event, evaluationContext, Query.fromType(TestSomeModel.class)));
+
+                // adding a vertex of the type
+                TestSomeModel added = context.getFramed().addVertex(null, TestSomeModel.class);
+                Assert.assertEquals(5, countResults(event, evaluationContext, Query.fromType(TestSomeModel.class)));
+
+                // removing a vertex of the type
+                added.asVertex().remove();
+                Assert.assertEquals(4, countResults(event, evaluationContext, Query.fromType(TestSomeModel.class)));
+
+                // changing a compared property
+                QueryBuilderWith withTag = Query.fromType(TestXmlMetaFacetModel.class).withProperty(
+                            TestXmlMetaFacetModel.PROPERTY_ROOT_TAG_NAME, "xmlTag1");
+                Assert.assertEquals(1, countResults(event, evaluationContext, withTag));
+                TestXmlMetaFacetModel facet = new GraphService<>(context, TestXmlMetaFacetModel.class).getUniqueByProperty(
+                            TestXmlMetaFacetModel.PROPERTY_ROOT_TAG_NAME, "xmlTag2");
+                facet.setRootTagName("xmlTag1");
+                Assert.assertEquals(2, countResults(event, evaluationContext, Query.fromType(TestXmlMetaFacetModel.class)
+                            .withProperty(TestXmlMetaFacetModel.PROPERTY_ROOT_TAG_NAME, "xmlTag1")));
+            }
+            finally
+            {
+                cache.close();
+            }
+        }
+    }
+
+    @Test
+    public void testRegexOnSearchIndexedProperty() throws Exception
+    {
+        try (final GraphContext context = factory.create())
+        {
+            JavaTypeReferenceModel foo = context.getFramed().addVertex(null, JavaTypeReferenceModel.class);
+            foo.setResolvedSourceSnippit("com.example.Foo");
+            JavaTypeReferenceModel bar = context.getFramed().addVertex(null, JavaTypeReferenceModel.class);
+            bar.setResolvedSourceSnippit("com.example.Bar");
+
+            GraphRewrite event = new GraphRewrite(context);
+            DefaultEvaluationContext evaluationContext = createEvalContext(event);
+
+            // java.util.regex syntax that the search index does not support
+            Assert.assertEquals(1, countResults(event, evaluationContext, Query.fromType(JavaTypeReferenceModel.class).withProperty(
+                        JavaTypeReferenceModel.RESOLVED_SOURCE_SNIPPIT, QueryPropertyComparisonType.REGEX, "\\Qcom.example.Foo\\E")));
+            Assert.assertEquals(2, countResults(event, evaluationContext, Query.fromType(JavaTypeReferenceModel.class).withProperty(
+                        JavaTypeReferenceModel.RESOLVED_SOURCE_SNIPPIT, QueryPropertyComparisonType.REGEX, "^com\\.example\\.\\w+$")));
+            Assert.assertEquals(1, countResults(event, evaluationContext, Query.fromType(JavaTypeReferenceModel.class).withProperty(
+                        JavaTypeReferenceModel.RESOLVED_SOURCE_SNIPPIT, "com.example.Bar")));
+        }
+    }
+
+    @Test
+    public void testRulesWithoutRequiredTypesAreSkipped() throws Exception
+    {
+        try (final GraphContext context = factory.create())
+        {
+            context.getFramed().addVertex(null, TestSomeModel.class);
+
+            final AtomicInteger performed = new AtomicInteger();
+            GraphOperation count = new GraphOperation()
+            {
+                @Override
+                public void perform(GraphRewrite event, EvaluationContext context)
+                {
+                    performed.incrementAndGet();
+                }
+            };
+
+            Configuration configuration = ConfigurationBuilder.begin()
+                        .addRule().when(Query.fromType(TestSomeModel.class)).perform(count)
+                        .addRule().when(Query.fromType(TestXmlMetaFacetModel.class)).perform(count)
+                        .addRule().when(And.all(Query.fromType(TestSomeModel.class), Query.fromType(TestXmlMetaFacetModel.class)))
+                        .perform(count)
+                        .addRule().when(Or.any(Query.fromType(TestSomeModel.class), Query.fromType(TestXmlMetaFacetModel.class)))
+                        .perform(count)
+                        .addRule().when(Not.any(Query.fromType(TestXmlMetaFacetModel.class))).perform(count);
+
+            RuleTypeRequirements requirements = new RuleTypeRequirements();
+            List<Rule> rules = configuration.getRules();
+            Assert.assertEquals(1, requirements.getRequiredTypes(rules.get(1)).size());
+            Assert.assertEquals(2, requirements.getRequiredTypes(rules.get(2)).size());
+            Assert.assertTrue(requirements.getRequiredTypes(rules.get(3)).isEmpty());
+            Assert.assertTrue(requirements.getRequiredTypes(rules.get(4)).isEmpty());
+
+            Assert.assertNull(requirements.getMissingType(context, rules.get(0)));
+            Assert.assertEquals(TestXmlMetaFacetModel.class, requirements.getMissingType(context, rules.get(1)));
+            Assert.assertEquals(TestXmlMetaFacetModel.class, requirements.getMissingType(context, rules.get(2)));
+
+            GraphRewrite event = new GraphRewrite(context);
+            RuleSubset.create(configuration).perform(event, createEvalContext(event));
+
+            // only the single query, the alternatives and the negation match
+            Assert.assertEquals(3, performed.get());
+        }
+    }
+
+    private int countResults(GraphRewrite event, DefaultEvaluationContext evaluationContext, QueryBuilderWith query)
+    {
+        Variables variables = Variables.instance(event);
+        variables.push();
+        try
+        {
+            query.as("results");
+            query.evaluate(event, evaluationContext);
+            return Iterables.size(variables.findVariable("results"));
+        }
+        finally
+        {
+            variables.pop();
+        }
+    }
 }
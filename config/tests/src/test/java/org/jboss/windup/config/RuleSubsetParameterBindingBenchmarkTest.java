@@ -0,0 +1,134 @@
+package org.jboss.windup.config;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.arquillian.AddonDependencies;
+import org.jboss.forge.arquillian.AddonDependency;
+import org.jboss.forge.arquillian.archive.AddonArchive;
+import org.jboss.forge.furnace.util.OperatingSystemUtils;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.windup.config.condition.GraphCondition;
+import org.jboss.windup.config.operation.GraphOperation;
+import org.jboss.windup.graph.GraphContext;
+import org.jboss.windup.graph.GraphContextFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.ocpsoft.rewrite.config.Configuration;
+import org.ocpsoft.rewrite.config.ConfigurationBuilder;
+import org.ocpsoft.rewrite.context.EvaluationContext;
+import org.ocpsoft.rewrite.param.DefaultParameterStore;
+import org.ocpsoft.rewrite.param.DefaultParameterValueStore;
+import org.ocpsoft.rewrite.param.ParameterStore;
+import org.ocpsoft.rewrite.param.ParameterValueStore;
+import org.ocpsoft.rewrite.param.Parameterized;
+
+/**
+ * Executes a {@link RuleSubset} with a large number of synthetic rules, and checks that the parameters of the rules are only bound to the
+ * {@link ParameterStore} once, instead of once for each executed rule. Logs the time taken compared to the estimated time of binding them for
+ * each rule.
+ */
+@RunWith(Arquillian.class)
+public class RuleSubsetParameterBindingBenchmarkTest
+{
+    private static final Logger LOG = Logger.getLogger(RuleSubsetParameterBindingBenchmarkTest.class.getName());
+
+    private static final int RULE_COUNT = 5000;
+
+    @Deployment
+    @AddonDependencies({
+                @AddonDependency(name = "org.jboss.windup.config:windup-config"),
+                @AddonDependency(name = "org.jboss.windup.graph:windup-graph"),
+                @AddonDependency(name = "org.jboss.forge.furnace.container:cdi")
+    })
+    public static AddonArchive getDeployment()
+    {
+        return ShrinkWrap.create(AddonArchive.class).addBeansXML().addClasses(CountingCondition.class);
+    }
+
+    @Inject
+    private GraphContextFactory factory;
+
+    @Test
+    public void testParametersBoundOnce() throws Exception
+    {
+        final Path folder = OperatingSystemUtils.createTempDir().toPath();
+        try (final GraphContext context = factory.create(folder))
+        {
+            AtomicInteger bindings = new AtomicInteger();
+            AtomicInteger evaluations = new AtomicInteger();
+            ConfigurationBuilder builder = ConfigurationBuilder.begin();
+            for (int i = 0; i < RULE_COUNT; i++)
+            {
+                builder.addRule().when(new CountingCondition(bindings, evaluations)).perform(new GraphOperation()
+                {
+                    @Override
+                    public void perform(GraphRewrite event, EvaluationContext context)
+                    {
+                    }
+                });
+            }
+            Configuration configuration = builder;
+
+            GraphRewrite event = new GraphRewrite(context);
+            DefaultEvaluationContext evaluationContext = new DefaultEvaluationContext();
+            evaluationContext.put(ParameterStore.class, new DefaultParameterStore());
+            evaluationContext.put(ParameterValueStore.class, new DefaultParameterValueStore());
+
+            RuleSubset subset = RuleSubset.create(configuration);
+            long start = System.nanoTime();
+            subset.perform(event, evaluationContext);
+            long performMillis = (System.nanoTime() - start) / 1000000L;
+
+            Assert.assertEquals(RULE_COUNT, evaluations.get());
+            Assert.assertEquals(RULE_COUNT, bindings.get());
+
+            // a single walk over all rules, as previously done before each rule
+            start = System.nanoTime();
+            subset.setParameterStore(new DefaultParameterStore());
+            long walkNanos = System.nanoTime() - start;
+
+            LOG.info("Rules: " + RULE_COUNT + ", perform: " + performMillis + "ms, binding once per rule (estimated): "
+                        + (walkNanos * RULE_COUNT / 1000000L) + "ms");
+        }
+    }
+
+    public static class CountingCondition extends GraphCondition implements Parameterized
+    {
+        private final AtomicInteger bindings;
+        private final AtomicInteger evaluations;
+
+        public CountingCondition(AtomicInteger bindings, AtomicInteger evaluations)
+        {
+            this.bindings = bindings;
+            this.evaluations = evaluations;
+        }
+
+        @Override
+        public boolean evaluate(GraphRewrite event, EvaluationContext context)
+        {
+            evaluations.incrementAndGet();
+            return true;
+        }
+
+        @Override
+        public Set<String> getRequiredParameterNames()
+        {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public void setParameterStore(ParameterStore store)
+        {
+            bindings.incrementAndGet();
+        }
+    }
+}
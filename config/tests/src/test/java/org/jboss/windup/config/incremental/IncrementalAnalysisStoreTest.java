@@ -0,0 +1,181 @@
+package org.jboss.windup.config.incremental;
+
+import java.io.File;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.arquillian.AddonDependencies;
+import org.jboss.forge.arquillian.AddonDependency;
+import org.jboss.forge.arquillian.archive.AddonArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.windup.config.GraphRewrite;
+import org.jboss.windup.graph.GraphContext;
+import org.jboss.windup.graph.GraphContextFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class IncrementalAnalysisStoreTest
+{
+    private static final String NAMESPACE = "test";
+    private static final String HASH = IncrementalAnalysisStore.hash("stored");
+
+    @Deployment
+    @AddonDependencies({
+                @AddonDependency(name = "org.jboss.windup.config:windup-config"),
+                @AddonDependency(name = "org.jboss.windup.graph:windup-graph"),
+                @AddonDependency(name = "org.jboss.forge.furnace.container:cdi")
+    })
+    public static AddonArchive getDeployment()
+    {
+        final AddonArchive archive = ShrinkWrap.create(AddonArchive.class)
+                    .addBeansXML();
+        return archive;
+    }
+
+    @Inject
+    private GraphContextFactory factory;
+
+    @Test
+    public void testDisabled() throws Exception
+    {
+        try (GraphContext context = factory.create())
+        {
+            context.setOptions(new HashMap<String, Object>());
+            IncrementalAnalysisStore store = IncrementalAnalysisStore.instance(new GraphRewrite(context));
+            Assert.assertFalse(store.isEnabled());
+
+            store.store(NAMESPACE, HASH, new StoredValue("value", null));
+            Assert.assertNull(store.load(NAMESPACE, HASH, StoredValue.class));
+        }
+    }
+
+    @Test
+    public void testStoreAndLoad() throws Exception
+    {
+        Path storeDirectory = Files.createTempDirectory("windup_incremental");
+        try (GraphContext context = factory.create())
+        {
+            IncrementalAnalysisStore store = openStore(context, storeDirectory);
+            Assert.assertTrue(store.isEnabled());
+
+            List<String> values = new ArrayList<>();
+            values.add("first");
+            values.add("second");
+            store.store(NAMESPACE, HASH, new StoredValue("value", (Serializable) values));
+
+            StoredValue loaded = store.load(NAMESPACE, HASH, StoredValue.class);
+            Assert.assertNotNull(loaded);
+            Assert.assertEquals("value", loaded.name);
+            Assert.assertEquals(values, loaded.payload);
+
+            Assert.assertNull(store.load(NAMESPACE, IncrementalAnalysisStore.hash("missing"), StoredValue.class));
+            Assert.assertNull(store.load("other", HASH, StoredValue.class));
+        }
+
+        // a later run with the same rules sees the stored value
+        try (GraphContext context = factory.create())
+        {
+            StoredValue loaded = openStore(context, storeDirectory).load(NAMESPACE, HASH, StoredValue.class);
+            Assert.assertNotNull(loaded);
+            Assert.assertEquals("value", loaded.name);
+        }
+    }
+
+    @Test
+    public void testOtherRulesetsAreRemoved() throws Exception
+    {
+        Path storeDirectory = Files.createTempDirectory("windup_incremental");
+        Path otherRuleset = storeDirectory.resolve(IncrementalAnalysisStore.hash("other ruleset"));
+        Path otherFile = otherRuleset.resolve(NAMESPACE).resolve(HASH);
+        Files.createDirectories(otherFile.getParent());
+        Files.write(otherFile, new byte[] { 1, 2, 3 });
+        Path unrelated = Files.createDirectories(storeDirectory.resolve("unrelated"));
+
+        try (GraphContext context = factory.create())
+        {
+            IncrementalAnalysisStore store = openStore(context, storeDirectory);
+            Assert.assertTrue(store.isEnabled());
+            Assert.assertFalse(Files.exists(otherRuleset));
+            Assert.assertTrue(Files.exists(unrelated));
+            Assert.assertNull(store.load(NAMESPACE, HASH, StoredValue.class));
+        }
+    }
+
+    @Test
+    public void testUnexpectedClassesAreNotLoaded() throws Exception
+    {
+        Path storeDirectory = Files.createTempDirectory("windup_incremental");
+        try (GraphContext context = factory.create())
+        {
+            IncrementalAnalysisStore store = openStore(context, storeDirectory);
+            store.store(NAMESPACE, HASH, new StoredValue("value", new Date()));
+            Assert.assertNull(store.load(NAMESPACE, HASH, StoredValue.class));
+
+            // the class is accepted once it is expected
+            Assert.assertNotNull(store.load(NAMESPACE, HASH, StoredValue.class, Date.class));
+
+            // as is a stored value of another type
+            store.store(NAMESPACE, HASH, new Date());
+            Assert.assertNull(store.load(NAMESPACE, HASH, StoredValue.class));
+        }
+    }
+
+    @Test
+    public void testCorruptedValueIsIgnored() throws Exception
+    {
+        Path storeDirectory = Files.createTempDirectory("windup_incremental");
+        try (GraphContext context = factory.create())
+        {
+            IncrementalAnalysisStore store = openStore(context, storeDirectory);
+            store.store(NAMESPACE, HASH, new StoredValue("value", null));
+
+            for (File rulesetDirectory : storeDirectory.toFile().listFiles())
+            {
+                Path stored = rulesetDirectory.toPath().resolve(NAMESPACE).resolve(HASH.substring(0, 2)).resolve(HASH);
+                Assert.assertTrue(Files.isRegularFile(stored));
+                Files.write(stored, new byte[] { 1, 2, 3 });
+            }
+
+            Assert.assertNull(store.load(NAMESPACE, HASH, StoredValue.class));
+        }
+    }
+
+    private IncrementalAnalysisStore openStore(GraphContext context, Path storeDirectory)
+    {
+        return IncrementalAnalysisStore.instance(getEvent(context, storeDirectory));
+    }
+
+    private GraphRewrite getEvent(GraphContext context, Path storeDirectory)
+    {
+        Map<String, Object> options = new HashMap<>();
+        options.put(IncrementalAnalysisOption.NAME, storeDirectory.toFile());
+        context.setOptions(options);
+        return new GraphRewrite(context);
+    }
+
+    private static class StoredValue implements Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+        private final Serializable payload;
+
+        private StoredValue(String name, Serializable payload)
+        {
+            this.name = name;
+            this.payload = payload;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.jboss.windup.config.iteration;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.arquillian.AddonDependencies;
+import org.jboss.forge.arquillian.AddonDependency;
+import org.jboss.forge.arquillian.archive.AddonArchive;
+import org.jboss.forge.furnace.util.OperatingSystemUtils;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.windup.config.AbstractRuleProvider;
+import org.jboss.windup.config.DefaultEvaluationContext;
+import org.jboss.windup.config.GraphRewrite;
+import org.jboss.windup.config.RuleSubset;
+import org.jboss.windup.config.metadata.MetadataBuilder;
+import org.jboss.windup.config.operation.Iteration;
+import org.jboss.windup.config.operation.iteration.ParallelIterationOperation;
+import org.jboss.windup.config.query.Query;
+import org.jboss.windup.graph.GraphContext;
+import org.jboss.windup.graph.GraphContextFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.ocpsoft.rewrite.config.Configuration;
+import org.ocpsoft.rewrite.config.ConfigurationBuilder;
+import org.ocpsoft.rewrite.context.EvaluationContext;
+import org.ocpsoft.rewrite.param.DefaultParameterValueStore;
+import org.ocpsoft.rewrite.param.ParameterValueStore;
+
+/**
+ * Testing the Iteration.over(SomeType.class).workers(n) approach.
+ */
+@RunWith(Arquillian.class)
+public class RuleIterationParallelTest
+{
+    private static final int FRAMES = 50;
+
+    @Deployment
+    @AddonDependencies({
+                @AddonDependency(name = "org.jboss.windup.config:windup-config"),
+                @AddonDependency(name = "org.jboss.windup.graph:windup-graph"),
+                @AddonDependency(name = "org.jboss.forge.furnace.container:cdi")
+    })
+    public static AddonArchive getDeployment()
+    {
+        return ShrinkWrap.create(AddonArchive.class)
+                    .addBeansXML()
+                    .addClasses(TestParallelIterationProvider.class, RecordingOperation.class, TestSimple2Model.class);
+    }
+
+    @Inject
+    private GraphContextFactory factory;
+
+    @Test
+    public void testParallelPreparation() throws Exception
+    {
+        final Path folder = OperatingSystemUtils.createTempDir().toPath();
+        try (final GraphContext context = factory.create(folder))
+        {
+            Set<Object> expected = new HashSet<>();
+            for (int i = 0; i < FRAMES; i++)
+            {
+                expected.add(context.getFramed().addVertex(null, TestSimple2Model.class).asVertex().getId());
+            }
+
+            GraphRewrite event = new GraphRewrite(context);
+            DefaultEvaluationContext evaluationContext = new DefaultEvaluationContext();
+            evaluationContext.put(ParameterValueStore.class, new DefaultParameterValueStore());
+
+            RecordingOperation operation = new RecordingOperation();
+            Configuration configuration = new TestParallelIterationProvider(operation).getConfiguration(context);
+            RuleSubset.create(configuration).perform(event, evaluationContext);
+
+            // every payload is prepared by a worker, and performed once on the iteration thread
+            Assert.assertEquals(expected, operation.prepared);
+            Assert.assertEquals(FRAMES, operation.performed.size());
+            Assert.assertEquals(expected, new HashSet<>(operation.performed));
+            Assert.assertTrue(operation.preparedOnOtherThreads);
+        }
+    }
+
+    public static class RecordingOperation extends ParallelIterationOperation<TestSimple2Model, Thread>
+    {
+        private final Set<Object> prepared = Collections.synchronizedSet(new HashSet<Object>());
+        private final List<Object> performed = new ArrayList<>();
+        private volatile boolean preparedOnOtherThreads;
+
+        @Override
+        public Thread prepare(GraphRewrite event, EvaluationContext context, TestSimple2Model payload)
+        {
+            prepared.add(payload.asVertex().getId());
+            return Thread.currentThread();
+        }
+
+        @Override
+        public void perform(GraphRewrite event, EvaluationContext context, TestSimple2Model payload, Thread preparedBy)
+        {
+            if (preparedBy != Thread.currentThread())
+                preparedOnOtherThreads = true;
+            performed.add(payload.asVertex().getId());
+        }
+    }
+
+    public static class TestParallelIterationProvider extends AbstractRuleProvider
+    {
+        private final RecordingOperation operation;
+
+        public TestParallelIterationProvider(RecordingOperation operation)
+        {
+            super(MetadataBuilder.forProvider(TestParallelIterationProvider.class));
+            this.operation = operation;
+        }
+
+        // @formatter:off
+        @Override
+        public Configuration getConfiguration(GraphContext context)
+        {
+            return ConfigurationBuilder.begin()
+            .addRule()
+            .when(Query.fromType(TestSimple2Model.class))
+            .perform(Iteration
+                .over(TestSimple2Model.class)
+                .workers(4)
+                .perform(operation)
+                .endIteration()
+            );
+        }
+        // @formatter:on
+    }
+}
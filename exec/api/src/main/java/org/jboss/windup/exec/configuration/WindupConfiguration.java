@@ -1,5 +1,6 @@
 package org.jboss.windup.exec.configuration;
 
+import org.apache.commons.io.FileUtils;
 import org.jboss.forge.furnace.Furnace;
 import org.jboss.forge.furnace.addons.Addon;
 import org.jboss.forge.furnace.services.Imported;
@@ -9,21 +10,36 @@ import org.jboss.windup.config.RuleProvider;
 import org.jboss.windup.config.furnace.FurnaceHolder;
 import org.jboss.windup.exec.WindupProcessor;
 import org.jboss.windup.exec.WindupProgressMonitor;
+import org.jboss.windup.exec.configuration.options.CompactFilePathsOption;
 import org.jboss.windup.exec.configuration.options.ExportCSVOption;
+import org.jboss.windup.exec.configuration.options.GraphPropertiesOption;
+import org.jboss.windup.exec.configuration.options.GraphTuningProfileOption;
+import org.jboss.windup.exec.configuration.options.InMemoryGraphOption;
 import org.jboss.windup.exec.configuration.options.InputPathOption;
 import org.jboss.windup.exec.configuration.options.OfflineModeOption;
 import org.jboss.windup.exec.configuration.options.OutputPathOption;
+import org.jboss.windup.exec.configuration.options.ParallelRuleProvidersOption;
+import org.jboss.windup.exec.configuration.options.RecordGraphStatisticsOption;
+import org.jboss.windup.exec.configuration.options.ReportOnlyOption;
+import org.jboss.windup.exec.configuration.options.SaveGraphSnapshotOption;
 import org.jboss.windup.exec.configuration.options.UserIgnorePathOption;
 import org.jboss.windup.exec.configuration.options.UserRulesDirectoryOption;
 import org.jboss.windup.graph.GraphContext;
+import org.jboss.windup.graph.GraphStorageConfiguration;
+import org.jboss.windup.graph.GraphTuningProfile;
 import org.jboss.windup.util.PathUtil;
 import org.ocpsoft.rewrite.config.Rule;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -44,6 +60,12 @@ public class WindupConfiguration
     private static final String DEFAULT_USER_RULES_DIRECTORIES_OPTION = "defaultUserRulesDirectories";
     private static final String DEFAULT_USER_IGNORE_DIRECTORIES_OPTION = "defaultUserIgnorePaths";
 
+    /**
+     * The directories within the output that hold the results of the analysis: the graph, the unzipped archives and the decompiled classes.
+     * The files of the graph point into them, so they are kept if only the reports are generated.
+     */
+    private static final Set<String> ANALYSIS_OUTPUT_DIRECTORIES = new HashSet<>(Arrays.asList("graph", "archives", "classes"));
+
     private Predicate<RuleProvider> ruleProviderFilter;
     private WindupProgressMonitor progressMonitor = new NullWindupProgressMonitor();
     private Map<String, Object> configurationOptions = new HashMap<>();
@@ -437,4 +459,167 @@ public class WindupConfiguration
         Boolean export = getOptionValue(ExportCSVOption.NAME);
         return export == null ? false : export;
     }
+
+    /**
+     * Sets whether a snapshot of the graph is written once the analysis is complete (see {@link SaveGraphSnapshotOption}).
+     */
+    public WindupConfiguration setSaveGraphSnapshot(boolean saveGraphSnapshot)
+    {
+        setOptionValue(SaveGraphSnapshotOption.NAME, saveGraphSnapshot);
+        return this;
+    }
+
+    /**
+     * Returns true if a snapshot of the graph is written once the analysis is complete (see {@link SaveGraphSnapshotOption}).
+     */
+    public boolean isSaveGraphSnapshot()
+    {
+        Boolean saveGraphSnapshot = getOptionValue(SaveGraphSnapshotOption.NAME);
+        return saveGraphSnapshot == null ? false : saveGraphSnapshot;
+    }
+
+    /**
+     * Sets whether the size of the graph is recorded after each phase (see {@link RecordGraphStatisticsOption}).
+     */
+    public WindupConfiguration setRecordGraphStatistics(boolean recordGraphStatistics)
+    {
+        setOptionValue(RecordGraphStatisticsOption.NAME, recordGraphStatistics);
+        return this;
+    }
+
+    /**
+     * Returns true if the size of the graph is recorded after each phase (see {@link RecordGraphStatisticsOption}).
+     */
+    public boolean isRecordGraphStatistics()
+    {
+        Boolean recordGraphStatistics = getOptionValue(RecordGraphStatisticsOption.NAME);
+        return recordGraphStatistics == null ? false : recordGraphStatistics;
+    }
+
+    /**
+     * Sets whether only the reports are generated, from the snapshot of a previous execution (see {@link ReportOnlyOption}).
+     */
+    public WindupConfiguration setReportOnly(boolean reportOnly)
+    {
+        setOptionValue(ReportOnlyOption.NAME, reportOnly);
+        return this;
+    }
+
+    /**
+     * Returns true if only the reports are generated, from the snapshot of a previous execution (see {@link ReportOnlyOption}).
+     */
+    public boolean isReportOnly()
+    {
+        Boolean reportOnly = getOptionValue(ReportOnlyOption.NAME);
+        return reportOnly == null ? false : reportOnly;
+    }
+
+    /**
+     * Deletes the output of a previous execution from the output directory. If only the reports are generated (see {@link #isReportOnly()}),
+     * the results of the analysis that they are generated from are kept, and only the previous reports are deleted.
+     */
+    public void deleteOutput() throws IOException
+    {
+        Path outputDirectory = getOutputDirectory();
+        if (!isReportOnly())
+        {
+            FileUtils.deleteQuietly(outputDirectory.toFile());
+            return;
+        }
+
+        if (!Files.isDirectory(outputDirectory))
+            return;
+
+        try (DirectoryStream<Path> contents = Files.newDirectoryStream(outputDirectory))
+        {
+            for (Path path : contents)
+            {
+                if (!ANALYSIS_OUTPUT_DIRECTORIES.contains(path.getFileName().toString()))
+                    FileUtils.deleteQuietly(path.toFile());
+            }
+        }
+    }
+
+    /**
+     * Sets the number of threads used to execute independent migration rules concurrently (see {@link ParallelRuleProvidersOption}).
+     */
+    public WindupConfiguration setParallelRuleProviders(int threads)
+    {
+        setOptionValue(ParallelRuleProvidersOption.NAME, threads);
+        return this;
+    }
+
+    /**
+     * Gets the number of threads used to execute independent migration rules concurrently (see {@link ParallelRuleProvidersOption}). This is
+     * 1 if the rules are executed sequentially.
+     */
+    public int getParallelRuleProviders()
+    {
+        Integer threads = getOptionValue(ParallelRuleProvidersOption.NAME);
+        return threads == null ? 1 : threads;
+    }
+
+    /**
+     * Gets the {@link GraphStorageConfiguration} selected by the {@link GraphTuningProfileOption}, {@link GraphPropertiesOption},
+     * {@link InMemoryGraphOption} and {@link CompactFilePathsOption}. If the profile is to be selected automatically, this also calculates the
+     * size of the input.
+     */
+    public GraphStorageConfiguration getGraphStorageConfiguration()
+    {
+        GraphStorageConfiguration result = new GraphStorageConfiguration();
+
+        Boolean inMemory = getOptionValue(InMemoryGraphOption.NAME);
+        result.setInMemory(inMemory != null && inMemory);
+
+        Boolean compactFilePaths = getOptionValue(CompactFilePathsOption.NAME);
+        result.setCompactFilePaths(compactFilePaths != null && compactFilePaths);
+
+        String profileName = getOptionValue(GraphTuningProfileOption.NAME);
+        if (profileName != null && !GraphTuningProfileOption.AUTO.equals(profileName))
+            result.setTuningProfile(GraphTuningProfile.fromName(profileName));
+
+        if (!result.isInMemory() && result.getTuningProfile() == null && getInputPath() != null)
+            result.setInputSize(getSize(getInputPath()));
+
+        Iterable<?> properties = getOptionValue(GraphPropertiesOption.NAME);
+        if (properties != null)
+        {
+            for (Object property : properties)
+            {
+                String propertyString = String.valueOf(property);
+                int separator = propertyString.indexOf('=');
+                if (separator > 0)
+                    result.setProperty(propertyString.substring(0, separator).trim(), propertyString.substring(separator + 1).trim());
+            }
+        }
+        return result;
+    }
+
+    private static long getSize(Path path)
+    {
+        final long[] size = new long[1];
+        try
+        {
+            Files.walkFileTree(path, new SimpleFileVisitor<Path>()
+            {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException
+                {
+                    size[0] += attrs.size();
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException
+                {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+        catch (IOException e)
+        {
+            // the size is only a hint, so just use what we have so far
+        }
+        return size[0];
+    }
 }
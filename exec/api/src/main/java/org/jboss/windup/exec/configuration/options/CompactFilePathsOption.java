@@ -0,0 +1,55 @@
+package org.jboss.windup.exec.configuration.options;
+
+import org.jboss.windup.config.AbstractConfigurationOption;
+import org.jboss.windup.config.InputType;
+import org.jboss.windup.config.ValidationResult;
+
+/**
+ * Indicates that files found below the input should only store their names and the link to their parent directories, instead of their full
+ * paths. This makes the graph considerably smaller for inputs with deeply nested archives.
+ */
+public class CompactFilePathsOption extends AbstractConfigurationOption
+{
+    public static final String NAME = "compactFilePaths";
+
+    @Override
+    public String getDescription()
+    {
+        return "Stores only file names and parent links instead of full paths (smaller graphs for deeply nested inputs)";
+    }
+
+    @Override
+    public String getName()
+    {
+        return NAME;
+    }
+
+    @Override
+    public String getLabel()
+    {
+        return "Compact File Paths";
+    }
+
+    @Override
+    public Class<?> getType()
+    {
+        return Boolean.class;
+    }
+
+    @Override
+    public InputType getUIType()
+    {
+        return InputType.SINGLE;
+    }
+
+    @Override
+    public boolean isRequired()
+    {
+        return false;
+    }
+
+    public ValidationResult validate(Object valueObj)
+    {
+        return ValidationResult.SUCCESS;
+    }
+}
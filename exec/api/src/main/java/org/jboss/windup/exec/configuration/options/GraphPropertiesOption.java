@@ -0,0 +1,66 @@
+package org.jboss.windup.exec.configuration.options;
+
+import org.jboss.windup.config.AbstractConfigurationOption;
+import org.jboss.windup.config.InputType;
+import org.jboss.windup.config.ValidationResult;
+import org.jboss.windup.graph.GraphTuningProfile;
+
+/**
+ * Overrides individual Titan configuration properties of the graph database, in the form "key=value" (eg, "storage.buffer-size=8192"). These
+ * are applied on top of the selected {@link GraphTuningProfile}.
+ */
+public class GraphPropertiesOption extends AbstractConfigurationOption
+{
+    public static final String NAME = "graphProperties";
+
+    @Override
+    public String getName()
+    {
+        return NAME;
+    }
+
+    @Override
+    public String getLabel()
+    {
+        return "Graph database properties";
+    }
+
+    @Override
+    public String getDescription()
+    {
+        return "Overrides Titan graph database properties, in the form \"key=value\" (eg, \"storage.berkeleydb.cache-percentage=40\")";
+    }
+
+    @Override
+    public InputType getUIType()
+    {
+        return InputType.MANY;
+    }
+
+    @Override
+    public Class<String> getType()
+    {
+        return String.class;
+    }
+
+    public boolean isRequired()
+    {
+        return false;
+    }
+
+    @Override
+    public ValidationResult validate(Object value)
+    {
+        if (value == null)
+            return ValidationResult.SUCCESS;
+
+        for (Object property : (Iterable<?>) value)
+        {
+            String propertyString = String.valueOf(property);
+            int separator = propertyString.indexOf('=');
+            if (separator <= 0)
+                return new ValidationResult(ValidationResult.Level.ERROR, "Graph property must be in the form \"key=value\": " + propertyString);
+        }
+        return ValidationResult.SUCCESS;
+    }
+}
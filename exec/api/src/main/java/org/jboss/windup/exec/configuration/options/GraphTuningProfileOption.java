@@ -0,0 +1,84 @@
+package org.jboss.windup.exec.configuration.options;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.jboss.windup.config.AbstractConfigurationOption;
+import org.jboss.windup.config.InputType;
+import org.jboss.windup.config.ValidationResult;
+import org.jboss.windup.graph.GraphTuningProfile;
+
+/**
+ * Specifies the {@link GraphTuningProfile} used for the graph database. By default, the profile is selected automatically from the maximum heap
+ * size and the size of the input.
+ */
+public class GraphTuningProfileOption extends AbstractConfigurationOption
+{
+    public static final String NAME = "graphTuningProfile";
+    public static final String AUTO = "auto";
+
+    @Override
+    public Collection<?> getAvailableValues()
+    {
+        List<String> values = new ArrayList<>();
+        values.add(AUTO);
+        for (GraphTuningProfile profile : GraphTuningProfile.values())
+        {
+            values.add(profile.getName());
+        }
+        return values;
+    }
+
+    @Override
+    public String getName()
+    {
+        return NAME;
+    }
+
+    @Override
+    public String getLabel()
+    {
+        return "Graph tuning profile";
+    }
+
+    @Override
+    public String getDescription()
+    {
+        return "The memory and cache settings for the graph database (\"small-laptop\", \"server\" or \"huge-input\"). "
+                    + "By default, these are selected from the maximum heap size and the size of the input.";
+    }
+
+    @Override
+    public InputType getUIType()
+    {
+        return InputType.SELECT_ONE;
+    }
+
+    @Override
+    public Class<String> getType()
+    {
+        return String.class;
+    }
+
+    @Override
+    public Object getDefaultValue()
+    {
+        return AUTO;
+    }
+
+    public boolean isRequired()
+    {
+        return false;
+    }
+
+    @Override
+    public ValidationResult validate(Object value)
+    {
+        if (value == null || AUTO.equals(value) || GraphTuningProfile.fromName((String) value) != null)
+            return ValidationResult.SUCCESS;
+
+        return new ValidationResult(ValidationResult.Level.ERROR, "Unknown graph tuning profile: " + value + ", expected one of: "
+                    + getAvailableValues());
+    }
+}
@@ -0,0 +1,55 @@
+package org.jboss.windup.exec.configuration.options;
+
+import org.jboss.windup.config.AbstractConfigurationOption;
+import org.jboss.windup.config.InputType;
+import org.jboss.windup.config.ValidationResult;
+
+/**
+ * Indicates that the graph should be kept in memory instead of in a database in the output directory. This is much faster for small and medium
+ * sized inputs, as long as the whole graph fits in the heap.
+ */
+public class InMemoryGraphOption extends AbstractConfigurationOption
+{
+    public static final String NAME = "inMemoryGraph";
+
+    @Override
+    public String getDescription()
+    {
+        return "Keeps the graph in memory instead of on disk (faster for inputs that fit comfortably in the heap)";
+    }
+
+    @Override
+    public String getName()
+    {
+        return NAME;
+    }
+
+    @Override
+    public String getLabel()
+    {
+        return "In-Memory Graph";
+    }
+
+    @Override
+    public Class<?> getType()
+    {
+        return Boolean.class;
+    }
+
+    @Override
+    public InputType getUIType()
+    {
+        return InputType.SINGLE;
+    }
+
+    @Override
+    public boolean isRequired()
+    {
+        return false;
+    }
+
+    public ValidationResult validate(Object valueObj)
+    {
+        return ValidationResult.SUCCESS;
+    }
+}
@@ -0,0 +1,62 @@
+package org.jboss.windup.exec.configuration.options;
+
+import org.jboss.windup.config.AbstractConfigurationOption;
+import org.jboss.windup.config.InputType;
+import org.jboss.windup.config.ValidationResult;
+
+/**
+ * The number of threads used to execute independent rule providers of the migration rules phase concurrently. By default, all rules are
+ * executed sequentially. Only providers that
+ * are marked as parallel safe (see {@link org.jboss.windup.config.metadata.RuleProviderMetadata#isParallelSafe()}) are executed concurrently.
+ */
+public class ParallelRuleProvidersOption extends AbstractConfigurationOption
+{
+    public static final String NAME = "parallelRuleProviders";
+
+    @Override
+    public String getDescription()
+    {
+        return "The number of threads used to execute independent migration rules concurrently (Default: 1, rules are executed sequentially)";
+    }
+
+    @Override
+    public String getName()
+    {
+        return NAME;
+    }
+
+    @Override
+    public String getLabel()
+    {
+        return "Parallel Rule Providers";
+    }
+
+    @Override
+    public Class<?> getType()
+    {
+        return Integer.class;
+    }
+
+    @Override
+    public InputType getUIType()
+    {
+        return InputType.SINGLE;
+    }
+
+    @Override
+    public boolean isRequired()
+    {
+        return false;
+    }
+
+    public ValidationResult validate(Object valueObj)
+    {
+        if (valueObj == null)
+            return ValidationResult.SUCCESS;
+
+        if (!(valueObj instanceof Integer) || (Integer) valueObj < 1)
+            return new ValidationResult(ValidationResult.Level.ERROR, getName() + " must be a positive number!");
+
+        return ValidationResult.SUCCESS;
+    }
+}
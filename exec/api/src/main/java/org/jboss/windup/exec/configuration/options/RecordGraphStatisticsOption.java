@@ -0,0 +1,55 @@
+package org.jboss.windup.exec.configuration.options;
+
+import org.jboss.windup.config.AbstractConfigurationOption;
+import org.jboss.windup.config.InputType;
+import org.jboss.windup.config.ValidationResult;
+
+/**
+ * Indicates that the size of the graph (vertex and edge counts by type, and the size on disk) should be recorded after each phase. This is
+ * useful for profiling, but it requires a scan of the whole graph at the end of every phase, so it is disabled by default.
+ */
+public class RecordGraphStatisticsOption extends AbstractConfigurationOption
+{
+    public static final String NAME = "recordGraphStatistics";
+
+    @Override
+    public String getDescription()
+    {
+        return "Records the size of the graph after each phase in the execution time report (slows down the execution)";
+    }
+
+    @Override
+    public String getName()
+    {
+        return NAME;
+    }
+
+    @Override
+    public String getLabel()
+    {
+        return "Record Graph Statistics";
+    }
+
+    @Override
+    public Class<?> getType()
+    {
+        return Boolean.class;
+    }
+
+    @Override
+    public InputType getUIType()
+    {
+        return InputType.SINGLE;
+    }
+
+    @Override
+    public boolean isRequired()
+    {
+        return false;
+    }
+
+    public ValidationResult validate(Object valueObj)
+    {
+        return ValidationResult.SUCCESS;
+    }
+}
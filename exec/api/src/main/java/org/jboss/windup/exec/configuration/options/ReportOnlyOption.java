@@ -0,0 +1,55 @@
+package org.jboss.windup.exec.configuration.options;
+
+import org.jboss.windup.config.AbstractConfigurationOption;
+import org.jboss.windup.config.InputType;
+import org.jboss.windup.config.ValidationResult;
+
+/**
+ * Indicates that only the reports should be generated, from the graph snapshot of a previous execution with the {@link SaveGraphSnapshotOption}
+ * and the same output directory. The snapshot is loaded into memory, so it is not modified and can be reused any number of times.
+ */
+public class ReportOnlyOption extends AbstractConfigurationOption
+{
+    public static final String NAME = "reportOnly";
+
+    @Override
+    public String getDescription()
+    {
+        return "Only renders the reports again, from the graph snapshot of a previous execution with the same output directory";
+    }
+
+    @Override
+    public String getName()
+    {
+        return NAME;
+    }
+
+    @Override
+    public String getLabel()
+    {
+        return "Report Only";
+    }
+
+    @Override
+    public Class<?> getType()
+    {
+        return Boolean.class;
+    }
+
+    @Override
+    public InputType getUIType()
+    {
+        return InputType.SINGLE;
+    }
+
+    @Override
+    public boolean isRequired()
+    {
+        return false;
+    }
+
+    public ValidationResult validate(Object valueObj)
+    {
+        return ValidationResult.SUCCESS;
+    }
+}
@@ -0,0 +1,55 @@
+package org.jboss.windup.exec.configuration.options;
+
+import org.jboss.windup.config.AbstractConfigurationOption;
+import org.jboss.windup.config.InputType;
+import org.jboss.windup.config.ValidationResult;
+
+/**
+ * Indicates that a compressed snapshot of the graph should be written to the graph directory once the analysis is complete, right before the
+ * reports are generated. The snapshot can be used to render the reports again with the {@link ReportOnlyOption}.
+ */
+public class SaveGraphSnapshotOption extends AbstractConfigurationOption
+{
+    public static final String NAME = "saveGraphSnapshot";
+
+    @Override
+    public String getDescription()
+    {
+        return "Writes a snapshot of the analyzed graph, so that the reports can be rendered again later without repeating the analysis";
+    }
+
+    @Override
+    public String getName()
+    {
+        return NAME;
+    }
+
+    @Override
+    public String getLabel()
+    {
+        return "Save Graph Snapshot";
+    }
+
+    @Override
+    public Class<?> getType()
+    {
+        return Boolean.class;
+    }
+
+    @Override
+    public InputType getUIType()
+    {
+        return InputType.SINGLE;
+    }
+
+    @Override
+    public boolean isRequired()
+    {
+        return false;
+    }
+
+    public ValidationResult validate(Object valueObj)
+    {
+        return ValidationResult.SUCCESS;
+    }
+}
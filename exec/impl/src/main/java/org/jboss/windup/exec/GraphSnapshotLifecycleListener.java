@@ -0,0 +1,90 @@
+package org.jboss.windup.exec;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import org.jboss.windup.config.AbstractRuleLifecycleListener;
+import org.jboss.windup.config.GraphRewrite;
+import org.jboss.windup.config.RuleProvider;
+import org.jboss.windup.config.metadata.RuleMetadataType;
+import org.jboss.windup.config.phase.FinalizePhase;
+import org.jboss.windup.config.phase.PostFinalizePhase;
+import org.jboss.windup.config.phase.PostReportGenerationPhase;
+import org.jboss.windup.config.phase.PostReportRenderingPhase;
+import org.jboss.windup.config.phase.PreReportGenerationPhase;
+import org.jboss.windup.config.phase.ReportGenerationPhase;
+import org.jboss.windup.config.phase.ReportRenderingPhase;
+import org.jboss.windup.config.phase.RulePhase;
+import org.jboss.windup.exec.configuration.options.ReportOnlyOption;
+import org.jboss.windup.exec.configuration.options.SaveGraphSnapshotOption;
+import org.jboss.windup.graph.GraphContext;
+import org.jboss.windup.util.Logging;
+import org.ocpsoft.rewrite.config.Rule;
+import org.ocpsoft.rewrite.context.Context;
+import org.ocpsoft.rewrite.context.EvaluationContext;
+
+/**
+ * Writes a snapshot of the graph (see {@link GraphContext#writeSnapshot()}) right before the first rule of the {@link #REPORT_PHASES} is
+ * executed, if the {@link SaveGraphSnapshotOption} is set. At this point, the graph contains the complete analysis, but nothing that is specific
+ * to the reports, so the reports can be generated from the snapshot again later with the {@link ReportOnlyOption}.
+ */
+public class GraphSnapshotLifecycleListener extends AbstractRuleLifecycleListener
+{
+    private static final Logger LOG = Logging.get(GraphSnapshotLifecycleListener.class);
+
+    /**
+     * The phases that only generate reports from the results of the analysis. These are the only phases that are executed with the
+     * {@link ReportOnlyOption}.
+     */
+    static final Set<Class<? extends RulePhase>> REPORT_PHASES = Collections.unmodifiableSet(new HashSet<Class<? extends RulePhase>>(Arrays
+                .asList(PreReportGenerationPhase.class, ReportGenerationPhase.class, PostReportGenerationPhase.class,
+                            ReportRenderingPhase.class, PostReportRenderingPhase.class, FinalizePhase.class, PostFinalizePhase.class)));
+
+    private boolean snapshotPending;
+
+    @Override
+    public void beforeExecution(GraphRewrite event)
+    {
+        snapshotPending = isEnabled(event.getGraphContext(), SaveGraphSnapshotOption.NAME)
+                    && !isEnabled(event.getGraphContext(), ReportOnlyOption.NAME);
+    }
+
+    @Override
+    public void beforeRuleEvaluation(GraphRewrite event, Rule rule, EvaluationContext context)
+    {
+        if (snapshotPending && isReportRule(rule))
+            writeSnapshot(event.getGraphContext());
+    }
+
+    @Override
+    public void afterExecution(GraphRewrite event)
+    {
+        // there were no report rules
+        if (snapshotPending)
+            writeSnapshot(event.getGraphContext());
+    }
+
+    private void writeSnapshot(GraphContext context)
+    {
+        snapshotPending = false;
+        LOG.info("Writing a snapshot of the analyzed graph to: " + context.getGraphDirectory());
+        context.writeSnapshot();
+    }
+
+    private static boolean isEnabled(GraphContext context, String option)
+    {
+        return Boolean.TRUE.equals(context.getOptionMap().get(option));
+    }
+
+    private static boolean isReportRule(Rule rule)
+    {
+        if (!(rule instanceof Context))
+            return false;
+
+        Object provider = ((Context) rule).get(RuleMetadataType.RULE_PROVIDER);
+        return provider instanceof RuleProvider && REPORT_PHASES.contains(((RuleProvider) provider).getMetadata().getPhase());
+    }
+}
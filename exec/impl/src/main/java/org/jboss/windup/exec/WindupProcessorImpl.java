@@ -3,7 +3,9 @@ package org.jboss.windup.exec;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Logger;
 
 import javax.inject.Inject;
@@ -19,12 +21,16 @@ import org.jboss.windup.config.RuleProvider;
 import org.jboss.windup.config.RuleSubset;
 import org.jboss.windup.config.loader.RuleLoader;
 import org.jboss.windup.config.metadata.RuleProviderRegistry;
+import org.jboss.windup.config.phase.MigrationRulesPhase;
+import org.jboss.windup.config.phase.RulePhase;
 import org.jboss.windup.exec.configuration.WindupConfiguration;
 import org.jboss.windup.exec.configuration.options.ExcludeTagsOption;
 import org.jboss.windup.exec.configuration.options.IncludeTagsOption;
+import org.jboss.windup.exec.configuration.options.ParallelRuleProvidersOption;
 import org.jboss.windup.exec.configuration.options.SourceOption;
 import org.jboss.windup.exec.configuration.options.TargetOption;
 import org.jboss.windup.exec.rulefilters.AndPredicate;
+import org.jboss.windup.exec.rulefilters.RuleProviderPhasePredicate;
 import org.jboss.windup.exec.rulefilters.SourceAndTargetPredicate;
 import org.jboss.windup.exec.rulefilters.TaggedRuleProviderPredicate;
 import org.jboss.windup.graph.GraphContext;
@@ -56,6 +62,13 @@ public class WindupProcessorImpl implements WindupProcessor
 {
     private static Logger LOG = Logging.get(WindupProcessorImpl.class);
 
+    /**
+     * The phases in which independent providers are executed concurrently with the {@link ParallelRuleProvidersOption}. These mostly contain
+     * rules that only read the analyzed application and add hints and classifications.
+     */
+    private static final Set<Class<? extends RulePhase>> PARALLEL_PHASES = Collections
+                .<Class<? extends RulePhase>> singleton(MigrationRulesPhase.class);
+
     @Inject
     private RuleLoader ruleLoader;
 
@@ -83,24 +96,32 @@ public class WindupProcessorImpl implements WindupProcessor
         configurationModel.setOutputPath(getFileModel(context, configuration.getOutputDirectory()));
         configurationModel.setOfflineMode(configuration.isOffline());
         configurationModel.setExportingCSV(configuration.isExportingCSV());
-        for (Path path : configuration.getAllUserRulesDirectories())
+
+        /*
+         * With the report only option, the graph already contains the rest of the configuration from the analysis.
+         */
+        if (!configuration.isReportOnly())
         {
-            System.out.println("Using user rules dir: " + path);
-            if (path == null)
+            for (Path path : configuration.getAllUserRulesDirectories())
             {
-                throw new WindupException("Null path found (all paths are: "
-                            + configuration.getAllUserRulesDirectories() + ")");
+                System.out.println("Using user rules dir: " + path);
+                if (path == null)
+                {
+                    throw new WindupException("Null path found (all paths are: "
+                                + configuration.getAllUserRulesDirectories() + ")");
+                }
+                configurationModel.addUserRulesPath(getFileModel(context, path));
             }
-            configurationModel.addUserRulesPath(getFileModel(context, path));
-        }
 
-        for (Path path : configuration.getAllIgnoreDirectories())
-        {
-            configurationModel.addUserIgnorePath(getFileModel(context, path));
-        }
+            for (Path path : configuration.getAllIgnoreDirectories())
+            {
+                configurationModel.addUserIgnorePath(getFileModel(context, path));
+            }
 
-        addSourceAndTargetInformation(context, configuration, configurationModel);
+            addSourceAndTargetInformation(context, configuration, configurationModel);
+        }
         configureRuleProviderAndTagFilters(configuration);
+        configureReportOnlyFilter(configuration);
 
         RuleProviderRegistry providerRegistry =
                     ruleLoader.loadConfiguration(context, configuration.getRuleProviderFilter());
@@ -119,6 +140,9 @@ public class WindupProcessorImpl implements WindupProcessor
 
         RuleSubset ruleSubset = RuleSubset.create(rules);
         ruleSubset.setAlwaysHaltOnFailure(configuration.isAlwaysHaltOnException());
+        ruleSubset.setRecordGraphStatistics(configuration.isRecordGraphStatistics());
+        if (configuration.getParallelRuleProviders() > 1)
+            ruleSubset.setParallelExecution(configuration.getParallelRuleProviders(), PARALLEL_PHASES);
 
         for (RuleLifecycleListener listener : listeners)
         {
@@ -199,6 +223,25 @@ public class WindupProcessorImpl implements WindupProcessor
         }
     }
 
+    /**
+     * Restricts the execution to the report phases if only the reports should be generated.
+     */
+    private void configureReportOnlyFilter(WindupConfiguration config)
+    {
+        if (!config.isReportOnly())
+            return;
+
+        Set<Class<? extends RulePhase>> reportPhases = GraphSnapshotLifecycleListener.REPORT_PHASES;
+        @SuppressWarnings("unchecked")
+        Predicate<RuleProvider> reportFilter = new RuleProviderPhasePredicate(reportPhases.toArray(new Class[reportPhases.size()]));
+
+        Predicate<RuleProvider> configuredPredicate = config.getRuleProviderFilter();
+        if (configuredPredicate != null)
+            reportFilter = new AndPredicate(configuredPredicate, reportFilter);
+
+        config.setRuleProviderFilter(reportFilter);
+    }
+
     private FileModel getFileModel(GraphContext context, Path path)
     {
         return new FileService(context).createByFilePath(path.toString());
@@ -0,0 +1,82 @@
+package org.jboss.windup.exec.configuration;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.commons.io.FileUtils;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.arquillian.AddonDependencies;
+import org.jboss.forge.arquillian.AddonDependency;
+import org.jboss.forge.arquillian.archive.AddonArchive;
+import org.jboss.forge.furnace.util.OperatingSystemUtils;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class DeleteOutputTest
+{
+    @Deployment
+    @AddonDependencies({
+                @AddonDependency(name = "org.jboss.windup.exec:windup-exec"),
+                @AddonDependency(name = "org.jboss.windup.graph:windup-graph"),
+                @AddonDependency(name = "org.jboss.forge.furnace.container:cdi")
+    })
+    public static AddonArchive getDeployment()
+    {
+        return ShrinkWrap.create(AddonArchive.class).addBeansXML();
+    }
+
+    @Test
+    public void testReportOnlyKeepsAnalysisResults() throws Exception
+    {
+        Path output = createOutput();
+        try
+        {
+            WindupConfiguration configuration = new WindupConfiguration().setOutputDirectory(output).setReportOnly(true);
+            configuration.deleteOutput();
+
+            Assert.assertTrue(Files.exists(output.resolve("graph").resolve("graph.snapshot")));
+            Assert.assertTrue(Files.exists(output.resolve("archives").resolve("app.war").resolve("index.jsp")));
+            Assert.assertTrue(Files.exists(output.resolve("classes").resolve("Foo.java")));
+            Assert.assertFalse(Files.exists(output.resolve("reports")));
+            Assert.assertFalse(Files.exists(output.resolve("index.html")));
+        }
+        finally
+        {
+            FileUtils.deleteQuietly(output.toFile());
+        }
+    }
+
+    @Test
+    public void testFullExecutionDeletesEverything() throws Exception
+    {
+        Path output = createOutput();
+        try
+        {
+            new WindupConfiguration().setOutputDirectory(output).deleteOutput();
+            Assert.assertFalse(Files.exists(output));
+        }
+        finally
+        {
+            FileUtils.deleteQuietly(output.toFile());
+        }
+    }
+
+    private Path createOutput() throws Exception
+    {
+        Path output = OperatingSystemUtils.createTempDir().toPath();
+        Files.createDirectories(output.resolve("graph"));
+        Files.write(output.resolve("graph").resolve("graph.snapshot"), new byte[] { 1 });
+        Files.createDirectories(output.resolve("archives").resolve("app.war"));
+        Files.write(output.resolve("archives").resolve("app.war").resolve("index.jsp"), new byte[] { 1 });
+        Files.createDirectories(output.resolve("classes"));
+        Files.write(output.resolve("classes").resolve("Foo.java"), new byte[] { 1 });
+        Files.createDirectories(output.resolve("reports"));
+        Files.write(output.resolve("reports").resolve("report.html"), new byte[] { 1 });
+        Files.write(output.resolve("index.html"), new byte[] { 1 });
+        return output;
+    }
+}
@@ -62,33 +62,10 @@ public class FramedElement implements InvocationHandler {
     }
 
     public Object invoke(final Object proxy, final Method originalMethod, final Object[] arguments) {
-        Method method = null;
-        Class<?> methodInterface = null;
-        
-        // try to find the method on one of the proxy's interfaces
-        // (the passed in Method is often from a superclass or from the {@link Proxy} object itself,
-        //  so we need to make sure we find the method that the user actually intended)
-        for (Class<?> c : proxy.getClass().getInterfaces()) {
-            if (method != null && c.isAssignableFrom(methodInterface)) {
-        	// don't search this class if we already have found a method from a subclass of it
-        	continue;
-            }
-            
-            for (Method interfaceMethod : c.getMethods()) {
-                if (compareMethods(originalMethod, interfaceMethod)) {
-                    if (interfaceMethod.getAnnotations().length > 0) {
-                	method = interfaceMethod;
-                	methodInterface = c;
-                    }
-                    break;
-                }
-            }
-        }
-        if (method == null) {
-            method = originalMethod;
-        }
-        
-        Annotation[] annotations = method.getAnnotations();
+        FramedMethodResolver.ResolvedMethod resolved = this.framedGraph.getMethodResolver().resolve(proxy.getClass(), originalMethod);
+        Method method = resolved.method;
+
+        Annotation[] annotations = resolved.annotations;
         Map<Class<? extends Annotation>, AnnotationHandler<?>> annotationHandlers = this.framedGraph.getConfig().getAnnotationHandlers();
         Map<Class<? extends Annotation>, MethodHandler<?>> methodHandlers = this.framedGraph.getConfig().getMethodHandlers();
         for (final Annotation annotation : annotations) {
@@ -116,35 +93,13 @@ public class FramedElement implements InvocationHandler {
             return this.element;
         }
         
-        if(method.getAnnotations().length == 0) {
+        if(annotations.length == 0) {
             throw new UnhandledMethodException("The method " + method.getDeclaringClass().getName() + "." + method.getName() + " has no annotations, therefore frames cannot handle the method.");
         }
         
         throw new UnhandledMethodException("The method " + method.getDeclaringClass().getName() + "." + method.getName() + " was not annotated with any annotations that the framed graph is configured for. Please check your frame interface and/or graph configuration.");
     }
 
-    /**
-     * Returns true if the two methods have the same arguments, return types, and method names.
-     */
-    private boolean compareMethods(Method m1, Method m2) {
-	if (!m1.getName().equals(m2.getName())) {
-	    return false;
-	}
-	if (!m1.getReturnType().equals(m2.getReturnType())) {
-	    return false;
-	}
-        Class<?>[] params1 = m1.getParameterTypes();
-        Class<?>[] params2 = m2.getParameterTypes();
-        if (params1.length == params2.length) {
-            for (int i = 0; i < params1.length; i++) {
-                if (params1[i] != params2[i])
-                    return false;
-            }
-            return true;
-        }
-        return false;
-    }
-    
     private Boolean proxyEquals(final Object other) {
         if (other instanceof VertexFrame) {
             return this.element.equals(((VertexFrame) other).asVertex());
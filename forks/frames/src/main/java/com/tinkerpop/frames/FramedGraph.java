@@ -1,7 +1,6 @@
 package com.tinkerpop.frames;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Proxy;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
@@ -42,6 +41,7 @@ public class FramedGraph<T extends Graph> implements Graph, WrapperGraph<T> {
 
 	private FramedGraphConfiguration config;
 	private boolean configViaFactory;
+	private final FramedMethodResolver methodResolver = new FramedMethodResolver();
 
 	/**
 	 * @param baseGraph The original graph being framed.
@@ -103,9 +103,8 @@ public class FramedGraph<T extends Graph> implements Graph, WrapperGraph<T> {
 			resolvedTypes.addAll(Arrays.asList(typeResolver.resolveTypes(
 					vertex, kind)));
 		}
-		return (F) Proxy.newProxyInstance(config.getFrameClassLoaderResolver().resolveClassLoader(kind),
-				resolvedTypes.toArray(new Class[resolvedTypes.size()]),
-				new FramedElement(this, vertex));
+		return (F) methodResolver.newProxyInstance(config.getFrameClassLoaderResolver().resolveClassLoader(kind),
+				resolvedTypes, new FramedElement(this, vertex));
 	}
 
 	/**
@@ -139,9 +138,8 @@ public class FramedGraph<T extends Graph> implements Graph, WrapperGraph<T> {
 			resolvedTypes.addAll(Arrays.asList(typeResolver.resolveTypes(edge,
 					kind)));
 		}
-		return (F) Proxy.newProxyInstance(config.getFrameClassLoaderResolver().resolveClassLoader(kind),
-				resolvedTypes.toArray(new Class[resolvedTypes.size()]),
-				new FramedElement(this, edge, direction));
+		return (F) methodResolver.newProxyInstance(config.getFrameClassLoaderResolver().resolveClassLoader(kind),
+				resolvedTypes, new FramedElement(this, edge, direction));
 	}
 	
 	/**
@@ -544,6 +542,10 @@ public class FramedGraph<T extends Graph> implements Graph, WrapperGraph<T> {
 		return config;
 	}
 
+	FramedMethodResolver getMethodResolver() {
+		return methodResolver;
+	}
+
 	
 	 /**
      * Generate a query object that can be used to fine tune which edges/vertices are retrieved from the graph.
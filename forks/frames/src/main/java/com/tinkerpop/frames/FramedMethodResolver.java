@@ -0,0 +1,131 @@
+package com.tinkerpop.frames;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches the reflective lookups that are needed to create and call framed elements, so that they are only done once for each combination of
+ * frame interfaces and each method, instead of on every call.
+ *
+ * An instance belongs to a single {@link FramedGraph}, so the cached classes are released together with the graph.
+ */
+class FramedMethodResolver {
+
+    private final ConcurrentMap<List<Object>, Constructor<?>> proxyConstructors = new ConcurrentHashMap<List<Object>, Constructor<?>>();
+    private final ConcurrentMap<Class<?>, ConcurrentMap<Method, ResolvedMethod>> resolvedMethods = new ConcurrentHashMap<Class<?>, ConcurrentMap<Method, ResolvedMethod>>();
+
+    /**
+     * Creates a proxy that implements the given interfaces, reusing the constructor of the proxy class if the same interfaces have been
+     * requested in the same order before. The order matters, as the proxy class differs for each order of its interfaces.
+     */
+    Object newProxyInstance(ClassLoader classLoader, Collection<Class<?>> interfaces, InvocationHandler handler) {
+        Class<?>[] interfacesArray = interfaces.toArray(new Class<?>[interfaces.size()]);
+        List<Object> key = Arrays.<Object>asList(classLoader, Arrays.asList(interfacesArray));
+        Constructor<?> constructor = proxyConstructors.get(key);
+        try {
+            if (constructor == null) {
+                Class<?> proxyClass = Proxy.getProxyClass(classLoader, interfacesArray);
+                constructor = proxyClass.getConstructor(InvocationHandler.class);
+                proxyConstructors.putIfAbsent(key, constructor);
+            }
+            return constructor.newInstance(handler);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Could not create proxy for: " + interfaces, e);
+        } catch (InstantiationException e) {
+            throw new IllegalStateException("Could not create proxy for: " + interfaces, e);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Could not create proxy for: " + interfaces, e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Could not create proxy for: " + interfaces, e.getCause());
+        }
+    }
+
+    /**
+     * Finds the method that the caller actually intended, along with its annotations. The passed in method is often from a superclass or from
+     * the {@link Proxy} object itself, so the annotated method is searched on the interfaces of the proxy class.
+     */
+    ResolvedMethod resolve(Class<?> proxyClass, Method originalMethod) {
+        ConcurrentMap<Method, ResolvedMethod> methods = resolvedMethods.get(proxyClass);
+        if (methods == null) {
+            methods = new ConcurrentHashMap<Method, ResolvedMethod>();
+            ConcurrentMap<Method, ResolvedMethod> existing = resolvedMethods.putIfAbsent(proxyClass, methods);
+            if (existing != null)
+                methods = existing;
+        }
+
+        ResolvedMethod result = methods.get(originalMethod);
+        if (result == null) {
+            Method method = findAnnotatedMethod(proxyClass, originalMethod);
+            result = new ResolvedMethod(method, method.getAnnotations());
+            methods.putIfAbsent(originalMethod, result);
+        }
+        return result;
+    }
+
+    private static Method findAnnotatedMethod(Class<?> proxyClass, Method originalMethod) {
+        Method method = null;
+        Class<?> methodInterface = null;
+
+        for (Class<?> c : proxyClass.getInterfaces()) {
+            if (method != null && c.isAssignableFrom(methodInterface)) {
+                // don't search this class if we already have found a method from a subclass of it
+                continue;
+            }
+
+            for (Method interfaceMethod : c.getMethods()) {
+                if (compareMethods(originalMethod, interfaceMethod)) {
+                    if (interfaceMethod.getAnnotations().length > 0) {
+                        method = interfaceMethod;
+                        methodInterface = c;
+                    }
+                    break;
+                }
+            }
+        }
+        return method == null ? originalMethod : method;
+    }
+
+    /**
+     * Returns true if the two methods have the same arguments, return types, and method names.
+     */
+    private static boolean compareMethods(Method m1, Method m2) {
+        if (!m1.getName().equals(m2.getName())) {
+            return false;
+        }
+        if (!m1.getReturnType().equals(m2.getReturnType())) {
+            return false;
+        }
+        Class<?>[] params1 = m1.getParameterTypes();
+        Class<?>[] params2 = m2.getParameterTypes();
+        if (params1.length == params2.length) {
+            for (int i = 0; i < params1.length; i++) {
+                if (params1[i] != params2[i])
+                    return false;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * The annotated method to call for a method of a proxy, and its annotations.
+     */
+    static class ResolvedMethod {
+        final Method method;
+        final Annotation[] annotations;
+
+        ResolvedMethod(Method method, Annotation[] annotations) {
+            this.method = method;
+            this.annotations = annotations;
+        }
+    }
+}
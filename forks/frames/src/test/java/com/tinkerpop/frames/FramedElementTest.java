@@ -2,6 +2,7 @@ package com.tinkerpop.frames;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import org.junit.Test;
 
@@ -47,6 +48,23 @@ public class FramedElementTest {
 
     }
 
+    @Test
+    public void testProxyClassIsReused() {
+        Graph graph = TinkerGraphFactory.createTinkerGraph();
+        FramedGraph<Graph> framedGraph = new FramedGraphFactory().create(graph);
+
+        Person marko = framedGraph.getVertex(1, Person.class);
+        Person vadas = framedGraph.getVertex(2, Person.class);
+        assertSame(marko.getClass(), vadas.getClass());
+
+        // the resolved methods are shared between the frames
+        assertEquals(marko.getName(), "marko");
+        assertEquals(vadas.getName(), "vadas");
+        vadas.setName("pavel");
+        assertEquals(vadas.getName(), "pavel");
+        assertEquals(marko.getName(), "marko");
+    }
+
 	@Test
     public void testSettingProperties() {
         Graph graph = TinkerGraphFactory.createTinkerGraph();
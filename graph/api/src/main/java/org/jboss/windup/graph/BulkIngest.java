@@ -0,0 +1,34 @@
+package org.jboss.windup.graph;
+
+import org.jboss.windup.graph.listeners.EssentialGraphChangedListener;
+
+import com.tinkerpop.blueprints.util.wrappers.event.listener.GraphChangedListener;
+
+/**
+ * Puts the {@link GraphContext} into a mode suited to loading a large number of vertices, such as the file models for the contents of a large
+ * archive. While a {@link BulkIngest} is open:
+ * <ul>
+ * <li>{@link GraphChangedListener}s that are not {@link EssentialGraphChangedListener}s do not receive events</li>
+ * <li>Changes are committed in batches of a fixed size (at the points where {@link #commitIfNeeded()} is called), instead of being left to grow in
+ * a single large transaction. Titan maintains its indexes when a transaction is committed, so this also batches the index updates.</li>
+ * </ul>
+ *
+ * Starting a {@link BulkIngest} while another is open joins the existing one, and the graph only returns to the normal mode when the outermost one
+ * is closed. A {@link BulkIngest} must only be used from the thread that started it.
+ *
+ * @see GraphContext#startBulkIngest(int)
+ */
+public interface BulkIngest extends AutoCloseable
+{
+    /**
+     * Commits the current transaction if at least the configured number of changes have been made since the last commit. This should be called
+     * at points where no partially created data is being held, for example after each file has been added.
+     */
+    void commitIfNeeded();
+
+    /**
+     * Commits any remaining changes and, if this is the outermost {@link BulkIngest}, returns the graph to the normal mode.
+     */
+    @Override
+    void close();
+}
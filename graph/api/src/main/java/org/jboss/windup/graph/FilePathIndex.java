@@ -0,0 +1,301 @@
+package org.jboss.windup.graph;
+
+import java.io.File;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.logging.Logger;
+
+import org.jboss.windup.graph.listeners.PropertyChangedListener;
+import org.jboss.windup.graph.model.resource.FileModel;
+import org.jboss.windup.graph.service.FileService;
+
+import com.tinkerpop.blueprints.Direction;
+import com.tinkerpop.blueprints.Graph;
+import com.tinkerpop.blueprints.Vertex;
+
+/**
+ * Maps the absolute path of every {@link FileModel} in a graph to the id of its vertex, so that the {@link FileService} can find files by path
+ * without querying the graph.
+ *
+ * Paths are stored in a trie of path segments, so the common prefixes of the (usually deeply nested) paths are only stored once. The index is
+ * kept up to date by listening to changes of the {@link FileModel#FILE_PATH} property (see
+ * {@link GraphContext#addPropertyChangedListener(String, Class, PropertyChangedListener)}). As these are also seen for changes that are later
+ * rolled back, callers must check that the vertex still exists and still has the expected path, and query the graph if it does not. Only one
+ * vertex is kept per path, so paths that have been seen for more than one vertex are marked as ambiguous (see {@link #isAmbiguous(String)}).
+ *
+ * For a graph that was loaded instead of created, the index is built from the graph the first time that it is used.
+ *
+ * The index also provides the paths of files stored with the compact layout (see {@link GraphStorageConfiguration#setCompactFilePaths(boolean)}),
+ * which only have a file name and a {@link FileModel#PARENT_FILE} edge. Their paths are rebuilt from the parent files once, and then kept in
+ * the trie.
+ */
+public class FilePathIndex implements PropertyChangedListener
+{
+    private static final Logger log = Logger.getLogger(FilePathIndex.class.getName());
+
+    private static final Map<Graph, WeakReference<FilePathIndex>> INDEXES = Collections
+                .synchronizedMap(new WeakHashMap<Graph, WeakReference<FilePathIndex>>());
+
+    private final Graph graph;
+    private final Node root = new Node(null, null);
+    private final Map<Object, Node> nodesById = new HashMap<>();
+    private boolean complete;
+    private int size;
+
+    /**
+     * Creates an index for the given graph. If the graph is known to contain no {@link FileModel}s, the index is complete immediately.
+     * Otherwise, it is built from the graph when it is first used.
+     */
+    public FilePathIndex(Graph graph, boolean empty)
+    {
+        this.graph = graph;
+        this.complete = empty;
+        INDEXES.put(graph, new WeakReference<>(this));
+    }
+
+    /**
+     * Gets the path of the given {@link FileModel} vertex, which must belong to the given graph. If the vertex does not have a
+     * {@link FileModel#FILE_PATH} property, the path is rebuilt from its file name and parent files. Returns null if the vertex has no path.
+     */
+    public static String getFilePath(Graph graph, Vertex vertex)
+    {
+        Object storedPath = vertex.getProperty(FileModel.FILE_PATH);
+        if (storedPath instanceof String)
+            return (String) storedPath;
+
+        WeakReference<FilePathIndex> reference = INDEXES.get(graph);
+        FilePathIndex index = reference == null ? null : reference.get();
+        if (index != null)
+        {
+            String path = index.getPath(vertex.getId());
+            if (path != null)
+                return path;
+        }
+
+        Object fileName = vertex.getProperty(FileModel.FILE_NAME);
+        Iterator<Vertex> parents = vertex.getVertices(Direction.OUT, FileModel.PARENT_FILE).iterator();
+        if (!(fileName instanceof String) || !parents.hasNext())
+            return null;
+
+        String parentPath = getFilePath(graph, parents.next());
+        if (parentPath == null)
+            return null;
+
+        String path = parentPath + File.separator + fileName;
+        if (index != null)
+            index.put(path, vertex.getId());
+        return path;
+    }
+
+    /**
+     * Stops providing paths for the graph. This should be called when the graph is closed.
+     */
+    public void close()
+    {
+        INDEXES.remove(graph);
+    }
+
+    /**
+     * Gets the id of the vertex with the given absolute path, or null if there is none.
+     */
+    public synchronized Object getVertexId(String absolutePath)
+    {
+        ensureComplete();
+        Node node = find(absolutePath, false);
+        return node == null ? null : node.vertexId;
+    }
+
+    /**
+     * Returns true if the given absolute path has been recorded for more than one vertex at the same time. This is either a duplicate file, or
+     * a change that has been rolled back, so the graph needs to be queried for it.
+     */
+    public synchronized boolean isAmbiguous(String absolutePath)
+    {
+        ensureComplete();
+        Node node = find(absolutePath, false);
+        return node != null && node.ambiguous;
+    }
+
+    /**
+     * Records that the vertex with the given id has the given absolute path.
+     */
+    public synchronized void put(String absolutePath, Object vertexId)
+    {
+        Node node = find(absolutePath, true);
+        if (node.vertexId == null)
+            size++;
+        else if (!node.vertexId.equals(vertexId))
+        {
+            nodesById.remove(node.vertexId);
+            node.ambiguous = true;
+        }
+        node.vertexId = vertexId;
+        nodesById.put(vertexId, node);
+    }
+
+    /**
+     * Removes the given path, if it is currently mapped to the given vertex id.
+     */
+    public synchronized void remove(String absolutePath, Object vertexId)
+    {
+        Node node = find(absolutePath, false);
+        if (node != null && node.vertexId != null && node.vertexId.equals(vertexId))
+        {
+            node.vertexId = null;
+            nodesById.remove(vertexId);
+            size--;
+        }
+    }
+
+    /**
+     * Gets the path of the vertex with the given id, or null if it is not in the index. Unlike {@link #getVertexId(String)}, this does not build
+     * the index for a loaded graph.
+     */
+    public synchronized String getPath(Object vertexId)
+    {
+        Node node = nodesById.get(vertexId);
+        if (node == null)
+            return null;
+
+        List<String> segments = new ArrayList<>();
+        for (Node current = node; current != root; current = current.parent)
+        {
+            segments.add(current.segment);
+        }
+
+        StringBuilder result = new StringBuilder();
+        for (int i = segments.size() - 1; i >= 0; i--)
+        {
+            result.append(segments.get(i));
+            if (i > 0)
+                result.append(File.separatorChar);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Gets the number of paths in the index.
+     */
+    public synchronized int size()
+    {
+        return size;
+    }
+
+    private void ensureComplete()
+    {
+        if (complete)
+            return;
+
+        long start = System.currentTimeMillis();
+        List<Vertex> compactFiles = new ArrayList<>();
+        for (Vertex vertex : graph.getVertices())
+        {
+            Object path = vertex.getProperty(FileModel.FILE_PATH);
+            if (path instanceof String)
+                put((String) path, vertex.getId());
+            else if (vertex.getProperty(FileModel.FILE_NAME) != null)
+                compactFiles.add(vertex);
+        }
+
+        for (Vertex vertex : compactFiles)
+        {
+            getFilePath(graph, vertex);
+        }
+        complete = true;
+        log.info("Built file path index with " + size + " paths in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    private Node find(String path, boolean create)
+    {
+        Node node = root;
+        int start = 0;
+        int length = path.length();
+        while (start <= length && node != null)
+        {
+            int end = indexOfSeparator(path, start);
+            String segment = path.substring(start, end);
+            Node child = node.getChild(segment);
+            if (child == null && create)
+                child = node.addChild(segment.intern());
+            node = child;
+            start = end + 1;
+        }
+        return node;
+    }
+
+    private static int indexOfSeparator(String path, int from)
+    {
+        for (int i = from; i < path.length(); i++)
+        {
+            char c = path.charAt(i);
+            if (c == File.separatorChar)
+                return i;
+        }
+        return path.length();
+    }
+
+    @Override
+    public void propertyChanged(Vertex vertex, String key, Object oldValue, Object newValue)
+    {
+        if (oldValue instanceof String)
+            remove((String) oldValue, vertex.getId());
+        if (newValue instanceof String)
+            put((String) newValue, vertex.getId());
+    }
+
+    /**
+     * A single path segment. Most directories have few children, so the map of children is only created when it is needed, and a single child
+     * is stored without one.
+     */
+    private static class Node
+    {
+        private final Node parent;
+        private final String segment;
+        private Object vertexId;
+        private boolean ambiguous;
+        private Node onlyChild;
+        private Map<String, Node> children;
+
+        private Node(Node parent, String segment)
+        {
+            this.parent = parent;
+            this.segment = segment;
+        }
+
+        private Node getChild(String segment)
+        {
+            if (onlyChild != null)
+                return onlyChild.segment.equals(segment) ? onlyChild : null;
+            else if (children != null)
+                return children.get(segment);
+            else
+                return null;
+        }
+
+        private Node addChild(String segment)
+        {
+            Node child = new Node(this, segment);
+            if (onlyChild == null && children == null)
+            {
+                onlyChild = child;
+            }
+            else
+            {
+                if (children == null)
+                {
+                    children = new HashMap<>(4);
+                    children.put(onlyChild.segment, onlyChild);
+                    onlyChild = null;
+                }
+                children.put(segment, child);
+            }
+            return child;
+        }
+    }
+}
@@ -3,8 +3,11 @@ package org.jboss.windup.graph;
 import java.io.Closeable;
 import java.nio.file.Path;
 import java.util.Map;
+import java.util.Set;
 
 import org.jboss.windup.graph.frames.TypeAwareFramedGraphQuery;
+import org.jboss.windup.graph.listeners.PropertyChangedListener;
+import org.jboss.windup.graph.model.WindupVertexFrame;
 
 import com.thinkaurelius.titan.core.TitanGraph;
 import com.tinkerpop.blueprints.util.wrappers.event.EventGraph;
@@ -54,6 +57,66 @@ public interface GraphContext extends Closeable
      */
     TypeAwareFramedGraphQuery getQuery();
 
+    /**
+     * Gets the types of index that the graph has on the given vertex property. This is empty if the property is not indexed, and contains more
+     * than one type if the models declare different indexes for it.
+     */
+    Set<IndexType> getIndexTypes(String propertyKey);
+
+    /**
+     * Gets the {@link GraphStorageConfiguration} that the graph was created or loaded with.
+     */
+    GraphStorageConfiguration getStorageConfiguration();
+
+    /**
+     * Gets the {@link FilePathIndex}, which maps the paths of all files in the graph to their vertices.
+     */
+    FilePathIndex getFilePathIndex();
+
+    /**
+     * Indicates whether the graph contains any vertices of the given type, including those added by the current transaction. This is a single
+     * lookup in the type index, so it is cheap enough to check before each rule.
+     */
+    boolean hasVertices(Class<? extends WindupVertexFrame> type);
+
+    /**
+     * Registers a listener for changes of the property with the given key. If a type is given, the listener is only called for vertices of that
+     * type. This should be preferred over adding a {@link com.tinkerpop.blueprints.util.wrappers.event.listener.GraphChangedListener} to the
+     * graph, as writes of other properties are not slowed down by it.
+     */
+    void addPropertyChangedListener(String key, Class<? extends WindupVertexFrame> type, PropertyChangedListener listener);
+
+    /**
+     * Removes a listener that was registered with {@link #addPropertyChangedListener(String, Class, PropertyChangedListener)}, for all keys.
+     */
+    void removePropertyChangedListener(PropertyChangedListener listener);
+
+    /**
+     * Starts loading a large amount of data into the graph, committing after every commitSize changes. The returned {@link BulkIngest} must be
+     * closed to return the graph to the normal mode.
+     */
+    BulkIngest startBulkIngest(int commitSize);
+
+    /**
+     * Sets whether the graph is currently being modified by several threads, each in its own transaction (see
+     * {@link #isConcurrentlyModified()}).
+     */
+    void setConcurrentlyModified(boolean concurrentlyModified);
+
+    /**
+     * Indicates whether the graph is currently being modified by several threads, each in its own transaction. These transactions do not see
+     * each other's uncommitted changes, so changes to shared vertices must be committed before the lock that guards them is released (see
+     * {@link org.jboss.windup.graph.service.GraphService#commitIfConcurrent()}).
+     */
+    boolean isConcurrentlyModified();
+
+    /**
+     * Writes the contents of the graph to a compressed snapshot file in the graph directory, after committing any pending changes. The snapshot
+     * can be loaded into an in-memory graph with {@link GraphContextFactory#loadSnapshot(Path, GraphStorageConfiguration)}, which is much faster
+     * than reopening the database.
+     */
+    void writeSnapshot();
+
     /**
      * Clear all data from the graph (note: the graph must be closed for this operation to succeed)
      */
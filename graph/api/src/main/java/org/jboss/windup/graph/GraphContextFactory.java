@@ -13,9 +13,17 @@ public interface GraphContextFactory
      * Create a new {@link GraphContext} using the given {@link Path} as a file storage location. The {@link Path} will
      * be created if it does not already exist. (<b>**WARNING**: This will potentially delete all data in the given
      * directory.</b>)
+     *
+     * The graph uses the {@link GraphTuningProfile#SMALL_LAPTOP} settings.
      */
     GraphContext create(Path dir);
 
+    /**
+     * Create a new {@link GraphContext} using the given {@link Path} as a file storage location, and tuned with the given
+     * {@link GraphStorageConfiguration}. (<b>**WARNING**: This will potentially delete all data in the given directory.</b>)
+     */
+    GraphContext create(Path dir, GraphStorageConfiguration storageConfiguration);
+
     /**
      * Create a new {@link GraphContext} using a temporary file storage location.
      */
@@ -26,4 +34,21 @@ public interface GraphContextFactory
      */
     GraphContext load(Path dir);
 
+    /**
+     * Loads a {@link GraphContext} using the given {@link Path} as a file storage location, and tuned with the given
+     * {@link GraphStorageConfiguration}.
+     */
+    GraphContext load(Path dir, GraphStorageConfiguration storageConfiguration);
+
+    /**
+     * Loads the snapshot that was written with {@link GraphContext#writeSnapshot()} to the given graph directory into a new in-memory graph.
+     * Changes to the returned graph are not written back to the directory, so the same snapshot can be loaded any number of times. The given
+     * {@link GraphStorageConfiguration} is switched to an in-memory graph.
+     */
+    GraphContext loadSnapshot(Path dir, GraphStorageConfiguration storageConfiguration);
+
+    /**
+     * Indicates whether the given graph directory contains a snapshot that was written with {@link GraphContext#writeSnapshot()}.
+     */
+    boolean hasSnapshot(Path dir);
 }
@@ -0,0 +1,154 @@
+package org.jboss.windup.graph;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+import org.jboss.windup.graph.model.WindupVertexFrame;
+
+import com.thinkaurelius.titan.core.TitanProperty;
+import com.thinkaurelius.titan.core.TitanVertex;
+import com.tinkerpop.blueprints.Edge;
+import com.tinkerpop.blueprints.Vertex;
+
+/**
+ * A snapshot of the size of a graph: the number of vertices of each type, the number of edges with each label, and the size of each of the
+ * storage directories of the graph on disk.
+ *
+ * Counting requires a full scan of the graph, so this should only be captured occasionally (for example, once per phase).
+ */
+public class GraphStatistics
+{
+    private static final Logger log = Logger.getLogger(GraphStatistics.class.getName());
+
+    private long vertexCount;
+    private long edgeCount;
+    private final Map<String, Long> vertexCountsByType = new TreeMap<>();
+    private final Map<String, Long> edgeCountsByLabel = new TreeMap<>();
+    private final Map<String, Long> diskSizesByDirectory = new TreeMap<>();
+
+    private GraphStatistics()
+    {
+    }
+
+    /**
+     * Counts the contents of the given graph, including changes that have not been committed yet.
+     */
+    public static GraphStatistics capture(GraphContext context)
+    {
+        long start = System.currentTimeMillis();
+        GraphStatistics result = new GraphStatistics();
+        for (Vertex vertex : context.getGraph().getBaseGraph().getVertices())
+        {
+            result.vertexCount++;
+            for (TitanProperty type : ((TitanVertex) vertex).getProperties(WindupVertexFrame.TYPE_PROP))
+            {
+                increment(result.vertexCountsByType, type.getValue().toString());
+            }
+        }
+
+        for (Edge edge : context.getGraph().getBaseGraph().getEdges())
+        {
+            result.edgeCount++;
+            increment(result.edgeCountsByLabel, edge.getLabel());
+        }
+
+        Path graphDirectory = context.getGraphDirectory();
+        if (graphDirectory != null && Files.isDirectory(graphDirectory))
+        {
+            try (DirectoryStream<Path> directories = Files.newDirectoryStream(graphDirectory))
+            {
+                for (Path directory : directories)
+                {
+                    if (Files.isDirectory(directory))
+                        result.diskSizesByDirectory.put(directory.getFileName().toString(), getSize(directory));
+                }
+            }
+            catch (IOException e)
+            {
+                log.warning("Failed to get the size of the graph directory: " + graphDirectory + " due to: " + e.getMessage());
+            }
+        }
+
+        log.fine("Captured graph statistics (" + result.vertexCount + " vertices, " + result.edgeCount + " edges) in "
+                    + (System.currentTimeMillis() - start) + "ms");
+        return result;
+    }
+
+    /**
+     * Gets the total number of vertices.
+     */
+    public long getVertexCount()
+    {
+        return vertexCount;
+    }
+
+    /**
+     * Gets the total number of edges.
+     */
+    public long getEdgeCount()
+    {
+        return edgeCount;
+    }
+
+    /**
+     * Gets the number of vertices with each {@link com.tinkerpop.frames.modules.typedgraph.TypeValue}. As vertices have the types of all of
+     * their frames and super-frames, a vertex is counted once for each of its types.
+     */
+    public Map<String, Long> getVertexCountsByType()
+    {
+        return Collections.unmodifiableMap(vertexCountsByType);
+    }
+
+    /**
+     * Gets the number of edges with each label.
+     */
+    public Map<String, Long> getEdgeCountsByLabel()
+    {
+        return Collections.unmodifiableMap(edgeCountsByLabel);
+    }
+
+    /**
+     * Gets the size in bytes of each directory within the graph directory (for example, the BerkeleyDB store and the Lucene index).
+     */
+    public Map<String, Long> getDiskSizesByDirectory()
+    {
+        return Collections.unmodifiableMap(diskSizesByDirectory);
+    }
+
+    private static void increment(Map<String, Long> counts, String key)
+    {
+        Long count = counts.get(key);
+        counts.put(key, count == null ? 1L : count + 1L);
+    }
+
+    private static long getSize(Path directory) throws IOException
+    {
+        final long[] size = new long[1];
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>()
+        {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException
+            {
+                size[0] += attrs.size();
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException
+            {
+                // files can disappear while the database is running
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return size[0];
+    }
+}
@@ -0,0 +1,151 @@
+package org.jboss.windup.graph;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Controls how the storage of a {@link GraphContext} is tuned. This is passed to the {@link GraphContextFactory} when the graph is created or
+ * loaded.
+ *
+ * If no {@link GraphTuningProfile} is set, one is selected automatically from the maximum heap size and the input size. Individual Titan
+ * properties can be overridden on top of the profile.
+ *
+ * The graph can also be kept entirely in memory, which avoids the disk overhead of BerkeleyDB for inputs that fit comfortably in the heap. The
+ * contents of an in-memory graph are lost when it is closed, unless a snapshot is requested with {@link #setSaveSnapshotOnClose(boolean)}.
+ */
+public class GraphStorageConfiguration
+{
+    private GraphTuningProfile tuningProfile;
+    private long inputSize;
+    private boolean inMemory;
+    private boolean saveSnapshotOnClose;
+    private boolean compactFilePaths;
+    private final Map<String, Object> properties = new LinkedHashMap<>();
+
+    /**
+     * Sets the {@link GraphTuningProfile} to use. If this is null, the profile will be selected automatically.
+     */
+    public GraphStorageConfiguration setTuningProfile(GraphTuningProfile tuningProfile)
+    {
+        this.tuningProfile = tuningProfile;
+        return this;
+    }
+
+    /**
+     * Gets the {@link GraphTuningProfile} to use, or null if the profile should be selected automatically.
+     */
+    public GraphTuningProfile getTuningProfile()
+    {
+        return tuningProfile;
+    }
+
+    /**
+     * Sets the total size of the input in bytes. This is only used to select a {@link GraphTuningProfile} automatically.
+     */
+    public GraphStorageConfiguration setInputSize(long inputSize)
+    {
+        this.inputSize = inputSize;
+        return this;
+    }
+
+    /**
+     * Gets the total size of the input in bytes, or 0 if it is not known.
+     */
+    public long getInputSize()
+    {
+        return inputSize;
+    }
+
+    /**
+     * Sets whether the graph is kept in memory, instead of in a BerkeleyDB store in the graph directory.
+     */
+    public GraphStorageConfiguration setInMemory(boolean inMemory)
+    {
+        this.inMemory = inMemory;
+        return this;
+    }
+
+    /**
+     * Indicates whether the graph is kept in memory, instead of in a BerkeleyDB store in the graph directory.
+     */
+    public boolean isInMemory()
+    {
+        return inMemory;
+    }
+
+    /**
+     * Sets whether an in-memory graph is written to a snapshot file in the graph directory when it is closed, so that it can be loaded again
+     * later with {@link GraphContextFactory#load(java.nio.file.Path, GraphStorageConfiguration)}. This has no effect on graphs stored on disk.
+     */
+    public GraphStorageConfiguration setSaveSnapshotOnClose(boolean saveSnapshotOnClose)
+    {
+        this.saveSnapshotOnClose = saveSnapshotOnClose;
+        return this;
+    }
+
+    /**
+     * Indicates whether an in-memory graph is written to a snapshot file in the graph directory when it is closed.
+     */
+    public boolean isSaveSnapshotOnClose()
+    {
+        return saveSnapshotOnClose;
+    }
+
+    /**
+     * Sets whether new files are stored with the compact layout. In this layout, a file that is created below a parent file only stores its
+     * name and the edge to its parent, instead of its full path. The full path is rebuilt when it is needed (see {@link FilePathIndex}).
+     *
+     * This greatly reduces the size of graphs with deeply nested files (such as the contents of unzipped archives), but queries against the
+     * {@link org.jboss.windup.graph.model.resource.FileModel#FILE_PATH} property can no longer use the graph indexes.
+     */
+    public GraphStorageConfiguration setCompactFilePaths(boolean compactFilePaths)
+    {
+        this.compactFilePaths = compactFilePaths;
+        return this;
+    }
+
+    /**
+     * Indicates whether new files are stored with the compact layout.
+     */
+    public boolean isCompactFilePaths()
+    {
+        return compactFilePaths;
+    }
+
+    /**
+     * Overrides a single Titan configuration property (eg, "storage.buffer-size"). Overrides are applied after the
+     * {@link GraphTuningProfile}.
+     */
+    public GraphStorageConfiguration setProperty(String key, Object value)
+    {
+        properties.put(key, value);
+        return this;
+    }
+
+    /**
+     * Gets the overridden Titan configuration properties.
+     */
+    public Map<String, Object> getProperties()
+    {
+        return Collections.unmodifiableMap(properties);
+    }
+
+    /**
+     * Gets the {@link GraphTuningProfile} that will be used, selecting it automatically if none was set.
+     */
+    public GraphTuningProfile getEffectiveTuningProfile()
+    {
+        if (tuningProfile != null)
+            return tuningProfile;
+        return GraphTuningProfile.select(Runtime.getRuntime().maxMemory(), inputSize);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "GraphStorageConfiguration [tuningProfile=" + (tuningProfile == null ? "auto" : tuningProfile) + ", inputSize=" + inputSize
+                    + ", inMemory=" + inMemory + ", saveSnapshotOnClose=" + saveSnapshotOnClose
+                    + ", compactFilePaths=" + compactFilePaths + ", properties=" + properties + "]";
+    }
+}
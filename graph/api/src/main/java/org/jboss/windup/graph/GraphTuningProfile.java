@@ -0,0 +1,105 @@
+package org.jboss.windup.graph;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Named sets of Titan and BerkeleyDB tuning settings, sized for different amounts of heap and input.
+ *
+ * Cache sizes are expressed as fractions of the maximum heap, so each profile scales with the -Xmx setting of the JVM.
+ */
+public enum GraphTuningProfile
+{
+    /**
+     * Keeps the caches very small, so that the rest of the analysis has as much of a small heap as possible. This matches the settings used
+     * before profiles were introduced.
+     */
+    SMALL_LAPTOP("small-laptop", 1, 0.09, 4096),
+
+    /**
+     * Gives a larger share of the heap to the BerkeleyDB and Titan caches, which avoids most disk reads on machines with plenty of memory.
+     */
+    SERVER("server", 25, 0.2, 4096),
+
+    /**
+     * Favours write throughput for inputs that produce very large graphs, with a larger write buffer and more of the heap given to BerkeleyDB
+     * than to the Titan cache.
+     */
+    HUGE_INPUT("huge-input", 35, 0.1, 16384);
+
+    /**
+     * Profiles are not selected automatically unless at least this much heap is available.
+     */
+    static final long LARGE_HEAP_BYTES = 4L * 1024 * 1024 * 1024;
+
+    /**
+     * Inputs larger than this are treated as huge.
+     */
+    static final long HUGE_INPUT_BYTES = 1024L * 1024 * 1024;
+
+    private final String name;
+    private final Map<String, Object> properties;
+
+    private GraphTuningProfile(String name, int berkeleyCachePercentage, double dbCacheSize, int bufferSize)
+    {
+        this.name = name;
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("storage.berkeleydb.cache-percentage", berkeleyCachePercentage);
+        properties.put("storage.buffer-size", bufferSize);
+        properties.put("cache.db-cache", true);
+        properties.put("cache.db-cache-clean-wait", 0);
+        properties.put("cache.db-cache-size", dbCacheSize);
+        properties.put("cache.db-cache-time", 0);
+        this.properties = Collections.unmodifiableMap(properties);
+    }
+
+    /**
+     * Gets the name of this profile, as used on the command line (eg, "small-laptop").
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * Gets the Titan configuration properties set by this profile.
+     */
+    public Map<String, Object> getProperties()
+    {
+        return properties;
+    }
+
+    /**
+     * Gets the profile with the given name, or null if there is none.
+     */
+    public static GraphTuningProfile fromName(String name)
+    {
+        for (GraphTuningProfile profile : values())
+        {
+            if (profile.name.equalsIgnoreCase(name))
+                return profile;
+        }
+        return null;
+    }
+
+    /**
+     * Selects a profile for the given maximum heap size and total size of the input, both in bytes. Small heaps always use
+     * {@link #SMALL_LAPTOP}, as the other profiles would leave too little memory for the analysis itself.
+     */
+    public static GraphTuningProfile select(long maxMemory, long inputSize)
+    {
+        if (maxMemory < LARGE_HEAP_BYTES)
+            return SMALL_LAPTOP;
+        else if (inputSize > HUGE_INPUT_BYTES)
+            return HUGE_INPUT;
+        else
+            return SERVER;
+    }
+
+    @Override
+    public String toString()
+    {
+        return name;
+    }
+}
@@ -1,6 +1,7 @@
 package org.jboss.windup.graph;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -8,6 +9,10 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.inject.Singleton;
 
@@ -26,14 +31,31 @@ import com.tinkerpop.frames.modules.TypeResolver;
 import com.tinkerpop.frames.modules.typedgraph.TypeField;
 import com.tinkerpop.frames.modules.typedgraph.TypeRegistry;
 import com.tinkerpop.frames.modules.typedgraph.TypeValue;
+import com.tinkerpop.pipes.PipeFunction;
 
 /**
  * Windup's implementation of extended type handling for TinkerPop Frames. This allows storing multiple types based on the @TypeValue.value(), also in
  * the type property (see {@link WindupVertexFrame.TYPE_PROP}.
+ *
+ * Every type value is also given a small integer id, and each vertex stores the ids of its types as a bitset in {@link #TYPE_BITS_PROP}. This
+ * makes {@link #hasType(Class, Vertex)} a single bit test, instead of a comparison against each value of the type property. The ids are only
+ * valid for the lifetime of the JVM, so bitsets written by another process (for example, in a graph that has been loaded from disk) are ignored
+ * until the types of the vertex change, and the type property is checked instead.
  */
 @Singleton
 public class GraphTypeManager implements TypeResolver, FrameInitializer
 {
+    /**
+     * Name of the property where the bitset of the vertex types is stored. The first element identifies the JVM that assigned the type ids, and
+     * the remaining elements contain the bits.
+     */
+    public static final String TYPE_BITS_PROP = "w:typebits";
+
+    private static final long TYPE_BITS_EPOCH = UUID.randomUUID().getMostSignificantBits();
+    private static final ConcurrentMap<String, Integer> TYPE_IDS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, Integer> TYPE_IDS_BY_CLASS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, AtomicLong> TYPE_MODIFICATIONS = new ConcurrentHashMap<>();
+
     private Map<String, Class<? extends WindupVertexFrame>> registeredTypes = new HashMap<>();
     private TypeRegistry typeRegistry = new TypeRegistry();
 
@@ -89,7 +111,9 @@ public class GraphTypeManager implements TypeResolver, FrameInitializer
         }
 
         v.addProperty(typeFieldName, typeValue);
+        typeModified(typeValue);
         addSuperclassType(kind, element);
+        updateTypeBits(v);
     }
 
     /**
@@ -119,7 +143,10 @@ public class GraphTypeManager implements TypeResolver, FrameInitializer
         }
 
         v.addProperty(typeFieldName, typeValue);
+        typeModified(typeValue);
         addSuperclassType(kind, element);
+        if (WindupVertexFrame.TYPE_PROP.equals(typeFieldName))
+            addTypeBit(v, getTypeId(typeValue));
     }
 
     @SuppressWarnings("unchecked")
@@ -160,17 +187,18 @@ public class GraphTypeManager implements TypeResolver, FrameInitializer
 
     public static boolean hasType(Class<? extends WindupVertexFrame> type, Vertex v)
     {
-        TypeValue typeValueAnnotation = type.getAnnotation(TypeValue.class);
-        if (typeValueAnnotation == null)
-        {
-            throw new IllegalArgumentException("Class " + type.getCanonicalName() + " lacks a @TypeValue annotation");
-        }
+        int typeId = getTypeId(type);
         StandardVertex titanVertex = GraphTypeManager.asTitanVertex(v);
+        Object bits = titanVertex.getProperty(TYPE_BITS_PROP);
+        if (bits instanceof long[] && ((long[]) bits)[0] == TYPE_BITS_EPOCH)
+            return isBitSet((long[]) bits, typeId);
+
+        // no bitset from this JVM yet, so compare the values
+        String typeValue = type.getAnnotation(TypeValue.class).value();
         Iterable<TitanProperty> vertexTypes = titanVertex.getProperties(WindupVertexFrame.TYPE_PROP);
         for (TitanProperty typeProp : vertexTypes)
         {
-            String typeValue = typeProp.getValue().toString();
-            if (typeValue.equals(typeValueAnnotation.value()))
+            if (typeValue.equals(typeProp.getValue().toString()))
             {
                 return true;
             }
@@ -178,6 +206,128 @@ public class GraphTypeManager implements TypeResolver, FrameInitializer
         return false;
     }
 
+    /**
+     * Returns a pipeline filter that only keeps vertices with the given type (or, if include is false, only vertices without it). This should
+     * be used instead of filtering on the values of {@link WindupVertexFrame#TYPE_PROP} within a pipeline.
+     */
+    public static PipeFunction<Vertex, Boolean> typeFilter(final Class<? extends WindupVertexFrame> type, final boolean include)
+    {
+        // fail early if the type is not valid
+        getTypeId(type);
+        return new PipeFunction<Vertex, Boolean>()
+        {
+            @Override
+            public Boolean compute(Vertex vertex)
+            {
+                return hasType(type, vertex) == include;
+            }
+        };
+    }
+
+    /**
+     * Gets a number that changes whenever the given type is added to or removed from any vertex. This allows callers to detect that the set of
+     * vertices with the type may have changed. Removing the vertices themselves is not reflected in this number.
+     */
+    public static long getTypeModificationCount(Class<? extends WindupVertexFrame> type)
+    {
+        TypeValue typeValueAnnotation = type.getAnnotation(TypeValue.class);
+        if (typeValueAnnotation == null)
+            throw new IllegalArgumentException("Class " + type.getCanonicalName() + " lacks a @TypeValue annotation");
+
+        AtomicLong count = TYPE_MODIFICATIONS.get(typeValueAnnotation.value());
+        return count == null ? 0L : count.get();
+    }
+
+    private static void typeModified(String typeValue)
+    {
+        AtomicLong count = TYPE_MODIFICATIONS.get(typeValue);
+        if (count == null)
+        {
+            TYPE_MODIFICATIONS.putIfAbsent(typeValue, new AtomicLong());
+            count = TYPE_MODIFICATIONS.get(typeValue);
+        }
+        count.incrementAndGet();
+    }
+
+    private static int getTypeId(Class<? extends WindupVertexFrame> type)
+    {
+        Integer result = TYPE_IDS_BY_CLASS.get(type);
+        if (result == null)
+        {
+            TypeValue typeValueAnnotation = type.getAnnotation(TypeValue.class);
+            if (typeValueAnnotation == null)
+            {
+                throw new IllegalArgumentException("Class " + type.getCanonicalName() + " lacks a @TypeValue annotation");
+            }
+            result = getTypeId(typeValueAnnotation.value());
+            TYPE_IDS_BY_CLASS.put(type, result);
+        }
+        return result;
+    }
+
+    private static int getTypeId(String typeValue)
+    {
+        Integer result = TYPE_IDS.get(typeValue);
+        if (result == null)
+        {
+            synchronized (TYPE_IDS)
+            {
+                result = TYPE_IDS.get(typeValue);
+                if (result == null)
+                {
+                    result = TYPE_IDS.size();
+                    TYPE_IDS.put(typeValue, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean isBitSet(long[] bits, int typeId)
+    {
+        int index = 1 + (typeId >>> 6);
+        return index < bits.length && (bits[index] & (1L << typeId)) != 0;
+    }
+
+    /**
+     * Sets the bit for the given type id. If the vertex has no valid bitset yet, it is rebuilt from the type property (which must already contain
+     * the new type).
+     */
+    private static void addTypeBit(StandardVertex v, int typeId)
+    {
+        Object existing = v.getProperty(TYPE_BITS_PROP);
+        if (!(existing instanceof long[]) || ((long[]) existing)[0] != TYPE_BITS_EPOCH)
+        {
+            updateTypeBits(v);
+            return;
+        }
+
+        long[] bits = (long[]) existing;
+        if (isBitSet(bits, typeId))
+            return;
+
+        // the property value must be replaced for the change to be stored
+        long[] result = Arrays.copyOf(bits, Math.max(bits.length, 2 + (typeId >>> 6)));
+        result[1 + (typeId >>> 6)] |= 1L << typeId;
+        v.setProperty(TYPE_BITS_PROP, result);
+    }
+
+    /**
+     * Rebuilds the bitset of the vertex from the values of its type property.
+     */
+    private static void updateTypeBits(StandardVertex v)
+    {
+        long[] bits = new long[] { TYPE_BITS_EPOCH };
+        for (TitanProperty typeProp : v.getProperties(WindupVertexFrame.TYPE_PROP))
+        {
+            int typeId = getTypeId(typeProp.getValue().toString());
+            if (bits.length < 2 + (typeId >>> 6))
+                bits = Arrays.copyOf(bits, 2 + (typeId >>> 6));
+            bits[1 + (typeId >>> 6)] |= 1L << typeId;
+        }
+        v.setProperty(TYPE_BITS_PROP, bits);
+    }
+
     private static StandardVertex asTitanVertex(Element e)
     {
         if (e instanceof StandardVertex)
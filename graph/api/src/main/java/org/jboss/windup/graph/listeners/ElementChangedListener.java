@@ -0,0 +1,11 @@
+package org.jboss.windup.graph.listeners;
+
+import com.tinkerpop.blueprints.util.wrappers.event.listener.GraphChangedListener;
+
+/**
+ * Marks a {@link GraphChangedListener} that only needs to know about vertices and edges being added and removed, and ignores property changes.
+ * While only such listeners are registered, properties that have no {@link PropertyChangedListener} are written without firing events.
+ */
+public interface ElementChangedListener extends GraphChangedListener
+{
+}
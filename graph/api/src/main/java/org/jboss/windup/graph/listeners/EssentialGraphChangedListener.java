@@ -0,0 +1,14 @@
+package org.jboss.windup.graph.listeners;
+
+import org.jboss.windup.graph.BulkIngest;
+
+import com.tinkerpop.blueprints.util.wrappers.event.listener.GraphChangedListener;
+
+/**
+ * Marks a {@link GraphChangedListener} that keeps receiving events while a {@link BulkIngest} is open. This is for listeners that build part of
+ * the data model (for example, by adding types to new vertices) or that record what each rule changed, as opposed to those that only observe
+ * changes. Such listeners should also be {@link ElementChangedListener}s where possible, so that they do not slow down the ingest.
+ */
+public interface EssentialGraphChangedListener extends GraphChangedListener
+{
+}
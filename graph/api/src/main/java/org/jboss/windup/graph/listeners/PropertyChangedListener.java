@@ -0,0 +1,22 @@
+package org.jboss.windup.graph.listeners;
+
+import org.jboss.windup.graph.GraphContext;
+
+import com.tinkerpop.blueprints.Vertex;
+
+/**
+ * Receives changes of a single vertex property, as registered with
+ * {@link GraphContext#addPropertyChangedListener(String, Class, PropertyChangedListener)}. Unlike a
+ * {@link com.tinkerpop.blueprints.util.wrappers.event.listener.GraphChangedListener}, this is only called for the properties that it has been
+ * registered for, so it does not add any overhead to writes of other properties.
+ *
+ * Listeners are also called while a {@link org.jboss.windup.graph.BulkIngest} is open.
+ */
+public interface PropertyChangedListener
+{
+    /**
+     * Called after the property with the given key has changed. If the property was removed, or the vertex itself was removed, the new value is
+     * null.
+     */
+    void propertyChanged(Vertex vertex, String key, Object oldValue, Object newValue);
+}
@@ -1,5 +1,7 @@
 package org.jboss.windup.graph.model;
 
+import org.jboss.windup.graph.GraphTypeManager;
+
 import com.tinkerpop.blueprints.Vertex;
 import com.tinkerpop.frames.VertexFrame;
 import com.tinkerpop.frames.modules.javahandler.JavaHandler;
@@ -44,6 +46,9 @@ public interface WindupVertexFrame extends VertexFrame
             boolean hasSome = false;
             for (String propKey : v.getPropertyKeys())
             {
+                if (GraphTypeManager.TYPE_BITS_PROP.equals(propKey))
+                    continue;
+
                 hasSome = true;
                 Object propVal = v.getProperty(propKey);
                 result.append(propKey).append(": ").append(propVal);
@@ -1,13 +1,18 @@
 package org.jboss.windup.graph.model.performance;
 
+import java.util.Map;
+
+import org.jboss.windup.graph.GraphStatistics;
+import org.jboss.windup.graph.MapInProperties;
 import org.jboss.windup.graph.model.WindupVertexFrame;
 
 import com.tinkerpop.frames.Property;
 import com.tinkerpop.frames.modules.typedgraph.TypeValue;
 
 /**
- * This stores the time it takes to execute all of the rules within a particular phase of execution.
- * 
+ * This stores the time it takes to execute all of the rules within a particular phase of execution, and the size of the graph at the end of
+ * the phase (see {@link GraphStatistics}).
+ *
  * @author <a href="mailto:jesse.sightler@gmail.com">Jesse Sightler</a>
  */
 @TypeValue(RulePhaseExecutionStatisticsModel.TYPE)
@@ -17,6 +22,13 @@ public interface RulePhaseExecutionStatisticsModel extends WindupVertexFrame
     public static final String RULE_PHASE = "rulePhase";
     public static final String TYPE = "RulePhaseExecutionStatisticsModel";
     public static final String TIME_TAKEN = "timeTaken";
+    public static final String COMMIT_COUNT = "commitCount";
+    public static final String COMMIT_TIME_TAKEN = "commitTimeTaken";
+    public static final String VERTEX_COUNT = "vertexCount";
+    public static final String EDGE_COUNT = "edgeCount";
+    public static final String VERTEX_COUNT_BY_TYPE = "vertexCountByType";
+    public static final String EDGE_COUNT_BY_LABEL = "edgeCountByLabel";
+    public static final String DISK_SIZE_BY_DIRECTORY = "diskSizeByDirectory";
 
     /**
      * The phase represented by this model.
@@ -53,4 +65,88 @@ public interface RulePhaseExecutionStatisticsModel extends WindupVertexFrame
      */
     @Property(ORDER_EXECUTED)
     public void setOrderExecuted(int orderExecuted);
+
+    /**
+     * The number of commits done after the rules within this phase.
+     */
+    @Property(COMMIT_COUNT)
+    public Integer getCommitCount();
+
+    /**
+     * The number of commits done after the rules within this phase.
+     */
+    @Property(COMMIT_COUNT)
+    public void setCommitCount(int commitCount);
+
+    /**
+     * The time taken by the commits done after the rules within this phase (in milliseconds).
+     */
+    @Property(COMMIT_TIME_TAKEN)
+    public Integer getCommitTimeTaken();
+
+    /**
+     * The time taken by the commits done after the rules within this phase (in milliseconds).
+     */
+    @Property(COMMIT_TIME_TAKEN)
+    public void setCommitTimeTaken(int commitTimeTakenMillis);
+
+    /**
+     * The total number of vertices at the end of this phase, or null if the phase has not ended yet.
+     */
+    @Property(VERTEX_COUNT)
+    public Long getVertexCount();
+
+    /**
+     * The total number of vertices at the end of this phase.
+     */
+    @Property(VERTEX_COUNT)
+    public void setVertexCount(long vertexCount);
+
+    /**
+     * The total number of edges at the end of this phase.
+     */
+    @Property(EDGE_COUNT)
+    public Long getEdgeCount();
+
+    /**
+     * The total number of edges at the end of this phase.
+     */
+    @Property(EDGE_COUNT)
+    public void setEdgeCount(long edgeCount);
+
+    /**
+     * The number of vertices of each type at the end of this phase (see {@link GraphStatistics#getVertexCountsByType()}).
+     */
+    @MapInProperties(propertyPrefix = VERTEX_COUNT_BY_TYPE)
+    public Map<String, String> getVertexCountsByType();
+
+    /**
+     * The number of vertices of each type at the end of this phase (see {@link GraphStatistics#getVertexCountsByType()}).
+     */
+    @MapInProperties(propertyPrefix = VERTEX_COUNT_BY_TYPE)
+    public void setVertexCountsByType(Map<String, String> vertexCountsByType);
+
+    /**
+     * The number of edges with each label at the end of this phase.
+     */
+    @MapInProperties(propertyPrefix = EDGE_COUNT_BY_LABEL)
+    public Map<String, String> getEdgeCountsByLabel();
+
+    /**
+     * The number of edges with each label at the end of this phase.
+     */
+    @MapInProperties(propertyPrefix = EDGE_COUNT_BY_LABEL)
+    public void setEdgeCountsByLabel(Map<String, String> edgeCountsByLabel);
+
+    /**
+     * The size in bytes of each of the storage directories of the graph at the end of this phase.
+     */
+    @MapInProperties(propertyPrefix = DISK_SIZE_BY_DIRECTORY)
+    public Map<String, String> getDiskSizesByDirectory();
+
+    /**
+     * The size in bytes of each of the storage directories of the graph at the end of this phase.
+     */
+    @MapInProperties(propertyPrefix = DISK_SIZE_BY_DIRECTORY)
+    public void setDiskSizesByDirectory(Map<String, String> diskSizesByDirectory);
 }
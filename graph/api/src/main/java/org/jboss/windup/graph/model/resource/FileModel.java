@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import org.jboss.windup.graph.FilePathIndex;
 import org.jboss.windup.graph.Indexed;
 import org.jboss.windup.graph.model.ArchiveModel;
 import org.jboss.windup.graph.model.ProjectModel;
@@ -58,11 +59,19 @@ public interface FileModel extends ResourceModel
     void setFileName(String filename);
 
     /**
-     * Contains the full path to the file (eg, /tmp/foo/bar/file.txt)
+     * Contains the full path to the file (eg, /tmp/foo/bar/file.txt). For files stored with the compact layout, this is rebuilt from the file name
+     * and the parent files (see {@link FilePathIndex}).
+     */
+    @JavaHandler
+    String getFilePath();
+
+    /**
+     * Contains the full path to the file as stored on the vertex. This is null for files stored with the compact layout, so
+     * {@link #getFilePath()} should normally be used instead.
      */
     @Indexed
     @Property(FILE_PATH)
-    String getFilePath();
+    String getStoredFilePath();
 
     /**
      * Contains the full path to the file (eg, /tmp/foo/bar/file.txt)
@@ -272,6 +281,11 @@ public interface FileModel extends ResourceModel
             }
         }
 
+        public String getFilePath()
+        {
+            return FilePathIndex.getFilePath(g().getBaseGraph(), it());
+        }
+
         public void setFilePath(String filePath)
         {
             File file = new File(filePath);
@@ -1,13 +1,20 @@
 package org.jboss.windup.graph.service;
 
+import java.io.File;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
 
+import org.jboss.windup.graph.FilePathIndex;
 import org.jboss.windup.graph.GraphContext;
 import org.jboss.windup.graph.model.resource.FileModel;
+import org.jboss.windup.graph.service.exception.NonUniqueResultException;
 import org.jboss.windup.util.ExecutionStatistics;
 
 import com.thinkaurelius.titan.core.attribute.Text;
 import com.thinkaurelius.titan.util.datastructures.IterablesUtil;
+import com.tinkerpop.blueprints.Vertex;
 
 public class FileService extends GraphService<FileModel>
 {
@@ -26,24 +33,75 @@ public class FileService extends GraphService<FileModel>
         ExecutionStatistics.get().begin("FileService.createByFilePath(parentFile, filePath)");
         // always search by absolute path
         String absolutePath = Paths.get(filePath).toAbsolutePath().toString();
-        FileModel entry = findByPath(absolutePath);
+        FileModel entry = findByAbsolutePath(absolutePath);
 
         if (entry == null)
         {
             entry = this.create();
-            entry.setFilePath(absolutePath);
-            entry.setParentFile(parentFile);
+            if (parentFile != null && getGraphContext().getStorageConfiguration().isCompactFilePaths()
+                        && isChildPath(parentFile, absolutePath))
+            {
+                setCompactFilePath(entry, parentFile, absolutePath);
+            }
+            else
+            {
+                entry.setFilePath(absolutePath);
+                entry.setParentFile(parentFile);
+            }
         }
 
         ExecutionStatistics.get().end("FileService.createByFilePath(parentFile, filePath)");
         return entry;
     }
 
+    private static boolean isChildPath(FileModel parentFile, String absolutePath)
+    {
+        String parentPath = new File(absolutePath).getParent();
+        return parentPath != null && parentPath.equals(parentFile.getFilePath());
+    }
+
+    /**
+     * Stores the file with the compact layout, which only has the file name and the edge to the parent. The path is added to the
+     * {@link FilePathIndex} before the name is set, so that listeners for the name can already get the full path.
+     */
+    private void setCompactFilePath(FileModel entry, FileModel parentFile, String absolutePath)
+    {
+        File file = new File(absolutePath);
+        entry.setParentFile(parentFile);
+        getGraphContext().getFilePathIndex().put(absolutePath, entry.asVertex().getId());
+        entry.asVertex().setProperty(FileModel.IS_DIRECTORY, file.isDirectory());
+        entry.asVertex().setProperty(FileModel.FILE_NAME, file.getName());
+    }
+
+    /**
+     * Finds the {@link FileModel} with the given path, or returns null if there is none. This uses the {@link FilePathIndex} of the
+     * {@link GraphContext}, and only queries the graph if the index has no current entry for the path or has seen more than one file with
+     * it. Throws a {@link NonUniqueResultException} if there is more than one file with the path.
+     */
     public FileModel findByPath(String filePath)
     {
         // make the path absolute (as we only store absolute paths)
         filePath = Paths.get(filePath).toAbsolutePath().toString();
-        return getUniqueByProperty(FileModel.FILE_PATH, filePath);
+        return findByAbsolutePath(filePath);
+    }
+
+    private FileModel findByAbsolutePath(String absolutePath)
+    {
+        FilePathIndex index = getGraphContext().getFilePathIndex();
+        Object vertexId = index.getVertexId(absolutePath);
+        if (vertexId != null && !index.isAmbiguous(absolutePath))
+        {
+            // the index also sees changes that were rolled back, so make sure that the vertex still has this path
+            Vertex vertex = getGraphContext().getGraph().getVertex(vertexId);
+            if (vertex != null && absolutePath.equals(FilePathIndex.getFilePath(getGraphContext().getGraph(), vertex)))
+                return frame(vertex);
+        }
+
+        /*
+         * The index may not know about the path yet (changes of other transactions, rolled back renames), or may have seen more than one vertex
+         * with it, so query the graph. This also fails if the path is not unique.
+         */
+        return getUniqueByProperty(FileModel.FILE_PATH, absolutePath);
     }
 
     public Iterable<FileModel> findArchiveEntryWithExtension(String... values)
@@ -72,7 +130,49 @@ public class FileService extends GraphService<FileModel>
             regex = ".+\\." + builder.toString() + "$";
         }
 
+        // the extension is also at the end of the file name, which is stored in both layouts
+        String key = isCompactFilePaths() ? FileModel.FILE_NAME : FileModel.FILE_PATH;
         return getGraphContext().getQuery().type(FileModel.class)
-                    .has("filePath", Text.REGEX, regex).vertices(FileModel.class);
+                    .has(key, Text.REGEX, regex).vertices(FileModel.class);
+    }
+
+    /**
+     * Finds the {@link FileModel}s with a property that matches any of the given regular expressions. For the {@link FileModel#FILE_PATH} of a
+     * graph that uses the compact layout, this has to check the path of every file.
+     */
+    @Override
+    public Iterable<FileModel> findAllByPropertyMatchingRegex(String key, String... regex)
+    {
+        if (!FileModel.FILE_PATH.equals(key) || !isCompactFilePaths())
+            return super.findAllByPropertyMatchingRegex(key, regex);
+
+        List<Pattern> patterns = new ArrayList<>(regex.length);
+        for (String value : regex)
+        {
+            patterns.add(Pattern.compile(value));
+        }
+
+        List<FileModel> results = new ArrayList<>();
+        for (FileModel file : findAll())
+        {
+            String path = file.getFilePath();
+            if (path == null)
+                continue;
+
+            for (Pattern pattern : patterns)
+            {
+                if (pattern.matcher(path).matches())
+                {
+                    results.add(file);
+                    break;
+                }
+            }
+        }
+        return results;
+    }
+
+    private boolean isCompactFilePaths()
+    {
+        return getGraphContext().getStorageConfiguration().isCompactFilePaths();
     }
 }
@@ -25,6 +25,19 @@ import com.tinkerpop.gremlin.java.GremlinPipeline;
 
 public class GraphService<T extends WindupVertexFrame> implements Service<T>
 {
+    /**
+     * The locks returned by {@link #getCreationLock(String, Object)}.
+     */
+    private static final Object[] CREATION_LOCKS = new Object[64];
+
+    static
+    {
+        for (int i = 0; i < CREATION_LOCKS.length; i++)
+        {
+            CREATION_LOCKS[i] = new Object();
+        }
+    }
+
     private Class<T> type;
     private GraphContext context;
 
@@ -289,6 +302,31 @@ public class GraphService<T extends WindupVertexFrame> implements Service<T>
         return frame(result);
     }
 
+    /**
+     * Gets the lock to hold while looking up, and if necessary creating, the unique vertex of this type with the given property value, and while
+     * changing the edges of that vertex that other threads may change as well.
+     *
+     * Rules of independent providers may be executed concurrently, each in its own transaction, and these transactions do not see each
+     * other's uncommitted changes. Changes made while holding the lock must therefore be committed with {@link #commitIfConcurrent()} before
+     * it is released. The locks are shared between all values that fall into the same of a fixed number of stripes.
+     */
+    public Object getCreationLock(String property, Object value)
+    {
+        int hash = (type.getName() + "#" + property + "=" + value).hashCode();
+        return CREATION_LOCKS[(hash & Integer.MAX_VALUE) % CREATION_LOCKS.length];
+    }
+
+    /**
+     * Commits the current transaction if the graph is currently being modified by several threads (see
+     * {@link GraphContext#isConcurrentlyModified()}). This makes the changes made while holding a lock from
+     * {@link #getCreationLock(String, Object)} visible to the other threads once the lock is released.
+     */
+    public void commitIfConcurrent()
+    {
+        if (context.isConcurrentlyModified())
+            commit();
+    }
+
     protected GraphContext getGraphContext()
     {
         return context;
@@ -25,15 +25,19 @@ public class LinkService extends GraphService<LinkModel>
      */
     public LinkModel getOrCreate(String description, String href)
     {
-        Iterable<Vertex> results = getTypedQuery().has(LinkModel.PROPERTY_DESCRIPTION, description).has(LinkModel.PROPERTY_LINK, href).vertices();
-        if (!results.iterator().hasNext())
+        synchronized (getCreationLock(LinkModel.PROPERTY_LINK, href))
         {
-            LinkModel model = create();
-            model.setDescription(description);
-            model.setLink(href);
-            return model;
+            Iterable<Vertex> results = getTypedQuery().has(LinkModel.PROPERTY_DESCRIPTION, description).has(LinkModel.PROPERTY_LINK, href).vertices();
+            if (!results.iterator().hasNext())
+            {
+                LinkModel model = create();
+                model.setDescription(description);
+                model.setLink(href);
+                commitIfConcurrent();
+                return model;
+            }
+            return frame(results.iterator().next());
         }
-        return frame(results.iterator().next());
     }
 
 }
@@ -0,0 +1,164 @@
+package org.jboss.windup.graph;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import org.jboss.windup.graph.listeners.ElementChangedListener;
+import org.jboss.windup.graph.listeners.EssentialGraphChangedListener;
+
+import com.thinkaurelius.titan.core.TitanGraph;
+import com.tinkerpop.blueprints.Edge;
+import com.tinkerpop.blueprints.Vertex;
+import com.tinkerpop.blueprints.util.wrappers.event.EventGraph;
+import com.tinkerpop.blueprints.util.wrappers.event.listener.GraphChangedListener;
+
+/**
+ * Suspends the non-essential {@link GraphChangedListener}s of the {@link EventGraph} and counts the changes made through it, so that they can be
+ * committed in batches.
+ *
+ * Only vertices and edges are counted, as counting property changes would require events for all of them (see
+ * {@link ElementChangedListener}). New elements are usually created with a few properties each, so this is close enough for batching.
+ */
+class BulkIngestImpl implements BulkIngest
+{
+    private static final Logger log = Logger.getLogger(BulkIngestImpl.class.getName());
+
+    private final EventGraph<TitanGraph> eventGraph;
+    private final int commitSize;
+    private final List<GraphChangedListener> suspendedListeners = new ArrayList<>();
+    private final ChangeCounter changeCounter = new ChangeCounter();
+    private final long startTime = System.currentTimeMillis();
+
+    private int depth = 1;
+    private int commits;
+
+    BulkIngestImpl(EventGraph<TitanGraph> eventGraph, int commitSize)
+    {
+        this.eventGraph = eventGraph;
+        this.commitSize = commitSize;
+
+        eventGraph.getBaseGraph().commit();
+
+        Iterator<GraphChangedListener> listeners = eventGraph.getListenerIterator();
+        while (listeners.hasNext())
+        {
+            GraphChangedListener listener = listeners.next();
+            if (!(listener instanceof EssentialGraphChangedListener))
+                suspendedListeners.add(listener);
+        }
+        for (GraphChangedListener listener : suspendedListeners)
+        {
+            eventGraph.removeListener(listener);
+        }
+        eventGraph.addListener(changeCounter);
+
+        log.info("Started bulk ingest (commit size: " + commitSize + ", suspended listeners: " + suspendedListeners.size() + ")");
+    }
+
+    /**
+     * Joins this {@link BulkIngest}, if it is still open.
+     */
+    boolean join()
+    {
+        if (depth == 0)
+            return false;
+
+        depth++;
+        return true;
+    }
+
+    @Override
+    public void commitIfNeeded()
+    {
+        if (changeCounter.uncommitted >= commitSize)
+            commit();
+    }
+
+    private void commit()
+    {
+        eventGraph.getBaseGraph().commit();
+        changeCounter.uncommitted = 0;
+        commits++;
+    }
+
+    @Override
+    public void close()
+    {
+        if (depth == 0)
+            return;
+
+        depth--;
+        if (depth > 0)
+            return;
+
+        commit();
+        eventGraph.removeListener(changeCounter);
+        for (GraphChangedListener listener : suspendedListeners)
+        {
+            eventGraph.addListener(listener);
+        }
+        suspendedListeners.clear();
+
+        log.info("Finished bulk ingest of " + changeCounter.total + " added or removed elements in " + commits + " commits, "
+                    + (System.currentTimeMillis() - startTime) + "ms");
+    }
+
+    private static class ChangeCounter implements ElementChangedListener, EssentialGraphChangedListener
+    {
+        private int uncommitted;
+        private long total;
+
+        private void changed()
+        {
+            uncommitted++;
+            total++;
+        }
+
+        @Override
+        public void vertexAdded(Vertex vertex)
+        {
+            changed();
+        }
+
+        @Override
+        public void vertexPropertyChanged(Vertex vertex, String key, Object oldValue, Object setValue)
+        {
+        }
+
+        @Override
+        public void vertexPropertyRemoved(Vertex vertex, String key, Object removedValue)
+        {
+        }
+
+        @Override
+        public void vertexRemoved(Vertex vertex, Map<String, Object> props)
+        {
+            changed();
+        }
+
+        @Override
+        public void edgeAdded(Edge edge)
+        {
+            changed();
+        }
+
+        @Override
+        public void edgePropertyChanged(Edge edge, String key, Object oldValue, Object setValue)
+        {
+        }
+
+        @Override
+        public void edgePropertyRemoved(Edge edge, String key, Object removedValue)
+        {
+        }
+
+        @Override
+        public void edgeRemoved(Edge edge, Map<String, Object> props)
+        {
+            changed();
+        }
+    }
+}
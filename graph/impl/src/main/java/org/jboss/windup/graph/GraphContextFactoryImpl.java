@@ -1,6 +1,7 @@
 package org.jboss.windup.graph;
 
 import java.io.File;
+import java.nio.file.Files;
 import java.nio.file.Path;
 
 import javax.enterprise.context.ApplicationScoped;
@@ -32,34 +33,59 @@ public class GraphContextFactoryImpl implements GraphContextFactory
     @Override
     public GraphContext create()
     {
-        return new GraphContextImpl(
-                    furnace,
-                    graphTypeRegistry,
-                    graphTypeManager,
-                    graphApiCompositeClassLoaderProvider,
-                    getTempGraphDirectory()).create();
+        return create(getTempGraphDirectory());
     }
 
     @Override
     public GraphContext create(Path graphDir)
+    {
+        return create(graphDir, getDefaultStorageConfiguration());
+    }
+
+    @Override
+    public GraphContext create(Path graphDir, GraphStorageConfiguration storageConfiguration)
     {
         return new GraphContextImpl(
                     furnace,
                     graphTypeRegistry,
                     graphTypeManager,
                     graphApiCompositeClassLoaderProvider,
-                    graphDir).create();
+                    graphDir,
+                    storageConfiguration).create();
     }
 
     @Override
     public GraphContext load(Path graphDir)
+    {
+        return load(graphDir, getDefaultStorageConfiguration());
+    }
+
+    @Override
+    public GraphContext load(Path graphDir, GraphStorageConfiguration storageConfiguration)
     {
         return new GraphContextImpl(
                     furnace,
                     graphTypeRegistry,
                     graphTypeManager,
                     graphApiCompositeClassLoaderProvider,
-                    graphDir).load();
+                    graphDir,
+                    storageConfiguration).load();
+    }
+
+    @Override
+    public GraphContext loadSnapshot(Path graphDir, GraphStorageConfiguration storageConfiguration)
+    {
+        if (!hasSnapshot(graphDir))
+            throw new IllegalStateException("No graph snapshot found in: " + graphDir);
+
+        storageConfiguration.setInMemory(true).setSaveSnapshotOnClose(false);
+        return load(graphDir, storageConfiguration);
+    }
+
+    @Override
+    public boolean hasSnapshot(Path graphDir)
+    {
+        return Files.isRegularFile(GraphSnapshot.getPath(graphDir));
     }
 
     @Produces
@@ -73,6 +99,11 @@ public class GraphContextFactoryImpl implements GraphContextFactory
         return graphContext;
     }
 
+    private GraphStorageConfiguration getDefaultStorageConfiguration()
+    {
+        return new GraphStorageConfiguration().setTuningProfile(GraphTuningProfile.SMALL_LAPTOP);
+    }
+
     private Path getTempGraphDirectory()
     {
         return new File(FileUtils.getTempDirectory(), "windupgraph_" + RandomStringUtils.randomAlphanumeric(6))
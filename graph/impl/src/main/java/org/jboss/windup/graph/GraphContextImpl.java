@@ -1,13 +1,17 @@
 package org.jboss.windup.graph;
 
+import java.io.IOException;
 import java.lang.reflect.Method;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.logging.Logger;
 
 import org.apache.commons.configuration.BaseConfiguration;
@@ -19,7 +23,9 @@ import org.jboss.forge.furnace.util.Annotations;
 import org.jboss.windup.graph.frames.TypeAwareFramedGraphQuery;
 import org.jboss.windup.graph.listeners.AfterGraphInitializationListener;
 import org.jboss.windup.graph.listeners.BeforeGraphCloseListener;
+import org.jboss.windup.graph.listeners.PropertyChangedListener;
 import org.jboss.windup.graph.model.WindupVertexFrame;
+import org.jboss.windup.graph.model.resource.FileModel;
 
 import com.thinkaurelius.titan.core.Cardinality;
 import com.thinkaurelius.titan.core.PropertyKey;
@@ -40,6 +46,7 @@ import com.tinkerpop.frames.modules.FrameClassLoaderResolver;
 import com.tinkerpop.frames.modules.Module;
 import com.tinkerpop.frames.modules.gremlingroovy.GremlinGroovyModule;
 import com.tinkerpop.frames.modules.javahandler.JavaHandlerModule;
+import com.tinkerpop.frames.modules.typedgraph.TypeValue;
 import java.io.File;
 import org.apache.commons.configuration.ConfigurationException;
 import org.apache.commons.configuration.PropertiesConfiguration;
@@ -52,23 +59,30 @@ public class GraphContextImpl implements GraphContext
     private Map<String, Object> configurationOptions;
     private final GraphTypeRegistry graphTypeRegistry;
     private final GraphTypeManager graphTypeManager;
-    private EventGraph<TitanGraph> eventGraph;
+    private RoutingEventGraph eventGraph;
     private BatchGraph<TitanGraph> batchGraph;
     private FramedGraph<EventGraph<TitanGraph>> framed;
     private Configuration conf;
+    private Map<String, Set<IndexType>> indexTypes;
+    private BulkIngestImpl bulkIngest;
+    private FilePathIndex filePathIndex;
+    private volatile boolean concurrentlyModified;
 
     private final Path graphDir;
+    private final GraphStorageConfiguration storageConfiguration;
+    private Path searchIndexTempDir;
 
     private GraphApiCompositeClassLoaderProvider classLoaderProvider;
 
     public GraphContextImpl(Furnace furnace, GraphTypeRegistry typeRegistry, GraphTypeManager typeManager,
-                GraphApiCompositeClassLoaderProvider classLoaderProvider, Path graphDir)
+                GraphApiCompositeClassLoaderProvider classLoaderProvider, Path graphDir, GraphStorageConfiguration storageConfiguration)
     {
         this.furnace = furnace;
         this.graphTypeRegistry = typeRegistry;
         this.graphTypeManager = typeManager;
         this.classLoaderProvider = classLoaderProvider;
         this.graphDir = graphDir;
+        this.storageConfiguration = storageConfiguration;
     }
 
     public GraphContextImpl create()
@@ -76,7 +90,7 @@ public class GraphContextImpl implements GraphContext
         FileUtils.deleteQuietly(graphDir.toFile());
         TitanGraph titan = initializeTitanGraph();
         initializeTitanIndexes(titan);
-        createFramed(titan);
+        createFramed(titan, true);
         fireListeners();
         return this;
     }
@@ -84,7 +98,27 @@ public class GraphContextImpl implements GraphContext
     public GraphContextImpl load()
     {
         TitanGraph titan = initializeTitanGraph();
-        createFramed(titan);
+        if (storageConfiguration.isInMemory())
+        {
+            /*
+             * An in-memory graph starts out empty, so the schema has to be created again before the snapshot is read.
+             */
+            initializeTitanIndexes(titan);
+            Path snapshot = GraphSnapshot.getPath(graphDir);
+            if (Files.isRegularFile(snapshot))
+            {
+                try
+                {
+                    GraphSnapshot.read(titan, snapshot);
+                }
+                catch (IOException e)
+                {
+                    titan.shutdown();
+                    throw new RuntimeException("Failed to load graph snapshot from: " + snapshot + " due to: " + e.getMessage(), e);
+                }
+            }
+        }
+        createFramed(titan, false);
         fireListeners();
         return this;
     }
@@ -110,9 +144,11 @@ public class GraphContextImpl implements GraphContext
         }
     }
 
-    private void createFramed(TitanGraph titanGraph)
+    private void createFramed(TitanGraph titanGraph, boolean empty)
     {
-        this.eventGraph = new EventGraph<TitanGraph>(titanGraph);
+        this.eventGraph = new RoutingEventGraph(titanGraph);
+        this.filePathIndex = new FilePathIndex(eventGraph, empty);
+        this.eventGraph.addPropertyChangedListener(FileModel.FILE_PATH, null, filePathIndex);
         this.batchGraph = new BatchGraph<TitanGraph>(titanGraph, 1000L);
 
         final ClassLoader compositeClassLoader = classLoaderProvider.getCompositeClassLoader();
@@ -132,6 +168,7 @@ public class GraphContextImpl implements GraphContext
             {
                 config.setFrameClassLoaderResolver(classLoaderResolver);
 
+                config.addMethodHandler(new WindupPropertyMethodHandler());
                 config.addMethodHandler(new MapInPropertiesHandler());
                 config.addMethodHandler(new MapInAdjacentPropertiesHandler());
                 config.addMethodHandler(new MapInAdjacentVerticesHandler());
@@ -148,7 +185,53 @@ public class GraphContextImpl implements GraphContext
                     new GremlinGroovyModule() // Supports @Gremlin
         );
 
-        framed = factory.create(eventGraph);
+        framed = factory.<EventGraph<TitanGraph>> create(eventGraph);
+    }
+
+    /**
+     * Gets the property keys that are indexed by the registered model types, along with the types of index declared for each.
+     */
+    private Map<String, Set<IndexType>> getIndexTypes()
+    {
+        if (indexTypes == null)
+        {
+            Map<String, Set<IndexType>> result = new HashMap<>();
+            Set<Class<? extends WindupVertexFrame>> modelTypes = graphTypeManager.getRegisteredTypes();
+            for (Class<? extends WindupVertexFrame> type : modelTypes)
+            {
+                for (Method method : type.getDeclaredMethods())
+                {
+                    Indexed index = method.getAnnotation(Indexed.class);
+                    if (index != null)
+                    {
+                        Property property = Annotations.getAnnotation(method, Property.class);
+                        if (property != null)
+                        {
+                            addIndexType(result, property.value(), index.value());
+                        }
+                    }
+                }
+            }
+
+            /*
+             * This is the root Model index that enables us to query on frame-type (by subclass type, etc.) Without this,
+             * every typed query would be slow. Do not remove this unless something really paradigm-shifting has happened.
+             */
+            addIndexType(result, WindupVertexFrame.TYPE_PROP, IndexType.LIST);
+            indexTypes = Collections.unmodifiableMap(result);
+        }
+        return indexTypes;
+    }
+
+    private static void addIndexType(Map<String, Set<IndexType>> indexTypes, String key, IndexType type)
+    {
+        Set<IndexType> types = indexTypes.get(key);
+        if (types == null)
+        {
+            types = EnumSet.noneOf(IndexType.class);
+            indexTypes.put(key, types);
+        }
+        types.add(type);
     }
 
     private void initializeTitanIndexes(TitanGraph titanGraph)
@@ -157,45 +240,30 @@ public class GraphContextImpl implements GraphContext
         Set<String> searchIndexKeys = new HashSet<>();
         Set<String> listIndexKeys = new HashSet<>();
 
-        Set<Class<? extends WindupVertexFrame>> modelTypes = graphTypeManager.getRegisteredTypes();
-        for (Class<? extends WindupVertexFrame> type : modelTypes)
+        for (Map.Entry<String, Set<IndexType>> entry : getIndexTypes().entrySet())
         {
-            for (Method method : type.getDeclaredMethods())
+            for (IndexType type : entry.getValue())
             {
-                Indexed index = method.getAnnotation(Indexed.class);
-                if (index != null)
+                switch (type)
                 {
-                    Property property = Annotations.getAnnotation(method, Property.class);
-                    if (property != null)
-                    {
-                        switch (index.value())
-                        {
-                        case DEFAULT:
-                            defaultIndexKeys.add(property.value());
-                            break;
+                case DEFAULT:
+                    defaultIndexKeys.add(entry.getKey());
+                    break;
 
-                        case SEARCH:
-                            searchIndexKeys.add(property.value());
-                            break;
+                case SEARCH:
+                    searchIndexKeys.add(entry.getKey());
+                    break;
 
-                        case LIST:
-                            listIndexKeys.add(property.value());
-                            break;
+                case LIST:
+                    listIndexKeys.add(entry.getKey());
+                    break;
 
-                        default:
-                            break;
-                        }
-                    }
+                default:
+                    break;
                 }
             }
         }
 
-        /*
-         * This is the root Model index that enables us to query on frame-type (by subclass type, etc.) Without this,
-         * every typed query would be slow. Do not remove this unless something really paradigm-shifting has happened.
-         */
-        listIndexKeys.add(WindupVertexFrame.TYPE_PROP);
-
         log.info("Detected and initialized [" + defaultIndexKeys.size() + "] default indexes: " + defaultIndexKeys);
         log.info("Detected and initialized [" + searchIndexKeys.size() + "] search indexes: " + searchIndexKeys);
         log.info("Detected and initialized [" + listIndexKeys.size() + "] list indexes: " + listIndexKeys);
@@ -219,6 +287,9 @@ public class GraphContextImpl implements GraphContext
             titan.buildIndex(key, Vertex.class).addKey(propKey).buildCompositeIndex();
         }
 
+        // not indexed, but declared so that the bitsets are stored in their compact form
+        titan.makePropertyKey(GraphTypeManager.TYPE_BITS_PROP).dataType(long[].class).cardinality(Cardinality.SINGLE).make();
+
         titan.commit();
     }
 
@@ -229,34 +300,85 @@ public class GraphContextImpl implements GraphContext
         Path lucene = graphDir.resolve("graphsearch");
         Path berkeley = graphDir.resolve("titangraph");
 
-        // TODO: Externalize this.
         conf = new BaseConfiguration();
-        conf.setProperty("storage.directory", berkeley.toAbsolutePath().toString());
-        conf.setProperty("storage.backend", "berkeleyje");
-
-        // Sets the berkeley cache to a relatively small value to reduce the memory footprint.
-        // This is actually more important than performance on some of the smaller machines out there, and
-        // the performance decrease seems to be minimal.
-        conf.setProperty("storage.berkeleydb.cache-percentage", 1);
-
-        // Increase storage write buffer since we basically do a large bulk load during the first phases.
-        // See http://s3.thinkaurelius.com/docs/titan/current/bulk-loading.html
-        conf.setProperty("storage.buffer-size", "4096");
+        GraphTuningProfile profile = null;
+        if (storageConfiguration.isInMemory())
+        {
+            conf.setProperty("storage.backend", "inmemory");
 
-        //
-        // turn on a db-cache that persists across txn boundaries, but make it relatively small
-        conf.setProperty("cache.db-cache", true);
-        conf.setProperty("cache.db-cache-clean-wait", 0);
-        conf.setProperty("cache.db-cache-size", .09);
-        conf.setProperty("cache.db-cache-time", 0);
+            /*
+             * Titan's Lucene index can only be stored in a directory. Keep it out of the output folder, and remove it when the graph is
+             * closed.
+             */
+            try
+            {
+                searchIndexTempDir = Files.createTempDirectory("windupgraph_search");
+            }
+            catch (IOException e)
+            {
+                throw new RuntimeException("Failed to create a directory for the search index due to: " + e.getMessage(), e);
+            }
+            lucene = searchIndexTempDir;
+        }
+        else
+        {
+            conf.setProperty("storage.directory", berkeley.toAbsolutePath().toString());
+            conf.setProperty("storage.backend", "berkeleyje");
+
+            /*
+             * The profile sizes the BerkeleyDB cache, the write buffer (we basically do a large bulk load during the first phases, see
+             * http://s3.thinkaurelius.com/docs/titan/current/bulk-loading.html) and a db-cache that persists across txn boundaries.
+             */
+            profile = storageConfiguration.getEffectiveTuningProfile();
+            for (Map.Entry<String, Object> property : profile.getProperties().entrySet())
+            {
+                conf.setProperty(property.getKey(), property.getValue());
+            }
+        }
 
         conf.setProperty("index.search.backend", "lucene");
         conf.setProperty("index.search.directory", lucene.toAbsolutePath().toString());
 
-        writeToPropertiesFile(conf, graphDir.resolve("TitanConfiguration.properties").toFile());
+        for (Map.Entry<String, Object> property : storageConfiguration.getProperties().entrySet())
+        {
+            conf.setProperty(property.getKey(), property.getValue());
+        }
+
+        logConfiguration(profile);
+        if (!storageConfiguration.isInMemory())
+            writeToPropertiesFile(conf, graphDir.resolve("TitanConfiguration.properties").toFile());
         return TitanFactory.open(conf);
     }
 
+    private void logConfiguration(GraphTuningProfile profile)
+    {
+        StringBuilder message = new StringBuilder();
+        if (profile == null)
+            message.append("Using in-memory graph");
+        else
+            message.append("Using graph tuning profile: ").append(profile);
+
+        if (profile != null && storageConfiguration.getTuningProfile() == null)
+        {
+            message.append(" (selected for ").append(Runtime.getRuntime().maxMemory() / (1024 * 1024)).append("MB max heap and ")
+                        .append(storageConfiguration.getInputSize() / (1024 * 1024)).append("MB input)");
+        }
+        message.append(", effective configuration:");
+
+        Map<String, Object> properties = new TreeMap<>();
+        Iterator<?> keyIter = conf.getKeys();
+        while (keyIter.hasNext())
+        {
+            String key = (String) keyIter.next();
+            properties.put(key, conf.getProperty(key));
+        }
+        for (Map.Entry<String, Object> property : properties.entrySet())
+        {
+            message.append(System.lineSeparator()).append("    ").append(property.getKey()).append(" = ").append(property.getValue());
+        }
+        log.info(message.toString());
+    }
+
     public Configuration getConfiguration()
     {
         return conf;
@@ -276,7 +398,42 @@ public class GraphContextImpl implements GraphContext
         {
             listener.beforeGraphClose();
         }
-        this.eventGraph.getBaseGraph().shutdown();
+
+        TitanGraph titan = this.eventGraph.getBaseGraph();
+        try
+        {
+            if (storageConfiguration.isInMemory() && storageConfiguration.isSaveSnapshotOnClose())
+            {
+                titan.commit();
+                GraphSnapshot.write(titan, GraphSnapshot.getPath(graphDir));
+            }
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException("Failed to write graph snapshot to: " + graphDir + " due to: " + e.getMessage(), e);
+        }
+        finally
+        {
+            filePathIndex.close();
+            titan.shutdown();
+            if (searchIndexTempDir != null)
+                FileUtils.deleteQuietly(searchIndexTempDir.toFile());
+        }
+    }
+
+    @Override
+    public void writeSnapshot()
+    {
+        TitanGraph titan = this.eventGraph.getBaseGraph();
+        titan.commit();
+        try
+        {
+            GraphSnapshot.write(titan, GraphSnapshot.getPath(graphDir));
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException("Failed to write graph snapshot to: " + graphDir + " due to: " + e.getMessage(), e);
+        }
     }
 
     @Override
@@ -320,6 +477,72 @@ public class GraphContextImpl implements GraphContext
         return new TypeAwareFramedGraphQuery(getFramed());
     }
 
+    @Override
+    public Set<IndexType> getIndexTypes(String propertyKey)
+    {
+        Set<IndexType> types = getIndexTypes().get(propertyKey);
+        if (types == null)
+            return Collections.emptySet();
+        return Collections.unmodifiableSet(types);
+    }
+
+    @Override
+    public GraphStorageConfiguration getStorageConfiguration()
+    {
+        return storageConfiguration;
+    }
+
+    @Override
+    public boolean hasVertices(Class<? extends WindupVertexFrame> type)
+    {
+        TypeValue typeValue = type.getAnnotation(TypeValue.class);
+        if (typeValue == null)
+            throw new IllegalArgumentException("Class " + type.getCanonicalName() + " lacks a @TypeValue annotation");
+
+        return eventGraph.getBaseGraph().query().has(WindupVertexFrame.TYPE_PROP, typeValue.value()).limit(1).vertices().iterator()
+                    .hasNext();
+    }
+
+    @Override
+    public void addPropertyChangedListener(String key, Class<? extends WindupVertexFrame> type, PropertyChangedListener listener)
+    {
+        eventGraph.addPropertyChangedListener(key, type, listener);
+    }
+
+    @Override
+    public void removePropertyChangedListener(PropertyChangedListener listener)
+    {
+        eventGraph.removePropertyChangedListener(listener);
+    }
+
+    @Override
+    public FilePathIndex getFilePathIndex()
+    {
+        return filePathIndex;
+    }
+
+    @Override
+    public BulkIngest startBulkIngest(int commitSize)
+    {
+        if (bulkIngest != null && bulkIngest.join())
+            return bulkIngest;
+
+        bulkIngest = new BulkIngestImpl(eventGraph, commitSize);
+        return bulkIngest;
+    }
+
+    @Override
+    public void setConcurrentlyModified(boolean concurrentlyModified)
+    {
+        this.concurrentlyModified = concurrentlyModified;
+    }
+
+    @Override
+    public boolean isConcurrentlyModified()
+    {
+        return concurrentlyModified;
+    }
+
     @Override
     public Path getGraphDirectory()
     {
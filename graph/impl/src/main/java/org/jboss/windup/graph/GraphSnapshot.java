@@ -0,0 +1,185 @@
+package org.jboss.windup.graph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.thinkaurelius.titan.core.TitanGraph;
+import com.thinkaurelius.titan.core.TitanProperty;
+import com.thinkaurelius.titan.core.TitanVertex;
+import com.tinkerpop.blueprints.Direction;
+import com.tinkerpop.blueprints.Edge;
+import com.tinkerpop.blueprints.Vertex;
+
+/**
+ * Writes the contents of a graph to a single compressed file, and reads it back into an empty graph. This is used to keep the contents of an
+ * in-memory graph after it has been closed, and to reopen a finished analysis much faster than the database it was stored in.
+ *
+ * Multi-valued properties (like {@link org.jboss.windup.graph.model.WindupVertexFrame#TYPE_PROP}) are written one value at a time, so that they
+ * are restored with the same cardinality. Vertex ids are not preserved.
+ */
+class GraphSnapshot
+{
+    private static final Logger log = Logger.getLogger(GraphSnapshot.class.getName());
+
+    static final String FILENAME = "graph.snapshot";
+
+    private static final int MAGIC = 0x57475348;
+    private static final int VERSION = 1;
+    private static final int COMMIT_SIZE = 10000;
+
+    private static final byte VERTEX = 1;
+    private static final byte EDGE = 2;
+    private static final byte END = 0;
+
+    /**
+     * Gets the location of the snapshot in the given graph directory.
+     */
+    static Path getPath(Path graphDir)
+    {
+        return graphDir.resolve(FILENAME);
+    }
+
+    /**
+     * Writes all vertices and edges of the given graph to the given file, replacing it if it already exists.
+     */
+    static void write(TitanGraph graph, Path file) throws IOException
+    {
+        long start = System.currentTimeMillis();
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), FILENAME, ".tmp");
+
+        long vertices = 0;
+        long edges = 0;
+        try (OutputStream os = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)));
+                    ObjectOutputStream out = new ObjectOutputStream(os))
+        {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+
+            for (Vertex vertex : graph.getVertices())
+            {
+                TitanVertex titanVertex = (TitanVertex) vertex;
+                out.writeByte(VERTEX);
+                out.writeObject(titanVertex.getId());
+
+                for (TitanProperty property : titanVertex.getProperties())
+                {
+                    // the type bitsets are only valid within the JVM that wrote them
+                    if (GraphTypeManager.TYPE_BITS_PROP.equals(property.getPropertyKey().getName()))
+                        continue;
+
+                    out.writeBoolean(true);
+                    out.writeUTF(property.getPropertyKey().getName());
+                    out.writeObject(property.getValue());
+                }
+                out.writeBoolean(false);
+                vertices++;
+
+                // the stream otherwise keeps a reference to every object that it has written
+                if (vertices % COMMIT_SIZE == 0)
+                    out.reset();
+            }
+
+            for (Vertex vertex : graph.getVertices())
+            {
+                for (Edge edge : vertex.getEdges(Direction.OUT))
+                {
+                    out.writeByte(EDGE);
+                    out.writeObject(vertex.getId());
+                    out.writeObject(edge.getVertex(Direction.IN).getId());
+                    out.writeUTF(edge.getLabel());
+                    for (String key : edge.getPropertyKeys())
+                    {
+                        out.writeBoolean(true);
+                        out.writeUTF(key);
+                        out.writeObject(edge.getProperty(key));
+                    }
+                    out.writeBoolean(false);
+                    edges++;
+
+                    if (edges % COMMIT_SIZE == 0)
+                        out.reset();
+                }
+            }
+            out.writeByte(END);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        graph.rollback();
+
+        log.info("Wrote graph snapshot with " + vertices + " vertices and " + edges + " edges to: " + file + " ("
+                    + (Files.size(file) / 1024) + "KB) in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    /**
+     * Reads the vertices and edges in the given file into the given graph. The graph should be empty, apart from its schema.
+     */
+    static void read(TitanGraph graph, Path file) throws IOException
+    {
+        long start = System.currentTimeMillis();
+        Map<Object, Object> idMapping = new HashMap<>();
+        long elements = 0;
+        try (InputStream is = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file)));
+                    ObjectInputStream in = new ObjectInputStream(is))
+        {
+            if (in.readInt() != MAGIC)
+                throw new IOException("Not a graph snapshot: " + file);
+            int version = in.readInt();
+            if (version != VERSION)
+                throw new IOException("Unsupported graph snapshot version " + version + " in: " + file);
+
+            byte type;
+            while ((type = in.readByte()) != END)
+            {
+                if (type == VERTEX)
+                {
+                    Object oldId = in.readObject();
+                    TitanVertex vertex = graph.addVertex(null);
+                    while (in.readBoolean())
+                    {
+                        vertex.addProperty(in.readUTF(), in.readObject());
+                    }
+                    idMapping.put(oldId, vertex.getId());
+                }
+                else if (type == EDGE)
+                {
+                    Vertex outVertex = graph.getVertex(idMapping.get(in.readObject()));
+                    Vertex inVertex = graph.getVertex(idMapping.get(in.readObject()));
+                    Edge edge = outVertex.addEdge(in.readUTF(), inVertex);
+                    while (in.readBoolean())
+                    {
+                        edge.setProperty(in.readUTF(), in.readObject());
+                    }
+                }
+                else
+                {
+                    throw new IOException("Corrupt graph snapshot: " + file);
+                }
+
+                elements++;
+                if (elements % COMMIT_SIZE == 0)
+                    graph.commit();
+            }
+        }
+        catch (ClassNotFoundException | EOFException e)
+        {
+            throw new IOException("Failed to read graph snapshot: " + file + " due to: " + e.getMessage(), e);
+        }
+        graph.commit();
+
+        log.info("Read graph snapshot with " + elements + " elements from: " + file + " in " + (System.currentTimeMillis() - start) + "ms");
+    }
+}
@@ -67,6 +67,8 @@ public class MapInPropertiesHandler implements MethodHandler<MapInProperties>
         {
             if (!key.startsWith(prefix))
                 continue;
+            if (GraphTypeManager.TYPE_BITS_PROP.equals(key)) // Not a value, just a cache of the "type" property.
+                continue;
             final Object val = vertex.getProperty(key);
             if (!(val instanceof String))
             {
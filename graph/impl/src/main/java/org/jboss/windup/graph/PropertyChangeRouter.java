@@ -0,0 +1,159 @@
+package org.jboss.windup.graph;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.jboss.windup.graph.listeners.EssentialGraphChangedListener;
+import org.jboss.windup.graph.listeners.PropertyChangedListener;
+import org.jboss.windup.graph.model.WindupVertexFrame;
+
+import com.tinkerpop.blueprints.Edge;
+import com.tinkerpop.blueprints.Vertex;
+import com.tinkerpop.frames.modules.typedgraph.TypeValue;
+
+/**
+ * Passes vertex property changes on to the {@link PropertyChangedListener}s that are registered for the property, so that each change only
+ * costs a single map lookup if nobody is interested in it.
+ */
+class PropertyChangeRouter implements EssentialGraphChangedListener
+{
+    private final ConcurrentMap<String, List<Registration>> registrations = new ConcurrentHashMap<>();
+
+    void add(String key, Class<? extends WindupVertexFrame> type, PropertyChangedListener listener)
+    {
+        List<Registration> forKey = registrations.get(key);
+        if (forKey == null)
+        {
+            registrations.putIfAbsent(key, new CopyOnWriteArrayList<Registration>());
+            forKey = registrations.get(key);
+        }
+        forKey.add(new Registration(type, listener));
+    }
+
+    void remove(PropertyChangedListener listener)
+    {
+        for (Map.Entry<String, List<Registration>> entry : registrations.entrySet())
+        {
+            for (Registration registration : entry.getValue())
+            {
+                if (registration.listener == listener)
+                    entry.getValue().remove(registration);
+            }
+            if (entry.getValue().isEmpty())
+                registrations.remove(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Indicates whether any listener is registered for the given property.
+     */
+    boolean hasListeners(String key)
+    {
+        return registrations.containsKey(key);
+    }
+
+    @Override
+    public void vertexPropertyChanged(Vertex vertex, String key, Object oldValue, Object setValue)
+    {
+        List<Registration> forKey = registrations.get(key);
+        if (forKey == null)
+            return;
+
+        for (Registration registration : forKey)
+        {
+            if (registration.type == null || GraphTypeManager.hasType(registration.type, vertex))
+                registration.listener.propertyChanged(vertex, key, oldValue, setValue);
+        }
+    }
+
+    @Override
+    public void vertexPropertyRemoved(Vertex vertex, String key, Object removedValue)
+    {
+        List<Registration> forKey = registrations.get(key);
+        if (forKey == null)
+            return;
+
+        for (Registration registration : forKey)
+        {
+            if (registration.type == null || GraphTypeManager.hasType(registration.type, vertex))
+                registration.listener.propertyChanged(vertex, key, removedValue, null);
+        }
+    }
+
+    @Override
+    public void vertexRemoved(Vertex vertex, Map<String, Object> props)
+    {
+        if (props == null)
+            return;
+
+        for (Map.Entry<String, Object> property : props.entrySet())
+        {
+            List<Registration> forKey = registrations.get(property.getKey());
+            if (forKey == null)
+                continue;
+
+            for (Registration registration : forKey)
+            {
+                // the vertex can not be read anymore, so the type is taken from the removed properties
+                if (registration.type == null || hasType(props, registration.type))
+                    registration.listener.propertyChanged(vertex, property.getKey(), property.getValue(), null);
+            }
+        }
+    }
+
+    private static boolean hasType(Map<String, Object> props, Class<? extends WindupVertexFrame> type)
+    {
+        String typeValue = type.getAnnotation(TypeValue.class).value();
+        Object types = props.get(WindupVertexFrame.TYPE_PROP);
+        if (types instanceof Iterable)
+        {
+            for (Object value : (Iterable<?>) types)
+            {
+                if (typeValue.equals(value))
+                    return true;
+            }
+            return false;
+        }
+        return typeValue.equals(types);
+    }
+
+    @Override
+    public void vertexAdded(Vertex vertex)
+    {
+    }
+
+    @Override
+    public void edgeAdded(Edge edge)
+    {
+    }
+
+    @Override
+    public void edgePropertyChanged(Edge edge, String key, Object oldValue, Object setValue)
+    {
+    }
+
+    @Override
+    public void edgePropertyRemoved(Edge edge, String key, Object removedValue)
+    {
+    }
+
+    @Override
+    public void edgeRemoved(Edge edge, Map<String, Object> props)
+    {
+    }
+
+    private static class Registration
+    {
+        private final Class<? extends WindupVertexFrame> type;
+        private final PropertyChangedListener listener;
+
+        private Registration(Class<? extends WindupVertexFrame> type, PropertyChangedListener listener)
+        {
+            this.type = type;
+            this.listener = listener;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.jboss.windup.graph;
+
+import java.util.Iterator;
+
+import org.jboss.windup.graph.listeners.ElementChangedListener;
+import org.jboss.windup.graph.listeners.PropertyChangedListener;
+import org.jboss.windup.graph.model.WindupVertexFrame;
+
+import com.thinkaurelius.titan.core.TitanGraph;
+import com.tinkerpop.blueprints.util.wrappers.event.EventGraph;
+import com.tinkerpop.blueprints.util.wrappers.event.listener.GraphChangedListener;
+
+/**
+ * An {@link EventGraph} that also keeps track of whether anyone is interested in changes of a given vertex property. Property changes are
+ * routed to the {@link PropertyChangedListener}s for that property, and {@link WindupPropertyMethodHandler} skips the events entirely for
+ * properties that nobody listens to.
+ */
+class RoutingEventGraph extends EventGraph<TitanGraph>
+{
+    private final PropertyChangeRouter router = new PropertyChangeRouter();
+    private volatile boolean allPropertiesObserved;
+
+    RoutingEventGraph(TitanGraph baseGraph)
+    {
+        super(baseGraph);
+        addListener(router);
+    }
+
+    void addPropertyChangedListener(String key, Class<? extends WindupVertexFrame> type, PropertyChangedListener listener)
+    {
+        router.add(key, type, listener);
+    }
+
+    void removePropertyChangedListener(PropertyChangedListener listener)
+    {
+        router.remove(listener);
+    }
+
+    /**
+     * Indicates whether a change of the given vertex property must fire an event. This is the case if a {@link PropertyChangedListener} is
+     * registered for it, or if any {@link GraphChangedListener} is registered that might be interested in property changes.
+     */
+    boolean isPropertyObserved(String key)
+    {
+        return allPropertiesObserved || router.hasListeners(key);
+    }
+
+    @Override
+    public void addListener(GraphChangedListener listener)
+    {
+        super.addListener(listener);
+        updateAllPropertiesObserved();
+    }
+
+    @Override
+    public void removeListener(GraphChangedListener listener)
+    {
+        super.removeListener(listener);
+        updateAllPropertiesObserved();
+    }
+
+    @Override
+    public void removeAllListeners()
+    {
+        super.removeAllListeners();
+        // the router is part of the graph itself
+        super.addListener(router);
+        updateAllPropertiesObserved();
+    }
+
+    private void updateAllPropertiesObserved()
+    {
+        boolean result = false;
+        Iterator<GraphChangedListener> listeners = getListenerIterator();
+        while (listeners.hasNext())
+        {
+            GraphChangedListener listener = listeners.next();
+            if (listener != router && !(listener instanceof ElementChangedListener))
+                result = true;
+        }
+        allPropertiesObserved = result;
+    }
+}
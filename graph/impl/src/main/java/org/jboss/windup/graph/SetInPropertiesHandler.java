@@ -74,6 +74,8 @@ public class SetInPropertiesHandler implements MethodHandler<SetInProperties>
         Set<String> keys = vertex.getPropertyKeys();
         for (String key : keys)
         {
+            if (GraphTypeManager.TYPE_BITS_PROP.equals(key)) // Not a value, just a cache of the "type" property.
+                continue;
             String tail = key;
             if (!prefix.isEmpty())
             {
@@ -0,0 +1,31 @@
+package org.jboss.windup.graph;
+
+import java.lang.reflect.Method;
+
+import com.tinkerpop.blueprints.Element;
+import com.tinkerpop.blueprints.util.wrappers.event.EventVertex;
+import com.tinkerpop.frames.ClassUtilities;
+import com.tinkerpop.frames.FramedGraph;
+import com.tinkerpop.frames.Property;
+import com.tinkerpop.frames.annotations.PropertyMethodHandler;
+
+/**
+ * Handles {@link Property} methods like the default {@link PropertyMethodHandler}, but writes directly to the underlying vertex if nobody
+ * listens to changes of the property (see {@link RoutingEventGraph#isPropertyObserved(String)}). This avoids reading the old value and creating
+ * an event for most property writes.
+ */
+class WindupPropertyMethodHandler extends PropertyMethodHandler
+{
+    @Override
+    public Object processElement(Object frame, Method method, Object[] arguments, Property annotation, FramedGraph<?> framedGraph,
+                Element element)
+    {
+        if (element instanceof EventVertex && framedGraph.getBaseGraph() instanceof RoutingEventGraph
+                    && (ClassUtilities.isSetMethod(method) || ClassUtilities.isRemoveMethod(method))
+                    && !((RoutingEventGraph) framedGraph.getBaseGraph()).isPropertyObserved(annotation.value()))
+        {
+            element = ((EventVertex) element).getBaseVertex();
+        }
+        return super.processElement(frame, method, arguments, annotation, framedGraph, element);
+    }
+}
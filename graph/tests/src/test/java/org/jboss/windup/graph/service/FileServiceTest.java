@@ -0,0 +1,251 @@
+package org.jboss.windup.graph.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.arquillian.AddonDependencies;
+import org.jboss.forge.arquillian.AddonDependency;
+import org.jboss.forge.arquillian.archive.AddonArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.windup.graph.GraphContext;
+import org.jboss.windup.graph.GraphContextFactory;
+import org.jboss.windup.graph.GraphStorageConfiguration;
+import org.jboss.windup.graph.model.resource.FileModel;
+import org.jboss.windup.graph.service.exception.NonUniqueResultException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class FileServiceTest
+{
+    @Deployment
+    @AddonDependencies({
+                @AddonDependency(name = "org.jboss.windup.graph:windup-graph"),
+                @AddonDependency(name = "org.jboss.forge.furnace.container:cdi")
+    })
+    public static AddonArchive getDeployment()
+    {
+        return ShrinkWrap.create(AddonArchive.class).addBeansXML();
+    }
+
+    @Inject
+    private GraphContextFactory factory;
+
+    @Test
+    public void testFindByPath() throws Exception
+    {
+        try (GraphContext context = factory.create())
+        {
+            FileService fileService = new FileService(context);
+            String rootPath = new File("/tmp/windup-fileservice").getAbsolutePath();
+            String childPath = new File(rootPath, "child.txt").getAbsolutePath();
+
+            FileModel root = fileService.createByFilePath(rootPath);
+            FileModel child = fileService.createByFilePath(root, childPath);
+            Assert.assertEquals(2, context.getFilePathIndex().size());
+
+            Assert.assertEquals(root.asVertex().getId(), fileService.findByPath(rootPath).asVertex().getId());
+            Assert.assertEquals(child.asVertex().getId(), fileService.findByPath(childPath).asVertex().getId());
+            Assert.assertEquals(child.asVertex().getId(), fileService.createByFilePath(root, childPath).asVertex().getId());
+            Assert.assertNull(fileService.findByPath(new File(rootPath, "missing.txt").getAbsolutePath()));
+            Assert.assertNull(fileService.findByPath(new File(rootPath).getParent()));
+
+            // renames and removals are seen by the index
+            String renamedPath = new File(rootPath, "renamed.txt").getAbsolutePath();
+            child.setFilePath(renamedPath);
+            Assert.assertNull(fileService.findByPath(childPath));
+            Assert.assertEquals(child.asVertex().getId(), fileService.findByPath(renamedPath).asVertex().getId());
+
+            fileService.remove(child);
+            Assert.assertNull(fileService.findByPath(renamedPath));
+            Assert.assertEquals(1, context.getFilePathIndex().size());
+        }
+    }
+
+    @Test
+    public void testFindByPathAfterRollback() throws Exception
+    {
+        try (GraphContext context = factory.create())
+        {
+            FileService fileService = new FileService(context);
+            String path = new File("/tmp/windup-fileservice/rollback.txt").getAbsolutePath();
+            FileModel file = fileService.createByFilePath(path);
+            Object id = file.asVertex().getId();
+            context.getGraph().getBaseGraph().commit();
+
+            // the index sees the rename, but the graph still has the old path after the rollback
+            file.setFilePath(new File("/tmp/windup-fileservice/renamed.txt").getAbsolutePath());
+            context.getGraph().getBaseGraph().rollback();
+
+            Assert.assertEquals(id, fileService.findByPath(path).asVertex().getId());
+            Assert.assertEquals(id, fileService.createByFilePath(path).asVertex().getId());
+        }
+    }
+
+    @Test(expected = NonUniqueResultException.class)
+    public void testFindByPathWithDuplicates() throws Exception
+    {
+        try (GraphContext context = factory.create())
+        {
+            FileService fileService = new FileService(context);
+            String path = new File("/tmp/windup-fileservice/duplicate.txt").getAbsolutePath();
+            fileService.createByFilePath(path);
+            fileService.create().setFilePath(path);
+
+            fileService.findByPath(path);
+        }
+    }
+
+    @Test
+    public void testFindByPathAfterLoad() throws Exception
+    {
+        Path graphDir = Files.createTempDirectory("windupgraph_fileservice");
+        String path = new File("/tmp/windup-fileservice/loaded.txt").getAbsolutePath();
+        try (GraphContext context = factory.create(graphDir))
+        {
+            new FileService(context).createByFilePath(path);
+            context.getGraph().getBaseGraph().commit();
+        }
+
+        try (GraphContext context = factory.load(graphDir))
+        {
+            FileService fileService = new FileService(context);
+            FileModel loaded = fileService.findByPath(path);
+            Assert.assertNotNull(loaded);
+            Assert.assertEquals(path, loaded.getFilePath());
+            Assert.assertEquals(loaded.asVertex().getId(), fileService.createByFilePath(path).asVertex().getId());
+        }
+    }
+
+    @Test
+    public void testCompactFilePaths() throws Exception
+    {
+        GraphStorageConfiguration storageConfiguration = new GraphStorageConfiguration().setCompactFilePaths(true);
+        Path graphDir = Files.createTempDirectory("windupgraph_compact");
+        String rootPath = new File("/tmp/windup-fileservice").getAbsolutePath();
+        String dirPath = new File(rootPath, "dir").getAbsolutePath();
+        String childPath = new File(dirPath, "child.txt").getAbsolutePath();
+        try (GraphContext context = factory.create(graphDir, storageConfiguration))
+        {
+            FileService fileService = new FileService(context);
+            FileModel root = fileService.createByFilePath(rootPath);
+            FileModel dir = fileService.createByFilePath(root, dirPath);
+            FileModel child = fileService.createByFilePath(dir, childPath);
+
+            // only the root stores its full path
+            Assert.assertEquals(rootPath, root.getStoredFilePath());
+            Assert.assertNull(child.getStoredFilePath());
+            Assert.assertEquals("child.txt", child.getFileName());
+            Assert.assertEquals(childPath, child.getFilePath());
+            Assert.assertEquals(child.asVertex().getId(), fileService.findByPath(childPath).asVertex().getId());
+            Assert.assertEquals(1, fileService.count(fileService.findAllByPropertyMatchingRegex(FileModel.FILE_PATH, ".*child\\.txt")));
+            Assert.assertEquals(1, fileService.count(fileService.findArchiveEntryWithExtension("txt")));
+            context.getGraph().getBaseGraph().commit();
+        }
+
+        try (GraphContext context = factory.load(graphDir, storageConfiguration))
+        {
+            FileService fileService = new FileService(context);
+            FileModel child = fileService.findByPath(childPath);
+            Assert.assertNotNull(child);
+            Assert.assertEquals(childPath, child.getFilePath());
+            Assert.assertEquals(dirPath, child.getParentFile().getFilePath());
+        }
+    }
+
+    /**
+     * Stores the entries of the test archives below a deeply nested directory, as they would be after unzipping, and compares the size of the
+     * graph with and without the compact layout.
+     */
+    @Test
+    public void testCompactFilePathsSize() throws Exception
+    {
+        List<String> entries = new ArrayList<>();
+        try (DirectoryStream<Path> archives = Files.newDirectoryStream(Paths.get("../../test-files"), "*.{war,ear,jar}"))
+        {
+            for (Path archive : archives)
+            {
+                try (ZipFile zipFile = new ZipFile(archive.toFile()))
+                {
+                    Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+                    while (zipEntries.hasMoreElements())
+                    {
+                        entries.add(archive.getFileName() + "/" + zipEntries.nextElement().getName());
+                    }
+                }
+            }
+        }
+        Assert.assertFalse(entries.isEmpty());
+
+        String prefix = new File("/tmp/windup-fileservice/reports/output/archives/unzipped/application/WEB-INF/lib").getAbsolutePath();
+        long defaultSize = storeEntries(new GraphStorageConfiguration(), prefix, entries);
+        long compactSize = storeEntries(new GraphStorageConfiguration().setCompactFilePaths(true), prefix, entries);
+
+        Logger.getLogger(FileServiceTest.class.getName()).info("Graph size for " + entries.size() + " archive entries, default layout: "
+                    + defaultSize + " bytes, compact layout: " + compactSize + " bytes");
+        Assert.assertTrue(compactSize < defaultSize);
+    }
+
+    private long storeEntries(GraphStorageConfiguration storageConfiguration, String prefix, List<String> entries) throws Exception
+    {
+        Path graphDir = Files.createTempDirectory("windupgraph_compact_size");
+        try (GraphContext context = factory.create(graphDir, storageConfiguration))
+        {
+            FileService fileService = new FileService(context);
+            Map<String, FileModel> created = new HashMap<>();
+            FileModel root = fileService.createByFilePath(prefix);
+            for (String entry : entries)
+            {
+                FileModel parent = root;
+                File file = new File(prefix);
+                for (String segment : entry.split("/"))
+                {
+                    if (segment.isEmpty())
+                        continue;
+                    file = new File(file, segment);
+                    FileModel fileModel = created.get(file.getPath());
+                    if (fileModel == null)
+                    {
+                        fileModel = fileService.createByFilePath(parent, file.getPath());
+                        created.put(file.getPath(), fileModel);
+                    }
+                    parent = fileModel;
+                }
+                Assert.assertEquals(file.getAbsolutePath(), parent.getFilePath());
+            }
+            context.getGraph().getBaseGraph().commit();
+        }
+
+        final long[] size = new long[1];
+        Files.walkFileTree(graphDir.resolve("titangraph"), new SimpleFileVisitor<Path>()
+        {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException
+            {
+                size[0] += attrs.size();
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return size[0];
+    }
+}
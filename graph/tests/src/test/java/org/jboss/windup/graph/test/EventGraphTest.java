@@ -1,5 +1,9 @@
 package org.jboss.windup.graph.test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import javax.inject.Inject;
 
 import org.jboss.arquillian.container.test.api.Deployment;
@@ -8,14 +12,19 @@ import org.jboss.forge.arquillian.AddonDependency;
 import org.jboss.forge.arquillian.AddonDependencies;
 import org.jboss.forge.arquillian.archive.AddonArchive;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.windup.graph.BulkIngest;
 import org.jboss.windup.graph.GraphContext;
 import org.jboss.windup.graph.GraphContextFactory;
+import org.jboss.windup.graph.listeners.ElementChangedListener;
+import org.jboss.windup.graph.listeners.EssentialGraphChangedListener;
+import org.jboss.windup.graph.listeners.PropertyChangedListener;
 import org.jboss.windup.graph.typedgraph.TestFooModel;
 import org.jboss.windup.graph.typedgraph.TestFooSubModel;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import com.tinkerpop.blueprints.Vertex;
 import com.tinkerpop.blueprints.util.wrappers.event.listener.StubGraphChangedListener;
 
 @RunWith(Arquillian.class)
@@ -61,4 +70,119 @@ public class EventGraphTest
             Assert.assertEquals(1, stubGraphListener.vertexPropertyChangedEventRecorded());
         }
     }
+
+    @Test
+    public void testBulkIngestSuspendsListeners() throws Exception
+    {
+        try (GraphContext context = factory.create())
+        {
+            StubGraphChangedListener stubGraphListener = new StubGraphChangedListener();
+            context.getGraph().addListener(stubGraphListener);
+            EssentialStubGraphChangedListener essentialListener = new EssentialStubGraphChangedListener();
+            context.getGraph().addListener(essentialListener);
+
+            try (BulkIngest bulkIngest = context.startBulkIngest(10))
+            {
+                // joins the open bulk ingest
+                try (BulkIngest nested = context.startBulkIngest(10))
+                {
+                    for (int i = 0; i < 25; i++)
+                    {
+                        context.getFramed().addVertex(null, TestFooModel.class).setProp1("value" + i);
+                        nested.commitIfNeeded();
+                    }
+                }
+                context.getFramed().addVertex(null, TestFooModel.class);
+                bulkIngest.commitIfNeeded();
+            }
+
+            Assert.assertEquals(0, stubGraphListener.addVertexEventRecorded());
+            Assert.assertEquals(26, essentialListener.addVertexEventRecorded());
+
+            // back to normal
+            context.getFramed().addVertex(null, TestFooModel.class);
+            Assert.assertEquals(1, stubGraphListener.addVertexEventRecorded());
+            Assert.assertEquals(27, essentialListener.addVertexEventRecorded());
+        }
+    }
+
+    @Test
+    public void testBulkIngestKeepsPropertyFastPath() throws Exception
+    {
+        try (GraphContext context = factory.create())
+        {
+            // suspended during the bulk ingest, so it does not require property events
+            context.getGraph().addListener(new StubGraphChangedListener());
+            EssentialElementStubGraphChangedListener elementListener = new EssentialElementStubGraphChangedListener();
+            context.getGraph().addListener(elementListener);
+
+            try (BulkIngest bulkIngest = context.startBulkIngest(10))
+            {
+                TestFooModel foo = context.getFramed().addVertex(null, TestFooModel.class);
+                foo.setProp1("value");
+                bulkIngest.commitIfNeeded();
+                Assert.assertEquals("value", foo.getProp1());
+            }
+
+            Assert.assertEquals(1, elementListener.addVertexEventRecorded());
+            Assert.assertEquals(0, elementListener.vertexPropertyChangedEventRecorded());
+        }
+    }
+
+    @Test
+    public void testPropertyChangedListener() throws Exception
+    {
+        try (GraphContext context = factory.create())
+        {
+            final List<String> changes = new ArrayList<>();
+            PropertyChangedListener listener = new PropertyChangedListener()
+            {
+                @Override
+                public void propertyChanged(Vertex vertex, String key, Object oldValue, Object newValue)
+                {
+                    changes.add(key + ":" + oldValue + "->" + newValue);
+                }
+            };
+            context.addPropertyChangedListener("prop1", TestFooSubModel.class, listener);
+
+            TestFooModel foo = context.getFramed().addVertex(null, TestFooModel.class);
+            TestFooSubModel sub = context.getFramed().addVertex(null, TestFooSubModel.class);
+
+            // other types and other properties are not passed on, but are still written
+            foo.setProp1("foo");
+            sub.setProp2("value2");
+            Assert.assertTrue(changes.isEmpty());
+            Assert.assertEquals("foo", foo.getProp1());
+            Assert.assertEquals("value2", sub.getProp2());
+
+            sub.setProp1("first");
+            sub.setProp1("second");
+            Assert.assertEquals(Arrays.asList("prop1:null->first", "prop1:first->second"), changes);
+
+            // element listeners do not need the events for other properties
+            StubGraphChangedListener elementListener = new ElementStubGraphChangedListener();
+            context.getGraph().addListener(elementListener);
+            sub.setProp2("other");
+            Assert.assertEquals(0, elementListener.vertexPropertyChangedEventRecorded());
+            Assert.assertEquals("other", sub.getProp2());
+
+            context.removePropertyChangedListener(listener);
+            sub.setProp1("third");
+            Assert.assertEquals(2, changes.size());
+            Assert.assertEquals("third", sub.getProp1());
+        }
+    }
+
+    private static class ElementStubGraphChangedListener extends StubGraphChangedListener implements ElementChangedListener
+    {
+    }
+
+    private static class EssentialStubGraphChangedListener extends StubGraphChangedListener implements EssentialGraphChangedListener
+    {
+    }
+
+    private static class EssentialElementStubGraphChangedListener extends StubGraphChangedListener implements ElementChangedListener,
+                EssentialGraphChangedListener
+    {
+    }
 }
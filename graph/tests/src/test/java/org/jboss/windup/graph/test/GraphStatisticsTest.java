@@ -0,0 +1,65 @@
+package org.jboss.windup.graph.test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.arquillian.AddonDependencies;
+import org.jboss.forge.arquillian.AddonDependency;
+import org.jboss.forge.arquillian.archive.AddonArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.windup.graph.GraphContext;
+import org.jboss.windup.graph.GraphContextFactory;
+import org.jboss.windup.graph.GraphStatistics;
+import org.jboss.windup.graph.service.GraphService;
+import org.jboss.windup.graph.typedgraph.TestFooModel;
+import org.jboss.windup.graph.typedgraph.TestFooSubModel;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class GraphStatisticsTest
+{
+    @Deployment
+    @AddonDependencies({
+                @AddonDependency(name = "org.jboss.windup.graph:windup-graph"),
+                @AddonDependency(name = "org.jboss.forge.furnace.container:cdi")
+    })
+    public static AddonArchive getDeployment()
+    {
+        return ShrinkWrap.create(AddonArchive.class).addBeansXML().addClasses(TestFooModel.class, TestFooSubModel.class);
+    }
+
+    @Inject
+    private GraphContextFactory factory;
+
+    @Test
+    public void testCapture() throws Exception
+    {
+        Path graphDir = Files.createTempDirectory("windupgraph_statistics");
+        try (GraphContext context = factory.create(graphDir))
+        {
+            TestFooModel foo = new GraphService<>(context, TestFooModel.class).create();
+            TestFooSubModel sub = new GraphService<>(context, TestFooSubModel.class).create();
+            foo.asVertex().addEdge("testLink", sub.asVertex());
+            context.getGraph().getBaseGraph().commit();
+
+            GraphStatistics statistics = GraphStatistics.capture(context);
+            Assert.assertEquals(2L, statistics.getVertexCount());
+            Assert.assertEquals(1L, statistics.getEdgeCount());
+
+            // the sub model is counted for both of its types
+            Assert.assertEquals(Long.valueOf(2L), statistics.getVertexCountsByType().get("Foo"));
+            Assert.assertEquals(Long.valueOf(1L), statistics.getVertexCountsByType().get("FooSub"));
+            Assert.assertEquals(Long.valueOf(1L), statistics.getEdgeCountsByLabel().get("testLink"));
+
+            Long storageSize = statistics.getDiskSizesByDirectory().get("titangraph");
+            Assert.assertNotNull(storageSize);
+            Assert.assertTrue(storageSize > 0L);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.jboss.windup.graph.test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.arquillian.AddonDependencies;
+import org.jboss.forge.arquillian.AddonDependency;
+import org.jboss.forge.arquillian.archive.AddonArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.windup.graph.GraphContext;
+import org.jboss.windup.graph.GraphContextFactory;
+import org.jboss.windup.graph.GraphStorageConfiguration;
+import org.jboss.windup.graph.GraphTuningProfile;
+import org.jboss.windup.graph.service.GraphService;
+import org.jboss.windup.graph.typedgraph.TestFooModel;
+import org.jboss.windup.graph.typedgraph.TestFooSubModel;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.tinkerpop.blueprints.Direction;
+
+@RunWith(Arquillian.class)
+public class GraphStorageConfigurationTest
+{
+    private static final long GB = 1024L * 1024 * 1024;
+
+    @Deployment
+    @AddonDependencies({
+                @AddonDependency(name = "org.jboss.windup.graph:windup-graph"),
+                @AddonDependency(name = "org.jboss.forge.furnace.container:cdi")
+    })
+    public static AddonArchive getDeployment()
+    {
+        return ShrinkWrap.create(AddonArchive.class).addBeansXML().addClasses(TestFooModel.class, TestFooSubModel.class);
+    }
+
+    @Inject
+    private GraphContextFactory factory;
+
+    @Test
+    public void testProfileSelection()
+    {
+        Assert.assertEquals(GraphTuningProfile.SMALL_LAPTOP, GraphTuningProfile.select(2 * GB, 0));
+        Assert.assertEquals(GraphTuningProfile.SMALL_LAPTOP, GraphTuningProfile.select(2 * GB, 10 * GB));
+        Assert.assertEquals(GraphTuningProfile.SERVER, GraphTuningProfile.select(48 * GB, 100 * 1024 * 1024));
+        Assert.assertEquals(GraphTuningProfile.HUGE_INPUT, GraphTuningProfile.select(48 * GB, 10 * GB));
+
+        Assert.assertEquals(GraphTuningProfile.HUGE_INPUT, GraphTuningProfile.fromName("huge-input"));
+        Assert.assertNull(GraphTuningProfile.fromName("unknown"));
+    }
+
+    @Test
+    public void testProfileAndOverrides() throws Exception
+    {
+        Path graphDir = Files.createTempDirectory("windupgraph_config");
+        GraphStorageConfiguration storageConfiguration = new GraphStorageConfiguration()
+                    .setTuningProfile(GraphTuningProfile.SERVER)
+                    .setProperty("storage.buffer-size", "8192");
+        try (GraphContext context = factory.create(graphDir, storageConfiguration))
+        {
+            Properties properties = new Properties();
+            try (InputStream is = new FileInputStream(new File(graphDir.toFile(), "TitanConfiguration.properties")))
+            {
+                properties.load(is);
+            }
+
+            Assert.assertEquals("25", properties.getProperty("storage.berkeleydb.cache-percentage"));
+            Assert.assertEquals("0.2", properties.getProperty("cache.db-cache-size"));
+            Assert.assertEquals("8192", properties.getProperty("storage.buffer-size"));
+        }
+    }
+
+    @Test
+    public void testInMemorySnapshot() throws Exception
+    {
+        Path graphDir = Files.createTempDirectory("windupgraph_inmemory");
+        GraphStorageConfiguration storageConfiguration = new GraphStorageConfiguration().setInMemory(true).setSaveSnapshotOnClose(true);
+        try (GraphContext context = factory.create(graphDir, storageConfiguration))
+        {
+            GraphService<TestFooModel> fooService = new GraphService<>(context, TestFooModel.class);
+            TestFooModel foo = fooService.create().setProp1("foo");
+            TestFooSubModel sub = new GraphService<>(context, TestFooSubModel.class).create();
+            sub.setProp1("sub");
+            foo.asVertex().addEdge("related", sub.asVertex()).setProperty("weight", 2);
+            context.getGraph().getBaseGraph().commit();
+        }
+
+        // nothing but the snapshot is written for an in-memory graph
+        Assert.assertFalse(Files.exists(graphDir.resolve("titangraph")));
+        Assert.assertTrue(Files.isRegularFile(graphDir.resolve("graph.snapshot")));
+
+        try (GraphContext context = factory.load(graphDir, new GraphStorageConfiguration().setInMemory(true)))
+        {
+            GraphService<TestFooModel> fooService = new GraphService<>(context, TestFooModel.class);
+            Assert.assertEquals(2, fooService.count(fooService.findAll()));
+
+            TestFooModel foo = fooService.getUniqueByProperty("prop1", "foo");
+            Assert.assertNotNull(foo);
+            TestFooSubModel sub = new GraphService<>(context, TestFooSubModel.class).getUnique();
+            Assert.assertEquals("sub", sub.getProp1());
+
+            Assert.assertEquals(sub.asVertex().getId(), foo.asVertex().getVertices(Direction.OUT, "related").iterator().next().getId());
+            Assert.assertEquals(2, foo.asVertex().getEdges(Direction.OUT, "related").iterator().next().getProperty("weight"));
+        }
+    }
+
+    @Test
+    public void testLoadSnapshotOfStoredGraph() throws Exception
+    {
+        Path graphDir = Files.createTempDirectory("windupgraph_snapshot");
+        try (GraphContext context = factory.create(graphDir))
+        {
+            Assert.assertFalse(factory.hasSnapshot(graphDir));
+            new GraphService<>(context, TestFooModel.class).create().setProp1("analyzed");
+            context.writeSnapshot();
+        }
+        Assert.assertTrue(factory.hasSnapshot(graphDir));
+
+        // changes to the loaded snapshot are not kept, so it can be loaded again
+        for (int i = 0; i < 2; i++)
+        {
+            try (GraphContext context = factory.loadSnapshot(graphDir, new GraphStorageConfiguration()))
+            {
+                Assert.assertTrue(context.getStorageConfiguration().isInMemory());
+                GraphService<TestFooModel> fooService = new GraphService<>(context, TestFooModel.class);
+                Assert.assertEquals(1, fooService.count(fooService.findAll()));
+                Assert.assertEquals("analyzed", fooService.getUnique().getProp1());
+                fooService.create().setProp1("report");
+                context.getGraph().getBaseGraph().commit();
+            }
+        }
+    }
+}
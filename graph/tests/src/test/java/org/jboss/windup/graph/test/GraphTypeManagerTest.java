@@ -0,0 +1,71 @@
+package org.jboss.windup.graph.test;
+
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.arquillian.AddonDependencies;
+import org.jboss.forge.arquillian.AddonDependency;
+import org.jboss.forge.arquillian.archive.AddonArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.windup.graph.GraphContext;
+import org.jboss.windup.graph.GraphContextFactory;
+import org.jboss.windup.graph.GraphTypeManager;
+import org.jboss.windup.graph.service.GraphService;
+import org.jboss.windup.graph.typedgraph.TestFooModel;
+import org.jboss.windup.graph.typedgraph.TestFooSubModel;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.tinkerpop.blueprints.Vertex;
+import com.tinkerpop.gremlin.java.GremlinPipeline;
+
+@RunWith(Arquillian.class)
+public class GraphTypeManagerTest
+{
+    @Deployment
+    @AddonDependencies({
+                @AddonDependency(name = "org.jboss.windup.graph:windup-graph"),
+                @AddonDependency(name = "org.jboss.forge.furnace.container:cdi")
+    })
+    public static AddonArchive getDeployment()
+    {
+        return ShrinkWrap.create(AddonArchive.class).addBeansXML().addClasses(TestFooModel.class, TestFooSubModel.class);
+    }
+
+    @Inject
+    private GraphContextFactory factory;
+
+    @Test
+    public void testTypeBits() throws Exception
+    {
+        try (GraphContext context = factory.create())
+        {
+            TestFooModel foo = new GraphService<>(context, TestFooModel.class).create();
+            TestFooSubModel sub = new GraphService<>(context, TestFooSubModel.class).create();
+
+            Assert.assertNotNull(foo.asVertex().getProperty(GraphTypeManager.TYPE_BITS_PROP));
+            Assert.assertTrue(GraphTypeManager.hasType(TestFooModel.class, foo));
+            Assert.assertFalse(GraphTypeManager.hasType(TestFooSubModel.class, foo));
+
+            // super types are included
+            Assert.assertTrue(GraphTypeManager.hasType(TestFooModel.class, sub));
+            Assert.assertTrue(GraphTypeManager.hasType(TestFooSubModel.class, sub));
+
+            GraphService.addTypeToModel(context, foo, TestFooSubModel.class);
+            Assert.assertTrue(GraphTypeManager.hasType(TestFooSubModel.class, foo));
+
+            // a vertex without a bitset falls back to the type property
+            foo.asVertex().removeProperty(GraphTypeManager.TYPE_BITS_PROP);
+            Assert.assertTrue(GraphTypeManager.hasType(TestFooSubModel.class, foo));
+
+            TestFooModel other = new GraphService<>(context, TestFooModel.class).create();
+            GremlinPipeline<Vertex, Vertex> pipeline = new GremlinPipeline<>(context.getGraph().getVertices());
+            pipeline.filter(GraphTypeManager.typeFilter(TestFooModel.class, true));
+            pipeline.filter(GraphTypeManager.typeFilter(TestFooSubModel.class, false));
+            Assert.assertEquals(other.asVertex().getId(), pipeline.next().getId());
+            Assert.assertFalse(pipeline.hasNext());
+        }
+    }
+}
@@ -11,6 +11,7 @@ import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.jboss.windup.ast.java.data.ClassDeclaration;
 import org.jboss.windup.ast.java.data.ClassReference;
 
 /**
@@ -40,6 +41,24 @@ public class ASTProcessor
      */
     public static List<ClassReference> analyze(WildcardImportResolver importResolver, Set<String> libraryPaths, Set<String> sourcePaths,
                 Path sourceFile)
+    {
+        return parse(importResolver, libraryPaths, sourcePaths, sourceFile).getJavaClassReferences();
+    }
+
+    /**
+     * Parses the provided file in the same way as {@link #analyze(WildcardImportResolver, Set, Set, Path)}, and passes both its
+     * {@link ClassDeclaration} and its references to the given {@link BatchASTListener}, as {@link BatchASTProcessor} does for each file of a
+     * batch. Failures are thrown instead of being passed to the listener.
+     */
+    public static void analyze(WildcardImportResolver importResolver, Set<String> libraryPaths, Set<String> sourcePaths, Path sourceFile,
+                BatchASTListener listener)
+    {
+        ReferenceResolvingVisitor visitor = parse(importResolver, libraryPaths, sourcePaths, sourceFile);
+        listener.processed(sourceFile, visitor.getClassDeclaration(), visitor.getJavaClassReferences());
+    }
+
+    private static ReferenceResolvingVisitor parse(WildcardImportResolver importResolver, Set<String> libraryPaths, Set<String> sourcePaths,
+                Path sourceFile)
     {
         ASTParser parser = ASTParser.newParser(AST.JLS8);
         parser.setEnvironment(libraryPaths.toArray(new String[libraryPaths.size()]), sourcePaths.toArray(new String[sourcePaths.size()]), null, true);
@@ -62,6 +81,6 @@ public class ASTProcessor
         CompilationUnit cu = (CompilationUnit) parser.createAST(null);
         ReferenceResolvingVisitor visitor = new ReferenceResolvingVisitor(importResolver, cu, sourceFile.toString());
         cu.accept(visitor);
-        return visitor.getJavaClassReferences();
+        return visitor;
     }
 }
@@ -3,6 +3,7 @@ package org.jboss.windup.ast.java;
 import java.nio.file.Path;
 import java.util.List;
 
+import org.jboss.windup.ast.java.data.ClassDeclaration;
 import org.jboss.windup.ast.java.data.ClassReference;
 
 /**
@@ -13,9 +14,10 @@ import org.jboss.windup.ast.java.data.ClassReference;
 public interface BatchASTListener
 {
     /**
-     * Called to indicate that processing has completed on the specified file.
+     * Called to indicate that processing has completed on the specified file. The {@link ClassDeclaration} describes the first type declared by
+     * the file, and will be null if the file does not declare any types.
      */
-    void processed(Path filePath, List<ClassReference> classReferences);
+    void processed(Path filePath, ClassDeclaration classDeclaration, List<ClassReference> classReferences);
 
     /**
      * Called on parse failures. Note that some failures will not trigger this method, due to limitations of JDT's batch
@@ -0,0 +1,81 @@
+package org.jboss.windup.ast.java;
+
+/**
+ * Tuning options for the {@link BatchASTProcessor}.
+ *
+ * The batch size is derived from these values: each worker thread is given batches containing roughly
+ * {@link #getMaxMemory()} / ({@link #getThreadCount()} * {@link #AST_MEMORY_FACTOR}) bytes of source code, within the bounds of
+ * {@link #MIN_BATCH_BYTES} and {@link #MAX_BATCH_BYTES}.
+ */
+public class BatchASTOptions
+{
+    /**
+     * Rough ratio between the size of a source file and the amount of heap used while JDT holds its resolved AST.
+     */
+    public static final int AST_MEMORY_FACTOR = 40;
+
+    /**
+     * Batches are never made smaller than this, as each batch has to set up its own parser environment.
+     */
+    public static final long MIN_BATCH_BYTES = 64 * 1024;
+
+    /**
+     * Batches are never made larger than this, so that work can be evenly distributed between threads near the end of a run.
+     */
+    public static final long MAX_BATCH_BYTES = 8 * 1024 * 1024;
+
+    private int threadCount = Runtime.getRuntime().availableProcessors();
+    private long maxMemory = Runtime.getRuntime().maxMemory() / 2;
+
+    /**
+     * Returns the number of threads that will be used to parse source files. Defaults to the number of available processors.
+     */
+    public int getThreadCount()
+    {
+        return threadCount;
+    }
+
+    /**
+     * Sets the number of threads that will be used to parse source files. Values less than one are ignored.
+     */
+    public BatchASTOptions setThreadCount(int threadCount)
+    {
+        if (threadCount > 0)
+            this.threadCount = threadCount;
+        return this;
+    }
+
+    /**
+     * Returns the amount of heap (in bytes) that the parser threads should try to stay within. Defaults to half of the maximum heap size.
+     */
+    public long getMaxMemory()
+    {
+        return maxMemory;
+    }
+
+    /**
+     * Sets the amount of heap (in bytes) that the parser threads should try to stay within. Values less than one are ignored.
+     */
+    public BatchASTOptions setMaxMemory(long maxMemory)
+    {
+        if (maxMemory > 0)
+            this.maxMemory = maxMemory;
+        return this;
+    }
+
+    /**
+     * Returns the target size of each batch, in bytes of source code.
+     */
+    public long getBatchBytes()
+    {
+        long result = maxMemory / ((long) threadCount * AST_MEMORY_FACTOR);
+        return Math.max(MIN_BATCH_BYTES, Math.min(MAX_BATCH_BYTES, result));
+    }
+
+    @Override
+    public String toString()
+    {
+        return "BatchASTOptions(threads: " + threadCount + ", maxMemory: " + (maxMemory / (1024 * 1024)) + "MB, batchSize: "
+                    + (getBatchBytes() / 1024) + "KB)";
+    }
+}
@@ -3,12 +3,18 @@ package org.jboss.windup.ast.java;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.dom.AST;
@@ -19,12 +25,15 @@ import org.eclipse.jdt.core.dom.FileASTRequestor;
 /**
  * Processes multiple files at a time in order to improve performance.
  *
+ * Files are ordered by path (so that files from the same package, which tend to reference each other, end up in the same batch) and split
+ * recursively into batches of roughly {@link BatchASTOptions#getBatchBytes()} bytes of source. The batches are run on a work-stealing
+ * {@link ForkJoinPool}, so idle threads pick up the remaining work from busy ones instead of waiting for a few large batches to finish.
+ *
  * @author <a href="mailto:jesse.sightler@gmail.com">Jesse Sightler</a>
  */
 public class BatchASTProcessor
 {
-    private static final int BATCH_SIZE = 1000 / Runtime.getRuntime().availableProcessors();
-    private static final int THREADPOOL_SIZE = (Runtime.getRuntime().availableProcessors() / 2) + 1;
+    private static final Logger LOG = Logger.getLogger(BatchASTProcessor.class.getName());
 
     /**
      * Process the given batch of files and pass the results back to the listener as each file is processed.
@@ -33,10 +42,18 @@ public class BatchASTProcessor
                 final Set<String> libraryPaths,
                 final Set<String> sourcePaths, Set<Path> sourceFiles)
     {
-        final ExecutorService executor = Executors.newFixedThreadPool(THREADPOOL_SIZE);
+        return analyze(listener, importResolver, libraryPaths, sourcePaths, sourceFiles, new BatchASTOptions());
+    }
 
-        final String[] encodings = null;
-        final String[] bindingKeys = new String[0];
+    /**
+     * Process the given batch of files and pass the results back to the listener as each file is processed. The {@link BatchASTOptions}
+     * control the number of threads and the amount of memory used.
+     */
+    public static BatchASTFuture analyze(final BatchASTListener listener, final WildcardImportResolver importResolver,
+                final Set<String> libraryPaths,
+                final Set<String> sourcePaths, Set<Path> sourceFiles, BatchASTOptions options)
+    {
+        LOG.info("Analyzing " + sourceFiles.size() + " files with " + options);
 
         final FileASTRequestor requestor = new FileASTRequestor()
         {
@@ -51,7 +68,7 @@ public class BatchASTProcessor
                     super.acceptAST(sourcePath, ast);
                     ReferenceResolvingVisitor visitor = new ReferenceResolvingVisitor(importResolver, ast, sourcePath);
                     ast.accept(visitor);
-                    listener.processed(Paths.get(sourcePath), visitor.getJavaClassReferences());
+                    listener.processed(Paths.get(sourcePath), visitor.getClassDeclaration(), visitor.getJavaClassReferences());
                 }
                 catch (Throwable t)
                 {
@@ -60,70 +77,264 @@ public class BatchASTProcessor
             }
         };
 
-        List<List<String>> batches = createBatches(sourceFiles);
-
-        for (final List<String> batch : batches)
+        List<SourceFile> files = getSourceFiles(sourceFiles);
+        List<String> filePaths = new ArrayList<>(files.size());
+        for (SourceFile file : files)
         {
-            executor.submit(new Callable<Void>()
-            {
-                @Override
-                public Void call() throws Exception
-                {
-                    ASTParser parser = ASTParser.newParser(AST.JLS8);
-                    parser.setBindingsRecovery(false);
-                    parser.setResolveBindings(true);
-                    Map<Object, Object> options = JavaCore.getOptions();
-                    JavaCore.setComplianceOptions(JavaCore.VERSION_1_8, options);
-                    // these options seem to slightly reduce the number of times that JDT aborts on compilation errors
-                    options.put(JavaCore.CORE_INCOMPLETE_CLASSPATH, "warning");
-                    options.put(JavaCore.COMPILER_PB_ENUM_IDENTIFIER, "warning");
-                    options.put(JavaCore.COMPILER_PB_FORBIDDEN_REFERENCE, "warning");
-                    options.put(JavaCore.CORE_CIRCULAR_CLASSPATH, "warning");
-                    options.put(JavaCore.COMPILER_PB_ASSERT_IDENTIFIER, "warning");
-                    options.put(JavaCore.COMPILER_PB_NULL_SPECIFICATION_VIOLATION, "warning");
-                    options.put(JavaCore.CORE_JAVA_BUILD_INVALID_CLASSPATH, "ignore");
-                    options.put(JavaCore.COMPILER_PB_NULL_ANNOTATION_INFERENCE_CONFLICT, "warning");
-                    options.put(JavaCore.CORE_OUTPUT_LOCATION_OVERLAPPING_ANOTHER_SOURCE, "warning");
-
-                    parser.setCompilerOptions(options);
-
-                    parser.setCompilerOptions(options);
-                    parser.setEnvironment(libraryPaths.toArray(new String[libraryPaths.size()]),
-                                sourcePaths.toArray(new String[sourcePaths.size()]),
-                                null,
-                                true);
-
-                    parser.createASTs(batch.toArray(new String[batch.size()]), encodings, bindingKeys, requestor, null);
-                    return null;
-                }
-            });
+            filePaths.add(file.path);
         }
+        final BatchContext batchContext = new BatchContext(requestor, LibraryIndex.build(libraryPaths, filePaths), sourcePaths, files,
+                    options.getBatchBytes());
+
+        final ForkJoinPool pool = new ForkJoinPool(options.getThreadCount(), ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+        final ParseTask rootTask = new ParseTask(batchContext, 0, batchContext.files.size());
+        pool.execute(rootTask);
 
-        executor.shutdown();
         return new BatchASTFuture()
         {
+            private final AtomicBoolean finished = new AtomicBoolean(false);
+
             @Override
             public boolean isDone()
             {
-                return executor.isTerminated();
+                if (!rootTask.isDone())
+                    return false;
+
+                if (finished.compareAndSet(false, true))
+                {
+                    pool.shutdown();
+                    batchContext.logSummary();
+                }
+                return true;
             }
         };
     }
 
-    private static List<List<String>> createBatches(Set<Path> sourceFiles)
+    /**
+     * Orders the files by path, and gets their sizes.
+     */
+    private static List<SourceFile> getSourceFiles(Set<Path> sourceFiles)
     {
-        List<List<String>> result = new ArrayList<>();
-        List<String> batch = new ArrayList<>(BATCH_SIZE);
+        List<SourceFile> result = new ArrayList<>(sourceFiles.size());
         for (Path path : sourceFiles)
         {
-            if (batch.size() == BATCH_SIZE)
+            Path absolutePath = path.toAbsolutePath();
+            result.add(new SourceFile(absolutePath.toString(), String.valueOf(absolutePath.getParent()), absolutePath.toFile().length()));
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    private static ASTParser createParser(String[] libraryPaths, Set<String> sourcePaths)
+    {
+        ASTParser parser = ASTParser.newParser(AST.JLS8);
+        parser.setBindingsRecovery(false);
+        parser.setResolveBindings(true);
+        Map<Object, Object> options = JavaCore.getOptions();
+        JavaCore.setComplianceOptions(JavaCore.VERSION_1_8, options);
+        // these options seem to slightly reduce the number of times that JDT aborts on compilation errors
+        options.put(JavaCore.CORE_INCOMPLETE_CLASSPATH, "warning");
+        options.put(JavaCore.COMPILER_PB_ENUM_IDENTIFIER, "warning");
+        options.put(JavaCore.COMPILER_PB_FORBIDDEN_REFERENCE, "warning");
+        options.put(JavaCore.CORE_CIRCULAR_CLASSPATH, "warning");
+        options.put(JavaCore.COMPILER_PB_ASSERT_IDENTIFIER, "warning");
+        options.put(JavaCore.COMPILER_PB_NULL_SPECIFICATION_VIOLATION, "warning");
+        options.put(JavaCore.CORE_JAVA_BUILD_INVALID_CLASSPATH, "ignore");
+        options.put(JavaCore.COMPILER_PB_NULL_ANNOTATION_INFERENCE_CONFLICT, "warning");
+        options.put(JavaCore.CORE_OUTPUT_LOCATION_OVERLAPPING_ANOTHER_SOURCE, "warning");
+
+        parser.setCompilerOptions(options);
+        parser.setEnvironment(libraryPaths,
+                    sourcePaths.toArray(new String[sourcePaths.size()]),
+                    null,
+                    true);
+        return parser;
+    }
+
+    /**
+     * Parses the files in the range [from, to), splitting the range in two if it contains more than one batch worth of source.
+     */
+    private static class ParseTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final BatchContext context;
+        private final int from;
+        private final int to;
+
+        private ParseTask(BatchContext context, int from, int to)
+        {
+            this.context = context;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (to - from <= 1 || context.getBytes(from, to) <= context.batchBytes)
+            {
+                parseBatch();
+            }
+            else
             {
-                result.add(batch);
-                batch = new ArrayList<>(BATCH_SIZE);
+                int split = context.getSplitPoint(from, to);
+                invokeAll(new ParseTask(context, from, split), new ParseTask(context, split, to));
+            }
+        }
+
+        private void parseBatch()
+        {
+            if (from >= to)
+                return;
+
+            String[] batch = new String[to - from];
+            for (int i = from; i < to; i++)
+            {
+                batch[i - from] = context.files.get(i).path;
             }
 
-            batch.add(path.toAbsolutePath().toString());
+            long start = System.nanoTime();
+            int libraryCount = 0;
+            try
+            {
+                String[] libraryPaths = context.libraryIndex.getLibraryPaths(Arrays.asList(batch));
+                libraryCount = libraryPaths.length;
+                ASTParser parser = createParser(libraryPaths, context.sourcePaths);
+                parser.createASTs(batch, null, new String[0], context.requestor, null);
+            }
+            catch (Throwable t)
+            {
+                /*
+                 * Files from a failed batch never reach the listener, and so get picked up again by the caller.
+                 */
+                LOG.log(Level.WARNING, "Failed to process batch of " + batch.length + " files starting with: " + batch[0] + " due to: "
+                            + t.getMessage(), t);
+            }
+            finally
+            {
+                context.batchCompleted(batch.length, context.getBytes(from, to), libraryCount, System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * State shared by all of the {@link ParseTask}s of a single run.
+     */
+    private static class BatchContext
+    {
+        private final FileASTRequestor requestor;
+        private final LibraryIndex libraryIndex;
+        private final Set<String> sourcePaths;
+        private final List<SourceFile> files;
+        private final long[] cumulativeBytes;
+        private final long batchBytes;
+
+        private final AtomicInteger batchCount = new AtomicInteger();
+        private final AtomicLong totalBatchNanos = new AtomicLong();
+        private final AtomicLong maxBatchNanos = new AtomicLong();
+        private final long startTime = System.nanoTime();
+
+        private BatchContext(FileASTRequestor requestor, LibraryIndex libraryIndex, Set<String> sourcePaths, List<SourceFile> files,
+                    long batchBytes)
+        {
+            this.requestor = requestor;
+            this.libraryIndex = libraryIndex;
+            this.sourcePaths = sourcePaths;
+            this.files = files;
+            this.batchBytes = batchBytes;
+
+            this.cumulativeBytes = new long[files.size() + 1];
+            for (int i = 0; i < files.size(); i++)
+            {
+                cumulativeBytes[i + 1] = cumulativeBytes[i] + files.get(i).size;
+            }
+        }
+
+        private long getBytes(int from, int to)
+        {
+            return cumulativeBytes[to] - cumulativeBytes[from];
+        }
+
+        /**
+         * Returns a point that splits the given range into two halves of roughly equal size, preferring a point where the directory
+         * changes if there is one near the middle.
+         */
+        private int getSplitPoint(int from, int to)
+        {
+            long half = cumulativeBytes[from] + getBytes(from, to) / 2;
+            int middle = from + 1;
+            while (middle < to - 1 && cumulativeBytes[middle] < half)
+            {
+                middle++;
+            }
+
+            int window = (to - from) / 4;
+            for (int offset = 0; offset <= window; offset++)
+            {
+                if (isDirectoryBoundary(middle - offset, from, to))
+                    return middle - offset;
+                if (isDirectoryBoundary(middle + offset, from, to))
+                    return middle + offset;
+            }
+            return middle;
+        }
+
+        private boolean isDirectoryBoundary(int index, int from, int to)
+        {
+            return index > from && index < to && !files.get(index).directory.equals(files.get(index - 1).directory);
+        }
+
+        private void batchCompleted(int fileCount, long bytes, int libraryCount, long nanos)
+        {
+            int batchNumber = batchCount.incrementAndGet();
+            totalBatchNanos.addAndGet(nanos);
+
+            long max = maxBatchNanos.get();
+            while (nanos > max && !maxBatchNanos.compareAndSet(max, nanos))
+            {
+                max = maxBatchNanos.get();
+            }
+
+            if (LOG.isLoggable(Level.FINE))
+            {
+                LOG.fine("Batch " + batchNumber + " (" + fileCount + " files, " + (bytes / 1024) + "KB, " + libraryCount + " of "
+                            + libraryIndex.getLibraryCount() + " libraries) parsed in " + (nanos / 1000000) + "ms on "
+                            + Thread.currentThread().getName());
+            }
+        }
+
+        private void logSummary()
+        {
+            int batches = batchCount.get();
+            long elapsedMillis = (System.nanoTime() - startTime) / 1000000;
+            long averageMillis = batches == 0 ? 0 : (totalBatchNanos.get() / batches) / 1000000;
+            LOG.info("Parsed " + files.size() + " files (" + (cumulativeBytes[files.size()] / 1024) + "KB) in " + batches + " batches, "
+                        + elapsedMillis + "ms elapsed, average batch " + averageMillis + "ms, slowest batch " + (maxBatchNanos.get() / 1000000)
+                        + "ms");
+        }
+    }
+
+    private static class SourceFile implements Comparable<SourceFile>
+    {
+        private final String path;
+        private final String directory;
+        private final long size;
+
+        private SourceFile(String path, String directory, long size)
+        {
+            this.path = path;
+            this.directory = directory;
+            this.size = size;
+        }
+
+        @Override
+        public int compareTo(SourceFile other)
+        {
+            int result = directory.compareTo(other.directory);
+            if (result == 0)
+                result = path.compareTo(other.path);
+            return result;
         }
-        return result;
     }
 }
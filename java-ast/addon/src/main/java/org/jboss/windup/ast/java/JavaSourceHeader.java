@@ -0,0 +1,172 @@
+package org.jboss.windup.ast.java;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.jdt.core.ToolFactory;
+import org.eclipse.jdt.core.compiler.IScanner;
+import org.eclipse.jdt.core.compiler.ITerminalSymbols;
+import org.eclipse.jdt.core.compiler.InvalidInputException;
+
+/**
+ * Contains the package and first type declared by a Java source file.
+ *
+ * This is read by tokenizing the file up to the name of its first type, without building an AST. The full parse (including superclass and
+ * interface information) is only done once, by the {@link BatchASTProcessor}.
+ */
+public class JavaSourceHeader
+{
+    private String packageName = "";
+    private String typeName;
+    private boolean isPublic;
+    private boolean isInterface;
+
+    private JavaSourceHeader()
+    {
+    }
+
+    /**
+     * Reads the header of the given Java source file.
+     */
+    public static JavaSourceHeader read(Path sourceFile)
+    {
+        try
+        {
+            return parse(FileUtils.readFileToString(sourceFile.toFile()).toCharArray());
+        }
+        catch (IOException e)
+        {
+            throw new ASTException("Failed to get source for file: " + sourceFile.toString() + " due to: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the header of the given Java source code.
+     */
+    public static JavaSourceHeader parse(char[] source)
+    {
+        IScanner scanner = ToolFactory.createScanner(false, false, false, "1.8");
+        scanner.setSource(source);
+
+        JavaSourceHeader result = new JavaSourceHeader();
+        try
+        {
+            int token = scanner.getNextToken();
+            while (token != ITerminalSymbols.TokenNameEOF && result.typeName == null)
+            {
+                switch (token)
+                {
+                case ITerminalSymbols.TokenNamepackage:
+                    StringBuilder packageName = new StringBuilder();
+                    token = scanner.getNextToken();
+                    while (token == ITerminalSymbols.TokenNameIdentifier || token == ITerminalSymbols.TokenNameDOT)
+                    {
+                        packageName.append(scanner.getCurrentTokenSource());
+                        token = scanner.getNextToken();
+                    }
+                    result.packageName = packageName.toString();
+                    continue;
+                case ITerminalSymbols.TokenNameimport:
+                    while (token != ITerminalSymbols.TokenNameSEMICOLON && token != ITerminalSymbols.TokenNameEOF)
+                        token = scanner.getNextToken();
+                    break;
+                case ITerminalSymbols.TokenNameAT:
+                    token = scanner.getNextToken();
+                    if (token == ITerminalSymbols.TokenNameinterface)
+                    {
+                        result.isInterface = true;
+                        result.typeName = readIdentifier(scanner);
+                        break;
+                    }
+
+                    // skip the annotation name and its arguments (if any)
+                    while (token == ITerminalSymbols.TokenNameIdentifier || token == ITerminalSymbols.TokenNameDOT)
+                        token = scanner.getNextToken();
+                    if (token == ITerminalSymbols.TokenNameLPAREN)
+                    {
+                        int depth = 1;
+                        while (depth > 0 && token != ITerminalSymbols.TokenNameEOF)
+                        {
+                            token = scanner.getNextToken();
+                            if (token == ITerminalSymbols.TokenNameLPAREN)
+                                depth++;
+                            else if (token == ITerminalSymbols.TokenNameRPAREN)
+                                depth--;
+                        }
+                        break;
+                    }
+                    continue;
+                case ITerminalSymbols.TokenNamepublic:
+                    result.isPublic = true;
+                    break;
+                case ITerminalSymbols.TokenNameinterface:
+                    result.isInterface = true;
+                    result.typeName = readIdentifier(scanner);
+                    break;
+                case ITerminalSymbols.TokenNameclass:
+                case ITerminalSymbols.TokenNameenum:
+                    result.typeName = readIdentifier(scanner);
+                    break;
+                default:
+                    break;
+                }
+                token = scanner.getNextToken();
+            }
+        }
+        catch (InvalidInputException e)
+        {
+            throw new ASTException("Failed to read the Java source header due to: " + e.getMessage(), e);
+        }
+        return result;
+    }
+
+    private static String readIdentifier(IScanner scanner) throws InvalidInputException
+    {
+        if (scanner.getNextToken() != ITerminalSymbols.TokenNameIdentifier)
+            return null;
+        return new String(scanner.getCurrentTokenSource());
+    }
+
+    /**
+     * Gets the declared package name, or an empty {@link String} if the file is in the default package.
+     */
+    public String getPackageName()
+    {
+        return packageName;
+    }
+
+    /**
+     * Gets the simple name of the first type declared by the file, or null if no type declaration was found.
+     */
+    public String getTypeName()
+    {
+        return typeName;
+    }
+
+    /**
+     * Gets the qualified name of the first type declared by the file, or null if no type declaration was found.
+     */
+    public String getQualifiedName()
+    {
+        if (typeName == null)
+            return null;
+        return packageName.isEmpty() ? typeName : packageName + "." + typeName;
+    }
+
+    /**
+     * Indicates whether the first type declared by the file is public.
+     */
+    public boolean isPublic()
+    {
+        return isPublic;
+    }
+
+    /**
+     * Indicates whether the first type declared by the file is an interface (or annotation type).
+     */
+    public boolean isInterface()
+    {
+        return isInterface;
+    }
+}
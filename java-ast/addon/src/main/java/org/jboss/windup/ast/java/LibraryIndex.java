@@ -0,0 +1,476 @@
+package org.jboss.windup.ast.java;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.apache.commons.io.IOUtils;
+
+/**
+ * A read-only index of the packages contained in each library on the classpath, along with the libraries that each library depends upon.
+ *
+ * JDT opens and scans every library passed to {@link org.eclipse.jdt.core.dom.ASTParser#setEnvironment(String[], String[], String[], boolean)}
+ * each time that a batch is parsed, which dominates the parse time for applications with hundreds of libraries. This index is built once per
+ * run and shared by all of the batches, so that each batch is only given the libraries that can be reached from the packages mentioned in its
+ * source files.
+ *
+ * JDT also reads the project classes from other batches that a batch refers to, and needs the libraries that these classes mention (for
+ * example, for their supertypes). The index therefore also records the libraries needed by each package of the project sources, and adds them
+ * for each project package that a batch mentions, along with those of the project packages that these mention in turn.
+ *
+ * Instances are immutable once built, and safe to use from multiple threads.
+ */
+public class LibraryIndex
+{
+    private static final Logger LOG = Logger.getLogger(LibraryIndex.class.getName());
+
+    /**
+     * Below this number of libraries, the cost of building the index outweighs the savings.
+     */
+    public static final int MIN_INDEXED_LIBRARIES = 16;
+
+    private static final Pattern QUALIFIED_NAME = Pattern.compile("[A-Za-z_$][\\w$]*(?:\\.[A-Za-z_$][\\w$]*)+");
+    private static final Pattern DESCRIPTOR_TYPE = Pattern.compile("L([\\w$]+(?:/[\\w$]+)*)[;<]");
+    private static final Pattern PACKAGE_DECLARATION = Pattern.compile("^\\s*package\\s+([\\w$]+(?:\\s*\\.\\s*[\\w$]+)*)\\s*;",
+                Pattern.MULTILINE);
+
+    private final String[] libraries;
+    private final Map<String, BitSet> librariesByPackage;
+    private final BitSet[] reachableLibraries;
+    private final BitSet unindexedLibraries;
+    private final Map<String, SourcePackage> sourcePackages = new HashMap<>();
+
+    private LibraryIndex(String[] libraries, Map<String, BitSet> librariesByPackage, BitSet[] reachableLibraries, BitSet unindexedLibraries)
+    {
+        this.libraries = libraries;
+        this.librariesByPackage = librariesByPackage;
+        this.reachableLibraries = reachableLibraries;
+        this.unindexedLibraries = unindexedLibraries;
+    }
+
+    /**
+     * Builds an index of the given libraries, which may be either jar files or directories containing class files.
+     */
+    public static LibraryIndex build(Collection<String> libraryPaths)
+    {
+        return build(libraryPaths, Collections.<String> emptyList());
+    }
+
+    /**
+     * Builds an index of the given libraries, which may be either jar files or directories containing class files, along with the libraries
+     * needed by each package of the given project source files.
+     */
+    public static LibraryIndex build(Collection<String> libraryPaths, Collection<String> sourceFiles)
+    {
+        String[] libraries = libraryPaths.toArray(new String[libraryPaths.size()]);
+        if (libraries.length < MIN_INDEXED_LIBRARIES)
+            return new LibraryIndex(libraries, null, null, null);
+
+        long start = System.currentTimeMillis();
+        Map<String, BitSet> librariesByPackage = new HashMap<>();
+        List<Set<String>> referencedPackages = new ArrayList<>(libraries.length);
+        BitSet unindexedLibraries = new BitSet(libraries.length);
+
+        for (int i = 0; i < libraries.length; i++)
+        {
+            LibraryContents contents = new LibraryContents();
+            try
+            {
+                contents.read(new File(libraries[i]));
+            }
+            catch (Exception e)
+            {
+                /*
+                 * Always pass these along. Their dependencies are unknown, but if we can't read them then most likely JDT can't either.
+                 */
+                LOG.log(Level.WARNING, "Failed to index library: " + libraries[i] + " due to: " + e.getMessage()
+                            + ", it will be passed to every batch", e);
+                unindexedLibraries.set(i);
+            }
+
+            for (String packageName : contents.packages)
+            {
+                BitSet providers = librariesByPackage.get(packageName);
+                if (providers == null)
+                {
+                    providers = new BitSet(libraries.length);
+                    librariesByPackage.put(packageName, providers);
+                }
+                providers.set(i);
+            }
+            referencedPackages.add(contents.referencedPackages);
+        }
+
+        BitSet[] dependencies = new BitSet[libraries.length];
+        for (int i = 0; i < libraries.length; i++)
+        {
+            dependencies[i] = new BitSet(libraries.length);
+            for (String packageName : referencedPackages.get(i))
+            {
+                BitSet providers = librariesByPackage.get(packageName);
+                if (providers != null)
+                    dependencies[i].or(providers);
+            }
+        }
+
+        BitSet[] reachableLibraries = new BitSet[libraries.length];
+        for (int i = 0; i < libraries.length; i++)
+        {
+            BitSet reachable = new BitSet(libraries.length);
+            List<Integer> stack = new ArrayList<>();
+            reachable.set(i);
+            stack.add(i);
+            while (!stack.isEmpty())
+            {
+                BitSet next = dependencies[stack.remove(stack.size() - 1)];
+                for (int j = next.nextSetBit(0); j >= 0; j = next.nextSetBit(j + 1))
+                {
+                    if (!reachable.get(j))
+                    {
+                        reachable.set(j);
+                        stack.add(j);
+                    }
+                }
+            }
+            reachableLibraries[i] = reachable;
+        }
+
+        LibraryIndex index = new LibraryIndex(libraries, librariesByPackage, reachableLibraries, unindexedLibraries);
+        index.indexSources(sourceFiles);
+        LOG.info("Indexed " + libraries.length + " libraries (" + librariesByPackage.size() + " packages) and "
+                    + index.sourcePackages.size() + " source packages in " + (System.currentTimeMillis() - start) + "ms");
+        return index;
+    }
+
+    /**
+     * Records the libraries needed by each package of the given source files, and the other source packages that it mentions.
+     */
+    private void indexSources(Collection<String> sourceFiles)
+    {
+        Map<String, Set<String>> namesBySourcePackage = new HashMap<>();
+        for (String sourceFile : sourceFiles)
+        {
+            String source;
+            try
+            {
+                source = readSource(sourceFile);
+            }
+            catch (IOException e)
+            {
+                // a batch containing this file gets every library anyway
+                continue;
+            }
+
+            String packageName = getPackageName(source);
+            Set<String> names = namesBySourcePackage.get(packageName);
+            if (names == null)
+            {
+                names = new HashSet<>();
+                namesBySourcePackage.put(packageName, names);
+            }
+            addPackageNames(source, names);
+        }
+
+        for (Map.Entry<String, Set<String>> entry : namesBySourcePackage.entrySet())
+        {
+            SourcePackage sourcePackage = new SourcePackage(libraries.length);
+            addLibraries(entry.getValue(), sourcePackage.libraries);
+            for (String name : entry.getValue())
+            {
+                if (!name.equals(entry.getKey()) && namesBySourcePackage.containsKey(name))
+                    sourcePackage.referencedPackages.add(name);
+            }
+            sourcePackages.put(entry.getKey(), sourcePackage);
+        }
+    }
+
+    /**
+     * Returns the number of libraries in this index.
+     */
+    public int getLibraryCount()
+    {
+        return libraries.length;
+    }
+
+    /**
+     * Returns the libraries needed to resolve the types used by the given source files. This includes every library containing a package
+     * mentioned by the source, along with all of the libraries those depend upon, and the libraries needed by the project packages that the
+     * source mentions (see {@link #build(Collection, Collection)}).
+     */
+    public String[] getLibraryPaths(Collection<String> sourceFiles)
+    {
+        if (librariesByPackage == null)
+            return libraries;
+
+        BitSet result = new BitSet(libraries.length);
+        result.or(unindexedLibraries);
+
+        Set<String> packageNames = new HashSet<>();
+        packageNames.add("");
+        for (String sourceFile : sourceFiles)
+        {
+            try
+            {
+                String source = readSource(sourceFile);
+                packageNames.add(getPackageName(source));
+                addPackageNames(source, packageNames);
+            }
+            catch (IOException e)
+            {
+                // JDT will report the problem with this file, so just make sure that it has everything available
+                return libraries;
+            }
+        }
+        addLibraries(packageNames, result);
+
+        // the project classes from other batches are read by JDT as well, and need their own libraries
+        Set<String> visitedPackages = new HashSet<>();
+        Deque<String> pendingPackages = new ArrayDeque<>();
+        for (String packageName : packageNames)
+        {
+            if (sourcePackages.containsKey(packageName) && visitedPackages.add(packageName))
+                pendingPackages.add(packageName);
+        }
+        while (!pendingPackages.isEmpty())
+        {
+            SourcePackage sourcePackage = sourcePackages.get(pendingPackages.pop());
+            result.or(sourcePackage.libraries);
+            for (String referencedPackage : sourcePackage.referencedPackages)
+            {
+                if (visitedPackages.add(referencedPackage))
+                    pendingPackages.add(referencedPackage);
+            }
+        }
+
+        String[] paths = new String[result.cardinality()];
+        int index = 0;
+        for (int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1))
+        {
+            paths[index++] = libraries[i];
+        }
+        return paths;
+    }
+
+    /**
+     * Adds the libraries containing any of the given packages to the result, along with all of the libraries those depend upon.
+     */
+    private void addLibraries(Set<String> packageNames, BitSet result)
+    {
+        for (String packageName : packageNames)
+        {
+            BitSet providers = librariesByPackage.get(packageName);
+            if (providers == null)
+                continue;
+
+            for (int i = providers.nextSetBit(0); i >= 0; i = providers.nextSetBit(i + 1))
+            {
+                if (!result.get(i))
+                    result.or(reachableLibraries[i]);
+            }
+        }
+    }
+
+    private static String readSource(String sourceFile) throws IOException
+    {
+        return new String(Files.readAllBytes(new File(sourceFile).toPath()), StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Gets the package declared by the source, or the default package ("") if it has no package declaration.
+     */
+    private static String getPackageName(String source)
+    {
+        Matcher matcher = PACKAGE_DECLARATION.matcher(source);
+        return matcher.find() ? matcher.group(1).replaceAll("\\s", "") : "";
+    }
+
+    /**
+     * Adds every qualified name in the source, along with all of its prefixes. This is a superset of the packages that the source refers to,
+     * including those of imports (also wildcard imports, such as "javax.ejb.*"), fully qualified names and its own package declaration.
+     */
+    private static void addPackageNames(String source, Set<String> packageNames)
+    {
+        Matcher matcher = QUALIFIED_NAME.matcher(source);
+        while (matcher.find())
+        {
+            String name = matcher.group();
+            packageNames.add(name);
+            for (int dot = name.indexOf('.'); dot != -1; dot = name.indexOf('.', dot + 1))
+            {
+                packageNames.add(name.substring(0, dot));
+            }
+        }
+    }
+
+    /**
+     * The libraries needed by the source files of a project package, and the other project packages that they mention.
+     */
+    private static class SourcePackage
+    {
+        private final BitSet libraries;
+        private final List<String> referencedPackages = new ArrayList<>();
+
+        private SourcePackage(int libraryCount)
+        {
+            this.libraries = new BitSet(libraryCount);
+        }
+    }
+
+    /**
+     * The packages contained in a library, and the packages that its classes refer to.
+     */
+    private static class LibraryContents
+    {
+        private final Set<String> packages = new HashSet<>();
+        private final Set<String> referencedPackages = new HashSet<>();
+
+        private void read(File library) throws IOException
+        {
+            if (library.isDirectory())
+                readDirectory(library.toPath());
+            else if (library.isFile())
+                readJar(library);
+        }
+
+        private void readJar(File jar) throws IOException
+        {
+            try (ZipFile zipFile = new ZipFile(jar))
+            {
+                Enumeration<? extends ZipEntry> entries = zipFile.entries();
+                while (entries.hasMoreElements())
+                {
+                    ZipEntry entry = entries.nextElement();
+                    if (entry.isDirectory() || !entry.getName().endsWith(".class"))
+                        continue;
+
+                    addPackage(entry.getName());
+                    try (InputStream is = zipFile.getInputStream(entry))
+                    {
+                        addReferences(IOUtils.toByteArray(is));
+                    }
+                }
+            }
+        }
+
+        private void readDirectory(final Path directory) throws IOException
+        {
+            Files.walkFileTree(directory, new SimpleFileVisitor<Path>()
+            {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException
+                {
+                    if (file.getFileName().toString().endsWith(".class"))
+                    {
+                        addPackage(directory.relativize(file).toString().replace(File.separatorChar, '/'));
+                        addReferences(Files.readAllBytes(file));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+
+        private void addPackage(String classFilePath)
+        {
+            int lastSlash = classFilePath.lastIndexOf('/');
+            packages.add(lastSlash == -1 ? "" : classFilePath.substring(0, lastSlash).replace('/', '.'));
+        }
+
+        private void addReferencedType(String internalName)
+        {
+            int lastSlash = internalName.lastIndexOf('/');
+            if (lastSlash != -1)
+                referencedPackages.add(internalName.substring(0, lastSlash).replace('/', '.'));
+        }
+
+        /**
+         * Reads the constant pool of the class file, and records the package of every type named by a class entry, descriptor or signature.
+         */
+        private void addReferences(byte[] classFile) throws IOException
+        {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(classFile));
+            if (in.readInt() != 0xCAFEBABE)
+                return;
+            in.readUnsignedShort(); // minor version
+            in.readUnsignedShort(); // major version
+
+            int constantPoolCount = in.readUnsignedShort();
+            for (int i = 1; i < constantPoolCount; i++)
+            {
+                int tag = in.readUnsignedByte();
+                switch (tag)
+                {
+                case 1: // Utf8
+                    String value = in.readUTF();
+                    if (value.indexOf('/') == -1)
+                        break;
+
+                    if (value.indexOf(';') == -1)
+                    {
+                        // most likely the name from a class entry
+                        addReferencedType(value);
+                    }
+                    else
+                    {
+                        Matcher matcher = DESCRIPTOR_TYPE.matcher(value);
+                        while (matcher.find())
+                            addReferencedType(matcher.group(1));
+                    }
+                    break;
+                case 7: // Class
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    in.skipBytes(2);
+                    break;
+                case 15: // MethodHandle
+                    in.skipBytes(3);
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    in.skipBytes(4);
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    in.skipBytes(8);
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Unrecognized constant pool tag: " + tag);
+                }
+            }
+        }
+    }
+}
@@ -13,6 +13,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
 import org.eclipse.jdt.core.dom.Annotation;
+import org.eclipse.jdt.core.dom.AnnotationTypeDeclaration;
 import org.eclipse.jdt.core.dom.AnonymousClassDeclaration;
 import org.eclipse.jdt.core.dom.ArrayInitializer;
 import org.eclipse.jdt.core.dom.BooleanLiteral;
@@ -20,6 +21,7 @@ import org.eclipse.jdt.core.dom.CastExpression;
 import org.eclipse.jdt.core.dom.CharacterLiteral;
 import org.eclipse.jdt.core.dom.ClassInstanceCreation;
 import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.EnumDeclaration;
 import org.eclipse.jdt.core.dom.Expression;
 import org.eclipse.jdt.core.dom.FieldAccess;
 import org.eclipse.jdt.core.dom.FieldDeclaration;
@@ -33,9 +35,11 @@ import org.eclipse.jdt.core.dom.MarkerAnnotation;
 import org.eclipse.jdt.core.dom.MemberValuePair;
 import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.MethodInvocation;
+import org.eclipse.jdt.core.dom.Modifier;
 import org.eclipse.jdt.core.dom.NormalAnnotation;
 import org.eclipse.jdt.core.dom.NumberLiteral;
 import org.eclipse.jdt.core.dom.PackageDeclaration;
+import org.eclipse.jdt.core.dom.ParameterizedType;
 import org.eclipse.jdt.core.dom.QualifiedName;
 import org.eclipse.jdt.core.dom.ReturnStatement;
 import org.eclipse.jdt.core.dom.SimpleName;
@@ -48,6 +52,7 @@ import org.eclipse.jdt.core.dom.TypeDeclaration;
 import org.eclipse.jdt.core.dom.TypeLiteral;
 import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
 import org.eclipse.jdt.core.dom.VariableDeclarationStatement;
+import org.jboss.windup.ast.java.data.ClassDeclaration;
 import org.jboss.windup.ast.java.data.ClassReference;
 import org.jboss.windup.ast.java.data.ResolutionStatus;
 import org.jboss.windup.ast.java.data.TypeReferenceLocation;
@@ -72,6 +77,7 @@ public class ReferenceResolvingVisitor extends ASTVisitor
     private String path;
     private final CompilationUnit compilationUnit;
     private final List<ClassReference> classReferences = new ArrayList<>();
+    private ClassDeclaration classDeclaration;
 
     private final ReferenceResolvingVisitorState state;
 
@@ -164,6 +170,58 @@ public class ReferenceResolvingVisitor extends ASTVisitor
         return this.classReferences;
     }
 
+    /**
+     * Gets the first type declared by the {@link CompilationUnit}, or null if it does not declare any. This should be called after the visitor
+     * has been accepted, so that the imports are available for resolving any supertypes that JDT could not.
+     */
+    public ClassDeclaration getClassDeclaration()
+    {
+        if (classDeclaration == null && !compilationUnit.types().isEmpty())
+            classDeclaration = createClassDeclaration((AbstractTypeDeclaration) compilationUnit.types().get(0));
+        return classDeclaration;
+    }
+
+    private ClassDeclaration createClassDeclaration(AbstractTypeDeclaration typeDeclaration)
+    {
+        PackageDeclaration packageDeclaration = compilationUnit.getPackage();
+        String packageName = packageDeclaration == null ? "" : packageDeclaration.getName().getFullyQualifiedName();
+
+        boolean isInterface = typeDeclaration instanceof AnnotationTypeDeclaration;
+        String superclass = null;
+        List<?> superInterfaceTypes = Collections.emptyList();
+        if (typeDeclaration instanceof TypeDeclaration)
+        {
+            TypeDeclaration classDeclaration = (TypeDeclaration) typeDeclaration;
+            isInterface = classDeclaration.isInterface();
+            if (classDeclaration.getSuperclassType() != null)
+                superclass = getDeclaredTypeName(classDeclaration.getSuperclassType());
+            superInterfaceTypes = classDeclaration.superInterfaceTypes();
+        }
+        else if (typeDeclaration instanceof EnumDeclaration)
+        {
+            superInterfaceTypes = ((EnumDeclaration) typeDeclaration).superInterfaceTypes();
+        }
+
+        List<String> interfaces = new ArrayList<>(superInterfaceTypes.size());
+        for (Object superInterfaceType : superInterfaceTypes)
+        {
+            interfaces.add(getDeclaredTypeName((Type) superInterfaceType));
+        }
+
+        return new ClassDeclaration(packageName, typeDeclaration.getName().getIdentifier(), Modifier.isPublic(typeDeclaration.getModifiers()),
+                    isInterface, superclass, interfaces);
+    }
+
+    private String getDeclaredTypeName(Type type)
+    {
+        ITypeBinding binding = type.resolveBinding();
+        if (binding != null && !binding.isRecovered())
+            return binding.getErasure().getQualifiedName();
+
+        Type rawType = type.isParameterizedType() ? ((ParameterizedType) type).getType() : type;
+        return resolveClassname(rawType.toString()).result;
+    }
+
     private void processConstructor(ConstructorType interest, ResolutionStatus resolutionStatus, int lineNumber,
                 int columnNumber, int length, String line)
     {
@@ -0,0 +1,99 @@
+package org.jboss.windup.ast.java.data;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes the first type declared by a Java source file, including the names of its direct superclass and interfaces. Supertype names are
+ * fully qualified if JDT was able to resolve them, and are otherwise left as they appear in the source.
+ */
+public class ClassDeclaration implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private final String packageName;
+    private final String simpleName;
+    private final boolean isPublic;
+    private final boolean isInterface;
+    private final String superclass;
+    private final List<String> interfaces;
+
+    /**
+     * Creates a {@link ClassDeclaration} with the given information. The superclass may be null.
+     */
+    public ClassDeclaration(String packageName, String simpleName, boolean isPublic, boolean isInterface, String superclass,
+                List<String> interfaces)
+    {
+        this.packageName = packageName;
+        this.simpleName = simpleName;
+        this.isPublic = isPublic;
+        this.isInterface = isInterface;
+        this.superclass = superclass;
+        this.interfaces = Collections.unmodifiableList(new ArrayList<>(interfaces));
+    }
+
+    /**
+     * Gets the package name, or an empty {@link String} for the default package.
+     */
+    public String getPackageName()
+    {
+        return packageName;
+    }
+
+    /**
+     * Gets the simple name of the type.
+     */
+    public String getSimpleName()
+    {
+        return simpleName;
+    }
+
+    /**
+     * Gets the fully qualified name of the type.
+     */
+    public String getQualifiedName()
+    {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    /**
+     * Indicates whether the type is public.
+     */
+    public boolean isPublic()
+    {
+        return isPublic;
+    }
+
+    /**
+     * Indicates whether the type is an interface (or annotation type).
+     */
+    public boolean isInterface()
+    {
+        return isInterface;
+    }
+
+    /**
+     * Gets the name of the explicitly declared superclass, or null if there is none.
+     */
+    public String getSuperclass()
+    {
+        return superclass;
+    }
+
+    /**
+     * Gets the names of the directly implemented (or, for interfaces, extended) interfaces.
+     */
+    public List<String> getInterfaces()
+    {
+        return interfaces;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ClassDeclaration [qualifiedName=" + getQualifiedName() + ", public=" + isPublic + ", interface=" + isInterface + ", superclass="
+                    + superclass + ", interfaces=" + interfaces + "]";
+    }
+}
@@ -1,5 +1,7 @@
 package org.jboss.windup.ast.java.data;
 
+import java.io.Serializable;
+
 /**
  * Contains a name that has been referenced by the Java source file. This can include the qualified name (for example, com.example.data.Foo) as well
  * as information about the reference. Information includes indicating where the reference was found within the file (line, column, and length) as
@@ -8,8 +10,10 @@ package org.jboss.windup.ast.java.data;
  * @author <a href="mailto:jesse.sightler@gmail.com">Jesse Sightler</a>
  *
  */
-public class ClassReference
+public class ClassReference implements Serializable
 {
+    private static final long serialVersionUID = 1L;
+
     private final String qualifiedName;
     private final ResolutionStatus resolutionStatus;
     private final int lineNumber;
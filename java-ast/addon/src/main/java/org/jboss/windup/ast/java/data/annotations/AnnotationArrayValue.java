@@ -10,6 +10,7 @@ import java.util.List;
  */
 public class AnnotationArrayValue implements AnnotationValue
 {
+    private static final long serialVersionUID = 1L;
 
     private List<AnnotationValue> values;
 
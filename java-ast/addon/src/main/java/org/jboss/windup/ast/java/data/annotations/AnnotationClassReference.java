@@ -16,6 +16,8 @@ import org.jboss.windup.ast.java.data.TypeReferenceLocation;
  */
 public class AnnotationClassReference extends ClassReference implements AnnotationValue
 {
+    private static final long serialVersionUID = 1L;
+
     private Map<String, AnnotationValue> annotationValues = new HashMap<>();
 
     /**
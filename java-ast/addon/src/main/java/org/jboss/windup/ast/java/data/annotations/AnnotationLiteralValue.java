@@ -8,6 +8,7 @@ package org.jboss.windup.ast.java.data.annotations;
  */
 public class AnnotationLiteralValue implements AnnotationValue
 {
+    private static final long serialVersionUID = 1L;
 
     private Class<?> type;
     private Object value;
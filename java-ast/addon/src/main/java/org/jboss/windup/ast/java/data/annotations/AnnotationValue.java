@@ -1,12 +1,14 @@
 package org.jboss.windup.ast.java.data.annotations;
 
+import java.io.Serializable;
+
 /**
  * This is a marker interface to indicate an annotation value. This could be a literal value, another annotation, or an array.
  * 
  * @author <a href="mailto:jesse.sightler@gmail.com">Jesse Sightler</a>
  *
  */
-public interface AnnotationValue
+public interface AnnotationValue extends Serializable
 {
 
 }
@@ -0,0 +1,52 @@
+package org.jboss.windup.ast.java.test;
+
+import java.nio.file.Paths;
+
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.windup.ast.java.JavaSourceHeader;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class JavaSourceHeaderTest extends AbstractJavaASTTest
+{
+    @Test
+    public void testClass()
+    {
+        JavaSourceHeader header = JavaSourceHeader.read(Paths.get("src/test/resources/testclasses/simple/MyAClass.java"));
+        Assert.assertEquals("testclasses.simple", header.getPackageName());
+        Assert.assertEquals("MyAClass", header.getTypeName());
+        Assert.assertEquals("testclasses.simple.MyAClass", header.getQualifiedName());
+        Assert.assertTrue(header.isPublic());
+        Assert.assertFalse(header.isInterface());
+    }
+
+    @Test
+    public void testAnnotatedAnnotationType()
+    {
+        JavaSourceHeader header = JavaSourceHeader.read(Paths.get("src/test/resources/testclasses/annotations/basic/SimpleTestAnnotation.java"));
+        Assert.assertEquals("testclasses.annotations.basic.SimpleTestAnnotation", header.getQualifiedName());
+        Assert.assertTrue(header.isPublic());
+        Assert.assertTrue(header.isInterface());
+    }
+
+    @Test
+    public void testDefaultPackageWithComments()
+    {
+        String source = "/* package foo; */\n// class Bar\n@SuppressWarnings(value = { \"unused\" }) final class Baz extends Object {}";
+        JavaSourceHeader header = JavaSourceHeader.parse(source.toCharArray());
+        Assert.assertEquals("", header.getPackageName());
+        Assert.assertEquals("Baz", header.getQualifiedName());
+        Assert.assertFalse(header.isPublic());
+        Assert.assertFalse(header.isInterface());
+    }
+
+    @Test
+    public void testNoType()
+    {
+        JavaSourceHeader header = JavaSourceHeader.parse("@Deprecated\npackage foo.bar;".toCharArray());
+        Assert.assertEquals("foo.bar", header.getPackageName());
+        Assert.assertNull(header.getQualifiedName());
+    }
+}
@@ -0,0 +1,112 @@
+package org.jboss.windup.ast.java.test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.arquillian.AddonDependencies;
+import org.jboss.forge.arquillian.AddonDependency;
+import org.jboss.forge.arquillian.archive.AddonArchive;
+import org.jboss.forge.furnace.util.OperatingSystemUtils;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.windup.ast.java.LibraryIndex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class LibraryIndexTest
+{
+    /**
+     * A class file with an empty constant pool.
+     */
+    private static final byte[] EMPTY_CLASS = new byte[] { (byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0, 0, 0x33, 0, 1 };
+
+    @Deployment
+    @AddonDependencies({
+                @AddonDependency(name = "org.jboss.windup.ast:windup-java-ast"),
+                @AddonDependency(name = "org.jboss.forge.furnace.container:cdi"),
+    })
+    public static AddonArchive getDeployment()
+    {
+        return ShrinkWrap.create(AddonArchive.class).addBeansXML();
+    }
+
+    @Test
+    public void testWildcardImportAndOwnPackage() throws Exception
+    {
+        Path folder = OperatingSystemUtils.createTempDir().toPath();
+        try
+        {
+            List<String> libraries = new ArrayList<>();
+            libraries.add(createLibrary(folder, "ejb", "javax/ejb/Stateless.class"));
+            libraries.add(createLibrary(folder, "acme", "com/acme/foo/Helper.class"));
+            for (int i = 0; libraries.size() < LibraryIndex.MIN_INDEXED_LIBRARIES; i++)
+            {
+                libraries.add(createLibrary(folder, "other" + i, "org/other" + i + "/Other.class"));
+            }
+
+            Path source = folder.resolve("Bean.java");
+            Files.write(source, ("package com.acme.foo;\n\nimport javax.ejb.*;\n\n@Stateless\npublic class Bean\n{\n    Helper helper;\n}\n")
+                        .getBytes(StandardCharsets.UTF_8));
+
+            LibraryIndex index = LibraryIndex.build(libraries);
+            List<String> paths = Arrays.asList(index.getLibraryPaths(Collections.singleton(source.toString())));
+
+            Assert.assertTrue(paths.contains(libraries.get(0)));
+            Assert.assertTrue(paths.contains(libraries.get(1)));
+            Assert.assertEquals(2, paths.size());
+        }
+        finally
+        {
+            FileUtils.deleteQuietly(folder.toFile());
+        }
+    }
+
+    @Test
+    public void testLibrariesOfProjectClassesFromOtherBatches() throws Exception
+    {
+        Path folder = OperatingSystemUtils.createTempDir().toPath();
+        try
+        {
+            List<String> libraries = new ArrayList<>();
+            libraries.add(createLibrary(folder, "persistence", "javax/persistence/Entity.class"));
+            for (int i = 0; libraries.size() < LibraryIndex.MIN_INDEXED_LIBRARIES; i++)
+            {
+                libraries.add(createLibrary(folder, "other" + i, "org/other" + i + "/Other.class"));
+            }
+
+            Path bean = folder.resolve("Bean.java");
+            Files.write(bean, ("package com.acme.foo;\n\nimport com.acme.bar.Base;\n\npublic class Bean extends Base\n{\n}\n")
+                        .getBytes(StandardCharsets.UTF_8));
+            Path base = folder.resolve("Base.java");
+            Files.write(base, ("package com.acme.bar;\n\nimport javax.persistence.Entity;\n\n@Entity\npublic class Base\n{\n}\n")
+                        .getBytes(StandardCharsets.UTF_8));
+
+            LibraryIndex index = LibraryIndex.build(libraries, Arrays.asList(bean.toString(), base.toString()));
+            List<String> paths = Arrays.asList(index.getLibraryPaths(Collections.singleton(bean.toString())));
+
+            Assert.assertEquals(Collections.singletonList(libraries.get(0)), paths);
+        }
+        finally
+        {
+            FileUtils.deleteQuietly(folder.toFile());
+        }
+    }
+
+    private String createLibrary(Path folder, String name, String classFile) throws Exception
+    {
+        Path library = folder.resolve(name);
+        Path path = library.resolve(classFile);
+        Files.createDirectories(path.getParent());
+        Files.write(path, EMPTY_CLASS);
+        return library.toString();
+    }
+}
@@ -160,27 +160,30 @@ public class Classification extends ParameterizedIterationOperation<FileModel> i
         GraphContext graphContext = event.getGraphContext();
         ClassificationService classificationService = new ClassificationService(graphContext);
 
-        ClassificationModel classification = classificationService.getUniqueByProperty(ClassificationModel.CLASSIFICATION, text);
-
-        if (classification == null)
+        synchronized (classificationService.getCreationLock(ClassificationModel.CLASSIFICATION, text))
         {
-            classification = classificationService.create();
-            classification.setEffort(effort);
-            classification.setSeverity(severity);
-            classification.setDescription(description);
-            classification.setClassification(text);
-
-            classification.setRuleID(((Rule) context.get(Rule.class)).getId());
+            ClassificationModel classification = classificationService.getUniqueByProperty(ClassificationModel.CLASSIFICATION, text);
 
-            LinkService linkService = new LinkService(graphContext);
-            for (Link link : links)
+            if (classification == null)
             {
-                LinkModel linkModel = linkService.getOrCreate(link.getTitle(), link.getLink());
-                classification.addLink(linkModel);
+                classification = classificationService.create();
+                classification.setEffort(effort);
+                classification.setSeverity(severity);
+                classification.setDescription(description);
+                classification.setClassification(text);
+
+                classification.setRuleID(((Rule) context.get(Rule.class)).getId());
+
+                LinkService linkService = new LinkService(graphContext);
+                for (Link link : links)
+                {
+                    LinkModel linkModel = linkService.getOrCreate(link.getTitle(), link.getLink());
+                    classification.addLink(linkModel);
+                }
             }
-        }
 
-        classificationService.attachClassification(classification, payload);
+            classificationService.attachClassification(classification, payload);
+        }
         if (payload instanceof SourceFileModel)
             ((SourceFileModel) payload).setGenerateSourceReport(true);
         log.info("Classification added to " + payload.getPrettyPathWithinProject() + " [" + this + "] ");
@@ -1,6 +1,5 @@
 package org.jboss.windup.reporting.freemarker;
 
-import com.thinkaurelius.titan.core.attribute.Text;
 import com.tinkerpop.blueprints.Vertex;
 import com.tinkerpop.frames.structures.FramedVertexIterable;
 import com.tinkerpop.gremlin.java.GremlinPipeline;
@@ -8,6 +7,7 @@ import java.util.List;
 
 import org.jboss.windup.config.GraphRewrite;
 import org.jboss.windup.graph.GraphContext;
+import org.jboss.windup.graph.GraphTypeManager;
 import org.jboss.windup.graph.model.resource.FileModel;
 import org.jboss.windup.util.ExecutionStatistics;
 
@@ -15,7 +15,6 @@ import freemarker.ext.beans.StringModel;
 import freemarker.template.TemplateModelException;
 import java.util.HashSet;
 import java.util.Set;
-import org.jboss.windup.graph.model.WindupVertexFrame;
 import org.jboss.windup.reporting.model.ClassificationModel;
 import org.jboss.windup.reporting.model.InlineHintModel;
 import org.jboss.windup.rules.files.model.FileLocationModel;
@@ -78,7 +77,7 @@ public class GetTagsFromFileClassificationsAndHints implements WindupFreeMarkerM
         // Classifications
         {
             GremlinPipeline<Vertex, Vertex> pipeline = new GremlinPipeline<>(fileModel.asVertex());
-            pipeline.in(ClassificationModel.FILE_MODEL).has(WindupVertexFrame.TYPE_PROP, Text.CONTAINS, ClassificationModel.TYPE);
+            pipeline.in(ClassificationModel.FILE_MODEL).filter(GraphTypeManager.typeFilter(ClassificationModel.class, true));
             FramedVertexIterable<ClassificationModel> iterable = new FramedVertexIterable<>(this.context.getFramed(), pipeline, ClassificationModel.class);
             for(ClassificationModel clsf : iterable)
                 tags.addAll(clsf.getTags());
@@ -87,8 +86,8 @@ public class GetTagsFromFileClassificationsAndHints implements WindupFreeMarkerM
         // Hints
         {
             GremlinPipeline<Vertex, Vertex> pipeline = new GremlinPipeline<>(fileModel.asVertex());
-            pipeline.in(FileLocationModel.FILE_MODEL).has(WindupVertexFrame.TYPE_PROP, Text.CONTAINS, FileLocationModel.TYPE);
-            pipeline.in(InlineHintModel.FILE_LOCATION_REFERENCE).has(WindupVertexFrame.TYPE_PROP, Text.CONTAINS, InlineHintModel.TYPE);
+            pipeline.in(FileLocationModel.FILE_MODEL).filter(GraphTypeManager.typeFilter(FileLocationModel.class, true));
+            pipeline.in(InlineHintModel.FILE_LOCATION_REFERENCE).filter(GraphTypeManager.typeFilter(InlineHintModel.class, true));
             FramedVertexIterable<InlineHintModel> iterable = new FramedVertexIterable<>(this.context.getFramed(), pipeline, InlineHintModel.class);
             for(InlineHintModel hint : iterable)
                 tags.addAll(hint.getTags());
@@ -3,7 +3,7 @@ package org.jboss.windup.reporting.query;
 import org.jboss.windup.config.GraphRewrite;
 import org.jboss.windup.config.query.QueryGremlinCriterion;
 import org.jboss.windup.graph.GraphContext;
-import org.jboss.windup.graph.model.WindupVertexFrame;
+import org.jboss.windup.graph.GraphTypeManager;
 import org.jboss.windup.graph.model.resource.FileModel;
 import org.jboss.windup.graph.model.resource.SourceFileModel;
 import org.jboss.windup.reporting.model.ClassificationModel;
@@ -12,7 +12,6 @@ import org.jboss.windup.reporting.model.TechnologyTagLevel;
 import org.jboss.windup.reporting.model.TechnologyTagModel;
 import org.jboss.windup.rules.files.model.FileLocationModel;
 
-import com.thinkaurelius.titan.core.attribute.Text;
 import com.tinkerpop.blueprints.Vertex;
 import com.tinkerpop.gremlin.java.GremlinPipeline;
 
@@ -32,20 +31,20 @@ public class FindSourceReportFilesGremlinCriterion implements QueryGremlinCriter
         GremlinPipeline<Vertex, Vertex> hintPipeline = new GremlinPipeline<Vertex, Vertex>(
                     context.getQuery().type(FileModel.class).vertices());
         hintPipeline.as("fileModel1").in(FileLocationModel.FILE_MODEL)
-                    .has(WindupVertexFrame.TYPE_PROP, Text.CONTAINS, InlineHintModel.TYPE).back("fileModel1");
+                    .filter(GraphTypeManager.typeFilter(InlineHintModel.class, true)).back("fileModel1");
 
         // create a pipeline to get all items with attached classifications
         GremlinPipeline<Vertex, Vertex> classificationPipeline = new GremlinPipeline<Vertex, Vertex>(
                     context.getQuery().type(FileModel.class).vertices());
         classificationPipeline.as("fileModel2").in(ClassificationModel.FILE_MODEL)
-                    .has(WindupVertexFrame.TYPE_PROP, Text.CONTAINS, ClassificationModel.TYPE)
+                    .filter(GraphTypeManager.typeFilter(ClassificationModel.class, true))
                     .back("fileModel2");
 
         // create a pipeline to get all items with attached technology tags
         GremlinPipeline<Vertex, Vertex> technologyTagPipeline = new GremlinPipeline<Vertex, Vertex>(
                     context.getQuery().type(FileModel.class).vertices());
         technologyTagPipeline.as("fileModel3").in(TechnologyTagModel.TECH_TAG_TO_FILE_MODEL)
-                    .has(WindupVertexFrame.TYPE_PROP, Text.CONTAINS, TechnologyTagModel.TYPE)
+                    .filter(GraphTypeManager.typeFilter(TechnologyTagModel.class, true))
                     .back("fileModel3");
 
         // Also return SourceFileModel results with the generate source flag set to true
@@ -3,16 +3,15 @@ package org.jboss.windup.reporting.service;
 import org.apache.commons.lang.StringUtils;
 import org.apache.tools.ant.taskdefs.Length;
 import org.jboss.windup.graph.GraphContext;
+import org.jboss.windup.graph.GraphTypeManager;
 import org.jboss.windup.graph.model.LinkModel;
 import org.jboss.windup.graph.model.ProjectModel;
-import org.jboss.windup.graph.model.WindupVertexFrame;
 import org.jboss.windup.graph.model.resource.FileModel;
 import org.jboss.windup.graph.service.GraphService;
 import org.jboss.windup.reporting.model.ClassificationModel;
 import org.ocpsoft.rewrite.config.Rule;
 import org.ocpsoft.rewrite.context.EvaluationContext;
 
-import com.thinkaurelius.titan.core.attribute.Text;
 import com.tinkerpop.blueprints.Vertex;
 import com.tinkerpop.frames.structures.FramedVertexIterable;
 import com.tinkerpop.gremlin.java.GremlinPipeline;
@@ -37,7 +36,7 @@ public class ClassificationService extends GraphService<ClassificationModel>
     {
         GremlinPipeline<Vertex, Vertex> classificationPipeline = new GremlinPipeline<>(fileModel.asVertex());
         classificationPipeline.in(ClassificationModel.FILE_MODEL);
-        classificationPipeline.has(WindupVertexFrame.TYPE_PROP, Text.CONTAINS, ClassificationModel.TYPE);
+        classificationPipeline.filter(GraphTypeManager.typeFilter(ClassificationModel.class, true));
 
         int classificationEffort = 0;
         for (Vertex v : classificationPipeline)
@@ -58,7 +57,7 @@ public class ClassificationService extends GraphService<ClassificationModel>
     {
         GremlinPipeline<Vertex, Vertex> pipeline = new GremlinPipeline<>(model.asVertex());
         pipeline.in(ClassificationModel.FILE_MODEL);
-        pipeline.has(WindupVertexFrame.TYPE_PROP, Text.CONTAINS, ClassificationModel.TYPE);
+        pipeline.filter(GraphTypeManager.typeFilter(ClassificationModel.class, true));
         return new FramedVertexIterable<ClassificationModel>(getGraphContext().getFramed(), pipeline, ClassificationModel.class);
     }
     
@@ -69,7 +68,7 @@ public class ClassificationService extends GraphService<ClassificationModel>
     {
         GremlinPipeline<Vertex, Vertex> pipeline = new GremlinPipeline<>(model.asVertex());
         pipeline.in(ClassificationModel.FILE_MODEL);
-        pipeline.has(WindupVertexFrame.TYPE_PROP, Text.CONTAINS, ClassificationModel.TYPE);
+        pipeline.filter(GraphTypeManager.typeFilter(ClassificationModel.class, true));
         pipeline.has(ClassificationModel.CLASSIFICATION, classificationName);
         return new FramedVertexIterable<ClassificationModel>(getGraphContext().getFramed(), pipeline, ClassificationModel.class);
     }
@@ -83,7 +82,7 @@ public class ClassificationService extends GraphService<ClassificationModel>
     {
         GremlinPipeline<Vertex, Vertex> classificationPipeline = new GremlinPipeline<>(projectModel.asVertex());
         classificationPipeline.out(ProjectModel.PROJECT_MODEL_TO_FILE).in(ClassificationModel.FILE_MODEL);
-        classificationPipeline.has(WindupVertexFrame.TYPE_PROP, Text.CONTAINS, ClassificationModel.TYPE);
+        classificationPipeline.filter(GraphTypeManager.typeFilter(ClassificationModel.class, true));
 
         int classificationEffort = 0;
         for (Vertex v : classificationPipeline)
@@ -110,22 +109,20 @@ public class ClassificationService extends GraphService<ClassificationModel>
      */
     public ClassificationModel attachClassification(Rule rule, FileModel fileModel, String classificationText, String description)
     {
-        ClassificationModel model = getUnique(getTypedQuery().has(ClassificationModel.CLASSIFICATION, classificationText));
-        if (model == null)
-        {
-            model = create();
-            model.setClassification(classificationText);
-            model.setDescription(description);
-            model.setEffort(0);
-            model.addFileModel(fileModel);
-            model.setRuleID(rule.getId());
-        }
-        else
+        synchronized (getCreationLock(ClassificationModel.CLASSIFICATION, classificationText))
         {
+            ClassificationModel model = getUnique(getTypedQuery().has(ClassificationModel.CLASSIFICATION, classificationText));
+            if (model == null)
+            {
+                model = create();
+                model.setClassification(classificationText);
+                model.setDescription(description);
+                model.setEffort(0);
+                model.setRuleID(rule.getId());
+            }
+
             return attachClassification(model, fileModel);
         }
-
-        return model;
     }
 
     /**
@@ -144,16 +141,20 @@ public class ClassificationService extends GraphService<ClassificationModel>
      */
     public ClassificationModel attachClassification(ClassificationModel classificationModel, FileModel fileModel)
     {
-        // check for duplicates
-        for (FileModel existingFileModel : classificationModel.getFileModels())
+        synchronized (getCreationLock(ClassificationModel.CLASSIFICATION, classificationModel.getClassification()))
         {
-            if (existingFileModel.equals(fileModel))
+            // check for duplicates
+            for (FileModel existingFileModel : classificationModel.getFileModels())
             {
-                return classificationModel;
+                if (existingFileModel.equals(fileModel))
+                {
+                    return classificationModel;
+                }
             }
+            classificationModel.addFileModel(fileModel);
+            commitIfConcurrent();
+            return classificationModel;
         }
-        classificationModel.addFileModel(fileModel);
-        return classificationModel;
     }
 
     public ClassificationModel attachLink(ClassificationModel classificationModel, LinkModel linkModel)
@@ -2,15 +2,14 @@ package org.jboss.windup.reporting.service;
 
 import org.apache.tools.ant.taskdefs.Length.FileMode;
 import org.jboss.windup.graph.GraphContext;
+import org.jboss.windup.graph.GraphTypeManager;
 import org.jboss.windup.graph.model.ProjectModel;
-import org.jboss.windup.graph.model.WindupVertexFrame;
 import org.jboss.windup.graph.model.resource.FileModel;
 import org.jboss.windup.graph.service.GraphService;
 import org.jboss.windup.reporting.model.EffortReportModel;
 import org.jboss.windup.reporting.model.InlineHintModel;
 import org.jboss.windup.rules.files.model.FileReferenceModel;
 
-import com.thinkaurelius.titan.core.attribute.Text;
 import com.tinkerpop.blueprints.Vertex;
 import com.tinkerpop.frames.structures.FramedVertexIterable;
 import com.tinkerpop.gremlin.java.GremlinPipeline;
@@ -35,7 +34,7 @@ public class InlineHintService extends GraphService<InlineHintModel>
     {
         GremlinPipeline<Vertex, Vertex> inlineHintPipeline = new GremlinPipeline<>(reference.asVertex());
         inlineHintPipeline.in(InlineHintModel.FILE_LOCATION_REFERENCE);
-        inlineHintPipeline.has(WindupVertexFrame.TYPE_PROP, Text.CONTAINS, InlineHintModel.TYPE);
+        inlineHintPipeline.filter(GraphTypeManager.typeFilter(InlineHintModel.class, true));
         return new FramedVertexIterable<InlineHintModel>(getGraphContext().getFramed(), inlineHintPipeline, InlineHintModel.class);
     }
 
@@ -46,7 +45,7 @@ public class InlineHintService extends GraphService<InlineHintModel>
     {
         GremlinPipeline<Vertex, Vertex> inlineHintPipeline = new GremlinPipeline<>(file.asVertex());
         inlineHintPipeline.in(FileReferenceModel.FILE_MODEL);
-        inlineHintPipeline.has(WindupVertexFrame.TYPE_PROP, Text.CONTAINS, InlineHintModel.TYPE);
+        inlineHintPipeline.filter(GraphTypeManager.typeFilter(InlineHintModel.class, true));
         return new FramedVertexIterable<InlineHintModel>(getGraphContext().getFramed(), inlineHintPipeline, InlineHintModel.class);
     }
 
@@ -58,7 +57,7 @@ public class InlineHintService extends GraphService<InlineHintModel>
     {
         GremlinPipeline<Vertex, Vertex> inlineHintPipeline = new GremlinPipeline<>(fileModel.asVertex());
         inlineHintPipeline.in(InlineHintModel.FILE_MODEL);
-        inlineHintPipeline.has(WindupVertexFrame.TYPE_PROP, Text.CONTAINS, InlineHintModel.TYPE);
+        inlineHintPipeline.filter(GraphTypeManager.typeFilter(InlineHintModel.class, true));
 
         int hintEffort = 0;
         for (Vertex v : inlineHintPipeline)
@@ -79,7 +78,7 @@ public class InlineHintService extends GraphService<InlineHintModel>
     {
         GremlinPipeline<Vertex, Vertex> inlineHintPipeline = new GremlinPipeline<>(projectModel.asVertex());
         inlineHintPipeline.out(ProjectModel.PROJECT_MODEL_TO_FILE).in(InlineHintModel.FILE_MODEL);
-        inlineHintPipeline.has(WindupVertexFrame.TYPE_PROP, Text.CONTAINS, InlineHintModel.TYPE);
+        inlineHintPipeline.filter(GraphTypeManager.typeFilter(InlineHintModel.class, true));
 
         int hintEffort = 0;
         for (Vertex v : inlineHintPipeline)
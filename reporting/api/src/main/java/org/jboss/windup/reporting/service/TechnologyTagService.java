@@ -5,14 +5,13 @@ import java.util.Set;
 
 import org.jboss.forge.furnace.util.Iterators;
 import org.jboss.windup.graph.GraphContext;
+import org.jboss.windup.graph.GraphTypeManager;
 import org.jboss.windup.graph.model.ProjectModel;
-import org.jboss.windup.graph.model.WindupVertexFrame;
 import org.jboss.windup.graph.model.resource.FileModel;
 import org.jboss.windup.graph.service.GraphService;
 import org.jboss.windup.reporting.model.TechnologyTagLevel;
 import org.jboss.windup.reporting.model.TechnologyTagModel;
 
-import com.thinkaurelius.titan.core.attribute.Text;
 import com.tinkerpop.blueprints.Vertex;
 import com.tinkerpop.frames.FramedGraphQuery;
 import com.tinkerpop.frames.structures.FramedVertexIterable;
@@ -38,17 +37,21 @@ public class TechnologyTagService extends GraphService<TechnologyTagModel>
      */
     public TechnologyTagModel addTagToFileModel(FileModel fileModel, String tagName, TechnologyTagLevel level)
     {
-        FramedGraphQuery q = getGraphContext().getQuery().type(TechnologyTagModel.class)
-                    .has(TechnologyTagModel.NAME, tagName);
-        TechnologyTagModel m = super.getUnique(q);
-        if (m == null)
+        synchronized (getCreationLock(TechnologyTagModel.NAME, tagName))
         {
-            m = create();
-            m.setName(tagName);
-            m.setLevel(level);
+            FramedGraphQuery q = getGraphContext().getQuery().type(TechnologyTagModel.class)
+                        .has(TechnologyTagModel.NAME, tagName);
+            TechnologyTagModel m = super.getUnique(q);
+            if (m == null)
+            {
+                m = create();
+                m.setName(tagName);
+                m.setLevel(level);
+            }
+            m.addFileModel(fileModel);
+            commitIfConcurrent();
+            return m;
         }
-        m.addFileModel(fileModel);
-        return m;
     }
 
     /**
@@ -57,7 +60,7 @@ public class TechnologyTagService extends GraphService<TechnologyTagModel>
     public Iterable<TechnologyTagModel> findTechnologyTagsForFile(FileModel fileModel)
     {
         GremlinPipeline<Vertex, Vertex> pipeline = new GremlinPipeline<>(fileModel.asVertex());
-        pipeline.in(TechnologyTagModel.TECH_TAG_TO_FILE_MODEL).has(WindupVertexFrame.TYPE_PROP, Text.CONTAINS, TechnologyTagModel.TYPE);
+        pipeline.in(TechnologyTagModel.TECH_TAG_TO_FILE_MODEL).filter(GraphTypeManager.typeFilter(TechnologyTagModel.class, true));
         return new FramedVertexIterable<TechnologyTagModel>(getGraphContext().getFramed(), pipeline, TechnologyTagModel.class);
     }
 
@@ -70,7 +73,7 @@ public class TechnologyTagService extends GraphService<TechnologyTagModel>
 
         GremlinPipeline<Vertex, Vertex> pipeline = new GremlinPipeline<>(projectModel.asVertex());
         pipeline.out(ProjectModel.PROJECT_MODEL_TO_FILE);
-        pipeline.in(TechnologyTagModel.TECH_TAG_TO_FILE_MODEL).has(WindupVertexFrame.TYPE_PROP, Text.CONTAINS, TechnologyTagModel.TYPE);
+        pipeline.in(TechnologyTagModel.TECH_TAG_TO_FILE_MODEL).filter(GraphTypeManager.typeFilter(TechnologyTagModel.class, true));
 
         Iterable<TechnologyTagModel> modelIterable = new FramedVertexIterable<TechnologyTagModel>(getGraphContext().getFramed(), pipeline,
                     TechnologyTagModel.class);
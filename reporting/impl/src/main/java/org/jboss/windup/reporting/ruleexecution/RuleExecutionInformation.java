@@ -19,6 +19,7 @@ public class RuleExecutionInformation
 {
     private Rule rule;
     private boolean evaluationResult;
+    private boolean skipped;
     private boolean executed;
     private boolean failed;
     private final AtomicInteger vertexIDsAdded = new AtomicInteger();
@@ -63,6 +64,24 @@ public class RuleExecutionInformation
         this.evaluationResult = evaluationResult;
     }
 
+    /**
+     * Gets an indication of whether the evaluation of this {@link Rule} was skipped, as the graph did not contain any vertices of a type that
+     * its conditions require.
+     */
+    public boolean isSkipped()
+    {
+        return skipped;
+    }
+
+    /**
+     * Sets an indication of whether the evaluation of this {@link Rule} was skipped, as the graph did not contain any vertices of a type that
+     * its conditions require.
+     */
+    void setSkipped(boolean skipped)
+    {
+        this.skipped = skipped;
+    }
+
     /**
      * Gets an indication of whether or not this rule was executed by Windup.
      */
@@ -178,7 +197,7 @@ public class RuleExecutionInformation
     @Override
     public String toString()
     {
-        return "RuleExecutionInformation [rule=" + rule + ", evaluationResult=" + evaluationResult + ", executed="
+        return "RuleExecutionInformation [rule=" + rule + ", evaluationResult=" + evaluationResult + ", skipped=" + skipped + ", executed="
                     + executed + ", failed=" + failed + ", failureCause=" + failureCause + "]";
     }
 }
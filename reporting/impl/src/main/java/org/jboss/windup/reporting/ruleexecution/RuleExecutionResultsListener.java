@@ -1,6 +1,7 @@
 package org.jboss.windup.reporting.ruleexecution;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
@@ -8,13 +9,15 @@ import java.util.Map;
 import org.jboss.windup.config.AbstractRuleProvider;
 import org.jboss.windup.config.GraphRewrite;
 import org.jboss.windup.config.RuleLifecycleListener;
+import org.jboss.windup.config.condition.RuleTypeRequirements;
 import org.jboss.windup.config.metadata.RuleProviderRegistry;
+import org.jboss.windup.graph.listeners.ElementChangedListener;
+import org.jboss.windup.graph.listeners.EssentialGraphChangedListener;
 import org.ocpsoft.rewrite.config.Rule;
 import org.ocpsoft.rewrite.context.EvaluationContext;
 
 import com.tinkerpop.blueprints.Edge;
 import com.tinkerpop.blueprints.Vertex;
-import com.tinkerpop.blueprints.util.wrappers.event.listener.GraphChangedListener;
 
 /**
  * Manages recording the history of {@link Rule}s executed by Windup.
@@ -24,9 +27,14 @@ import com.tinkerpop.blueprints.util.wrappers.event.listener.GraphChangedListene
  */
 public class RuleExecutionResultsListener implements RuleLifecycleListener
 {
-    private IdentityHashMap<Rule, RuleExecutionInformation> ruleExecutionInformation = new IdentityHashMap<>();
+    private Map<Rule, RuleExecutionInformation> ruleExecutionInformation = Collections
+                .synchronizedMap(new IdentityHashMap<Rule, RuleExecutionInformation>());
     private GraphRewrite event;
-    private Rule currentRule = null;
+
+    /**
+     * The rule that is currently executed by each thread, as rules of independent providers may be executed concurrently.
+     */
+    private final ThreadLocal<Rule> currentRule = new ThreadLocal<>();
 
     /**
      * Returns the {@link RuleExecutionResultsListener} for this execution of Windup.
@@ -65,7 +73,7 @@ public class RuleExecutionResultsListener implements RuleLifecycleListener
     public void beforeRuleEvaluation(GraphRewrite event, Rule rule, EvaluationContext context)
     {
         ruleExecutionInformation.put(rule, new RuleExecutionInformation(rule));
-        RuleExecutionResultsListener.this.currentRule = rule;
+        RuleExecutionResultsListener.this.currentRule.set(rule);
     }
 
     @Override
@@ -78,9 +86,10 @@ public class RuleExecutionResultsListener implements RuleLifecycleListener
                 boolean result)
     {
         ruleExecutionInformation.get(rule).setEvaluationResult(result);
+        ruleExecutionInformation.get(rule).setSkipped(context.get(RuleTypeRequirements.MISSING_TYPE) != null);
         if (!result)
         {
-            RuleExecutionResultsListener.this.currentRule = null;
+            RuleExecutionResultsListener.this.currentRule.remove();
         }
     }
 
@@ -93,7 +102,7 @@ public class RuleExecutionResultsListener implements RuleLifecycleListener
     public void afterRuleOperationsPerformed(GraphRewrite event, EvaluationContext context, Rule rule)
     {
         ruleExecutionInformation.get(rule).setExecuted(true);
-        RuleExecutionResultsListener.this.currentRule = null;
+        RuleExecutionResultsListener.this.currentRule.remove();
     }
 
     @Override
@@ -101,7 +110,7 @@ public class RuleExecutionResultsListener implements RuleLifecycleListener
     {
         ruleExecutionInformation.get(rule).setFailed(true);
         ruleExecutionInformation.get(rule).setFailureCause(failureCause);
-        RuleExecutionResultsListener.this.currentRule = null;
+        RuleExecutionResultsListener.this.currentRule.remove();
     }
 
     @Override
@@ -109,42 +118,50 @@ public class RuleExecutionResultsListener implements RuleLifecycleListener
     {
     }
 
-    private class GraphChangeListener implements GraphChangedListener
+    /**
+     * Records the vertices and edges added and removed by the current rule. This is essential, so that the rules executed during a
+     * {@link org.jboss.windup.graph.BulkIngest} still have their changes in the rule execution report.
+     */
+    private class GraphChangeListener implements ElementChangedListener, EssentialGraphChangedListener
     {
 
         @Override
-        public synchronized void vertexAdded(Vertex vertex)
+        public void vertexAdded(Vertex vertex)
         {
-            if (currentRule != null)
+            Rule rule = currentRule.get();
+            if (rule != null)
             {
-                ruleExecutionInformation.get(currentRule).addVertexIDAdded(vertex.getId());
+                ruleExecutionInformation.get(rule).addVertexIDAdded(vertex.getId());
             }
         }
 
         @Override
-        public synchronized void vertexRemoved(Vertex vertex, Map<String, Object> props)
+        public void vertexRemoved(Vertex vertex, Map<String, Object> props)
         {
-            if (currentRule != null)
+            Rule rule = currentRule.get();
+            if (rule != null)
             {
-                ruleExecutionInformation.get(currentRule).addVertexIDRemoved(vertex.getId());
+                ruleExecutionInformation.get(rule).addVertexIDRemoved(vertex.getId());
             }
         }
 
         @Override
-        public synchronized void edgeAdded(Edge edge)
+        public void edgeAdded(Edge edge)
         {
-            if (currentRule != null)
+            Rule rule = currentRule.get();
+            if (rule != null)
             {
-                ruleExecutionInformation.get(currentRule).addEdgeIDAdded(edge.getId());
+                ruleExecutionInformation.get(rule).addEdgeIDAdded(edge.getId());
             }
         }
 
         @Override
-        public synchronized void edgeRemoved(Edge edge, Map<String, Object> props)
+        public void edgeRemoved(Edge edge, Map<String, Object> props)
         {
-            if (currentRule != null)
+            Rule rule = currentRule.get();
+            if (rule != null)
             {
-                ruleExecutionInformation.get(currentRule).addVertexIDRemoved(edge.getId());
+                ruleExecutionInformation.get(rule).addVertexIDRemoved(edge.getId());
             }
         }
 
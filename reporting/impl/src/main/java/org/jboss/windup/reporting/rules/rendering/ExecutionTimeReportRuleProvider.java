@@ -2,13 +2,18 @@ package org.jboss.windup.reporting.rules.rendering;
 
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import org.apache.commons.io.FileUtils;
 import org.jboss.windup.config.AbstractRuleProvider;
@@ -29,15 +34,23 @@ import org.ocpsoft.rewrite.config.Configuration;
 import org.ocpsoft.rewrite.config.ConfigurationBuilder;
 import org.ocpsoft.rewrite.context.EvaluationContext;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 /**
- * Produces a simple text report of how long each RuleProvider's rule took to execute, the time spent in each phase, and
- * any other timing data that was been stored in {@link ExecutionStatistics}.
+ * Produces a simple text report of how long each RuleProvider's rule took to execute, the time spent in each phase, the
+ * growth of the graph in each phase, and any other timing data that was been stored in {@link ExecutionStatistics}. The
+ * graph statistics are also written as JSON.
  * 
  * @author <a href="mailto:jesse.sightler@gmail.com">Jesse Sightler</a>
  * 
  */
 public class ExecutionTimeReportRuleProvider extends AbstractRuleProvider
 {
+    /**
+     * The number of vertex types that are listed for each phase, starting with the type that grew the most.
+     */
+    private static final int MAX_GROWN_TYPES = 10;
+
     public ExecutionTimeReportRuleProvider()
     {
         super(MetadataBuilder.forProvider(ExecutionTimeReportRuleProvider.class)
@@ -136,7 +149,14 @@ public class ExecutionTimeReportRuleProvider extends AbstractRuleProvider
                                     fw.write(" seconds)");
                                     fw.write("\n");
                                 }
+                                fw.write("-----------------------------------------------------------\n\n");
+
+                                // graph growth
+                                fw.write("Graph size after each phase:\n\n");
+                                writeGraphStatistics(fw, rulePhaseStatModelList);
                                 fw.write("-----------------------------------------------------------\n");
+
+                                writeGraphStatisticsJson(statsDir.resolve("graph_statistics.json"), rulePhaseStatModelList);
                             }
                             catch (IOException e)
                             {
@@ -153,4 +173,105 @@ public class ExecutionTimeReportRuleProvider extends AbstractRuleProvider
                         }
                     });
     }
+
+    /**
+     * Writes the size of the graph after each phase, along with the types of vertices that grew the most during the phase.
+     */
+    private static void writeGraphStatistics(Writer writer, List<RulePhaseExecutionStatisticsModel> phases) throws IOException
+    {
+        long previousVertexCount = 0L;
+        long previousEdgeCount = 0L;
+        Map<String, String> previousVertexCounts = Collections.emptyMap();
+        for (RulePhaseExecutionStatisticsModel model : phases)
+        {
+            // the graph size is only recorded when a phase has ended
+            if (model.getVertexCount() == null)
+                continue;
+
+            long vertexCount = model.getVertexCount();
+            long edgeCount = model.getEdgeCount();
+            writer.write(model.getRulePhase());
+            writer.write(": " + vertexCount + " vertices (+" + (vertexCount - previousVertexCount) + ")");
+            writer.write(", " + edgeCount + " edges (+" + (edgeCount - previousEdgeCount) + ")");
+            writer.write(", " + model.getCommitCount() + " commits (" + model.getCommitTimeTaken() + " ms)");
+            for (Map.Entry<String, String> diskSize : new TreeMap<>(model.getDiskSizesByDirectory()).entrySet())
+            {
+                writer.write(", " + diskSize.getKey() + ": " + diskSize.getValue() + " bytes");
+            }
+            writer.write("\n");
+
+            final Map<String, Long> growthByType = new HashMap<>();
+            Map<String, String> vertexCounts = model.getVertexCountsByType();
+            for (Map.Entry<String, String> count : vertexCounts.entrySet())
+            {
+                long growth = Long.parseLong(count.getValue()) - toLong(previousVertexCounts.get(count.getKey()));
+                if (growth > 0)
+                    growthByType.put(count.getKey(), growth);
+            }
+            List<String> grownTypes = new ArrayList<>(growthByType.keySet());
+            Collections.sort(grownTypes, new Comparator<String>()
+            {
+                @Override
+                public int compare(String o1, String o2)
+                {
+                    return growthByType.get(o2).compareTo(growthByType.get(o1));
+                }
+            });
+            for (String type : grownTypes.subList(0, Math.min(MAX_GROWN_TYPES, grownTypes.size())))
+            {
+                writer.write("    " + type + ": " + vertexCounts.get(type) + " (+" + growthByType.get(type) + ")\n");
+            }
+
+            previousVertexCount = vertexCount;
+            previousEdgeCount = edgeCount;
+            previousVertexCounts = vertexCounts;
+        }
+    }
+
+    /**
+     * Writes the graph statistics of all phases as JSON, so that they can be compared between runs by other tools.
+     */
+    private static void writeGraphStatisticsJson(Path outputPath, List<RulePhaseExecutionStatisticsModel> phases) throws IOException
+    {
+        List<Map<String, Object>> phaseList = new ArrayList<>();
+        for (RulePhaseExecutionStatisticsModel model : phases)
+        {
+            Map<String, Object> phase = new LinkedHashMap<>();
+            phase.put("phase", model.getRulePhase());
+            phase.put("order", model.getOrderExecuted());
+            phase.put("timeTaken", model.getTimeTaken());
+            if (model.getVertexCount() != null)
+            {
+                phase.put("commitCount", model.getCommitCount());
+                phase.put("commitTimeTaken", model.getCommitTimeTaken());
+                phase.put("vertexCount", model.getVertexCount());
+                phase.put("edgeCount", model.getEdgeCount());
+                phase.put("diskSizeByDirectory", toLongs(model.getDiskSizesByDirectory()));
+                phase.put("vertexCountByType", toLongs(model.getVertexCountsByType()));
+                phase.put("edgeCountByLabel", toLongs(model.getEdgeCountsByLabel()));
+            }
+            phaseList.add(phase);
+        }
+
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(outputPath.toFile(),
+                    Collections.singletonMap("phases", phaseList));
+    }
+
+    /**
+     * Converts a map of numbers stored as strings to a map of longs, sorted by key.
+     */
+    private static Map<String, Long> toLongs(Map<String, String> numbers)
+    {
+        Map<String, Long> result = new TreeMap<>();
+        for (Map.Entry<String, String> entry : numbers.entrySet())
+        {
+            result.put(entry.getKey(), toLong(entry.getValue()));
+        }
+        return result;
+    }
+
+    private static long toLong(String value)
+    {
+        return value == null ? 0L : Long.parseLong(value);
+    }
 }
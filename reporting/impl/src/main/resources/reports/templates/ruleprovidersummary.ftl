@@ -75,7 +75,7 @@
 									<div>Edges Removed: ${ruleExecutionInfo.edgeIDsRemoved}</div>
 								</td>					
 								<td>
-									${ruleExecutionInfo.executed?string("executed", "not-executed")}
+									${ruleExecutionInfo.executed?string("executed", ruleExecutionInfo.skipped?string("skipped", "not-executed"))}
 								</td>
 								<td>
 									${ruleExecutionInfo.failed?string("failed", "success")}
@@ -0,0 +1,173 @@
+package org.jboss.windup.reporting.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.arquillian.AddonDependencies;
+import org.jboss.forge.arquillian.AddonDependency;
+import org.jboss.forge.arquillian.archive.AddonArchive;
+import org.jboss.forge.furnace.util.Iterators;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.windup.config.AbstractRuleProvider;
+import org.jboss.windup.config.DefaultEvaluationContext;
+import org.jboss.windup.config.GraphRewrite;
+import org.jboss.windup.config.RuleProvider;
+import org.jboss.windup.config.RuleSubset;
+import org.jboss.windup.config.metadata.MetadataBuilder;
+import org.jboss.windup.config.metadata.RuleProviderRegistry;
+import org.jboss.windup.config.operation.Iteration;
+import org.jboss.windup.config.operation.iteration.AbstractIterationOperation;
+import org.jboss.windup.config.phase.MigrationRulesPhase;
+import org.jboss.windup.config.phase.RulePhase;
+import org.jboss.windup.config.query.Query;
+import org.jboss.windup.graph.GraphContext;
+import org.jboss.windup.graph.GraphContextFactory;
+import org.jboss.windup.graph.model.resource.FileModel;
+import org.jboss.windup.graph.service.GraphService;
+import org.jboss.windup.reporting.model.ClassificationModel;
+import org.jboss.windup.reporting.model.TechnologyTagLevel;
+import org.jboss.windup.reporting.model.TechnologyTagModel;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.ocpsoft.rewrite.config.Configuration;
+import org.ocpsoft.rewrite.config.ConfigurationBuilder;
+import org.ocpsoft.rewrite.config.Rule;
+import org.ocpsoft.rewrite.context.EvaluationContext;
+import org.ocpsoft.rewrite.param.DefaultParameterValueStore;
+import org.ocpsoft.rewrite.param.ParameterValueStore;
+
+/**
+ * Executes two parallel safe providers concurrently, both of which attach the same classification and technology tag, and checks that only
+ * one of each is created.
+ */
+@RunWith(Arquillian.class)
+public class ParallelClassificationTest
+{
+    private static final int FILES = 50;
+    private static final String CLASSIFICATION = "Shared Classification";
+    private static final String TAG = "Shared Tag";
+
+    private static final Set<Thread> WORKER_THREADS = Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+
+    @Deployment
+    @AddonDependencies({
+                @AddonDependency(name = "org.jboss.windup.config:windup-config"),
+                @AddonDependency(name = "org.jboss.windup.graph:windup-graph"),
+                @AddonDependency(name = "org.jboss.windup.reporting:windup-reporting"),
+                @AddonDependency(name = "org.jboss.forge.furnace.container:cdi")
+    })
+    public static AddonArchive getDeployment()
+    {
+        return ShrinkWrap.create(AddonArchive.class)
+                    .addBeansXML()
+                    .addClasses(ClassifyingProvider.class, FirstClassifyingProvider.class, SecondClassifyingProvider.class);
+    }
+
+    @Inject
+    private GraphContextFactory factory;
+
+    @Test
+    public void testSameClassificationFromParallelProviders() throws Exception
+    {
+        try (GraphContext context = factory.create())
+        {
+            for (int i = 0; i < FILES; i++)
+            {
+                FileModel file = context.getFramed().addVertex(null, FileModel.class);
+                file.setFilePath("/file" + i);
+            }
+            context.getGraph().getBaseGraph().commit();
+
+            List<RuleProvider> providers = new ArrayList<>();
+            providers.add(new FirstClassifyingProvider());
+            providers.add(new SecondClassifyingProvider());
+
+            RuleProviderRegistry registry = new RuleProviderRegistry();
+            registry.setProviders(providers);
+            ConfigurationBuilder configuration = ConfigurationBuilder.begin();
+            for (RuleProvider provider : providers)
+            {
+                registry.setDependencies(provider, Collections.<RuleProvider> emptyList());
+                List<Rule> rules = provider.getConfiguration(context).getRules();
+                registry.setRules(provider, rules);
+                for (Rule rule : rules)
+                {
+                    AbstractRuleProvider.enhanceRuleMetadata(provider, rule);
+                    configuration.addRule(rule);
+                }
+            }
+
+            GraphRewrite event = new GraphRewrite(context);
+            event.getRewriteContext().put(RuleProviderRegistry.class, registry);
+            DefaultEvaluationContext evaluationContext = new DefaultEvaluationContext();
+            evaluationContext.put(ParameterValueStore.class, new DefaultParameterValueStore());
+
+            RuleSubset subset = RuleSubset.create(configuration);
+            subset.setParallelExecution(2, Collections.<Class<? extends RulePhase>> singleton(MigrationRulesPhase.class));
+            subset.perform(event, evaluationContext);
+
+            // each provider ran on its own worker thread
+            Assert.assertEquals(2, WORKER_THREADS.size());
+            Assert.assertFalse(WORKER_THREADS.contains(Thread.currentThread()));
+
+            ClassificationModel classification = new ClassificationService(context).getUniqueByProperty(ClassificationModel.CLASSIFICATION,
+                        CLASSIFICATION);
+            Assert.assertNotNull(classification);
+            Assert.assertEquals(FILES, Iterators.asList(classification.getFileModels()).size());
+
+            TechnologyTagModel tag = new GraphService<>(context, TechnologyTagModel.class).getUniqueByProperty(TechnologyTagModel.NAME, TAG);
+            Assert.assertNotNull(tag);
+        }
+    }
+
+    public abstract static class ClassifyingProvider extends AbstractRuleProvider
+    {
+        public ClassifyingProvider(Class<? extends RuleProvider> type)
+        {
+            super(MetadataBuilder.forProvider(type).setPhase(MigrationRulesPhase.class).setParallelSafe(true));
+        }
+
+        @Override
+        public Configuration getConfiguration(GraphContext context)
+        {
+            return ConfigurationBuilder.begin()
+                        .addRule()
+                        .when(Query.fromType(FileModel.class))
+                        .perform(Iteration.over().perform(new AbstractIterationOperation<FileModel>()
+                        {
+                            @Override
+                            public void perform(GraphRewrite event, EvaluationContext context, FileModel payload)
+                            {
+                                WORKER_THREADS.add(Thread.currentThread());
+                                new ClassificationService(event.getGraphContext()).attachClassification(context, payload, CLASSIFICATION, null);
+                                new TechnologyTagService(event.getGraphContext()).addTagToFileModel(payload, TAG,
+                                            TechnologyTagLevel.INFORMATIONAL);
+                            }
+                        }).endIteration());
+        }
+    }
+
+    public static class FirstClassifyingProvider extends ClassifyingProvider
+    {
+        public FirstClassifyingProvider()
+        {
+            super(FirstClassifyingProvider.class);
+        }
+    }
+
+    public static class SecondClassifyingProvider extends ClassifyingProvider
+    {
+        public SecondClassifyingProvider()
+        {
+            super(SecondClassifyingProvider.class);
+        }
+    }
+}
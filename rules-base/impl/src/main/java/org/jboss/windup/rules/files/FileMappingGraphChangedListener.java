@@ -6,16 +6,19 @@ import java.util.Map.Entry;
 import java.util.logging.Logger;
 
 import org.jboss.windup.config.GraphRewrite;
+import org.jboss.windup.graph.listeners.PropertyChangedListener;
 import org.jboss.windup.graph.model.WindupVertexFrame;
 import org.jboss.windup.graph.model.resource.FileModel;
 import org.jboss.windup.graph.service.FileService;
 import org.jboss.windup.graph.service.GraphService;
 
-import com.tinkerpop.blueprints.Edge;
 import com.tinkerpop.blueprints.Vertex;
-import com.tinkerpop.blueprints.util.wrappers.event.listener.GraphChangedListener;
 
-public class FileMappingGraphChangedListener implements GraphChangedListener
+/**
+ * Adds the types that are mapped with {@link FileMapping} to files when their paths are set. This is registered for the
+ * {@link FileModel#FILE_PATH} and {@link FileModel#FILE_NAME} properties of {@link FileModel}s.
+ */
+public class FileMappingGraphChangedListener implements PropertyChangedListener
 {
     private static final Logger LOG = Logger.getLogger(FileMappingGraphChangedListener.class.getSimpleName());
 
@@ -27,12 +30,20 @@ public class FileMappingGraphChangedListener implements GraphChangedListener
     }
 
     @Override
-    public void vertexPropertyChanged(Vertex vertex, String key, Object oldValue, Object setValue)
+    public void propertyChanged(Vertex vertex, String key, Object oldValue, Object setValue)
     {
-        if (FileModel.FILE_PATH.equals(key))
+        if (setValue == null)
+            return;
+
+        // files stored with the compact layout only get a file name, after their path has already been indexed
+        boolean compactFile = FileModel.FILE_NAME.equals(key) && vertex.getProperty(FileModel.FILE_PATH) == null;
+        if (FileModel.FILE_PATH.equals(key) || compactFile)
         {
             FileService fileService = new FileService(event.getGraphContext());
             FileModel model = fileService.frame(vertex);
+            String filePath = compactFile ? model.getFilePath() : (String) setValue;
+            if (filePath == null)
+                return;
 
             Map<String, List<Class<? extends WindupVertexFrame>>> mappings = FileMapping
                         .getMappings(event);
@@ -41,7 +52,7 @@ public class FileMappingGraphChangedListener implements GraphChangedListener
                 String pattern = entry.getKey();
                 List<Class<? extends WindupVertexFrame>> types = entry.getValue();
 
-                if (((String) setValue).matches(pattern))
+                if (filePath.matches(pattern))
                 {
                     if (!model.isDirectory())
                     {
@@ -56,40 +67,4 @@ public class FileMappingGraphChangedListener implements GraphChangedListener
             }
         }
     }
-
-    @Override
-    public void vertexPropertyRemoved(Vertex vertex, String key, Object removedValue)
-    {
-    }
-
-    @Override
-    public void vertexAdded(Vertex vertex)
-    {
-    }
-
-    @Override
-    public void vertexRemoved(Vertex vertex, Map<String, Object> props)
-    {
-    }
-
-    @Override
-    public void edgeAdded(Edge edge)
-    {
-    }
-
-    @Override
-    public void edgePropertyChanged(Edge edge, String key, Object oldValue, Object setValue)
-    {
-    }
-
-    @Override
-    public void edgePropertyRemoved(Edge edge, String key, Object removedValue)
-    {
-    }
-
-    @Override
-    public void edgeRemoved(Edge edge, Map<String, Object> props)
-    {
-    }
-
 }
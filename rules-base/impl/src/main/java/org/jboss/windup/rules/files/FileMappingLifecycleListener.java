@@ -4,6 +4,7 @@ import java.util.logging.Logger;
 
 import org.jboss.windup.config.AbstractRuleLifecycleListener;
 import org.jboss.windup.config.GraphRewrite;
+import org.jboss.windup.graph.model.resource.FileModel;
 
 public class FileMappingLifecycleListener extends AbstractRuleLifecycleListener
 {
@@ -14,6 +15,8 @@ public class FileMappingLifecycleListener extends AbstractRuleLifecycleListener
     {
         LOG.info("Registered " + FileMappingGraphChangedListener.class.getSimpleName()
                     + "- Mapped file types will be added to the graph automatically.");
-        event.getGraphContext().getGraph().addListener(new FileMappingGraphChangedListener(event));
+        FileMappingGraphChangedListener listener = new FileMappingGraphChangedListener(event);
+        event.getGraphContext().addPropertyChangedListener(FileModel.FILE_PATH, FileModel.class, listener);
+        event.getGraphContext().addPropertyChangedListener(FileModel.FILE_NAME, FileModel.class, listener);
     }
 }
@@ -2,12 +2,12 @@ package org.jboss.windup.rules.apps.java.archives.listener;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Map;
 import java.util.logging.Logger;
 
 import org.apache.commons.codec.digest.DigestUtils;
 import org.jboss.forge.addon.dependencies.Coordinate;
 import org.jboss.windup.graph.GraphContext;
+import org.jboss.windup.graph.listeners.PropertyChangedListener;
 import org.jboss.windup.graph.model.ArchiveModel;
 import org.jboss.windup.graph.service.ArchiveService;
 import org.jboss.windup.graph.service.GraphService;
@@ -17,17 +17,16 @@ import org.jboss.windup.rules.apps.java.archives.model.IdentifiedArchiveModel;
 import org.jboss.windup.rules.apps.java.archives.model.IgnoredArchiveModel;
 import org.jboss.windup.util.exception.WindupException;
 
-import com.tinkerpop.blueprints.Edge;
 import com.tinkerpop.blueprints.Vertex;
-import com.tinkerpop.blueprints.util.wrappers.event.listener.GraphChangedListener;
 
 /**
- * {@link GraphChangedListener} responsible for identifying {@link ArchiveModel} instances when they are added to the graph.
+ * {@link PropertyChangedListener} responsible for identifying {@link ArchiveModel} instances when their {@link ArchiveModel#ARCHIVE_NAME} is
+ * set.
  *
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
  * @author <a href="mailto:ozizka@redhat.com">Ondrej Zizka</a>
  */
-public class ArchiveIdentificationGraphChangedListener implements GraphChangedListener
+public class ArchiveIdentificationGraphChangedListener implements PropertyChangedListener
 {
     private static final Logger log = Logger.getLogger(ArchiveIdentificationGraphChangedListener.class.getName());
 
@@ -48,9 +47,9 @@ public class ArchiveIdentificationGraphChangedListener implements GraphChangedLi
     }
 
     @Override
-    public void vertexPropertyChanged(Vertex vertex, String key, Object oldValue, Object setValue)
+    public void propertyChanged(Vertex vertex, String key, Object oldValue, Object setValue)
     {
-        if (ArchiveModel.ARCHIVE_NAME.equals(key))
+        if (ArchiveModel.ARCHIVE_NAME.equals(key) && setValue != null)
         {
             ArchiveService archiveService = new ArchiveService(context);
             ArchiveModel archive = archiveService.frame(vertex);
@@ -111,40 +110,4 @@ public class ArchiveIdentificationGraphChangedListener implements GraphChangedLi
             }
         }
     }
-
-    @Override
-    public void vertexPropertyRemoved(Vertex vertex, String key, Object removedValue)
-    {
-    }
-
-    @Override
-    public void vertexAdded(Vertex vertex)
-    {
-    }
-
-    @Override
-    public void vertexRemoved(Vertex vertex, Map<String, Object> props)
-    {
-    }
-
-    @Override
-    public void edgeAdded(Edge edge)
-    {
-    }
-
-    @Override
-    public void edgePropertyChanged(Edge edge, String key, Object oldValue, Object setValue)
-    {
-    }
-
-    @Override
-    public void edgePropertyRemoved(Edge edge, String key, Object removedValue)
-    {
-    }
-
-    @Override
-    public void edgeRemoved(Edge edge, Map<String, Object> props)
-    {
-    }
-
 }
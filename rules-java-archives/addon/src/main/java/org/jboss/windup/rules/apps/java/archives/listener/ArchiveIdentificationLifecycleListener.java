@@ -6,6 +6,7 @@ import javax.inject.Inject;
 
 import org.jboss.windup.config.AbstractRuleLifecycleListener;
 import org.jboss.windup.config.GraphRewrite;
+import org.jboss.windup.graph.model.ArchiveModel;
 import org.jboss.windup.rules.apps.java.archives.identify.CompositeArchiveIdentificationService;
 
 /**
@@ -25,6 +26,7 @@ public class ArchiveIdentificationLifecycleListener extends AbstractRuleLifecycl
     public void beforeExecution(GraphRewrite event)
     {
         LOG.info("Registered " + ArchiveIdentificationGraphChangedListener.class.getSimpleName() + " - archives will be identified automatically.");
-        event.getGraphContext().getGraph().addListener(new ArchiveIdentificationGraphChangedListener(event.getGraphContext(), identifier));
+        event.getGraphContext().addPropertyChangedListener(ArchiveModel.ARCHIVE_NAME, ArchiveModel.class,
+                    new ArchiveIdentificationGraphChangedListener(event.getGraphContext(), identifier));
     }
 }
\ No newline at end of file
@@ -4,13 +4,12 @@ import java.util.logging.Logger;
 
 import org.apache.commons.lang.StringUtils;
 import org.jboss.windup.graph.GraphContext;
-import org.jboss.windup.graph.model.WindupVertexFrame;
+import org.jboss.windup.graph.GraphTypeManager;
 import org.jboss.windup.graph.model.resource.FileModel;
 import org.jboss.windup.graph.service.FileService;
 import org.jboss.windup.graph.service.GraphService;
 import org.jboss.windup.rules.apps.javaee.model.association.VendorSpecificationExtensionModel;
 
-import com.thinkaurelius.titan.core.attribute.Text;
 import com.tinkerpop.blueprints.Vertex;
 import com.tinkerpop.frames.structures.FramedVertexIterable;
 import com.tinkerpop.gremlin.java.GremlinPipeline;
@@ -37,7 +36,7 @@ public class VendorSpecificationExtensionService extends GraphService<VendorSpec
     {
         GremlinPipeline<Vertex, Vertex> pipeline = new GremlinPipeline<>(model.asVertex());
         pipeline.out(VendorSpecificationExtensionModel.REF);
-        pipeline.has(WindupVertexFrame.TYPE_PROP, Text.CONTAINS, VendorSpecificationExtensionModel.TYPE);
+        pipeline.filter(GraphTypeManager.typeFilter(VendorSpecificationExtensionModel.class, true));
         return new FramedVertexIterable<VendorSpecificationExtensionModel>(getGraphContext().getFramed(), pipeline,
                     VendorSpecificationExtensionModel.class);
     }
@@ -56,7 +55,7 @@ public class VendorSpecificationExtensionService extends GraphService<VendorSpec
         pathToDescriptor += localFileName;
 
         // now look up the
-        FileModel specificationFile = fileService.getUniqueByProperty(FileModel.FILE_PATH, pathToDescriptor);
+        FileModel specificationFile = fileService.findByPath(pathToDescriptor);
         VendorSpecificationExtensionModel extension = addTypeToModel(model);
 
         if (specificationFile == null)
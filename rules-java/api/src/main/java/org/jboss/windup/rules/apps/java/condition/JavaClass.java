@@ -20,6 +20,7 @@ import org.jboss.windup.config.Variables;
 import org.jboss.windup.config.condition.EvaluationStrategy;
 import org.jboss.windup.config.condition.GraphCondition;
 import org.jboss.windup.config.condition.NoopEvaluationStrategy;
+import org.jboss.windup.config.condition.RequiresTypes;
 import org.jboss.windup.config.parameters.FrameContext;
 import org.jboss.windup.config.parameters.FrameCreationContext;
 import org.jboss.windup.config.parameters.ParameterizedGraphCondition;
@@ -34,6 +35,7 @@ import org.jboss.windup.rules.apps.java.model.JavaClassModel;
 import org.jboss.windup.rules.apps.java.model.JavaSourceFileModel;
 import org.jboss.windup.rules.apps.java.scan.ast.JavaTypeReferenceModel;
 import org.jboss.windup.rules.apps.java.scan.ast.TypeInterestFactory;
+import org.jboss.windup.rules.apps.java.scan.ast.TypeReferenceIndex;
 import org.jboss.windup.rules.files.model.FileReferenceModel;
 import org.jboss.windup.util.ExecutionStatistics;
 import org.ocpsoft.rewrite.config.Condition;
@@ -55,7 +57,7 @@ import com.tinkerpop.gremlin.java.GremlinPipeline;
  * {@link GraphCondition} that matches Vertices in the graph based upon the provided parameters.
  */
 public class JavaClass extends ParameterizedGraphCondition implements JavaClassBuilder, JavaClassBuilderAt,
-            JavaClassBuilderInFile, JavaClassBuilderLineMatch
+            JavaClassBuilderInFile, JavaClassBuilderLineMatch, RequiresTypes
 {
     private static final AtomicInteger numberCreated = new AtomicInteger(0);
 
@@ -174,6 +176,17 @@ public class JavaClass extends ParameterizedGraphCondition implements JavaClassB
         return pattern.pattern().replace("\\Q", "\"").replace("\\E", "\"").replace("?:", "");
     }
 
+    /**
+     * Without an input variable, only {@link JavaTypeReferenceModel}s are matched.
+     */
+    @Override
+    public Set<Class<? extends WindupVertexFrame>> getRequiredTypes()
+    {
+        if (StringUtils.isBlank(getInputVariablesName()))
+            return Collections.<Class<? extends WindupVertexFrame>> singleton(JavaTypeReferenceModel.class);
+        return Collections.emptySet();
+    }
+
     private boolean evaluate(GraphRewrite event, EvaluationContext context, EvaluationStrategy evaluationStrategy)
     {
         try
@@ -200,18 +213,36 @@ public class JavaClass extends ParameterizedGraphCondition implements JavaClassB
             {
                 initialQueryID = "iqi." + UUID.randomUUID().toString();
 
-                GremlinPipeline<Vertex, Vertex> resolvedTextSearch = new GremlinPipeline<>(event.getGraphContext().getGraph());
-                resolvedTextSearch.V();
-                resolvedTextSearch.has(JavaTypeReferenceModel.RESOLVED_SOURCE_SNIPPIT, Text.REGEX, titanify(compiledPattern));
-                // resolvedTextSearch.has(WindupVertexFrame.TYPE_PROP, Text.CONTAINS, JavaTypeReferenceModel.TYPE);
-
-                if (!resolvedTextSearch.iterator().hasNext())
-                    return false;
-
-                Variables.instance(event).setVariable(
-                            initialQueryID,
-                            new FramedVertexIterable<>(event.getGraphContext().getFramed(), resolvedTextSearch,
-                                        JavaTypeReferenceModel.class));
+                TypeReferenceIndex typeReferenceIndex = TypeReferenceIndex.get(event.getGraphContext());
+                if (!typeReferenceIndex.isEmpty())
+                {
+                    /*
+                     * The references were indexed as they were created, so use the index to narrow down the candidates rather than
+                     * searching every vertex in the graph. All of the JavaClass conditions registered with the TypeInterestFactory are
+                     * matched against the index together, so this is usually just a lookup of the results for this condition.
+                     */
+                    List<JavaTypeReferenceModel> candidates = typeReferenceIndex.findReferences(event.getGraphContext(), uniqueID,
+                                compiledPattern, locations);
+                    if (candidates.isEmpty())
+                        return false;
+
+                    Variables.instance(event).setVariable(initialQueryID, candidates);
+                }
+                else
+                {
+                    GremlinPipeline<Vertex, Vertex> resolvedTextSearch = new GremlinPipeline<>(event.getGraphContext().getGraph());
+                    resolvedTextSearch.V();
+                    resolvedTextSearch.has(JavaTypeReferenceModel.RESOLVED_SOURCE_SNIPPIT, Text.REGEX, titanify(compiledPattern));
+                    // resolvedTextSearch.has(WindupVertexFrame.TYPE_PROP, Text.CONTAINS, JavaTypeReferenceModel.TYPE);
+
+                    if (!resolvedTextSearch.iterator().hasNext())
+                        return false;
+
+                    Variables.instance(event).setVariable(
+                                initialQueryID,
+                                new FramedVertexIterable<>(event.getGraphContext().getFramed(), resolvedTextSearch,
+                                            JavaTypeReferenceModel.class));
+                }
                 query = Query.from(initialQueryID);
             }
 
@@ -0,0 +1,60 @@
+package org.jboss.windup.rules.apps.java.config;
+
+import org.jboss.windup.config.AbstractConfigurationOption;
+import org.jboss.windup.config.InputType;
+import org.jboss.windup.config.ValidationResult;
+
+/**
+ * The amount of memory (in megabytes) that the Java source parser should try to stay within.
+ */
+public class JavaAnalysisMemoryOption extends AbstractConfigurationOption
+{
+    public static final String NAME = "javaAnalysisMemory";
+
+    @Override
+    public String getDescription()
+    {
+        return "The amount of memory (in megabytes) that the Java source parser should try to stay within (Default: half of the maximum heap size)";
+    }
+
+    @Override
+    public String getName()
+    {
+        return NAME;
+    }
+
+    @Override
+    public String getLabel()
+    {
+        return "Java Analysis Memory";
+    }
+
+    @Override
+    public Class<?> getType()
+    {
+        return Integer.class;
+    }
+
+    @Override
+    public InputType getUIType()
+    {
+        return InputType.SINGLE;
+    }
+
+    @Override
+    public boolean isRequired()
+    {
+        return false;
+    }
+
+    public ValidationResult validate(Object valueObj)
+    {
+        if (valueObj == null)
+            return ValidationResult.SUCCESS;
+
+        if (!(valueObj instanceof Integer) || (Integer) valueObj < 1)
+            return new ValidationResult(ValidationResult.Level.ERROR, getName() + " must be a positive number!");
+
+        return ValidationResult.SUCCESS;
+    }
+}
@@ -0,0 +1,60 @@
+package org.jboss.windup.rules.apps.java.config;
+
+import org.jboss.windup.config.AbstractConfigurationOption;
+import org.jboss.windup.config.InputType;
+import org.jboss.windup.config.ValidationResult;
+
+/**
+ * The number of threads used to parse Java source files.
+ */
+public class JavaAnalysisThreadsOption extends AbstractConfigurationOption
+{
+    public static final String NAME = "javaAnalysisThreads";
+
+    @Override
+    public String getDescription()
+    {
+        return "The number of threads used to parse Java source files (Default: the number of available processors)";
+    }
+
+    @Override
+    public String getName()
+    {
+        return NAME;
+    }
+
+    @Override
+    public String getLabel()
+    {
+        return "Java Analysis Threads";
+    }
+
+    @Override
+    public Class<?> getType()
+    {
+        return Integer.class;
+    }
+
+    @Override
+    public InputType getUIType()
+    {
+        return InputType.SINGLE;
+    }
+
+    @Override
+    public boolean isRequired()
+    {
+        return false;
+    }
+
+    public ValidationResult validate(Object valueObj)
+    {
+        if (valueObj == null)
+            return ValidationResult.SUCCESS;
+
+        if (!(valueObj instanceof Integer) || (Integer) valueObj < 1)
+            return new ValidationResult(ValidationResult.Level.ERROR, getName() + " must be a positive number!");
+
+        return ValidationResult.SUCCESS;
+    }
+}
@@ -196,8 +196,7 @@ public class FernflowerDecompilerOperation extends GraphOperation
                     FileService fileService = new FileService(event.getGraphContext());
                     Path classFilePath = Paths.get(inputPath);
 
-                    FileModel decompiledFileModel = fileService.getUniqueByProperty(FileModel.FILE_PATH,
-                                decompiledOutputFile);
+                    FileModel decompiledFileModel = fileService.findByPath(decompiledOutputFile);
 
                     if (decompiledFileModel == null)
                     {
@@ -243,8 +242,7 @@ public class FernflowerDecompilerOperation extends GraphOperation
                         TechnologyTagService techTagService = new TechnologyTagService(event.getGraphContext());
                         techTagService.addTagToFileModel(decompiledSourceFileModel, TECH_TAG, TECH_TAG_LEVEL);
 
-                        FileModel classFileModel = fileService.getUniqueByProperty(
-                                    FileModel.FILE_PATH, classFilePath.toAbsolutePath().toString());
+                        FileModel classFileModel = fileService.findByPath(classFilePath.toAbsolutePath().toString());
                         if (classFileModel != null && classFileModel instanceof JavaClassFileModel)
                         {
                             decompiledFileModel.setParentArchive(classFileModel.getParentArchive());
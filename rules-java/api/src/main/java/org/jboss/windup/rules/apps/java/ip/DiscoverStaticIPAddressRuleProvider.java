@@ -16,6 +16,8 @@ import org.ocpsoft.rewrite.context.EvaluationContext;
 
 /**
  * Finds files that contain potential static IP addresses, determined by regular expression.
+ *
+ * This only marks the file locations that its own condition creates, so it can be executed concurrently with the other providers of its phase.
  * 
  * @author <a href="mailto:bradsdavis@gmail.com">Brad Davis</a>
  */
@@ -24,7 +26,7 @@ public class DiscoverStaticIPAddressRuleProvider extends AbstractRuleProvider
     public DiscoverStaticIPAddressRuleProvider()
     {
         super(MetadataBuilder.forProvider(DiscoverStaticIPAddressRuleProvider.class)
-                    .setPhase(MigrationRulesPhase.class));
+                    .setPhase(MigrationRulesPhase.class).setParallelSafe(true));
     }
 
     @Override
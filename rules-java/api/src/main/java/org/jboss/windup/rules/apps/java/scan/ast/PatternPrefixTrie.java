@@ -0,0 +1,79 @@
+package org.jboss.windup.rules.apps.java.scan.ast;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps literal prefixes to values, and finds all of the values whose prefix is a prefix of a given piece of text in a single pass over that
+ * text. Values registered with an empty prefix are returned for every input.
+ *
+ * This is used to narrow down the set of regular expressions that need to be applied to a type name, by keying each expression on the
+ * literal text that it must start with.
+ */
+class PatternPrefixTrie<T>
+{
+    private final Node<T> root = new Node<>();
+    private int size;
+
+    /**
+     * Registers the given value under the given literal prefix.
+     */
+    public void put(String prefix, T value)
+    {
+        Node<T> node = root;
+        for (int i = 0; i < prefix.length(); i++)
+        {
+            char c = prefix.charAt(i);
+            Node<T> child = node.children.get(c);
+            if (child == null)
+            {
+                child = new Node<>();
+                node.children.put(c, child);
+            }
+            node = child;
+        }
+        node.values.add(value);
+        size++;
+    }
+
+    /**
+     * Adds every value whose prefix is a prefix of the given text to the provided {@link Collection}.
+     */
+    public void collect(CharSequence text, Collection<T> result)
+    {
+        collect(text, 0, result);
+    }
+
+    /**
+     * Adds every value whose prefix occurs in the given text at the given offset to the provided {@link Collection}.
+     */
+    public void collect(CharSequence text, int offset, Collection<T> result)
+    {
+        Node<T> node = root;
+        result.addAll(node.values);
+        for (int i = offset; i < text.length(); i++)
+        {
+            node = node.children.get(text.charAt(i));
+            if (node == null)
+                break;
+            result.addAll(node.values);
+        }
+    }
+
+    /**
+     * Returns the number of values in this trie.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    private static class Node<T>
+    {
+        private final Map<Character, Node<T>> children = new HashMap<>(4);
+        private final List<T> values = new ArrayList<>(1);
+    }
+}
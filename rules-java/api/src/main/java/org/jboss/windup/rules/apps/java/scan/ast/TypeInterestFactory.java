@@ -1,20 +1,21 @@
 package org.jboss.windup.rules.apps.java.scan.ast;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
-import java.util.TreeSet;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
-import java.util.regex.Pattern;
 
-import org.apache.commons.collections.map.LRUMap;
 import org.jboss.windup.ast.java.data.TypeReferenceLocation;
 import org.jboss.windup.util.ExecutionStatistics;
 import org.jboss.windup.util.Logging;
@@ -28,15 +29,11 @@ public final class TypeInterestFactory
 {
     private static Logger LOG = Logging.get(TypeInterestFactory.class);
 
-    // Keep track of each pattern, as well as an identifier of who gave the pattern to us (so that we can update it)
-    private static Map<String, PatternAndLocation> patternsBySource = new HashMap<>();
-
-    // The full list of patterns, organized by location (including null for the case of no location specified)
-    private static Map<TypeReferenceLocation, Map<String, Pattern>> patternsByLocation = new HashMap<>();
-
-    private static Set<String> ignorePatternSet = Collections.synchronizedSet(new HashSet<String>());
+    private static final int RESULTS_CACHE_SIZE = 8000;
+    private static final Set<String> IGNORE_PATTERN_SET;
     static
     {
+        Set<String> ignorePatternSet = new HashSet<>();
         ignorePatternSet.add("void");
         ignorePatternSet.add("String");
         ignorePatternSet.add("java.lang.String");
@@ -55,29 +52,39 @@ public final class TypeInterestFactory
         ignorePatternSet.add("float");
         ignorePatternSet.add("Float");
         ignorePatternSet.add("java.lang.Float");
+        IGNORE_PATTERN_SET = Collections.unmodifiableSet(ignorePatternSet);
     }
 
-    // cache these lookups in an LRU cache, as there are frequent duplicates (and the regex comparisons are much slower
-    // than a cache lookup)
-    private static Map<String, Boolean> resultsCache = Collections.synchronizedMap(new LRUMap(8000));
-    private static AtomicLong cacheLookupCount = new AtomicLong(0);
-    private static AtomicLong cacheHitCount = new AtomicLong(0);
+    // Keep track of each pattern, as well as an identifier of who gave the pattern to us (so that we can update it)
+    private static Map<String, PatternAndLocation> patternsBySource = new ConcurrentHashMap<>();
+
+    // Incremented whenever the registered patterns change, so that anything derived from them knows when to rebuild
+    private static AtomicLong interestVersion = new AtomicLong(0);
 
-    // cache the words from the patterns and use this to filter out obvious non-matches very quickly
-    private static Set<String> prescanMap = new TreeSet<>();
-    private static AtomicInteger totalPrescans = new AtomicInteger();
-    private static AtomicInteger totalPrescanHits = new AtomicInteger();
+    /*
+     * Immutable view of the registered patterns (prescan tokens and combined matchers). This is built once per version of the patterns and
+     * then shared by all of the AST worker threads without any locking.
+     */
+    private static volatile InterestSnapshot snapshot;
+
+    /*
+     * Each worker thread keeps its own LRU cache of results, as there are frequent duplicates (and the regex comparisons are much slower than a
+     * cache lookup). Keeping these per thread means that the threads never contend for them.
+     */
+    private static final ThreadLocal<ThreadState> threadState = new ThreadLocal<ThreadState>()
+    {
+        @Override
+        protected ThreadState initialValue()
+        {
+            return new ThreadState();
+        }
+    };
 
     static void clear()
     {
         patternsBySource.clear();
-        patternsByLocation.clear();
-        resultsCache.clear();
-        cacheLookupCount.set(0);
-        cacheHitCount.set(0);
-        prescanMap.clear();
-        totalPrescans.set(0);
-        totalPrescanHits.set(0);
+        interestVersion.incrementAndGet();
+        snapshot = null;
     }
 
     /**
@@ -93,168 +100,226 @@ public final class TypeInterestFactory
      */
     public static void registerInterest(String sourceKey, String regex, String pattern, TypeReferenceLocation... locations)
     {
-        patternsBySource.put(sourceKey, new PatternAndLocation(locations, regex, pattern));
+        PatternAndLocation patternAndLocation = new PatternAndLocation(locations, regex, pattern);
+        PatternAndLocation previous = patternsBySource.put(sourceKey, patternAndLocation);
+        if (!patternAndLocation.equals(previous))
+            interestVersion.incrementAndGet();
     }
 
-    private static String getCacheKey(TypeReferenceLocation location, String text)
+    /**
+     * Returns a value that changes whenever the set of registered patterns changes.
+     */
+    static long getInterestVersion()
     {
-        return location + "_" + text;
+        return interestVersion.get();
     }
 
-    private static Boolean checkCacheForMatches(String inputText, TypeReferenceLocation location)
+    /**
+     * Returns a snapshot of the registered regular expressions, keyed by the identifier of whoever registered them.
+     */
+    static Map<String, PatternAndLocation> getInterestsBySource()
     {
-        String key = getCacheKey(location, inputText);
-        Boolean cachedResult = (Boolean) resultsCache.get(key);
-        Long lookupCount = cacheLookupCount.incrementAndGet();
-        Long hitCount = cacheHitCount.get();
-        if (cachedResult != null)
-        {
-            hitCount = cacheHitCount.incrementAndGet();
-        }
-        if (lookupCount % 100000L == 0)
-        {
-            long hitPercentage = Math.round(((double) hitCount / (double) lookupCount) * 100);
-            LOG.fine("There have been " + lookupCount + " lookups with " + hitCount
-                        + " hits, for a hit percentage of: " + hitPercentage);
-        }
-        return cachedResult;
+        return new HashMap<>(patternsBySource);
     }
 
-    private static Map<String, Pattern> getPatternsByLocation(TypeReferenceLocation typeReferenceLocation)
+    private static InterestSnapshot getSnapshot()
     {
-        Map<String, Pattern> result = patternsByLocation.get(typeReferenceLocation);
-        if (result == null)
+        long version = interestVersion.get();
+        InterestSnapshot result = snapshot;
+        if (result == null || result.version != version)
         {
-            result = new HashMap<>();
-            for (PatternAndLocation patternKey : patternsBySource.values())
+            synchronized (TypeInterestFactory.class)
             {
-                String entryRegex = patternKey.regex;
-                TypeReferenceLocation[] entryLocations = patternKey.locations;
-                if (result.containsKey(entryRegex))
-                {
-                    continue;
-                }
-
-                boolean shouldAdd = false;
-                if (entryLocations == null || entryLocations.length == 0)
-                {
-                    shouldAdd = true;
-                }
-                else
-                {
-                    for (TypeReferenceLocation entryLocation : entryLocations)
-                    {
-                        if (typeReferenceLocation.equals(entryLocation))
-                        {
-                            shouldAdd = true;
-                            break;
-                        }
-                    }
-                }
-
-                if (shouldAdd)
+                result = snapshot;
+                if (result == null || result.version != version)
                 {
-                    /*
-                     * For now, surround with .* to ensure that regexes will match some of the messier references that
-                     * the type visitor report.
-                     */
-                    result.put(entryRegex, Pattern.compile(".*" + entryRegex + ".*"));
+                    result = new InterestSnapshot(version, getInterestsBySource().values());
+                    snapshot = result;
                 }
             }
-            patternsByLocation.put(typeReferenceLocation, result);
         }
         return result;
     }
 
     public static boolean matchesAny(String text, TypeReferenceLocation typeReferenceLocation)
     {
-        ExecutionStatistics.get().begin("TypeInterestFactory.matchesAny(text)");
-        synchronized (prescanMap)
+        ExecutionStatistics statistics = ExecutionStatistics.get();
+        statistics.begin("TypeInterestFactory.matchesAny(text)");
+        try
         {
-            if (prescanMap.isEmpty())
+            InterestSnapshot interests = getSnapshot();
+            ThreadState state = threadState.get();
+            state.ensureVersion(interests.version);
+
+            state.prescans++;
+            if (!interests.isPotentialMatch(text))
             {
-                for (PatternAndLocation patternKey : patternsBySource.values())
-                {
-                    String pattern = patternKey.pattern;
-                    StringTokenizer stk = new StringTokenizer(pattern, ".");
-                    while (stk.hasMoreTokens())
-                    {
-                        prescanMap.add(stk.nextToken());
-                    }
-                }
+                state.prescanRejections++;
+                state.logStatistics();
+                return false;
             }
-        }
 
-        StringTokenizer stk = new StringTokenizer(text, ".");
-        boolean foundPotentialMatch = false;
-        totalPrescans.incrementAndGet();
-        while (stk.hasMoreTokens())
-        {
-            if (prescanMap.contains(stk.nextToken()))
+            if (IGNORE_PATTERN_SET.contains(text))
             {
-                foundPotentialMatch = true;
-                break;
+                return false;
             }
-        }
 
-        if (totalPrescans.get() % 25000 == 0)
-        {
-            int perc = (int) (((double) totalPrescanHits.get() / (double) totalPrescans.get()) * 100);
-            LOG.fine("Prescan hit ratio " + totalPrescanHits.get() + " / " + totalPrescans.get() + "; " + perc + "%");
-        }
+            Map<String, Boolean> resultsCache = state.getResultsCache(typeReferenceLocation);
+            Boolean cachedResult = resultsCache.get(text);
+            state.cacheLookups++;
+            if (cachedResult != null)
+            {
+                state.cacheHits++;
+                state.logStatistics();
+                return cachedResult;
+            }
 
-        if (!foundPotentialMatch)
+            statistics.begin("TypeInterestFactory.matchesAny(text).manualSearch");
+            try
+            {
+                boolean result = interests.getMatcher(typeReferenceLocation).matches(text);
+                resultsCache.put(text, result);
+                return result;
+            }
+            finally
+            {
+                statistics.end("TypeInterestFactory.matchesAny(text).manualSearch");
+            }
+        }
+        finally
         {
-            totalPrescanHits.incrementAndGet();
-            return false;
+            statistics.end("TypeInterestFactory.matchesAny(text)");
         }
+    }
 
-        try
+    /**
+     * Immutable view of the registered patterns.
+     */
+    private static class InterestSnapshot
+    {
+        private final long version;
+
+        // the words from the patterns, used to filter out obvious non-matches very quickly
+        private final Set<String> prescanTokens;
+
+        // all of the patterns combined into a single matcher per location
+        private final Map<TypeReferenceLocation, TypeInterestMatcher> matchersByLocation;
+
+        private InterestSnapshot(long version, Collection<PatternAndLocation> interests)
         {
-            if (ignorePatternSet.contains(text))
+            this.version = version;
+
+            Set<String> tokens = new HashSet<>();
+            for (PatternAndLocation patternKey : interests)
             {
-                return false;
+                StringTokenizer stk = new StringTokenizer(patternKey.pattern, ".");
+                while (stk.hasMoreTokens())
+                {
+                    tokens.add(stk.nextToken());
+                }
             }
-            ExecutionStatistics.get().begin("TypeInterestFactory.matchesAny(text).cacheCheck");
-            try
+            this.prescanTokens = Collections.unmodifiableSet(tokens);
+
+            Map<TypeReferenceLocation, TypeInterestMatcher> matchers = new EnumMap<>(TypeReferenceLocation.class);
+            for (TypeReferenceLocation location : TypeReferenceLocation.values())
             {
-                Boolean cachedResult = checkCacheForMatches(text, typeReferenceLocation);
-                if (cachedResult != null)
+                List<String> regexes = new ArrayList<>();
+                for (PatternAndLocation patternKey : interests)
                 {
-                    return cachedResult;
+                    if (patternKey.appliesTo(location))
+                        regexes.add(patternKey.regex);
                 }
+
+                /*
+                 * The matcher looks for each regex anywhere within the text, to ensure that regexes will match some of the messier
+                 * references that the type visitor reports.
+                 */
+                matchers.put(location, new TypeInterestMatcher(regexes));
             }
-            finally
+            this.matchersByLocation = Collections.unmodifiableMap(matchers);
+        }
+
+        private boolean isPotentialMatch(String text)
+        {
+            StringTokenizer stk = new StringTokenizer(text, ".");
+            while (stk.hasMoreTokens())
             {
-                ExecutionStatistics.get().end("TypeInterestFactory.matchesAny(text).cacheCheck");
+                if (prescanTokens.contains(stk.nextToken()))
+                    return true;
             }
+            return false;
+        }
 
-            ExecutionStatistics.get().begin("TypeInterestFactory.matchesAny(text).manualSearch");
-            try
+        private TypeInterestMatcher getMatcher(TypeReferenceLocation location)
+        {
+            return matchersByLocation.get(location);
+        }
+    }
+
+    /**
+     * Caches and statistics that are only ever accessed by a single thread.
+     */
+    private static class ThreadState
+    {
+        private long version = -1;
+        private final Map<TypeReferenceLocation, Map<String, Boolean>> resultsCaches = new EnumMap<>(TypeReferenceLocation.class);
+
+        private long prescans;
+        private long prescanRejections;
+        private long cacheLookups;
+        private long cacheHits;
+
+        private void ensureVersion(long currentVersion)
+        {
+            if (this.version != currentVersion)
             {
-                for (Pattern pattern : getPatternsByLocation(typeReferenceLocation).values())
+                this.version = currentVersion;
+                this.resultsCaches.clear();
+                this.prescans = 0;
+                this.prescanRejections = 0;
+                this.cacheLookups = 0;
+                this.cacheHits = 0;
+            }
+        }
+
+        private Map<String, Boolean> getResultsCache(TypeReferenceLocation location)
+        {
+            Map<String, Boolean> result = resultsCaches.get(location);
+            if (result == null)
+            {
+                result = new LinkedHashMap<String, Boolean>(16, 0.75f, true)
                 {
-                    if (pattern.matcher(text).matches())
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest)
                     {
-                        resultsCache.put(text, true);
-                        return true;
+                        return size() > RESULTS_CACHE_SIZE;
                     }
-                }
-                resultsCache.put(getCacheKey(typeReferenceLocation, text), false);
-                return false;
-            }
-            finally
-            {
-                ExecutionStatistics.get().end("TypeInterestFactory.matchesAny(text).manualSearch");
+                };
+                resultsCaches.put(location, result);
             }
+            return result;
         }
-        finally
+
+        private void logStatistics()
         {
-            ExecutionStatistics.get().end("TypeInterestFactory.matchesAny(text)");
+            if (prescans % 25000 == 0)
+            {
+                int perc = (int) (((double) prescanRejections / (double) prescans) * 100);
+                LOG.fine("Prescan rejection ratio " + prescanRejections + " / " + prescans + "; " + perc + "%");
+            }
+
+            if (cacheLookups > 0 && cacheLookups % 100000L == 0)
+            {
+                long hitPercentage = Math.round(((double) cacheHits / (double) cacheLookups) * 100);
+                LOG.fine("There have been " + cacheLookups + " lookups with " + cacheHits
+                            + " hits, for a hit percentage of: " + hitPercentage);
+            }
         }
     }
 
-    private static class PatternAndLocation
+    static class PatternAndLocation
     {
         private TypeReferenceLocation[] locations;
         private String regex;
@@ -267,6 +332,29 @@ public final class TypeInterestFactory
             this.pattern = pattern;
         }
 
+        TypeReferenceLocation[] getLocations()
+        {
+            return locations;
+        }
+
+        String getRegex()
+        {
+            return regex;
+        }
+
+        boolean appliesTo(TypeReferenceLocation location)
+        {
+            if (locations == null || locations.length == 0)
+                return true;
+
+            for (TypeReferenceLocation entryLocation : locations)
+            {
+                if (location.equals(entryLocation))
+                    return true;
+            }
+            return false;
+        }
+
         @Override
         public int hashCode()
         {
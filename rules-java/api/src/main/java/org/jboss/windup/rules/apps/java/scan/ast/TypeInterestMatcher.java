@@ -0,0 +1,128 @@
+package org.jboss.windup.rules.apps.java.scan.ast;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tests a piece of text against a set of regular expressions at once, returning true if any of them can be found within the text.
+ *
+ * Expressions that start with literal text are stored in a {@link PatternPrefixTrie}, so that they are only applied at offsets where that
+ * literal text actually occurs. The remaining expressions are merged into a single alternation, which is applied in one pass over the text.
+ *
+ * Instances are immutable, and safe to use from multiple threads.
+ */
+public class TypeInterestMatcher
+{
+    private static final Pattern BACK_REFERENCE = Pattern.compile("\\\\(\\d|k<)");
+
+    private final PatternPrefixTrie<Pattern> prefixTrie = new PatternPrefixTrie<>();
+    private final List<Pattern> unmergeablePatterns = new ArrayList<>();
+    private final Pattern mergedPattern;
+    private final int patternCount;
+
+    /**
+     * Creates a {@link TypeInterestMatcher} for the given regular expressions.
+     */
+    public TypeInterestMatcher(Collection<String> regexes)
+    {
+        Set<String> distinctRegexes = new LinkedHashSet<>(regexes);
+
+        StringBuilder mergedRegex = new StringBuilder();
+        for (String distinctRegex : distinctRegexes)
+        {
+            String regex = stripUnanchoredWildcards(distinctRegex);
+            String prefix = TypeReferenceIndex.getLiteralPrefix(regex);
+            if (!prefix.isEmpty())
+            {
+                prefixTrie.put(prefix, Pattern.compile(regex));
+            }
+            else if (BACK_REFERENCE.matcher(regex).find())
+            {
+                // group numbers change when expressions are merged, so these have to be applied separately
+                unmergeablePatterns.add(Pattern.compile(regex));
+            }
+            else
+            {
+                if (mergedRegex.length() > 0)
+                    mergedRegex.append('|');
+                mergedRegex.append("(?:").append(regex).append(')');
+            }
+        }
+
+        this.mergedPattern = mergedRegex.length() == 0 ? null : Pattern.compile(mergedRegex.toString());
+        this.patternCount = distinctRegexes.size();
+    }
+
+    /**
+     * Returns true if any of the expressions can be found within the given text. This is equivalent to checking whether
+     * <code>".*" + regex + ".*"</code> matches the text, for any of the expressions.
+     */
+    public boolean matches(String text)
+    {
+        if (prefixTrie.size() > 0)
+        {
+            List<Pattern> candidates = new ArrayList<>();
+            for (int offset = 0; offset < text.length(); offset++)
+            {
+                candidates.clear();
+                prefixTrie.collect(text, offset, candidates);
+                for (Pattern candidate : candidates)
+                {
+                    Matcher matcher = candidate.matcher(text);
+                    matcher.useAnchoringBounds(false);
+                    matcher.useTransparentBounds(true);
+                    matcher.region(offset, text.length());
+                    if (matcher.lookingAt())
+                        return true;
+                }
+            }
+        }
+
+        if (mergedPattern != null && mergedPattern.matcher(text).find())
+            return true;
+
+        for (Pattern pattern : unmergeablePatterns)
+        {
+            if (pattern.matcher(text).find())
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * We are only looking for the expression somewhere within the text, so leading and trailing ".*" are redundant. Removing them allows more
+     * expressions to be keyed on a literal prefix, and avoids a lot of backtracking in the merged expression.
+     */
+    static String stripUnanchoredWildcards(String regex)
+    {
+        String result = regex;
+        while (result.startsWith(".*") && !result.startsWith(".*?") && !result.startsWith(".*+"))
+            result = result.substring(2);
+
+        while (result.endsWith(".*") && !isEscaped(result, result.length() - 2) && result.lastIndexOf("\\Q") <= result.lastIndexOf("\\E"))
+            result = result.substring(0, result.length() - 2);
+
+        return result;
+    }
+
+    private static boolean isEscaped(String regex, int index)
+    {
+        int backslashes = 0;
+        for (int i = index - 1; i >= 0 && regex.charAt(i) == '\\'; i--)
+            backslashes++;
+        return backslashes % 2 == 1;
+    }
+
+    /**
+     * Returns the number of distinct expressions in this matcher.
+     */
+    public int getPatternCount()
+    {
+        return patternCount;
+    }
+}
@@ -0,0 +1,144 @@
+package org.jboss.windup.rules.apps.java.scan.ast;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+import org.jboss.windup.ast.java.data.TypeReferenceLocation;
+import org.jboss.windup.rules.apps.java.scan.ast.TypeInterestFactory.PatternAndLocation;
+import org.jboss.windup.util.ExecutionStatistics;
+import org.jboss.windup.util.Logging;
+
+/**
+ * Matches every pattern registered with the {@link TypeInterestFactory} against the contents of a {@link TypeReferenceIndex} in a single
+ * pass, so that each {@link org.jboss.windup.rules.apps.java.condition.JavaClass} condition only has to pick up its own results instead of
+ * scanning all of the references again.
+ *
+ * The results are only valid for the index contents and registered patterns they were computed from. See {@link #isCurrent(long, long)}.
+ */
+class TypeReferenceBatchMatcher
+{
+    private static final Logger LOG = Logging.get(TypeReferenceBatchMatcher.class);
+
+    private final long indexSize;
+    private final long interestVersion;
+    private final Map<String, String> regexBySource = new HashMap<>();
+    private final Map<String, List<Object>> idsBySource = new HashMap<>();
+
+    private TypeReferenceBatchMatcher(long indexSize, long interestVersion)
+    {
+        this.indexSize = indexSize;
+        this.interestVersion = interestVersion;
+    }
+
+    /**
+     * Evaluates all of the currently registered {@link TypeInterestFactory} patterns against the given references.
+     */
+    static TypeReferenceBatchMatcher match(Map<TypeReferenceLocation, NavigableMap<String, List<Object>>> referencesByLocation, long indexSize)
+    {
+        ExecutionStatistics.get().begin("TypeReferenceBatchMatcher.match");
+        try
+        {
+            long interestVersion = TypeInterestFactory.getInterestVersion();
+            TypeReferenceBatchMatcher result = new TypeReferenceBatchMatcher(indexSize, interestVersion);
+
+            /*
+             * Rules frequently share the same expression, so only evaluate each distinct expression (and location filter) once and share
+             * the results between them.
+             */
+            Map<String, CompiledInterest> interestsByKey = new HashMap<>();
+            PatternPrefixTrie<CompiledInterest> trie = new PatternPrefixTrie<>();
+            for (Map.Entry<String, PatternAndLocation> entry : TypeInterestFactory.getInterestsBySource().entrySet())
+            {
+                PatternAndLocation patternAndLocation = entry.getValue();
+                String regex = patternAndLocation.getRegex();
+                TypeReferenceLocation[] locations = patternAndLocation.getLocations();
+
+                String key = regex + "_" + Arrays.toString(locations);
+                CompiledInterest interest = interestsByKey.get(key);
+                if (interest == null)
+                {
+                    interest = new CompiledInterest(Pattern.compile(regex), locations);
+                    interestsByKey.put(key, interest);
+                    trie.put(TypeReferenceIndex.getLiteralPrefix(regex), interest);
+                }
+
+                result.regexBySource.put(entry.getKey(), regex);
+                result.idsBySource.put(entry.getKey(), interest.ids);
+            }
+
+            List<CompiledInterest> candidates = new ArrayList<>();
+            for (Map.Entry<TypeReferenceLocation, NavigableMap<String, List<Object>>> locationEntry : referencesByLocation.entrySet())
+            {
+                TypeReferenceLocation location = locationEntry.getKey();
+                for (Map.Entry<String, List<Object>> referenceEntry : locationEntry.getValue().entrySet())
+                {
+                    String qualifiedName = referenceEntry.getKey();
+
+                    candidates.clear();
+                    trie.collect(qualifiedName, candidates);
+                    for (CompiledInterest candidate : candidates)
+                    {
+                        if (candidate.appliesTo(location) && candidate.pattern.matcher(qualifiedName).matches())
+                            candidate.ids.addAll(referenceEntry.getValue());
+                    }
+                }
+            }
+
+            LOG.fine("Matched " + indexSize + " references against " + interestsByKey.size() + " distinct patterns from "
+                        + result.idsBySource.size() + " conditions");
+            return result;
+        }
+        finally
+        {
+            ExecutionStatistics.get().end("TypeReferenceBatchMatcher.match");
+        }
+    }
+
+    /**
+     * Indicates whether these results were computed from the given index size and {@link TypeInterestFactory} state.
+     */
+    boolean isCurrent(long indexSize, long interestVersion)
+    {
+        return this.indexSize == indexSize && this.interestVersion == interestVersion;
+    }
+
+    /**
+     * Returns the matching vertex ids for the given source key, or null if the source did not register the given regular expression.
+     */
+    List<Object> getVertexIds(String sourceKey, String regex)
+    {
+        if (!regex.equals(regexBySource.get(sourceKey)))
+            return null;
+
+        return idsBySource.get(sourceKey);
+    }
+
+    private static class CompiledInterest
+    {
+        private final Pattern pattern;
+        private final Set<TypeReferenceLocation> locations;
+        private final List<Object> ids = new ArrayList<>();
+
+        private CompiledInterest(Pattern pattern, TypeReferenceLocation[] locations)
+        {
+            this.pattern = pattern;
+            if (locations == null || locations.length == 0)
+                this.locations = null;
+            else
+                this.locations = EnumSet.copyOf(Arrays.asList(locations));
+        }
+
+        private boolean appliesTo(TypeReferenceLocation location)
+        {
+            return locations == null || locations.contains(location);
+        }
+    }
+}
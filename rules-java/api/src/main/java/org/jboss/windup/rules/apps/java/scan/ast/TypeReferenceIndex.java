@@ -0,0 +1,302 @@
+package org.jboss.windup.rules.apps.java.scan.ast;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.regex.Pattern;
+
+import org.jboss.windup.ast.java.data.TypeReferenceLocation;
+import org.jboss.windup.graph.GraphContext;
+import org.jboss.windup.util.ExecutionStatistics;
+
+import com.tinkerpop.blueprints.Vertex;
+
+/**
+ * In-memory inverted index of the {@link JavaTypeReferenceModel} vertices created during Java analysis. Maps the resolved qualified name of
+ * each reference to the ids of the vertices containing it, bucketed by {@link TypeReferenceLocation}.
+ *
+ * This allows {@link org.jboss.windup.rules.apps.java.condition.JavaClass} to find its candidates by a sorted prefix lookup instead of
+ * applying a regular expression to every vertex in the graph.
+ *
+ * An index is only authoritative for the run that populated it. If it {@link #isEmpty()}, callers must fall back to querying the graph.
+ */
+public class TypeReferenceIndex
+{
+    private static final Map<GraphContext, TypeReferenceIndex> indexes = Collections
+                .synchronizedMap(new WeakHashMap<GraphContext, TypeReferenceIndex>());
+
+    private final Map<TypeReferenceLocation, NavigableMap<String, List<Object>>> referencesByLocation = new EnumMap<>(
+                TypeReferenceLocation.class);
+    private long size;
+
+    private TypeReferenceBatchMatcher batchMatcher;
+
+    private TypeReferenceIndex()
+    {
+    }
+
+    /**
+     * Gets the {@link TypeReferenceIndex} for the given {@link GraphContext}, creating it if necessary.
+     */
+    public static TypeReferenceIndex get(GraphContext context)
+    {
+        synchronized (indexes)
+        {
+            TypeReferenceIndex result = indexes.get(context);
+            if (result == null)
+            {
+                result = new TypeReferenceIndex();
+                indexes.put(context, result);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Discards the {@link TypeReferenceIndex} for the given {@link GraphContext}.
+     */
+    static void clear(GraphContext context)
+    {
+        indexes.remove(context);
+    }
+
+    /**
+     * Adds the given {@link JavaTypeReferenceModel} to the index.
+     */
+    public synchronized void add(JavaTypeReferenceModel reference, TypeReferenceLocation location, String qualifiedName)
+    {
+        if (location == null || qualifiedName == null)
+            return;
+
+        NavigableMap<String, List<Object>> references = referencesByLocation.get(location);
+        if (references == null)
+        {
+            references = new TreeMap<>();
+            referencesByLocation.put(location, references);
+        }
+
+        List<Object> ids = references.get(qualifiedName);
+        if (ids == null)
+        {
+            ids = new ArrayList<>(1);
+            references.put(qualifiedName, ids);
+        }
+        ids.add(reference.asVertex().getId());
+        size++;
+    }
+
+    /**
+     * Indicates whether any references have been indexed.
+     */
+    public synchronized boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of indexed references.
+     */
+    public synchronized long size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns the ids of all indexed vertices whose qualified name completely matches the given {@link Pattern}. If no locations are specified,
+     * all locations are searched.
+     */
+    public synchronized List<Object> findVertexIds(Pattern pattern, Collection<TypeReferenceLocation> locations)
+    {
+        ExecutionStatistics.get().begin("TypeReferenceIndex.findVertexIds");
+        try
+        {
+            String prefix = "";
+            if ((pattern.flags() & (Pattern.CASE_INSENSITIVE | Pattern.LITERAL | Pattern.COMMENTS)) == 0)
+                prefix = getLiteralPrefix(pattern.pattern());
+
+            Collection<TypeReferenceLocation> locationsToSearch = locations;
+            if (locationsToSearch == null || locationsToSearch.isEmpty())
+                locationsToSearch = referencesByLocation.keySet();
+
+            List<Object> result = new ArrayList<>();
+            for (TypeReferenceLocation location : locationsToSearch)
+            {
+                NavigableMap<String, List<Object>> references = referencesByLocation.get(location);
+                if (references == null)
+                    continue;
+
+                NavigableMap<String, List<Object>> candidates = references;
+                if (!prefix.isEmpty())
+                    candidates = references.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+
+                for (Map.Entry<String, List<Object>> entry : candidates.entrySet())
+                {
+                    if (pattern.matcher(entry.getKey()).matches())
+                        result.addAll(entry.getValue());
+                }
+            }
+            return result;
+        }
+        finally
+        {
+            ExecutionStatistics.get().end("TypeReferenceIndex.findVertexIds");
+        }
+    }
+
+    /**
+     * Returns the ids of all indexed vertices matching the pattern that the given source registered with the {@link TypeInterestFactory}.
+     *
+     * The first call evaluates every registered pattern in a single pass over the index, and later calls reuse those results until either the
+     * index or the registered patterns change. If the source has not registered the given {@link Pattern}, this is equivalent to
+     * {@link #findVertexIds(Pattern, Collection)}.
+     */
+    public synchronized List<Object> findVertexIds(String sourceKey, Pattern pattern, Collection<TypeReferenceLocation> locations)
+    {
+        long interestVersion = TypeInterestFactory.getInterestVersion();
+        if (batchMatcher == null || !batchMatcher.isCurrent(size, interestVersion))
+            batchMatcher = TypeReferenceBatchMatcher.match(referencesByLocation, size);
+
+        List<Object> result = batchMatcher.getVertexIds(sourceKey, pattern.pattern());
+        if (result == null)
+            result = findVertexIds(pattern, locations);
+        return result;
+    }
+
+    /**
+     * Returns all {@link JavaTypeReferenceModel}s whose qualified name completely matches the given {@link Pattern}. If no locations are
+     * specified, all locations are searched.
+     */
+    public List<JavaTypeReferenceModel> findReferences(GraphContext context, Pattern pattern, Collection<TypeReferenceLocation> locations)
+    {
+        return frame(context, findVertexIds(pattern, locations));
+    }
+
+    /**
+     * Returns all {@link JavaTypeReferenceModel}s matching the pattern that the given source registered with the {@link TypeInterestFactory}.
+     * See {@link #findVertexIds(String, Pattern, Collection)}.
+     */
+    public List<JavaTypeReferenceModel> findReferences(GraphContext context, String sourceKey, Pattern pattern,
+                Collection<TypeReferenceLocation> locations)
+    {
+        return frame(context, findVertexIds(sourceKey, pattern, locations));
+    }
+
+    private List<JavaTypeReferenceModel> frame(GraphContext context, List<Object> ids)
+    {
+        List<JavaTypeReferenceModel> result = new ArrayList<>(ids.size());
+        for (Object id : ids)
+        {
+            Vertex vertex = context.getGraph().getVertex(id);
+            if (vertex != null)
+                result.add(context.getFramed().frame(vertex, JavaTypeReferenceModel.class));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the literal text that any string completely matched by the given regular expression must start with. This is conservative, and
+     * returns an empty string if a prefix cannot be determined.
+     */
+    static String getLiteralPrefix(String regex)
+    {
+        StringBuilder prefix = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (i < regex.length())
+        {
+            char c = regex.charAt(i);
+            if (quoted)
+            {
+                if (regex.startsWith("\\E", i))
+                {
+                    quoted = false;
+                    i += 2;
+                }
+                else
+                {
+                    prefix.append(c);
+                    i++;
+                }
+                continue;
+            }
+
+            if (c == '\\')
+            {
+                if (i + 1 >= regex.length())
+                    break;
+
+                char escaped = regex.charAt(i + 1);
+                if (escaped == 'Q')
+                {
+                    quoted = true;
+                    i += 2;
+                    continue;
+                }
+                else if (Character.isLetterOrDigit(escaped))
+                {
+                    // character classes (\w, \d), back references, etc
+                    break;
+                }
+                prefix.append(escaped);
+                i += 2;
+            }
+            else if (".[](){}*+?^$|".indexOf(c) != -1)
+            {
+                break;
+            }
+            else
+            {
+                prefix.append(c);
+                i++;
+            }
+        }
+
+        if (prefix.length() > 0 && !quoted && i < regex.length())
+        {
+            // the last literal character is optional or repeated
+            char next = regex.charAt(i);
+            if (next == '?' || next == '*' || next == '{')
+                prefix.setLength(prefix.length() - 1);
+        }
+
+        // a top level alternation anywhere in the expression makes the prefix meaningless
+        if (containsUnquotedAlternation(regex))
+            return "";
+
+        return prefix.toString();
+    }
+
+    private static boolean containsUnquotedAlternation(String regex)
+    {
+        boolean quoted = false;
+        for (int i = 0; i < regex.length(); i++)
+        {
+            char c = regex.charAt(i);
+            if (quoted)
+            {
+                if (regex.startsWith("\\E", i))
+                {
+                    quoted = false;
+                    i++;
+                }
+            }
+            else if (c == '\\')
+            {
+                if (regex.startsWith("\\Q", i))
+                    quoted = true;
+                i++;
+            }
+            else if (c == '|')
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+}
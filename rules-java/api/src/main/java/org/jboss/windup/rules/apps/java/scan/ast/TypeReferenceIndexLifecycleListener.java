@@ -0,0 +1,23 @@
+package org.jboss.windup.rules.apps.java.scan.ast;
+
+import org.jboss.windup.config.AbstractRuleLifecycleListener;
+import org.jboss.windup.config.GraphRewrite;
+import org.jboss.windup.config.RuleLifecycleListener;
+
+/**
+ * Makes sure that a {@link TypeReferenceIndex} left over from a previous execution of Windup is never used against the current graph.
+ */
+public class TypeReferenceIndexLifecycleListener extends AbstractRuleLifecycleListener implements RuleLifecycleListener
+{
+    @Override
+    public void beforeExecution(GraphRewrite event)
+    {
+        TypeReferenceIndex.clear(event.getGraphContext());
+    }
+
+    @Override
+    public void afterExecution(GraphRewrite event)
+    {
+        TypeReferenceIndex.clear(event.getGraphContext());
+    }
+}
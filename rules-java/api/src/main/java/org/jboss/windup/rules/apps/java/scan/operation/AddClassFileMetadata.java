@@ -8,7 +8,8 @@ import org.apache.bcel.classfile.ClassParser;
 import org.apache.bcel.classfile.JavaClass;
 import org.apache.commons.lang.StringUtils;
 import org.jboss.windup.config.GraphRewrite;
-import org.jboss.windup.config.operation.iteration.AbstractIterationOperation;
+import org.jboss.windup.config.operation.Iteration;
+import org.jboss.windup.config.operation.iteration.ParallelIterationOperation;
 import org.jboss.windup.reporting.service.ClassificationService;
 import org.jboss.windup.rules.apps.java.model.JavaClassFileModel;
 import org.jboss.windup.rules.apps.java.model.JavaClassModel;
@@ -19,9 +20,11 @@ import org.ocpsoft.rewrite.config.OperationBuilder;
 import org.ocpsoft.rewrite.context.EvaluationContext;
 
 /**
- * Adds metadata from the .class file itself to the graph.
+ * Adds metadata from the .class file itself to the graph. The class files are parsed in {@link #prepare(GraphRewrite, EvaluationContext,
+ * JavaClassFileModel)}, so that a parallel {@link Iteration} can parse several of them at the same time. Class files in packages that are not
+ * scanned are skipped before they are parsed.
  */
-public class AddClassFileMetadata extends AbstractIterationOperation<JavaClassFileModel>
+public class AddClassFileMetadata extends ParallelIterationOperation<JavaClassFileModel, AddClassFileMetadata.ParsedClassFile>
 {
     private static Logger LOG = Logger.getLogger(AddClassFileMetadata.class.getSimpleName());
 
@@ -36,62 +39,77 @@ public class AddClassFileMetadata extends AbstractIterationOperation<JavaClassFi
     }
 
     @Override
-    public void perform(GraphRewrite event, EvaluationContext context, JavaClassFileModel payload)
+    public ParsedClassFile prepare(GraphRewrite event, EvaluationContext context, JavaClassFileModel payload)
     {
+        String absolutePath = payload.asFile().getAbsolutePath();
+        if (!new WindupJavaConfigurationService(event.getGraphContext()).shouldScanFile(absolutePath))
+            return ParsedClassFile.SKIPPED;
+
+        try (FileInputStream fis = new FileInputStream(payload.getFilePath()))
+        {
+            final ClassParser parser = new ClassParser(fis, payload.getFilePath());
+            return new ParsedClassFile(parser.parse(), null);
+        }
+        catch (Exception e)
+        {
+            return new ParsedClassFile(null, e);
+        }
+    }
+
+    @Override
+    public void perform(GraphRewrite event, EvaluationContext context, JavaClassFileModel payload, ParsedClassFile parsed)
+    {
+        if (parsed == ParsedClassFile.SKIPPED)
+            return;
+
         ExecutionStatistics.get().begin("AddClassFileMetadata.perform()");
         try
         {
-            String absolutePath = payload.asFile().getAbsolutePath();
-
-            if (!new WindupJavaConfigurationService(event.getGraphContext()).shouldScanFile(absolutePath))
-                return;
+            if (parsed.failure != null)
+                throw parsed.failure;
 
-            try (FileInputStream fis = new FileInputStream(payload.getFilePath()))
-            {
-                final ClassParser parser = new ClassParser(fis, payload.getFilePath());
-                final JavaClass bcelJavaClass = parser.parse();
-                final String packageName = bcelJavaClass.getPackageName();
+            final JavaClass bcelJavaClass = parsed.javaClass;
+            final String packageName = bcelJavaClass.getPackageName();
 
-                final String qualifiedName = bcelJavaClass.getClassName();
+            final String qualifiedName = bcelJavaClass.getClassName();
 
-                final JavaClassService javaClassService = new JavaClassService(event.getGraphContext());
-                final JavaClassModel javaClassModel = javaClassService.create(qualifiedName);
-                int majorVersion = bcelJavaClass.getMajor();
-                int minorVersion = bcelJavaClass.getMinor();
+            final JavaClassService javaClassService = new JavaClassService(event.getGraphContext());
+            final JavaClassModel javaClassModel = javaClassService.create(qualifiedName);
+            int majorVersion = bcelJavaClass.getMajor();
+            int minorVersion = bcelJavaClass.getMinor();
 
-                String simpleName = qualifiedName;
-                if (packageName != null && !packageName.equals("") && simpleName != null)
-                {
-                    simpleName = StringUtils.substringAfterLast(simpleName, ".");
-                }
+            String simpleName = qualifiedName;
+            if (packageName != null && !packageName.equals("") && simpleName != null)
+            {
+                simpleName = StringUtils.substringAfterLast(simpleName, ".");
+            }
 
-                payload.setMajorVersion(majorVersion);
-                payload.setMinorVersion(minorVersion);
-                payload.setPackageName(packageName);
+            payload.setMajorVersion(majorVersion);
+            payload.setMinorVersion(minorVersion);
+            payload.setPackageName(packageName);
 
-                javaClassModel.setSimpleName(simpleName);
-                javaClassModel.setPackageName(packageName);
-                javaClassModel.setQualifiedName(qualifiedName);
-                javaClassModel.setClassFile(payload);
-                javaClassModel.setPublic(bcelJavaClass.isPublic());
-                javaClassModel.setInterface(bcelJavaClass.isInterface());
+            javaClassModel.setSimpleName(simpleName);
+            javaClassModel.setPackageName(packageName);
+            javaClassModel.setQualifiedName(qualifiedName);
+            javaClassModel.setClassFile(payload);
+            javaClassModel.setPublic(bcelJavaClass.isPublic());
+            javaClassModel.setInterface(bcelJavaClass.isInterface());
 
-                final String[] interfaceNames = bcelJavaClass.getInterfaceNames();
-                if (interfaceNames != null)
+            final String[] interfaceNames = bcelJavaClass.getInterfaceNames();
+            if (interfaceNames != null)
+            {
+                for (final String interfaceName : interfaceNames)
                 {
-                    for (final String interfaceName : interfaceNames)
-                    {
-                        JavaClassModel interfaceModel = javaClassService.getOrCreatePhantom(interfaceName);
-                        javaClassService.addInterface(javaClassModel, interfaceModel);
-                    }
+                    JavaClassModel interfaceModel = javaClassService.getOrCreatePhantom(interfaceName);
+                    javaClassService.addInterface(javaClassModel, interfaceModel);
                 }
+            }
 
-                String superclassName = bcelJavaClass.getSuperclassName();
-                if (!bcelJavaClass.isInterface() && !StringUtils.isBlank(superclassName))
-                    javaClassModel.setExtends(javaClassService.getOrCreatePhantom(superclassName));
+            String superclassName = bcelJavaClass.getSuperclassName();
+            if (!bcelJavaClass.isInterface() && !StringUtils.isBlank(superclassName))
+                javaClassModel.setExtends(javaClassService.getOrCreatePhantom(superclassName));
 
-                payload.setJavaClass(javaClassModel);
-            }
+            payload.setJavaClass(javaClassModel);
         }
         catch (Exception e)
         {
@@ -113,4 +131,20 @@ public class AddClassFileMetadata extends AbstractIterationOperation<JavaClassFi
         return new AddClassFileMetadata(var);
     }
 
+    /**
+     * The result of parsing a class file, or the reason why it could not be parsed.
+     */
+    public static class ParsedClassFile
+    {
+        private static final ParsedClassFile SKIPPED = new ParsedClassFile(null, null);
+
+        private final JavaClass javaClass;
+        private final Exception failure;
+
+        private ParsedClassFile(JavaClass javaClass, Exception failure)
+        {
+            this.javaClass = javaClass;
+            this.failure = failure;
+        }
+    }
 }
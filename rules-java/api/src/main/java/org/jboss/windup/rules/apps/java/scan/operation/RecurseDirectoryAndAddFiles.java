@@ -4,6 +4,8 @@ import java.io.File;
 
 import org.jboss.windup.config.GraphRewrite;
 import org.jboss.windup.config.operation.iteration.AbstractIterationOperation;
+import org.jboss.windup.config.phase.BulkIngestLifecycleListener;
+import org.jboss.windup.graph.BulkIngest;
 import org.jboss.windup.graph.model.resource.FileModel;
 import org.jboss.windup.graph.service.FileService;
 import org.ocpsoft.rewrite.context.EvaluationContext;
@@ -38,13 +40,16 @@ public class RecurseDirectoryAndAddFiles extends AbstractIterationOperation<File
     public void perform(GraphRewrite event, EvaluationContext context, FileModel resourceModel)
     {
         FileService fileModelService = new FileService(event.getGraphContext());
-        recurseAndAddFiles(fileModelService, resourceModel);
+        try (BulkIngest bulkIngest = event.getGraphContext().startBulkIngest(BulkIngestLifecycleListener.COMMIT_SIZE))
+        {
+            recurseAndAddFiles(bulkIngest, fileModelService, resourceModel);
+        }
     }
 
     /**
      * Recurses the given folder and adds references to these files to the graph as FileModels
      */
-    private void recurseAndAddFiles(FileService fileService, FileModel file)
+    private void recurseAndAddFiles(BulkIngest bulkIngest, FileService fileService, FileModel file)
     {
         String filePath = file.getFilePath();
         File fileReference = new File(filePath);
@@ -56,8 +61,9 @@ public class RecurseDirectoryAndAddFiles extends AbstractIterationOperation<File
             {
                 for (File reference : subFiles)
                 {
+                    bulkIngest.commitIfNeeded();
                     FileModel subFile = fileService.createByFilePath(file, reference.getAbsolutePath());
-                    recurseAndAddFiles(fileService, subFile);
+                    recurseAndAddFiles(bulkIngest, fileService, subFile);
                 }
             }
         }
@@ -12,6 +12,8 @@ import java.util.logging.Logger;
 import org.apache.commons.io.filefilter.TrueFileFilter;
 import org.jboss.windup.config.GraphRewrite;
 import org.jboss.windup.config.operation.iteration.AbstractIterationOperation;
+import org.jboss.windup.config.phase.BulkIngestLifecycleListener;
+import org.jboss.windup.graph.BulkIngest;
 import org.jboss.windup.graph.GraphContext;
 import org.jboss.windup.graph.model.ArchiveModel;
 import org.jboss.windup.graph.model.WindupConfigurationModel;
@@ -82,7 +84,10 @@ public class UnzipArchiveToOutputFolder extends AbstractIterationOperation<Archi
                             + " due to: " + e.getMessage(), e);
             }
         }
-        unzipToTempDirectory(event, context, windupTempUnzippedArchiveFolder, zipFile, payload);
+        try (BulkIngest bulkIngest = event.getGraphContext().startBulkIngest(BulkIngestLifecycleListener.COMMIT_SIZE))
+        {
+            unzipToTempDirectory(event, context, bulkIngest, windupTempUnzippedArchiveFolder, zipFile, payload);
+        }
     }
 
     private Path getAppArchiveFolder(Path tempFolder, String appArchiveName)
@@ -99,7 +104,7 @@ public class UnzipArchiveToOutputFolder extends AbstractIterationOperation<Archi
         return appArchiveFolder;
     }
 
-    private void unzipToTempDirectory(final GraphRewrite event, EvaluationContext context,
+    private void unzipToTempDirectory(final GraphRewrite event, EvaluationContext context, BulkIngest bulkIngest,
                 final Path tempFolder, final File inputZipFile,
                 final ArchiveModel archiveModel)
     {
@@ -144,7 +149,7 @@ public class UnzipArchiveToOutputFolder extends AbstractIterationOperation<Archi
         newFileModel.setParentArchive(archiveModel);
 
         // add all unzipped files, and make sure their parent archive is set
-        recurseAndAddFiles(event, context, tempFolder, fileService, archiveModel, newFileModel);
+        recurseAndAddFiles(event, context, bulkIngest, tempFolder, fileService, archiveModel, newFileModel);
     }
 
     /**
@@ -153,7 +158,7 @@ public class UnzipArchiveToOutputFolder extends AbstractIterationOperation<Archi
      * We don't set the parent file model in the case of the inital children, as the direct parent is really the archive itself. For example for file
      * "root.zip/pom.xml" - the parent for pom.xml is root.zip, not the directory temporary directory that happens to hold it.
      */
-    private void recurseAndAddFiles(GraphRewrite event, EvaluationContext context, Path tempFolder,
+    private void recurseAndAddFiles(GraphRewrite event, EvaluationContext context, BulkIngest bulkIngest, Path tempFolder,
                 FileService fileService, ArchiveModel archiveModel,
                 FileModel parentFileModel)
     {
@@ -177,6 +182,7 @@ public class UnzipArchiveToOutputFolder extends AbstractIterationOperation<Archi
                         continue;
                     }
 
+                    bulkIngest.commitIfNeeded();
                     FileModel subFileModel = fileService.createByFilePath(parentFileModel, subFile.getAbsolutePath());
                     subFileModel.setParentArchive(archiveModel);
 
@@ -198,12 +204,12 @@ public class UnzipArchiveToOutputFolder extends AbstractIterationOperation<Archi
                          * New archive must be reloaded in case the archive should be ignored
                          */
                         newArchiveModel = GraphService.refresh(event.getGraphContext(), newArchiveModel);
-                        unzipToTempDirectory(event, context, tempFolder, newZipFile, newArchiveModel);
+                        unzipToTempDirectory(event, context, bulkIngest, tempFolder, newZipFile, newArchiveModel);
                     }
 
                     if (subFile.isDirectory())
                     {
-                        recurseAndAddFiles(event, context, tempFolder, fileService, archiveModel, subFileModel);
+                        recurseAndAddFiles(event, context, bulkIngest, tempFolder, fileService, archiveModel, subFileModel);
                     }
                 }
             }
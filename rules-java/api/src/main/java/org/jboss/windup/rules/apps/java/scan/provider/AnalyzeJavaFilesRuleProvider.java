@@ -1,8 +1,10 @@
 package org.jboss.windup.rules.apps.java.scan.provider;
 
+import java.io.Serializable;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -18,13 +20,15 @@ import java.util.logging.Logger;
 
 import javax.inject.Inject;
 
-import org.apache.commons.lang3.tuple.ImmutablePair;
-import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.ImmutableTriple;
+import org.apache.commons.lang3.tuple.Triple;
 import org.jboss.forge.furnace.util.Sets;
 import org.jboss.windup.ast.java.ASTProcessor;
 import org.jboss.windup.ast.java.BatchASTFuture;
 import org.jboss.windup.ast.java.BatchASTListener;
+import org.jboss.windup.ast.java.BatchASTOptions;
 import org.jboss.windup.ast.java.BatchASTProcessor;
+import org.jboss.windup.ast.java.data.ClassDeclaration;
 import org.jboss.windup.ast.java.data.ClassReference;
 import org.jboss.windup.ast.java.data.ResolutionStatus;
 import org.jboss.windup.ast.java.data.TypeReferenceLocation;
@@ -34,6 +38,7 @@ import org.jboss.windup.ast.java.data.annotations.AnnotationLiteralValue;
 import org.jboss.windup.ast.java.data.annotations.AnnotationValue;
 import org.jboss.windup.config.AbstractRuleProvider;
 import org.jboss.windup.config.GraphRewrite;
+import org.jboss.windup.config.incremental.IncrementalAnalysisStore;
 import org.jboss.windup.config.metadata.MetadataBuilder;
 import org.jboss.windup.config.metadata.TechnologyMetadata;
 import org.jboss.windup.config.metadata.TechnologyMetadataProvider;
@@ -48,16 +53,21 @@ import org.jboss.windup.graph.service.GraphService;
 import org.jboss.windup.graph.service.WindupConfigurationService;
 import org.jboss.windup.reporting.service.ClassificationService;
 import org.jboss.windup.rules.apps.java.JavaTechnologyMetadata;
+import org.jboss.windup.rules.apps.java.config.JavaAnalysisMemoryOption;
+import org.jboss.windup.rules.apps.java.config.JavaAnalysisThreadsOption;
 import org.jboss.windup.rules.apps.java.model.JarArchiveModel;
+import org.jboss.windup.rules.apps.java.model.JavaClassModel;
 import org.jboss.windup.rules.apps.java.model.JavaSourceFileModel;
 import org.jboss.windup.rules.apps.java.model.WindupJavaConfigurationModel;
 import org.jboss.windup.rules.apps.java.scan.ast.JavaTypeReferenceModel;
 import org.jboss.windup.rules.apps.java.scan.ast.TypeInterestFactory;
+import org.jboss.windup.rules.apps.java.scan.ast.TypeReferenceIndex;
 import org.jboss.windup.rules.apps.java.scan.ast.WindupWildcardImportResolver;
 import org.jboss.windup.rules.apps.java.scan.ast.annotations.JavaAnnotationListTypeValueModel;
 import org.jboss.windup.rules.apps.java.scan.ast.annotations.JavaAnnotationLiteralTypeValueModel;
 import org.jboss.windup.rules.apps.java.scan.ast.annotations.JavaAnnotationTypeReferenceModel;
 import org.jboss.windup.rules.apps.java.scan.ast.annotations.JavaAnnotationTypeValueModel;
+import org.jboss.windup.rules.apps.java.service.JavaClassService;
 import org.jboss.windup.rules.apps.java.service.TypeReferenceService;
 import org.jboss.windup.rules.apps.java.service.WindupJavaConfigurationService;
 import org.jboss.windup.util.ExecutionStatistics;
@@ -106,6 +116,7 @@ public class AnalyzeJavaFilesRuleProvider extends AbstractRuleProvider
     private final class ParseSourceOperation extends GraphOperation
     {
         private static final int ANALYSIS_QUEUE_SIZE = 5000;
+        private static final String STORE_NAMESPACE = "java-references";
 
         final Map<Path, JavaSourceFileModel> sourcePathToFileModel = new TreeMap<>();
 
@@ -163,6 +174,8 @@ public class AnalyzeJavaFilesRuleProvider extends AbstractRuleProvider
                     libraryPaths.add(additionalClasspath.getFilePath());
                 }
 
+                // identifies the classpath independently of where the libraries were unzipped to
+                List<String> classpathFingerprint = new ArrayList<>(libraryPaths);
                 for (JarArchiveModel library : libraries)
                 {
                     if (library.getUnzippedDirectory() != null)
@@ -173,23 +186,25 @@ public class AnalyzeJavaFilesRuleProvider extends AbstractRuleProvider
                     {
                         libraryPaths.add(library.getFilePath());
                     }
+                    classpathFingerprint.add(library.getSHA1Hash() != null ? library.getSHA1Hash() : library.getFilePath());
                 }
+                Collections.sort(classpathFingerprint);
 
                 ExecutionStatistics.get().begin("AnalyzeJavaFilesRuleProvider.parseFiles");
                 try
                 {
                     WindupWildcardImportResolver.setGraphContext(event.getGraphContext());
 
-                    final BlockingQueue<Pair<Path, List<ClassReference>>> processedPaths = new ArrayBlockingQueue<>(ANALYSIS_QUEUE_SIZE);
+                    final BlockingQueue<Triple<Path, ClassDeclaration, List<ClassReference>>> processedPaths = new ArrayBlockingQueue<>(ANALYSIS_QUEUE_SIZE);
                     final Set<Path> failedPaths = Sets.getConcurrentSet();
                     BatchASTListener listener = new BatchASTListener()
                     {
                         @Override
-                        public void processed(Path filePath, List<ClassReference> references)
+                        public void processed(Path filePath, ClassDeclaration classDeclaration, List<ClassReference> references)
                         {
                             try
                             {
-                                processedPaths.put(new ImmutablePair<>(filePath, filterClassReferences(references)));
+                                processedPaths.put(new ImmutableTriple<>(filePath, classDeclaration, filterClassReferences(references)));
                             }
                             catch (InterruptedException e)
                             {
@@ -207,18 +222,30 @@ public class AnalyzeJavaFilesRuleProvider extends AbstractRuleProvider
 
                     Set<Path> filesToProcess = new TreeSet<>(allSourceFiles);
 
-                    BatchASTFuture future = BatchASTProcessor.analyze(listener, importResolver, libraryPaths, sourcePaths, filesToProcess);
+                    IncrementalAnalysisStore store = IncrementalAnalysisStore.instance(event);
+                    Map<Path, String> storeKeys = new HashMap<>();
+                    if (store.isEnabled())
+                        reuseStoredAnalysis(event.getGraphContext(), store, classpathFingerprint.toString(), filesToProcess, storeKeys);
+
+                    BatchASTFuture future = BatchASTProcessor.analyze(listener, importResolver, libraryPaths, sourcePaths, filesToProcess,
+                                getBatchASTOptions(event.getGraphContext()));
                     ProgressEstimate estimate = new ProgressEstimate(filesToProcess.size());
 
                     while (!future.isDone() || !processedPaths.isEmpty())
                     {
                         if (processedPaths.size() > (ANALYSIS_QUEUE_SIZE / 2))
                             LOG.info("Queue size: " + processedPaths.size() + " / " + ANALYSIS_QUEUE_SIZE);
-                        Pair<Path, List<ClassReference>> pair = processedPaths.poll(250, TimeUnit.MILLISECONDS);
-                        if (pair == null)
+                        Triple<Path, ClassDeclaration, List<ClassReference>> processed = processedPaths.poll(250, TimeUnit.MILLISECONDS);
+                        if (processed == null)
                             continue;
 
-                        processReferences(event.getGraphContext(), pair.getKey(), pair.getValue());
+                        processClassDeclaration(event.getGraphContext(), processed.getLeft(), processed.getMiddle());
+                        processReferences(event.getGraphContext(), processed.getLeft(), processed.getRight());
+                        if (storeKeys.containsKey(processed.getLeft()))
+                        {
+                            store.store(STORE_NAMESPACE, storeKeys.get(processed.getLeft()),
+                                        new StoredAnalysis(processed.getMiddle(), processed.getRight()));
+                        }
 
                         estimate.addWork(1);
                         printProgressEstimate(event, estimate);
@@ -227,7 +254,7 @@ public class AnalyzeJavaFilesRuleProvider extends AbstractRuleProvider
                         {
                             event.getGraphContext().getGraph().getBaseGraph().commit();
                         }
-                        filesToProcess.remove(pair.getKey());
+                        filesToProcess.remove(processed.getLeft());
                     }
 
                     for (Path path : failedPaths)
@@ -248,8 +275,16 @@ public class AnalyzeJavaFilesRuleProvider extends AbstractRuleProvider
                         {
                             try
                             {
-                                List<ClassReference> references = ASTProcessor.analyze(importResolver, libraryPaths, sourcePaths, unprocessed);
-                                processReferences(event.getGraphContext(), unprocessed, filterClassReferences(references));
+                                // the batch is done, so the listener passes this file's results through the otherwise empty queue
+                                ASTProcessor.analyze(importResolver, libraryPaths, sourcePaths, unprocessed, listener);
+                                Triple<Path, ClassDeclaration, List<ClassReference>> processed = processedPaths.remove();
+                                processClassDeclaration(event.getGraphContext(), unprocessed, processed.getMiddle());
+                                processReferences(event.getGraphContext(), unprocessed, processed.getRight());
+                                if (storeKeys.containsKey(unprocessed))
+                                {
+                                    store.store(STORE_NAMESPACE, storeKeys.get(unprocessed),
+                                                new StoredAnalysis(processed.getMiddle(), processed.getRight()));
+                                }
                                 filesToProcess.remove(unprocessed);
                             }
                             catch (Exception e)
@@ -299,6 +334,55 @@ public class AnalyzeJavaFilesRuleProvider extends AbstractRuleProvider
             }
         }
 
+        /**
+         * Processes the stored results for any files that have not changed since they were stored, and removes them from the set of files to
+         * process. The keys to use for storing the results of the remaining files are added to the provided {@link Map}.
+         *
+         * The key includes the classpath, as the references that JDT is able to resolve depend upon it. Changes to the other source files are
+         * not taken into account.
+         */
+        private void reuseStoredAnalysis(GraphContext context, IncrementalAnalysisStore store, String classpathFingerprint,
+                    Set<Path> filesToProcess, Map<Path, String> storeKeys)
+        {
+            String classpathHash = IncrementalAnalysisStore.hash(classpathFingerprint);
+            int total = filesToProcess.size();
+            int reused = 0;
+            for (Path path : new ArrayList<>(filesToProcess))
+            {
+                String key = IncrementalAnalysisStore.hash(store.getHash(getJavaSourceFileModel(context, path)) + classpathHash);
+                StoredAnalysis stored = store.load(STORE_NAMESPACE, key, StoredAnalysis.class, ClassDeclaration.class,
+                            ClassReference.class, ResolutionStatus.class, TypeReferenceLocation.class, AnnotationClassReference.class,
+                            AnnotationArrayValue.class, AnnotationLiteralValue.class);
+                if (stored == null)
+                {
+                    storeKeys.put(path, key);
+                    continue;
+                }
+
+                processClassDeclaration(context, path, stored.classDeclaration);
+                processReferences(context, path, stored.references);
+                filesToProcess.remove(path);
+
+                reused++;
+                if (reused % COMMIT_INTERVAL == 0)
+                    context.getGraph().getBaseGraph().commit();
+            }
+            LOG.info("Reused stored analysis for " + reused + " of " + total + " Java files");
+        }
+
+        private BatchASTOptions getBatchASTOptions(GraphContext context)
+        {
+            BatchASTOptions options = new BatchASTOptions();
+            Integer threads = (Integer) context.getOptionMap().get(JavaAnalysisThreadsOption.NAME);
+            if (threads != null)
+                options.setThreadCount(threads);
+
+            Integer memoryMB = (Integer) context.getOptionMap().get(JavaAnalysisMemoryOption.NAME);
+            if (memoryMB != null)
+                options.setMaxMemory(memoryMB * 1024L * 1024L);
+            return options;
+        }
+
         private void printProgressEstimate(GraphRewrite event, ProgressEstimate estimate)
         {
             if (estimate.getWorked() % LOG_INTERVAL == 0)
@@ -332,9 +416,53 @@ public class AnalyzeJavaFilesRuleProvider extends AbstractRuleProvider
             return results;
         }
 
+        /**
+         * Adds the supertypes of the type declared by the file to its {@link JavaClassModel}. This comes from the same parse as the references,
+         * so that the file does not need to be parsed again during indexing.
+         */
+        private void processClassDeclaration(GraphContext context, Path filePath, ClassDeclaration classDeclaration)
+        {
+            if (classDeclaration == null)
+                return;
+
+            JavaSourceFileModel javaSourceModel = getJavaSourceFileModel(context, filePath);
+            JavaClassService javaClassService = new JavaClassService(context);
+
+            JavaClassModel javaClassModel = null;
+            for (JavaClassModel existingClass : javaSourceModel.getJavaClasses())
+            {
+                if (classDeclaration.getQualifiedName().equals(existingClass.getQualifiedName()))
+                {
+                    javaClassModel = existingClass;
+                    break;
+                }
+            }
+
+            if (javaClassModel == null)
+            {
+                javaClassModel = javaClassService.create(classDeclaration.getQualifiedName());
+                javaClassModel.setOriginalSource(javaSourceModel);
+                javaClassModel.setClassFile(javaSourceModel);
+                javaSourceModel.addJavaClass(javaClassModel);
+            }
+            javaClassModel.setSimpleName(classDeclaration.getSimpleName());
+            javaClassModel.setPackageName(classDeclaration.getPackageName());
+            javaClassModel.setPublic(classDeclaration.isPublic());
+            javaClassModel.setInterface(classDeclaration.isInterface());
+
+            for (String interfaceName : classDeclaration.getInterfaces())
+            {
+                javaClassService.addInterface(javaClassModel, javaClassService.getOrCreatePhantom(interfaceName));
+            }
+
+            if (classDeclaration.getSuperclass() != null)
+                javaClassModel.setExtends(javaClassService.getOrCreatePhantom(classDeclaration.getSuperclass()));
+        }
+
         private void processReferences(GraphContext context, Path filePath, List<ClassReference> references)
         {
             TypeReferenceService typeReferenceService = new TypeReferenceService(context);
+            TypeReferenceIndex typeReferenceIndex = TypeReferenceIndex.get(context);
             for (ClassReference reference : references)
             {
                 JavaSourceFileModel javaSourceModel = getJavaSourceFileModel(context, filePath);
@@ -344,6 +472,8 @@ public class AnalyzeJavaFilesRuleProvider extends AbstractRuleProvider
                             reference.getLineNumber(), reference.getColumn(), reference.getLength(),
                             reference.getQualifiedName(),
                             reference.getLine());
+                typeReferenceIndex.add(typeReference, reference.getLocation(), reference.getQualifiedName());
+
                 if (reference instanceof AnnotationClassReference)
                 {
                     Map<String, AnnotationValue> annotationValues = ((AnnotationClassReference) reference).getAnnotationValues();
@@ -421,7 +551,7 @@ public class AnalyzeJavaFilesRuleProvider extends AbstractRuleProvider
                 }
                 JavaAnnotationTypeReferenceModel annotationTypeReferenceModel = annotationTypeReferenceService.create();
                 annotationTypeReferenceModel.setAnnotationValues(valueModels);
-                attachLocationMetadata(annotationTypeReferenceModel, annotationClassReference, javaSourceFileModel);
+                attachLocationMetadata(context, annotationTypeReferenceModel, annotationClassReference, javaSourceFileModel);
 
                 result = annotationTypeReferenceModel;
             }
@@ -432,7 +562,7 @@ public class AnalyzeJavaFilesRuleProvider extends AbstractRuleProvider
             return result;
         }
 
-        private void attachLocationMetadata(JavaTypeReferenceModel javaTypeReferenceModel, AnnotationClassReference annotationClassReference,
+        private void attachLocationMetadata(GraphContext context, JavaTypeReferenceModel javaTypeReferenceModel, AnnotationClassReference annotationClassReference,
                     JavaSourceFileModel javaSourceFileModel)
         {
             javaTypeReferenceModel.setResolutionStatus(annotationClassReference.getResolutionStatus());
@@ -443,6 +573,9 @@ public class AnalyzeJavaFilesRuleProvider extends AbstractRuleProvider
             javaTypeReferenceModel.setLineNumber(annotationClassReference.getLineNumber());
             javaTypeReferenceModel.setLength(annotationClassReference.getLength());
             javaTypeReferenceModel.setFile(javaSourceFileModel);
+
+            TypeReferenceIndex.get(context).add(javaTypeReferenceModel, annotationClassReference.getLocation(),
+                        annotationClassReference.getQualifiedName());
         }
 
         @Override
@@ -451,4 +584,21 @@ public class AnalyzeJavaFilesRuleProvider extends AbstractRuleProvider
             return "ParseJavaSource";
         }
     }
+
+    /**
+     * The results of parsing a single Java file, as kept in the {@link IncrementalAnalysisStore}.
+     */
+    private static class StoredAnalysis implements Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final ClassDeclaration classDeclaration;
+        private final ArrayList<ClassReference> references;
+
+        private StoredAnalysis(ClassDeclaration classDeclaration, List<ClassReference> references)
+        {
+            this.classDeclaration = classDeclaration;
+            this.references = new ArrayList<>(references);
+        }
+    }
 }
@@ -3,6 +3,7 @@ package org.jboss.windup.rules.apps.java.scan.provider;
 import org.jboss.windup.config.AbstractRuleProvider;
 import org.jboss.windup.config.metadata.MetadataBuilder;
 import org.jboss.windup.config.operation.Commit;
+import org.jboss.windup.config.operation.Iteration;
 import org.jboss.windup.config.operation.IterationProgress;
 import org.jboss.windup.config.phase.ClassifyFileTypesPhase;
 import org.jboss.windup.config.query.Query;
@@ -32,9 +33,13 @@ public class IndexJavaClassFilesRuleProvider extends AbstractRuleProvider
                     .addRule()
                     .when(Query.fromType(JavaClassFileModel.class))
                     .perform(
-                        new AddClassFileMetadata()
-                        .and(Commit.every(10))
-                        .and(IterationProgress.monitoring("Index Class Files", 1000))
+                        Iteration.over().parallel()
+                        .perform(
+                            new AddClassFileMetadata()
+                            .and(Commit.every(10))
+                            .and(IterationProgress.monitoring("Index Class Files", 1000))
+                        )
+                        .endIteration()
                     );
     }
     // @formatter:on
@@ -1,21 +1,12 @@
 package org.jboss.windup.rules.apps.java.scan.provider;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import org.jboss.forge.furnace.util.Strings;
-import org.jboss.forge.roaster.ParserException;
-import org.jboss.forge.roaster.Roaster;
-import org.jboss.forge.roaster.model.Extendable;
-import org.jboss.forge.roaster.model.InterfaceCapable;
-import org.jboss.forge.roaster.model.source.JavaSource;
+import org.jboss.windup.ast.java.JavaSourceHeader;
 import org.jboss.windup.config.AbstractRuleProvider;
 import org.jboss.windup.config.GraphRewrite;
 import org.jboss.windup.config.metadata.MetadataBuilder;
@@ -38,13 +29,15 @@ import org.jboss.windup.rules.apps.java.scan.ast.WindupWildcardImportResolver;
 import org.jboss.windup.rules.apps.java.service.JavaClassService;
 import org.jboss.windup.util.Logging;
 import org.jboss.windup.util.PathUtil;
-import org.jboss.windup.util.exception.WindupException;
 import org.ocpsoft.rewrite.config.Configuration;
 import org.ocpsoft.rewrite.config.ConfigurationBuilder;
 import org.ocpsoft.rewrite.context.EvaluationContext;
 
 /**
  * Discovers .java files from the applications being analyzed.
+ *
+ * Only the package and type name are read from the file here, so that the source folders are known before analysis begins. The file is fully
+ * parsed once, by {@link AnalyzeJavaFilesRuleProvider}, which also records the supertypes of the declared type.
  * 
  * @author <a href="mailto:jesse.sightler@gmail.com">Jesse Sightler</a>
  */
@@ -125,18 +118,9 @@ public class IndexJavaSourceFilesRuleProvider extends AbstractRuleProvider
                 technologyTagService.addTagToFileModel(payload, TECH_TAG, TECH_TAG_LEVEL);
 
                 payload.setPackageName(packageName);
-                try (FileInputStream fis = new FileInputStream(payload.getFilePath()))
+                try
                 {
-                    addParsedClassToFile(event, context, payload, fis);
-                }
-                catch (FileNotFoundException e)
-                {
-                    throw new WindupException("File in " + payload.getFilePath() + " was not found.", e);
-                }
-                catch (IOException e)
-                {
-                    throw new WindupException("IOException thrown when parsing file located in "
-                                + payload.getFilePath(), e);
+                    addClassToFile(event, payload, JavaSourceHeader.read(payload.asFile().toPath()));
                 }
                 catch (Exception e)
                 {
@@ -155,23 +139,9 @@ public class IndexJavaSourceFilesRuleProvider extends AbstractRuleProvider
             }
         }
 
-        private void addParsedClassToFile(GraphRewrite event, EvaluationContext context, JavaSourceFileModel sourceFileModel, FileInputStream fis)
+        private void addClassToFile(GraphRewrite event, JavaSourceFileModel sourceFileModel, JavaSourceHeader header)
         {
-            JavaSource<?> javaSource;
-            try
-            {
-                javaSource = Roaster.parse(JavaSource.class, fis);
-            }
-            catch (ParserException e)
-            {
-                ClassificationService classificationService = new ClassificationService(event.getGraphContext());
-                classificationService.attachClassification(context, sourceFileModel,
-                            JavaSourceFileModel.UNPARSEABLE_JAVA_CLASSIFICATION,
-                            JavaSourceFileModel.UNPARSEABLE_JAVA_DESCRIPTION);
-                return;
-            }
-
-            String packageName = javaSource.getPackage();
+            String packageName = header.getPackageName();
             // set the package name to the parsed value
             sourceFileModel.setPackageName(packageName);
 
@@ -185,45 +155,20 @@ public class IndexJavaSourceFilesRuleProvider extends AbstractRuleProvider
                 sourceFileModel.setRootSourceFolder(rootSourceFileModel);
             }
 
-            String qualifiedName = javaSource.getQualifiedName();
-
-            String simpleName = qualifiedName;
-            if (packageName != null && !packageName.equals("") && simpleName != null)
-            {
-                simpleName = simpleName.substring(packageName.length() + 1);
-            }
+            // nothing more to do for files that do not declare a type (eg, package-info.java)
+            String qualifiedName = header.getQualifiedName();
+            if (qualifiedName == null)
+                return;
 
             JavaClassService javaClassService = new JavaClassService(event.getGraphContext());
             JavaClassModel javaClassModel = javaClassService.create(qualifiedName);
             javaClassModel.setOriginalSource(sourceFileModel);
-            javaClassModel.setSimpleName(simpleName);
+            javaClassModel.setSimpleName(header.getTypeName());
             javaClassModel.setPackageName(packageName);
             javaClassModel.setQualifiedName(qualifiedName);
             javaClassModel.setClassFile(sourceFileModel);
-            javaClassModel.setPublic(javaSource.isPublic());
-            javaClassModel.setInterface(javaSource.isInterface());
-
-            if (javaSource instanceof InterfaceCapable)
-            {
-                InterfaceCapable interfaceCapable = (InterfaceCapable) javaSource;
-                List<String> interfaceNames = interfaceCapable.getInterfaces();
-                if (interfaceNames != null)
-                {
-                    for (String iface : interfaceNames)
-                    {
-                        JavaClassModel interfaceModel = javaClassService.getOrCreatePhantom(iface);
-                        javaClassService.addInterface(javaClassModel, interfaceModel);
-                    }
-                }
-            }
-
-            if (!javaSource.isInterface() && javaSource instanceof Extendable)
-            {
-                Extendable<?> extendable = (Extendable<?>) javaSource;
-                String superclassName = extendable.getSuperType();
-                if (Strings.isNullOrEmpty(superclassName))
-                    javaClassModel.setExtends(javaClassService.getOrCreatePhantom(superclassName));
-            }
+            javaClassModel.setPublic(header.isPublic());
+            javaClassModel.setInterface(header.isInterface());
 
             sourceFileModel.addJavaClass(javaClassModel);
         }
@@ -0,0 +1,144 @@
+package org.jboss.windup.rules.apps.java.scan.ast;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.arquillian.AddonDependencies;
+import org.jboss.forge.arquillian.AddonDependency;
+import org.jboss.forge.arquillian.archive.AddonArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Compares the {@link TypeInterestMatcher} with applying each <code>".*" + regex + ".*"</code> pattern in turn (the previous
+ * implementation), and logs the number of matches per second for both as the number of patterns grows.
+ */
+@RunWith(Arquillian.class)
+public class TypeInterestMatcherBenchmarkTest
+{
+    private static final Logger LOG = Logger.getLogger(TypeInterestMatcherBenchmarkTest.class.getName());
+
+    private static final int[] PATTERN_COUNTS = { 10, 100, 1000, 2500 };
+    private static final int TYPE_NAME_COUNT = 2000;
+
+    @Deployment
+    @AddonDependencies({
+                @AddonDependency(name = "org.jboss.windup.config:windup-config"),
+                @AddonDependency(name = "org.jboss.windup.graph:windup-graph"),
+                @AddonDependency(name = "org.jboss.windup.rules.apps:windup-rules-java"),
+                @AddonDependency(name = "org.jboss.forge.furnace.container:cdi")
+    })
+    public static AddonArchive getDeployment()
+    {
+        return ShrinkWrap.create(AddonArchive.class).addBeansXML();
+    }
+
+    @Test
+    public void testSemantics()
+    {
+        List<String> regexes = new ArrayList<>();
+        regexes.add("javax\\.ejb\\..*");
+        regexes.add("\\Qorg.hibernate.\\E(.*)");
+        regexes.add("(?i)weblogic");
+        regexes.add("^java\\.rmi\\.Remote$");
+        regexes.add("(Foo)Bar\\1");
+
+        TypeInterestMatcher matcher = new TypeInterestMatcher(regexes);
+        Assert.assertEquals(5, matcher.getPatternCount());
+
+        Assert.assertTrue(matcher.matches("javax.ejb.Stateless"));
+        Assert.assertTrue(matcher.matches("foo(javax.ejb.SessionContext)"));
+        Assert.assertTrue(matcher.matches("org.hibernate.Session.save(java.lang.Object)"));
+        Assert.assertTrue(matcher.matches("com.bea.WebLogicServer"));
+        Assert.assertTrue(matcher.matches("java.rmi.Remote"));
+        Assert.assertTrue(matcher.matches("com.example.FooBarFoo"));
+
+        Assert.assertFalse(matcher.matches("javax.ejbx.Stateless"));
+        Assert.assertFalse(matcher.matches("org.hibernat.Session"));
+        Assert.assertFalse(matcher.matches("com.example.java.rmi.Remote"));
+        Assert.assertFalse(matcher.matches("com.example.FooBarBaz"));
+    }
+
+    @Test
+    public void testMatchesPerSecond()
+    {
+        Random random = new Random(42);
+        for (int patternCount : PATTERN_COUNTS)
+        {
+            List<String> regexes = new ArrayList<>();
+            for (int i = 0; i < patternCount; i++)
+            {
+                if (i % 10 == 0)
+                    regexes.add(".*Vendor" + i + "Bean");
+                else
+                    regexes.add("com\\.vendor" + i + "\\.api\\..*");
+            }
+
+            List<String> typeNames = new ArrayList<>();
+            for (int i = 0; i < TYPE_NAME_COUNT; i++)
+            {
+                int vendor = random.nextInt(patternCount * 4);
+                switch (i % 3)
+                {
+                case 0:
+                    typeNames.add("com.vendor" + vendor + ".api.Service");
+                    break;
+                case 1:
+                    typeNames.add("org.example.Vendor" + vendor + "Bean");
+                    break;
+                default:
+                    typeNames.add("java.util.List<com.example.Type" + vendor + ">");
+                    break;
+                }
+            }
+
+            List<Pattern> legacyPatterns = new ArrayList<>();
+            for (String regex : regexes)
+                legacyPatterns.add(Pattern.compile(".*" + regex + ".*"));
+
+            long legacyStart = System.nanoTime();
+            boolean[] legacyResults = new boolean[typeNames.size()];
+            for (int i = 0; i < typeNames.size(); i++)
+            {
+                for (Pattern pattern : legacyPatterns)
+                {
+                    if (pattern.matcher(typeNames.get(i)).matches())
+                    {
+                        legacyResults[i] = true;
+                        break;
+                    }
+                }
+            }
+            long legacyNanos = System.nanoTime() - legacyStart;
+
+            TypeInterestMatcher matcher = new TypeInterestMatcher(regexes);
+            long matcherStart = System.nanoTime();
+            boolean[] matcherResults = new boolean[typeNames.size()];
+            for (int i = 0; i < typeNames.size(); i++)
+            {
+                matcherResults[i] = matcher.matches(typeNames.get(i));
+            }
+            long matcherNanos = System.nanoTime() - matcherStart;
+
+            for (int i = 0; i < typeNames.size(); i++)
+            {
+                Assert.assertEquals("Mismatch for: " + typeNames.get(i), legacyResults[i], matcherResults[i]);
+            }
+
+            LOG.info("Patterns: " + patternCount + ", per pattern regex: " + perSecond(typeNames.size(), legacyNanos)
+                        + " matches/s, combined matcher: " + perSecond(typeNames.size(), matcherNanos) + " matches/s");
+        }
+    }
+
+    private long perSecond(int count, long nanos)
+    {
+        return Math.round(count / (Math.max(nanos, 1L) / 1000000000d));
+    }
+}
@@ -0,0 +1,125 @@
+package org.jboss.windup.rules.apps.java.scan.ast;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.arquillian.AddonDependencies;
+import org.jboss.forge.arquillian.AddonDependency;
+import org.jboss.forge.arquillian.archive.AddonArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.windup.ast.java.data.ResolutionStatus;
+import org.jboss.windup.ast.java.data.TypeReferenceLocation;
+import org.jboss.windup.graph.GraphContext;
+import org.jboss.windup.graph.GraphContextFactory;
+import org.jboss.windup.graph.model.resource.FileModel;
+import org.jboss.windup.rules.apps.java.service.TypeReferenceService;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class TypeReferenceIndexTest
+{
+    @Deployment
+    @AddonDependencies({
+                @AddonDependency(name = "org.jboss.windup.config:windup-config"),
+                @AddonDependency(name = "org.jboss.windup.graph:windup-graph"),
+                @AddonDependency(name = "org.jboss.windup.reporting:windup-reporting"),
+                @AddonDependency(name = "org.jboss.windup.rules.apps:windup-rules-base"),
+                @AddonDependency(name = "org.jboss.windup.rules.apps:windup-rules-java"),
+                @AddonDependency(name = "org.jboss.forge.furnace.container:cdi")
+    })
+    public static AddonArchive getDeployment()
+    {
+        return ShrinkWrap.create(AddonArchive.class).addBeansXML();
+    }
+
+    @Inject
+    private GraphContextFactory factory;
+
+    @Test
+    public void testFindReferences() throws Exception
+    {
+        try (GraphContext context = factory.create())
+        {
+            TypeReferenceIndex index = TypeReferenceIndex.get(context);
+            Assert.assertTrue(index.isEmpty());
+
+            TypeReferenceService typeReferenceService = new TypeReferenceService(context);
+            FileModel file = context.getFramed().addVertex(null, FileModel.class);
+            file.setFilePath("/f1");
+
+            addReference(index, typeReferenceService, file, TypeReferenceLocation.IMPORT, "javax.ejb.Stateless");
+            addReference(index, typeReferenceService, file, TypeReferenceLocation.ANNOTATION, "javax.ejb.Stateless");
+            addReference(index, typeReferenceService, file, TypeReferenceLocation.IMPORT, "javax.ejb.EJB");
+            addReference(index, typeReferenceService, file, TypeReferenceLocation.IMPORT, "javax.inject.Inject");
+
+            Assert.assertEquals(4, index.size());
+
+            List<JavaTypeReferenceModel> all = index.findReferences(context, Pattern.compile("javax\\.ejb\\..*"),
+                        Collections.<TypeReferenceLocation> emptyList());
+            Assert.assertEquals(3, all.size());
+
+            List<JavaTypeReferenceModel> imports = index.findReferences(context, Pattern.compile("\\Qjavax.ejb.\\E(.*)"),
+                        Arrays.asList(TypeReferenceLocation.IMPORT));
+            Assert.assertEquals(2, imports.size());
+            for (JavaTypeReferenceModel reference : imports)
+                Assert.assertEquals(TypeReferenceLocation.IMPORT, reference.getReferenceLocation());
+
+            List<JavaTypeReferenceModel> alternation = index.findReferences(context, Pattern.compile("javax.ejb.EJB|javax.inject.Inject"),
+                        Collections.<TypeReferenceLocation> emptyList());
+            Assert.assertEquals(2, alternation.size());
+
+            Assert.assertTrue(index.findReferences(context, Pattern.compile("javax\\.ejb"), null).isEmpty());
+        }
+    }
+
+    @Test
+    public void testFindReferencesForRegisteredInterest() throws Exception
+    {
+        try (GraphContext context = factory.create())
+        {
+            TypeReferenceIndex index = TypeReferenceIndex.get(context);
+
+            TypeReferenceService typeReferenceService = new TypeReferenceService(context);
+            FileModel file = context.getFramed().addVertex(null, FileModel.class);
+            file.setFilePath("/f1");
+
+            addReference(index, typeReferenceService, file, TypeReferenceLocation.IMPORT, "javax.ejb.Stateless");
+            addReference(index, typeReferenceService, file, TypeReferenceLocation.ANNOTATION, "javax.ejb.Stateless");
+            addReference(index, typeReferenceService, file, TypeReferenceLocation.IMPORT, "javax.inject.Inject");
+
+            TypeInterestFactory.registerInterest("TypeReferenceIndexTest_1", "javax\\.ejb\\..*", "javax.ejb.{*}");
+            TypeInterestFactory.registerInterest("TypeReferenceIndexTest_2", "javax\\.ejb\\..*", "javax.ejb.{*}",
+                        TypeReferenceLocation.ANNOTATION);
+            TypeInterestFactory.registerInterest("TypeReferenceIndexTest_3", "javax\\.inject\\..*", "javax.inject.{*}");
+
+            Assert.assertEquals(2, index.findReferences(context, "TypeReferenceIndexTest_1", Pattern.compile("javax\\.ejb\\..*"), null).size());
+            Assert.assertEquals(1, index.findReferences(context, "TypeReferenceIndexTest_2", Pattern.compile("javax\\.ejb\\..*"),
+                        Arrays.asList(TypeReferenceLocation.ANNOTATION)).size());
+            Assert.assertEquals(1, index.findReferences(context, "TypeReferenceIndexTest_3", Pattern.compile("javax\\.inject\\..*"), null).size());
+
+            // results are recalculated as new references are added
+            addReference(index, typeReferenceService, file, TypeReferenceLocation.IMPORT, "javax.inject.Named");
+            Assert.assertEquals(2, index.findReferences(context, "TypeReferenceIndexTest_3", Pattern.compile("javax\\.inject\\..*"), null).size());
+
+            // an unregistered source falls back to a direct lookup
+            Assert.assertEquals(1, index.findReferences(context, "TypeReferenceIndexTest_4", Pattern.compile("javax\\.inject\\.Named"), null)
+                        .size());
+        }
+    }
+
+    private void addReference(TypeReferenceIndex index, TypeReferenceService service, FileModel file, TypeReferenceLocation location,
+                String qualifiedName)
+    {
+        JavaTypeReferenceModel reference = service.createTypeReference(file, location, ResolutionStatus.RESOLVED, 1, 1, 1, qualifiedName,
+                    qualifiedName);
+        index.add(reference, location, qualifiedName);
+    }
+}
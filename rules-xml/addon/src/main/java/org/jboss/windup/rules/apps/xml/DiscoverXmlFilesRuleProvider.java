@@ -2,13 +2,16 @@ package org.jboss.windup.rules.apps.xml;
 
 import static org.joox.JOOX.$;
 
+import java.io.Serializable;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.jboss.windup.config.AbstractRuleProvider;
 import org.jboss.windup.config.GraphRewrite;
+import org.jboss.windup.config.incremental.IncrementalAnalysisStore;
 import org.jboss.windup.config.metadata.MetadataBuilder;
 import org.jboss.windup.config.operation.iteration.AbstractIterationOperation;
 import org.jboss.windup.config.phase.ClassifyFileTypesPhase;
@@ -36,6 +39,7 @@ import org.w3c.dom.Document;
 public class DiscoverXmlFilesRuleProvider extends AbstractRuleProvider
 {
     private static final Logger LOG = Logger.getLogger(DiscoverXmlFilesRuleProvider.class.getSimpleName());
+    private static final String STORE_NAMESPACE = "xml-metadata";
 
     public DiscoverXmlFilesRuleProvider()
     {
@@ -70,56 +74,24 @@ public class DiscoverXmlFilesRuleProvider extends AbstractRuleProvider
 
     private void addXmlMetaInformation(GraphRewrite event, EvaluationContext context, XmlFileModel file)
     {
-        DoctypeMetaService docTypeService = new DoctypeMetaService(event.getGraphContext());
-        NamespaceService namespaceService = new NamespaceService(event.getGraphContext());
-
+        IncrementalAnalysisStore store = IncrementalAnalysisStore.instance(event);
         try
         {
-            Document parsedDocument = file.asDocument();
-
-            // pull out doctype data.
-            Doctype docType = (Doctype) parsedDocument.getUserData(LocationAwareContentHandler.DOCTYPE_KEY_NAME);
-
-            // if this is successful, then we know it is a proper XML file.
-            // set it to the graph as an XML file.
-            XmlFileModel xmlResourceModel = GraphService.addTypeToModel(event.getGraphContext(), file, XmlFileModel.class);
-
-            // get and index by the root tag.
-            String tagName = $(parsedDocument).tag();
-            xmlResourceModel.setRootTagName(tagName);
-
-            if (docType != null)
+            XmlMetadata metadata = null;
+            String hash = null;
+            if (store.isEnabled())
             {
-                // create the doctype from
-                Iterator<DoctypeMetaModel> metas = docTypeService.findByPublicIdAndSystemId(docType.getPublicId(),
-                            docType.getSystemId());
-                if (metas.hasNext())
-                {
-                    DoctypeMetaModel meta = metas.next();
-                    meta.addXmlResource(xmlResourceModel);
-                    xmlResourceModel.setDoctype(meta);
-                }
-                else
-                {
-                    DoctypeMetaModel meta = event.getGraphContext().getFramed().addVertex(null, DoctypeMetaModel.class);
-                    meta.addXmlResource(xmlResourceModel);
-                    meta.setBaseURI(docType.getBaseURI());
-                    meta.setName(docType.getName());
-                    meta.setPublicId(docType.getPublicId());
-                    meta.setSystemId(docType.getSystemId());
-                }
+                hash = store.getHash(file);
+                metadata = store.load(STORE_NAMESPACE, hash, XmlMetadata.class);
             }
 
-            Map<String, String> namespaceSchemaLocations = XmlUtil.getSchemaLocations(parsedDocument);
-            if (namespaceSchemaLocations != null && namespaceSchemaLocations.size() > 0)
+            if (metadata == null)
             {
-                for (String namespace : namespaceSchemaLocations.keySet())
-                {
-                    NamespaceMetaModel meta = namespaceService.createNamespaceSchemaLocation(namespace,
-                                namespaceSchemaLocations.get(namespace));
-                    meta.addXmlResource(xmlResourceModel);
-                }
+                metadata = readXmlMetadata(file);
+                store.store(STORE_NAMESPACE, hash, metadata);
             }
+
+            addXmlMetaInformation(event, file, metadata);
         }
         catch (Exception e)
         {
@@ -136,4 +108,86 @@ public class DiscoverXmlFilesRuleProvider extends AbstractRuleProvider
                         XmlFileModel.UNPARSEABLE_XML_DESCRIPTION);
         }
     }
+
+    private XmlMetadata readXmlMetadata(XmlFileModel file)
+    {
+        Document parsedDocument = file.asDocument();
+
+        XmlMetadata metadata = new XmlMetadata();
+        metadata.rootTagName = $(parsedDocument).tag();
+
+        // pull out doctype data.
+        Doctype docType = (Doctype) parsedDocument.getUserData(LocationAwareContentHandler.DOCTYPE_KEY_NAME);
+        if (docType != null)
+        {
+            metadata.hasDoctype = true;
+            metadata.doctypeBaseURI = docType.getBaseURI();
+            metadata.doctypeName = docType.getName();
+            metadata.doctypePublicId = docType.getPublicId();
+            metadata.doctypeSystemId = docType.getSystemId();
+        }
+
+        Map<String, String> namespaceSchemaLocations = XmlUtil.getSchemaLocations(parsedDocument);
+        if (namespaceSchemaLocations != null)
+            metadata.namespaceSchemaLocations.putAll(namespaceSchemaLocations);
+        return metadata;
+    }
+
+    private void addXmlMetaInformation(GraphRewrite event, XmlFileModel file, XmlMetadata metadata)
+    {
+        DoctypeMetaService docTypeService = new DoctypeMetaService(event.getGraphContext());
+        NamespaceService namespaceService = new NamespaceService(event.getGraphContext());
+
+        // if this is successful, then we know it is a proper XML file.
+        // set it to the graph as an XML file.
+        XmlFileModel xmlResourceModel = GraphService.addTypeToModel(event.getGraphContext(), file, XmlFileModel.class);
+
+        // get and index by the root tag.
+        xmlResourceModel.setRootTagName(metadata.rootTagName);
+
+        if (metadata.hasDoctype)
+        {
+            // create the doctype from
+            Iterator<DoctypeMetaModel> metas = docTypeService.findByPublicIdAndSystemId(metadata.doctypePublicId,
+                        metadata.doctypeSystemId);
+            if (metas.hasNext())
+            {
+                DoctypeMetaModel meta = metas.next();
+                meta.addXmlResource(xmlResourceModel);
+                xmlResourceModel.setDoctype(meta);
+            }
+            else
+            {
+                DoctypeMetaModel meta = event.getGraphContext().getFramed().addVertex(null, DoctypeMetaModel.class);
+                meta.addXmlResource(xmlResourceModel);
+                meta.setBaseURI(metadata.doctypeBaseURI);
+                meta.setName(metadata.doctypeName);
+                meta.setPublicId(metadata.doctypePublicId);
+                meta.setSystemId(metadata.doctypeSystemId);
+            }
+        }
+
+        for (Map.Entry<String, String> namespaceSchemaLocation : metadata.namespaceSchemaLocations.entrySet())
+        {
+            NamespaceMetaModel meta = namespaceService.createNamespaceSchemaLocation(namespaceSchemaLocation.getKey(),
+                        namespaceSchemaLocation.getValue());
+            meta.addXmlResource(xmlResourceModel);
+        }
+    }
+
+    /**
+     * The metadata extracted from a single XML file, as kept in the {@link IncrementalAnalysisStore}.
+     */
+    private static class XmlMetadata implements Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        private String rootTagName;
+        private boolean hasDoctype;
+        private String doctypeBaseURI;
+        private String doctypeName;
+        private String doctypePublicId;
+        private String doctypeSystemId;
+        private final LinkedHashMap<String, String> namespaceSchemaLocations = new LinkedHashMap<>();
+    }
 }
@@ -1,6 +1,7 @@
 package org.jboss.windup.rules.apps.xml.condition;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -21,6 +22,7 @@ import org.jboss.forge.furnace.util.Assert;
 import org.jboss.windup.config.GraphRewrite;
 import org.jboss.windup.config.Variables;
 import org.jboss.windup.config.condition.EvaluationStrategy;
+import org.jboss.windup.config.condition.RequiresTypes;
 import org.jboss.windup.config.parameters.FrameContext;
 import org.jboss.windup.config.parameters.FrameCreationContext;
 import org.jboss.windup.config.parameters.ParameterizedGraphCondition;
@@ -56,7 +58,8 @@ import org.w3c.dom.NodeList;
 /**
  * Handles matching on {@link XmlFileModel} objects and creating {@link XmlTypeReferenceModel} objects on the matching nodes.
  */
-public class XmlFile extends ParameterizedGraphCondition implements XmlFileDTD, XmlFileIn, XmlFileNamespace, XmlFileResult, XmlFileXpath
+public class XmlFile extends ParameterizedGraphCondition implements XmlFileDTD, XmlFileIn, XmlFileNamespace, XmlFileResult, XmlFileXpath,
+            RequiresTypes
 {
     private static final Logger LOG = Logging.get(XmlFile.class);
 
@@ -304,6 +307,17 @@ public class XmlFile extends ParameterizedGraphCondition implements XmlFileDTD,
         return result;
     }
 
+    /**
+     * Without an input variable, all {@link XmlFileModel}s are searched.
+     */
+    @Override
+    public Set<Class<? extends WindupVertexFrame>> getRequiredTypes()
+    {
+        if (getInputVariablesName() == null || getInputVariablesName().equals(""))
+            return Collections.<Class<? extends WindupVertexFrame>> singleton(XmlFileModel.class);
+        return Collections.emptySet();
+    }
+
     private boolean evaluate(final GraphRewrite event, final EvaluationContext context, final XmlFileEvaluationStrategy evaluationStrategy)
     {
         try
@@ -137,9 +137,15 @@ public class ExecutionBuilderImpl implements ExecutionBuilder, ExecutionBuilderS
         windupConfiguration.setInputPath(this.input);
         windupConfiguration.setOutputDirectory(this.output);
         windupConfiguration.setProgressMonitor(this.progressMonitor);
+        windupConfiguration.setOptionValue(ScanPackagesOption.NAME, Lists.toList(this.includePackagePrefixSet));
+        windupConfiguration.setOptionValue(ExcludePackagesOption.NAME, Lists.toList(this.excludePackagePrefixSet));
+        for (Map.Entry<String, Object> option : options.entrySet())
+        {
+            windupConfiguration.setOptionValue(option.getKey(), option.getValue());
+        }
 
         Path graphPath = output.resolve("graph");
-        try (final GraphContext graphContext = graphContextFactory.create(graphPath))
+        try (final GraphContext graphContext = graphContextFactory.create(graphPath, windupConfiguration.getGraphStorageConfiguration()))
         {
 
             GraphService<IgnoredFileRegexModel> graphService = new GraphService<>(graphContext, IgnoredFileRegexModel.class);
@@ -153,14 +159,6 @@ public class ExecutionBuilderImpl implements ExecutionBuilder, ExecutionBuilderS
                 javaCfg.addIgnoredFileRegex(ignored);
             }
 
-            windupConfiguration.setOptionValue(ScanPackagesOption.NAME, Lists.toList(this.includePackagePrefixSet));
-            windupConfiguration.setOptionValue(ExcludePackagesOption.NAME, Lists.toList(this.excludePackagePrefixSet));
-
-            for (Map.Entry<String, Object> option : options.entrySet())
-            {
-                windupConfiguration.setOptionValue(option.getKey(), option.getValue());
-            }
-
             windupConfiguration
                         .setProgressMonitor(progressMonitor)
                         .setGraphContext(graphContext);
@@ -11,7 +11,6 @@ import java.util.concurrent.Callable;
 
 import javax.inject.Inject;
 
-import org.apache.commons.io.FileUtils;
 import org.jboss.forge.addon.resource.DirectoryResource;
 import org.jboss.forge.addon.resource.FileResource;
 import org.jboss.forge.addon.resource.Resource;
@@ -45,6 +44,7 @@ import org.jboss.windup.exec.configuration.WindupConfiguration;
 import org.jboss.windup.exec.configuration.options.InputPathOption;
 import org.jboss.windup.exec.configuration.options.OutputPathOption;
 import org.jboss.windup.exec.configuration.options.OverwriteOption;
+import org.jboss.windup.exec.configuration.options.SaveGraphSnapshotOption;
 import org.jboss.windup.graph.GraphContext;
 import org.jboss.windup.graph.GraphContextFactory;
 
@@ -211,7 +211,9 @@ public class WindupCommand implements UICommand
             overwrite = false;
         }
 
-        if (!overwrite && pathNotEmpty(windupConfiguration.getOutputDirectory().toFile()))
+        // the reports of the previous execution are expected to be replaced
+        boolean reportOnly = windupConfiguration.isReportOnly();
+        if (!overwrite && !reportOnly && pathNotEmpty(windupConfiguration.getOutputDirectory().toFile()))
         {
             String promptMsg = "Overwrite all contents of \"" + windupConfiguration.getOutputDirectory().toString()
                         + "\" (anything already in the directory will be deleted)?";
@@ -227,9 +229,15 @@ public class WindupCommand implements UICommand
          */
         context.getUIContext().getAttributeMap().put(WindupConfiguration.class, windupConfiguration);
 
-        FileUtils.deleteQuietly(windupConfiguration.getOutputDirectory().toFile());
         Path graphPath = windupConfiguration.getOutputDirectory().resolve("graph");
-        try (GraphContext graphContext = graphContextFactory.create(graphPath))
+        if (reportOnly && !graphContextFactory.hasSnapshot(graphPath))
+            return Results.fail("No graph snapshot found in " + graphPath + ", run Windup with " + SaveGraphSnapshotOption.NAME
+                        + " first. Aborting!");
+
+        windupConfiguration.deleteOutput();
+        try (GraphContext graphContext = reportOnly
+                    ? graphContextFactory.loadSnapshot(graphPath, windupConfiguration.getGraphStorageConfiguration())
+                    : graphContextFactory.create(graphPath, windupConfiguration.getGraphStorageConfiguration()))
         {
             context.getUIContext().getAttributeMap().put(GraphContext.class, graphContext);
             UIProgressMonitor uiProgressMonitor = context.getProgressMonitor();
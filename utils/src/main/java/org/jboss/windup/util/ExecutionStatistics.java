@@ -40,7 +40,7 @@ public class ExecutionStatistics
     /**
      * Gets the instance associated with the current thread.
      */
-    public static synchronized ExecutionStatistics get()
+    public static ExecutionStatistics get()
     {
         if (stats.get() == null)
         {